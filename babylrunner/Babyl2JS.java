@@ -1,14 +1,19 @@
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.File;
 import java.io.FileInputStream;
 import java.io.FileOutputStream;
-import java.io.FileWriter;
 import java.io.IOException;
 import java.io.InputStreamReader;
 import java.io.OutputStreamWriter;
-import java.io.StringWriter;
+import java.io.Reader;
+import java.io.Writer;
 import java.util.Locale;
+import java.util.regex.Pattern;
 
 import org.mozilla.javascript.Context;
 import org.mozilla.javascript.ScriptableObject;
+import org.mozilla.javascript.SourceMapGenerator;
 
 
 
@@ -34,43 +39,123 @@ public class Babyl2JS
 
     public void translateFile(String inFile, String outFile, boolean useHeaders, boolean useHTML) throws IOException
     {
-        FileInputStream f = new FileInputStream(inFile);
-        InputStreamReader reader = new InputStreamReader(f, "UTF-8");
-        
-        StringWriter str = new StringWriter();
-        char [] buf = new char[1024];
-        int numRead = reader.read(buf);
-        while (numRead >= 0)
-        {
-            str.write(buf, 0, numRead);
-            numRead = reader.read(buf);
+        translateFile(inFile, outFile, useHeaders, useHTML, false);
+    }
+
+    public void translateFile(String inFile, String outFile, boolean useHeaders, boolean useHTML, boolean sourceMap) throws IOException
+    {
+        // The translation is streamed straight into the output file, so
+        // neither the source nor the generated code is held as one string.
+        Reader reader = new BufferedReader(new InputStreamReader(new FileInputStream(inFile), "UTF-8"));
+        Context cx = Context.enter();
+        cx.setLocale(Locale.ENGLISH);
+        cx.setOptimizationLevel(-1);
+        try {
+            translateTo(cx, reader, inFile, new File(outFile), useHeaders, useHTML, sourceMap);
+        } finally {
+            Context.exit();
+            reader.close();
         }
-        
-        reader.close();
-        f.close();
-        
-        String js = translateCode(str.toString(), inFile, useHeaders);
-        
-        if (useHTML)
+    }
+
+    /**
+     * Translates the code from reader into outFile using the given
+     * Context. If sourceMap is set, a source map is written next to the
+     * output in a file with ".map" appended to its name. The output files
+     * are removed if the translation fails.
+     */
+    static void translateTo(Context cx, Reader reader, String sourceName, File outFile, boolean useHeaders, boolean useHTML, boolean sourceMap) throws IOException
+    {
+        translateTo(cx, reader, null, sourceName, outFile, useHeaders, useHTML, sourceMap);
+    }
+
+    /**
+     * Same as the Reader version, but translates code that is already in
+     * memory. An array-backed CharBuffer is translated in place.
+     */
+    static void translateTo(Context cx, CharSequence source, String sourceName, File outFile, boolean useHeaders, boolean useHTML, boolean sourceMap) throws IOException
+    {
+        translateTo(cx, null, source, sourceName, outFile, useHeaders, useHTML, sourceMap);
+    }
+
+    private static void translateTo(Context cx, Reader reader, CharSequence source, String sourceName, File outFile, boolean useHeaders, boolean useHTML, boolean sourceMap) throws IOException
+    {
+        Writer out = null;
+        Writer mapOut = null;
+        File mapFile = mapFileFor(outFile);
+        boolean success = false;
+        try {
+            out = new BufferedWriter(new OutputStreamWriter(new FileOutputStream(outFile), "UTF-8"));
+            SourceMapGenerator map = null;
+            if (sourceMap)
+            {
+                mapOut = new BufferedWriter(new OutputStreamWriter(new FileOutputStream(mapFile), "UTF-8"));
+                map = new SourceMapGenerator(mapOut, outFile.getName(),
+                        relativeURL(mapFile.getCanonicalFile().getParentFile(), new File(sourceName).getCanonicalFile()));
+            }
+            if (useHTML)
+            {
+                out.write("<!DOCTYPE html>"
+                        + "<head>"
+                        + "<META http-equiv=\"Content-Type\" content=\"text/html;\" charset=\"UTF-8\">"
+                        + "</head>"
+                        + "<script>");
+            }
+            if (reader != null)
+                cx.compileReaderToJS(reader, sourceName, 0, useHeaders, out, map);
+            else
+                cx.compileCharSequenceToJS(source, sourceName, 0, useHeaders, out, map);
+            if (sourceMap)
+                out.write("\n//# sourceMappingURL=" + mapFile.getName() + "\n");
+            if (useHTML)
+                out.write("</script>");
+            success = true;
+        } finally {
+            if (out != null)
+                out.close();
+            if (mapOut != null)
+                mapOut.close();
+            if (!success)
+            {
+                outFile.delete();
+                mapFile.delete();
+            }
+        }
+    }
+
+    static File mapFileFor(File outFile)
+    {
+        return new File(outFile.getPath() + ".map");
+    }
+
+    /**
+     * Returns the URL of file relative to the directory dir.
+     */
+    static String relativeURL(File dir, File file)
+    {
+        String[] from = dir.getAbsolutePath().split(Pattern.quote(File.separator));
+        String[] to = file.getAbsolutePath().split(Pattern.quote(File.separator));
+        int common = 0;
+        while (common < from.length && common < to.length - 1
+                && from[common].equals(to[common]))
+            common++;
+        StringBuilder url = new StringBuilder();
+        for (int n = common; n < from.length; n++)
+            if (from[n].length() != 0)
+                url.append("../");
+        for (int n = common; n < to.length; n++)
         {
-            js = "<!DOCTYPE html>"
-                    + "<head>"
-                    + "<META http-equiv=\"Content-Type\" content=\"text/html;\" charset=\"UTF-8\">"
-                    + "</head>"
-                    + "<script>" + js + "</script>";
+            if (n != common) url.append('/');
+            url.append(to[n]);
         }
-        
-        FileOutputStream outStream = new FileOutputStream(outFile);
-        OutputStreamWriter out = new OutputStreamWriter(outStream, "UTF-8");
-        out.write(js);
-        out.close();
-        outStream.close();
+        return url.toString();
     }
     
     static void outputMessage()
     {
         System.out.println(
-                "   java -jar babyl2js.jar [-noheaders] [-html] input-Babylscript-file output-JS-file\n" +
+                "   java -jar babyl2js.jar [-noheaders] [-html|-sourcemap] input-Babylscript-file output-JS-file\n" +
+                "   java -jar babyl2js.jar [-noheaders] [-html|-sourcemap] [-threads n] -batch|-watch input-dir output-dir\n" +
                 "Translates a Babylscript program into regular \n" +
                 "JavaScript code that can be run in a browser. \n " +
                 "Specify the name of the file to be translated \n" +
@@ -85,21 +170,45 @@ public class Babyl2JS
                 "program). It also takes an argument \"-html\"\n" +
                 "which tells the translator to put <script>..</script>\n" +
                 "tags around the output so that the resulting\n" +
-                "output can be run directly in a browser.");
+                "output can be run directly in a browser.\n" +
+                "With \"-batch\", every .js file under the input\n" +
+                "directory is translated into the same relative\n" +
+                "path under the output directory, using one\n" +
+                "thread per processor (or \"-threads n\"). Files\n" +
+                "that have not changed since the last batch run\n" +
+                "are skipped. \"-watch\" works like \"-batch\" but\n" +
+                "keeps running and translates files again as soon\n" +
+                "as they change. \"-sourcemap\" also writes a\n" +
+                "source map next to each output file, in a file\n" +
+                "with \".map\" added to its name, so that browser\n" +
+                "debuggers can show the Babylscript source.");
     }
     
     public static void main(String[] args) throws IOException 
     {
         boolean noHeaders = false;
         boolean useHTML = false;
+        boolean sourceMap = false;
+        boolean batch = false;
+        boolean watch = false;
+        int threads = Runtime.getRuntime().availableProcessors();
         String inFile = null;
         String outFile = null;
-        for (String arg: args)
+        for (int n = 0; n < args.length; n++)
         {
+            String arg = args[n];
             if (arg.equals("-noheaders"))
                 noHeaders = true;
             else if (arg.equals("-html"))
                 useHTML = true;
+            else if (arg.equals("-sourcemap"))
+                sourceMap = true;
+            else if (arg.equals("-batch"))
+                batch = true;
+            else if (arg.equals("-watch"))
+                batch = watch = true;
+            else if (arg.equals("-threads") && n + 1 < args.length)
+                threads = Integer.parseInt(args[++n]);
             else if (inFile == null)
                 inFile = arg;
             else if (outFile == null)
@@ -111,14 +220,31 @@ public class Babyl2JS
             }
         }
         
-        if (outFile == null)
+        if (outFile == null || (useHTML && sourceMap))
         {
             outputMessage();
             return;
         }
         
+        if (batch)
+        {
+            Babyl2JSBatch translator;
+            try {
+                translator = new Babyl2JSBatch(new File(inFile), new File(outFile), !noHeaders, useHTML, sourceMap, threads);
+            } catch (IllegalArgumentException e) {
+                System.err.println(e.getMessage());
+                System.exit(1);
+                return;
+            }
+            if (watch)
+                translator.watch(250);
+            else if (!translator.run())
+                System.exit(1);
+            return;
+        }
+
         Babyl2JS translator = new Babyl2JS();
-        translator.translateFile(inFile, outFile, !noHeaders, useHTML);
+        translator.translateFile(inFile, outFile, !noHeaders, useHTML, sourceMap);
     }
 
 }
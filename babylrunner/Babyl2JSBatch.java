@@ -0,0 +1,460 @@
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InterruptedIOException;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.Charset;
+import java.nio.charset.CharsetDecoder;
+import java.nio.charset.CodingErrorAction;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Properties;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.mozilla.javascript.Context;
+import org.mozilla.javascript.RhinoException;
+
+
+/**
+ * Translates all the Babylscript files under a directory.
+ * <p>
+ * The files are shared out between a fixed number of worker threads
+ * through one queue, largest files first, so that idle workers always pick
+ * up the next file and no worker is left with a long tail of big files.
+ * Each worker enters a Context once and uses it for every file it
+ * translates. Sources are read through memory-mapped buffers, and the
+ * decoded characters are tokenized in place.
+ * <p>
+ * The output directory holds a manifest recording, for each source that
+ * was translated successfully, its size, modification time and a hash of
+ * its contents. A later run skips a file without reading it if its size
+ * and modification time are unchanged, and skips it after hashing it if
+ * only its modification time changed. Outputs of sources that have been
+ * removed are deleted. The manifest is discarded if the translation
+ * options or the translator itself change.
+ * <p>
+ * A translated file depends only on its own source: global names are
+ * looked up in their language at run time by the Babylscript header
+ * code, so editing one file never requires another one to be translated
+ * again.
+ */
+public class Babyl2JSBatch
+{
+    static final String MANIFEST_NAME = ".babyl2js-hashes";
+    static final String OPTIONS_KEY = ":options";
+
+    private final File inDir;
+    private final File outDir;
+    private final boolean useHeaders;
+    private final boolean useHTML;
+    private final boolean sourceMap;
+    private final int threads;
+
+    private ExecutorService pool;
+    private String options;
+
+    private final AtomicInteger translated = new AtomicInteger();
+    private final AtomicInteger unchanged = new AtomicInteger();
+    private final AtomicInteger failed = new AtomicInteger();
+    private final AtomicInteger removed = new AtomicInteger();
+
+    /**
+     * Stamps of the files that failed to translate, so that a watching
+     * translator only reports each error once.
+     */
+    private final Map<String, String> failedStamps = new ConcurrentHashMap<String, String>();
+
+    public Babyl2JSBatch(File inDir, File outDir, boolean useHeaders, boolean useHTML, int threads)
+    {
+        this(inDir, outDir, useHeaders, useHTML, false, threads);
+    }
+
+    public Babyl2JSBatch(File inDir, File outDir, boolean useHeaders, boolean useHTML, boolean sourceMap, int threads)
+    {
+        if (threads < 1)
+            throw new IllegalArgumentException("threads must be positive: " + threads);
+        // Canonical paths, so that the output directory is recognized
+        // however either directory was spelled
+        this.inDir = canonicalFile(inDir);
+        this.outDir = canonicalFile(outDir);
+        if (this.inDir.equals(this.outDir))
+            throw new IllegalArgumentException(
+                    "The output directory must differ from the input directory: " + inDir);
+        this.useHeaders = useHeaders;
+        this.useHTML = useHTML;
+        this.sourceMap = sourceMap;
+        this.threads = threads;
+    }
+
+    private static File canonicalFile(File file)
+    {
+        try {
+            return file.getCanonicalFile();
+        } catch (IOException e) {
+            return file.getAbsoluteFile();
+        }
+    }
+
+    public int getTranslatedCount() { return translated.get(); }
+    public int getUnchangedCount() { return unchanged.get(); }
+    public int getFailedCount() { return failed.get(); }
+    public int getRemovedCount() { return removed.get(); }
+
+    /**
+     * Translates all changed files once and reports the throughput on
+     * standard output.
+     *
+     * @return false if any file could not be translated
+     */
+    public boolean run() throws IOException
+    {
+        try {
+            return translateChanged(false);
+        } finally {
+            shutdown();
+        }
+    }
+
+    /**
+     * Keeps translating files as they change, checking for changes every
+     * <code>intervalMillis</code>. The worker threads and their Contexts
+     * are kept between checks, so changes are picked up by an already
+     * warmed-up translator. Only returns if interrupted.
+     */
+    public void watch(long intervalMillis) throws IOException
+    {
+        try {
+            translateChanged(false);
+            while (true)
+            {
+                Thread.sleep(intervalMillis);
+                translateChanged(true);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } finally {
+            shutdown();
+        }
+    }
+
+    private boolean translateChanged(boolean quiet) throws IOException
+    {
+        if (!inDir.isDirectory())
+            throw new IOException("Not a directory: " + inDir);
+        outDir.mkdirs();
+        translated.set(0);
+        unchanged.set(0);
+        failed.set(0);
+        removed.set(0);
+        if (pool == null)
+        {
+            pool = Executors.newFixedThreadPool(threads, new WorkerFactory());
+            options = "headers=" + useHeaders + ",html=" + useHTML
+                    + ",sourcemap=" + sourceMap
+                    + ",translator=" + translatorFingerprint();
+        }
+
+        long start = System.nanoTime();
+        List<String> sources = new ArrayList<String>();
+        final Map<String, Long> sizes = new HashMap<String, Long>();
+        collectSources(inDir, "", sources, sizes);
+        Collections.sort(sources, new Comparator<String>() {
+            public int compare(String a, String b)
+            {
+                return sizes.get(b).compareTo(sizes.get(a));
+            }
+        });
+
+        final Properties oldEntries = readManifest();
+        final Map<String, String> newEntries = new ConcurrentHashMap<String, String>();
+
+        final CountDownLatch done = new CountDownLatch(sources.size());
+        for (final String path: sources)
+        {
+            pool.execute(new Runnable() {
+                public void run()
+                {
+                    try {
+                        translate(path, oldEntries, newEntries);
+                    } finally {
+                        done.countDown();
+                    }
+                }
+            });
+        }
+        try {
+            done.await();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException();
+        }
+
+        for (Object key: oldEntries.keySet())
+        {
+            String path = (String)key;
+            if (!sizes.containsKey(path))
+            {
+                File outFile = new File(outDir, path);
+                outFile.delete();
+                Babyl2JS.mapFileFor(outFile).delete();
+                removed.incrementAndGet();
+            }
+        }
+        long elapsed = System.nanoTime() - start;
+
+        if (translated.get() != 0 || removed.get() != 0 || !oldEntries.equals(newEntries))
+            writeManifest(newEntries);
+
+        if (!quiet || translated.get() != 0 || removed.get() != 0)
+        {
+            double seconds = elapsed / 1e9;
+            System.out.println("Translated " + translated + " files ("
+                    + unchanged + " unchanged, " + failed + " failed, "
+                    + removed + " removed) in "
+                    + String.format(Locale.ENGLISH, "%.2f", seconds) + " s with "
+                    + threads + " threads: "
+                    + String.format(Locale.ENGLISH, "%.1f", translated.get() / seconds)
+                    + " files/s");
+        }
+        return failed.get() == 0;
+    }
+
+    private void shutdown()
+    {
+        if (pool != null)
+        {
+            pool.shutdown();
+            pool = null;
+        }
+    }
+
+    /**
+     * Identifies the translator, including the header code and standard
+     * library translations that are written with each output.
+     */
+    private static String translatorFingerprint()
+    {
+        Context cx = Context.enter();
+        try {
+            String header = cx.compileStringToJS("", null, 0, true);
+            return hash(ByteBuffer.wrap(
+                    (cx.getImplementationVersion() + "\n" + header).getBytes("UTF-8")));
+        } catch (IOException e) {
+            // UTF-8 is always supported
+            throw new IllegalStateException(e);
+        } finally {
+            Context.exit();
+        }
+    }
+
+    private void collectSources(File dir, String prefix, List<String> sources, Map<String, Long> sizes)
+    {
+        File[] files = dir.listFiles();
+        if (files == null) return;
+        for (File f: files)
+        {
+            String path = prefix + f.getName();
+            if (f.isDirectory())
+            {
+                if (!canonicalFile(f).equals(outDir))
+                    collectSources(f, path + "/", sources, sizes);
+            }
+            else if (f.getName().endsWith(".js"))
+            {
+                sources.add(path);
+                sizes.put(path, Long.valueOf(f.length()));
+            }
+        }
+    }
+
+    private Properties readManifest()
+    {
+        Properties entries = new Properties();
+        File manifest = new File(outDir, MANIFEST_NAME);
+        if (!manifest.exists()) return entries;
+        try {
+            InputStream in = new FileInputStream(manifest);
+            try {
+                entries.load(in);
+            } finally {
+                in.close();
+            }
+        } catch (IOException e) {
+            // Translate everything again
+            entries.clear();
+        }
+        if (!options.equals(entries.getProperty(OPTIONS_KEY)))
+            entries.clear();
+        else
+            entries.remove(OPTIONS_KEY);
+        return entries;
+    }
+
+    private void writeManifest(Map<String, String> entries) throws IOException
+    {
+        Properties props = new Properties();
+        props.putAll(entries);
+        props.setProperty(OPTIONS_KEY, options);
+        File manifest = new File(outDir, MANIFEST_NAME);
+        File temp = new File(outDir, MANIFEST_NAME + ".tmp");
+        OutputStream out = new FileOutputStream(temp);
+        try {
+            props.store(out, "Babyl2JS batch translation hashes");
+        } finally {
+            out.close();
+        }
+        manifest.delete();
+        if (!temp.renameTo(manifest))
+            throw new IOException("Could not write " + manifest);
+    }
+
+    private void translate(String path, Properties oldEntries, Map<String, String> newEntries)
+    {
+        File inFile = new File(inDir, path);
+        File outFile = new File(outDir, path);
+        String stamp = inFile.length() + " " + inFile.lastModified();
+        String oldEntry = oldEntries.getProperty(path);
+        String oldHash = null;
+        if (oldEntry != null && outFile.exists())
+        {
+            int space = oldEntry.indexOf(' ');
+            if (space > 0)
+            {
+                oldHash = oldEntry.substring(0, space);
+                if (oldEntry.substring(space + 1).equals(stamp))
+                {
+                    newEntries.put(path, oldEntry);
+                    unchanged.incrementAndGet();
+                    return;
+                }
+            }
+        }
+        if (stamp.equals(failedStamps.get(path)))
+        {
+            failed.incrementAndGet();
+            return;
+        }
+
+        try {
+            ByteBuffer bytes = map(inFile);
+            String hash = hash(bytes.duplicate());
+            if (hash.equals(oldHash))
+            {
+                newEntries.put(path, hash + " " + stamp);
+                unchanged.incrementAndGet();
+                return;
+            }
+
+            CharBuffer chars = newDecoder().decode(bytes);
+            outFile.getParentFile().mkdirs();
+            Babyl2JS.translateTo(Context.getCurrentContext(), chars,
+                    inFile.getPath(), outFile, useHeaders, useHTML, sourceMap);
+            newEntries.put(path, hash + " " + stamp);
+            failedStamps.remove(path);
+            translated.incrementAndGet();
+        } catch (RhinoException e) {
+            failed(path, stamp, outFile);
+            System.err.println(path + ": " + e.getMessage());
+        } catch (IOException e) {
+            failed(path, stamp, outFile);
+            System.err.println(path + ": " + e);
+        }
+    }
+
+    /**
+     * Records a failed translation. A failed file gets no manifest entry,
+     * so its previous output is deleted as well; otherwise the output would
+     * be left behind for good once the source is removed.
+     */
+    private void failed(String path, String stamp, File outFile)
+    {
+        failed.incrementAndGet();
+        failedStamps.put(path, stamp);
+        outFile.delete();
+        Babyl2JS.mapFileFor(outFile).delete();
+    }
+
+    private static ByteBuffer map(File file) throws IOException
+    {
+        FileInputStream in = new FileInputStream(file);
+        try {
+            FileChannel channel = in.getChannel();
+            MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+            return buffer;
+        } finally {
+            in.close();
+        }
+    }
+
+    private static CharsetDecoder newDecoder()
+    {
+        // Same handling of malformed input as InputStreamReader
+        return Charset.forName("UTF-8").newDecoder()
+                .onMalformedInput(CodingErrorAction.REPLACE)
+                .onUnmappableCharacter(CodingErrorAction.REPLACE);
+    }
+
+    private static String hash(ByteBuffer bytes)
+    {
+        MessageDigest digest;
+        try {
+            digest = MessageDigest.getInstance("SHA-1");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+        digest.update(bytes);
+        StringBuilder hex = new StringBuilder();
+        for (byte b: digest.digest())
+        {
+            hex.append(Character.forDigit((b >> 4) & 0xf, 16));
+            hex.append(Character.forDigit(b & 0xf, 16));
+        }
+        return hex.toString();
+    }
+
+    /**
+     * Creates worker threads that keep one Context entered for as long
+     * as they run.
+     */
+    private static class WorkerFactory implements ThreadFactory
+    {
+        private final AtomicInteger count = new AtomicInteger();
+
+        public Thread newThread(final Runnable r)
+        {
+            Thread t = new Thread(new Runnable() {
+                public void run()
+                {
+                    Context cx = Context.enter();
+                    cx.setLocale(Locale.ENGLISH);
+                    cx.setOptimizationLevel(-1);
+                    try {
+                        r.run();
+                    } finally {
+                        Context.exit();
+                    }
+                }
+            }, "babyl2js-worker-" + count.incrementAndGet());
+            t.setDaemon(true);
+            return t;
+        }
+    }
+}
@@ -0,0 +1,103 @@
+package com.babylscript.my2iu;
+
+
+import static org.junit.Assert.assertEquals;
+
+import org.junit.Test;
+import org.mozilla.javascript.Context;
+import org.mozilla.javascript.Scriptable;
+
+/**
+ * Checks that arrays keeping their numbers unboxed behave like arrays of
+ * boxed elements, including when they have to change their storage part
+ * way through.
+ */
+public class ArrayElementKindsTest
+{
+   String evalStringToString(String code)
+   {
+      Context cx = Context.enter();
+      cx.setOptimizationLevel(-1);
+      try {
+         Scriptable scope = cx.initStandardObjects();
+         return Context.toString(cx.evaluateString(scope, code, "<test>", 0, null));
+      } finally {
+         Context.exit();
+      }
+   }
+
+   @Test
+   public void numbers()
+   {
+      assertEquals("0,1,4,9,16|5|16", evalStringToString(
+            "var a = []; for (var i = 0; i < 5; i++) a[i] = i * i; a.join() + '|' + a.length + '|' + a[4]"));
+      assertEquals("1,2.5,3|number", evalStringToString(
+            "var a = [1, 2, 3]; a[1] = 2.5; a.join() + '|' + typeof a[1]"));
+      assertEquals("-Infinity,NaN,Infinity", evalStringToString(
+            "var a = [1, 2]; a.push(-0, NaN, 1/0); [1/a[2], a[3], a[4]].join()"));
+      assertEquals("3,4.5,-1", evalStringToString(
+            "var a = [1, 2]; a[0] += 2; a[1] = a[1] * 2 + 0.5; a[2] = -1; a.join()"));
+   }
+
+   @Test
+   public void changingKinds()
+   {
+      assertEquals("1,x,3", evalStringToString(
+            "var a = [1, 2, 3]; a[1] = 'x'; a.join()"));
+      assertEquals("1,,3|false|3", evalStringToString(
+            "var a = [1, 2, 3]; delete a[1]; a.join() + '|' + (1 in a) + '|' + a.length"));
+      assertEquals("1,2,,,|false", evalStringToString(
+            "var a = [1, 2]; a.length = 5; a.join() + '|' + (3 in a)"));
+      assertEquals("3|false|true", evalStringToString(
+            "var a = [1]; a[2] = 3; a.length + '|' + (1 in a) + '|' + (2 in a)"));
+      assertEquals("1|1", evalStringToString(
+            "var a = [1, 2, 3]; a.length = 1; a.join() + '|' + a.length"));
+   }
+
+   @Test
+   public void indexesBeyondInt()
+   {
+      assertEquals("3000000001|x|1", evalStringToString(
+            "var b = []; b[3000000000] = 'x'; [b.length, b[3000000000], b.hasOwnProperty('0') ? 0 : 1].join('|')"));
+      assertEquals("3000000001|x|1,2,3", evalStringToString(
+            "var b = [1, 2, 3]; b[3000000000] = 'x'; [b.length, b[3000000000], b.slice(0, 3)].join('|')"));
+      assertEquals("2147483649|x|1.5,2.5", evalStringToString(
+            "var b = [1.5, 2.5]; b[2147483648] = 'x'; [b.length, b[2147483648], b.slice(0, 2)].join('|')"));
+   }
+
+   @Test
+   public void methods()
+   {
+      assertEquals("1,10,5|1,5,10|10,5,1", evalStringToString(
+            "var a = [5, 10, 1]; a.sort(); var s = a.join(); a.sort(function(x, y) { return x - y; });"
+            + "s + '|' + a.join() + '|' + a.reverse().join()"));
+      assertEquals("1|4|2,3|4|7,8.5,2,3", evalStringToString(
+            "var a = [1, 2, 3, 4]; [a.shift(), a.pop(), a.join(), a.unshift(7, 8.5), a.join()].join('|')"));
+      assertEquals("2,3|1,9.5,z,4", evalStringToString(
+            "var a = [1, 2, 3, 4]; a.splice(1, 2, 9.5, 'z').join() + '|' + a.join()"));
+      assertEquals("1,2,3.5,4,s,5|6", evalStringToString(
+            "var a = [1, 2].concat([3.5], [4], 's', 5); a.join() + '|' + a.length"));
+      assertEquals("1,3,-1,-1", evalStringToString(
+            "var a = [1, 2, 3, 2]; [a.indexOf(2), a.lastIndexOf(2), a.indexOf('2'), [NaN].indexOf(NaN)].join()"));
+      assertEquals("0,1,2|6", evalStringToString(
+            "var a = [1, 2, 3], k = [], s = 0; for (var i in a) { k.push(i); s += a[i]; } k.join() + '|' + s"));
+   }
+
+   @Test
+   public void javaAccess()
+   {
+      Context cx = Context.enter();
+      try {
+         Scriptable scope = cx.initStandardObjects();
+         Scriptable array = cx.newArray(scope, new Object[] {new Integer(1), new Double(2.5)});
+         assertEquals(new Double(1), array.get(0, array));
+         assertEquals(new Double(2.5), array.get(1, array));
+         assertEquals(Scriptable.NOT_FOUND, array.get(2, array));
+         array.put(2, array, "s");
+         assertEquals("s", array.get(2, array));
+         assertEquals(new Double(2.5), array.get(1, array));
+      } finally {
+         Context.exit();
+      }
+   }
+}
@@ -0,0 +1,70 @@
+package com.babylscript.my2iu;
+
+import java.lang.management.ManagementFactory;
+
+import org.mozilla.javascript.Context;
+import org.mozilla.javascript.Script;
+import org.mozilla.javascript.Scriptable;
+
+/**
+ * Measures how much heap arrays of numbers keep alive and how long it
+ * takes to store and read their elements. Each script works on arrays
+ * of N elements.
+ */
+public class ArrayElementsBenchmark
+{
+   static final int ELEMENTS = 1000000;
+   static final int ROUNDS = 5;
+
+   static final String[][] SCRIPTS = {
+      {"int elements stored",
+         "var a = []; for (var i = 0; i < N; i++) a[i] = i * 3; a"},
+      {"double elements stored",
+         "var a = []; for (var i = 0; i < N; i++) a[i] = i * 0.5; a"},
+      {"pushed elements",
+         "var a = []; for (var i = 0; i < N; i++) a.push(i); a"},
+      {"elements read",
+         "var a = []; for (var i = 0; i < 1000; i++) a[i] = i * 0.5; var s = 0; for (var i = 0; i < N; i++) s += a[i % 1000]; a = null; s"},
+   };
+
+   static long usedHeap()
+   {
+      for (int i = 0; i < 3; i++)
+         System.gc();
+      return ManagementFactory.getMemoryMXBean().getHeapMemoryUsage().getUsed();
+   }
+
+   public static void main(String[] args)
+   {
+      Context cx = Context.enter();
+      try {
+         cx.setOptimizationLevel(-1);
+         Scriptable scope = cx.initStandardObjects();
+         for (String[] script: SCRIPTS)
+         {
+            Script compiled = cx.compileString(
+                  script[1].replace("N", String.valueOf(ELEMENTS)), script[0], 1, null);
+            // Warm up
+            compiled.exec(cx, scope);
+            long bytes = Long.MAX_VALUE;
+            long nanos = Long.MAX_VALUE;
+            for (int round = 0; round < ROUNDS; round++)
+            {
+               // Drop the array of the previous round
+               cx.evaluateString(scope, "a = null", "reset", 1, null);
+               long startBytes = usedHeap();
+               long start = System.nanoTime();
+               Object result = compiled.exec(cx, scope);
+               nanos = Math.min(nanos, System.nanoTime() - start);
+               bytes = Math.min(bytes, usedHeap() - startBytes);
+               if (result == null) System.out.print("");
+            }
+            System.out.println(script[0] + ": "
+                  + (bytes / ELEMENTS) + " bytes retained and "
+                  + (nanos / ELEMENTS) + " ns per element");
+         }
+      } finally {
+         Context.exit();
+      }
+   }
+}
@@ -3,6 +3,9 @@ package com.babylscript.my2iu;
 
 import static org.junit.Assert.assertEquals;
 
+import java.io.IOException;
+import java.io.StringReader;
+import java.nio.CharBuffer;
 import java.util.Locale;
 
 import org.junit.After;
@@ -10,6 +13,7 @@ import org.junit.Before;
 import org.junit.Test;
 import org.mozilla.javascript.Context;
 import org.mozilla.javascript.Scriptable;
+import org.mozilla.javascript.SourceMapGenerator;
 
 public class BabylscriptToJSTest
 {
@@ -59,6 +63,19 @@ public class BabylscriptToJSTest
       }
       return result;
    }
+   String compileReaderToJS(String code, boolean withHeaders) throws IOException
+   {
+      Context cx = Context.enter();
+      cx.setLocale(Locale.ENGLISH);
+      cx.setOptimizationLevel(-1);
+      StringBuilder out = new StringBuilder();
+      try {
+         cx.compileReaderToJS(new StringReader(code), null, 0, withHeaders, out);
+      } finally {
+         Context.exit();
+      }
+      return out.toString();
+   }
    String evalStringToString(String code)
    {
       String js = compileToJS(code);
@@ -438,4 +455,65 @@ public class BabylscriptToJSTest
    {
       assertEquals("5", evalES5StringToString("0x7f5 - 0x7f0;"));
    }
+
+   @Test
+   public void streamedOutput() throws IOException
+   {
+      String code = "var a = [1,2,3]; ---fr--- pour (var k = 0; k < a.longueur; k++) { essayer { a[k] = k; } capturer (e) { } } fonction f(x) { retourner x; }";
+      assertEquals(compileToJSNoHeaders(code), compileReaderToJS(code, false));
+      assertEquals(compileToJS(code), compileReaderToJS(code, true));
+   }
+
+   @Test
+   public void standardGlobalsResolvedStatically()
+   {
+      assertEquals("babylroot.parseInt('5');\n", compileToJSNoHeaders("---fr--- parserEnt('5')"));
+      assertEquals("babylroot.parseInt('5');\n", compileToJSNoHeaders("parseInt('5')"));
+      assertEquals("babylroot[babyllookup(babylroot,'fr','toto')];\n", compileToJSNoHeaders("---fr--- toto"));
+      assertEquals("43", evalStringToString("---fr--- parserEnt('42') + 1"));
+   }
+
+   @Test
+   public void sourceMap() throws IOException
+   {
+      String code = "var a = 1;\n---fr--- a = parserEnt(a);";
+      Context cx = Context.enter();
+      cx.setLocale(Locale.ENGLISH);
+      cx.setOptimizationLevel(-1);
+      StringBuilder js = new StringBuilder();
+      StringBuilder map = new StringBuilder();
+      try {
+         cx.compileReaderToJS(new StringReader(code), "in.js", 1, false, js,
+               new SourceMapGenerator(map, "out.js"));
+      } finally {
+         Context.exit();
+      }
+      assertEquals(compileToJSNoHeaders(code), js.toString());
+      // Line 1: a (0,4); line 2: a (1,9), parserEnt (1,13), a (1,23)
+      assertEquals("{\"version\":3,\"file\":\"out.js\",\"sources\":[\"in.js\"],"
+            + "\"mappings\":\"AAAIA;AACKA,2CAAIC,mBAAUD\",\"names\":[\"a\",\"parserEnt\"]}",
+            map.toString());
+   }
+
+   @Test
+   public void charBufferSource() throws IOException
+   {
+      String code = "var a = [1,2,3]; ---fr--- pour (var k = 0; k < a.longueur; k++) { a[k] = 'x' + k; } fonction f(x) { retourner x; }";
+      // Only part of the array holds the source
+      char[] chars = ("////" + code + "////").toCharArray();
+      CharBuffer source = CharBuffer.wrap(chars, 4, code.length()).slice();
+      Context cx = Context.enter();
+      cx.setLocale(Locale.ENGLISH);
+      cx.setOptimizationLevel(-1);
+      StringBuilder out = new StringBuilder();
+      try {
+         cx.compileCharSequenceToJS(source, null, 0, false, out, null);
+         assertEquals("3", Context.toString(cx.compileCharSequence(
+               CharBuffer.wrap("var b = [1,2,3]; ---fr--- b.longueur".toCharArray()),
+               "<test>", 0, null).exec(cx, scope)));
+      } finally {
+         Context.exit();
+      }
+      assertEquals(compileToJSNoHeaders(code), out.toString());
+   }
 }
@@ -0,0 +1,83 @@
+package com.babylscript.my2iu;
+
+
+import static org.junit.Assert.assertEquals;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.mozilla.javascript.CompiledScriptCache;
+import org.mozilla.javascript.Context;
+import org.mozilla.javascript.ContextFactory;
+import org.mozilla.javascript.Script;
+import org.mozilla.javascript.Scriptable;
+
+public class CompiledScriptCacheTest
+{
+   ContextFactory factory;
+   CompiledScriptCache cache;
+
+   @Before
+   public void setUp() throws Exception
+   {
+      factory = new ContextFactory();
+      cache = new CompiledScriptCache(2);
+      factory.setCompiledScriptCache(cache);
+   }
+
+   @After
+   public void tearDown() throws Exception
+   {
+   }
+
+   String compileAndRun(String code, String lang)
+   {
+      Context cx = factory.enterContext();
+      cx.setOptimizationLevel(-1);
+      if (lang != null)
+         cx.setLanguageMode(lang);
+      try {
+         Scriptable scope = cx.initStandardObjects();
+         Script script = cx.compileString(code, "<test>", 1, null);
+         return Context.toString(script.exec(cx, scope));
+      } finally {
+         Context.exit();
+      }
+   }
+
+   @Test
+   public void sameSourceIsCompiledOnce()
+   {
+      assertEquals("3", compileAndRun("var a = 1; a + 2;", null));
+      assertEquals("3", compileAndRun("var a = 1; a + 2;", null));
+      assertEquals(1, cache.getHitCount());
+      assertEquals(1, cache.getMissCount());
+      assertEquals(1, cache.size());
+   }
+
+   @Test
+   public void languageModeIsPartOfKey()
+   {
+      // French uses a decimal comma
+      assertEquals("5", compileAndRun("1,5", null));
+      assertEquals("1.5", compileAndRun("1,5", "fr"));
+      assertEquals("5", compileAndRun("1,5", null));
+      assertEquals("1.5", compileAndRun("1,5", "fr"));
+      assertEquals(2, cache.getHitCount());
+      assertEquals(2, cache.getMissCount());
+   }
+
+   @Test
+   public void leastRecentlyUsedIsEvicted()
+   {
+      compileAndRun("1", null);
+      compileAndRun("2", null);
+      compileAndRun("1", null);
+      compileAndRun("3", null);
+      compileAndRun("1", null);
+      compileAndRun("2", null);
+      assertEquals(2, cache.getHitCount());
+      assertEquals(4, cache.getMissCount());
+      assertEquals(2, cache.size());
+   }
+}
@@ -0,0 +1,97 @@
+package com.babylscript.my2iu;
+
+
+import static org.junit.Assert.assertEquals;
+
+import org.junit.Test;
+import org.mozilla.javascript.Context;
+import org.mozilla.javascript.Scriptable;
+
+/**
+ * Checks that code compiled to class files resolves translated names the
+ * same way as the interpreter.
+ */
+public class CompiledTranslatedNamesTest
+{
+   static final int[] OPTIMIZATION_LEVELS = {-1, 0, 9};
+
+   String evalStringToString(String code, int optimizationLevel)
+   {
+      Context cx = Context.enter();
+      cx.setOptimizationLevel(optimizationLevel);
+      cx.setLanguageVersion(Context.VERSION_1_7);
+      try {
+         Scriptable scope = cx.initStandardObjects();
+         return Context.toString(cx.evaluateString(scope, code, "<test>", 0, null));
+      } finally {
+         Context.exit();
+      }
+   }
+
+   void assertAllLevels(String expected, String code)
+   {
+      for (int level: OPTIMIZATION_LEVELS)
+         assertEquals("optimization level " + level, expected,
+               evalStringToString(code, level));
+   }
+
+   @Test
+   public void getprop()
+   {
+      assertAllLevels("2", "var a = new Object(); a['b'] = 2; a['fr':'t'] = 'b'; ---fr--- a.t");
+      assertAllLevels("3", "var a = [1,2,3]; ---fr--- a.longueur");
+   }
+
+   @Test
+   public void getelem()
+   {
+      assertAllLevels("2", "var a = new Object(); a['b'] = 2; a['fr':'t'] = 'b'; ---fr--- a['t']");
+      assertAllLevels("undefined", "var a = new Object(); a['b'] = 2; a['fr':'t'] = 'b'; a['t']");
+   }
+
+   @Test
+   public void setpropAndIncrement()
+   {
+      assertAllLevels("6", "function g() { var a = {b:1}; a['fr':'t'] = 'b'; ---fr--- a.t = 5; a.t++; ---en--- return a.b; } g()");
+      assertAllLevels("7", "function g() { var a = {b:1}; a['fr':'t'] = 'b'; ---fr--- a['t'] = 5; a['t'] += 2; ---en--- return a.b; } g()");
+   }
+
+   @Test
+   public void names()
+   {
+      assertAllLevels("5", "var b = 1; this['fr':'t'] = 'b'; ---fr--- t = 5; ---en--- b");
+      assertAllLevels("ABC", "function g() { var s = 'abc'; ---fr--- retourner s.enMajuscule(); } g()");
+   }
+
+   @Test
+   public void deleteAndEnumerate()
+   {
+      assertAllLevels("1", "var a = {b:1}; a['fr':'t'] = 'b'; delete a['fr':'t']; ---fr--- a.t === undefined ? 1 : 0");
+      assertAllLevels("t", "var s=''; var a = {b:1}; a['fr':'t'] = 'b'; ---fr--- pour (var k dans a) s+=k; s");
+   }
+
+   @Test
+   public void translationFromPrototype()
+   {
+      // The translation is resolved before any getter for the untranslated
+      // name runs
+      assertAllLevels("2,0", "var n = 0; var p = {b: 2}; p['fr':'t'] = 'b'; function F() {} F.prototype = p; var o = new F(); o.__defineGetter__('t', function() { n++; return 'getter'; }); var r; ---fr--- r = o.t; ---en--- r + ',' + n");
+      assertAllLevels("5,2,true", "var p = {b: 2}; p['fr':'t'] = 'b'; function F() {} F.prototype = p; var o = new F(); ---fr--- o.t = 5; ---en--- [o.b, p.b, o.hasOwnProperty('b')].join()");
+      assertAllLevels("3,4,2", "var p = {b: 2}; p['fr':'t'] = 'b'; function F() {} F.prototype = p; var o = new F(); ---fr--- o.t++; var r = o.t; ---en--- o.t = 4; [r, o.t, p.b].join()");
+      assertAllLevels("own,proto", "var q = {u: 'proto'}; function F() {} F.prototype = q; var o = new F(); o.t = 'own'; var r; ---fr--- r = [o.t, o.u].join(); ---en--- r");
+   }
+
+   @Test
+   public void in()
+   {
+      assertAllLevels("true,false,true", "['a' in {a:1}, 'b' in {a:1}, 0 in [5]].join()");
+      assertAllLevels("false,false,1", "var a = {b:1}; a['fr':'t'] = 'b'; var r = [('t' in a)]; ---fr--- r.push('t' dans a); ---en--- if ('b' in a) r.push(1); r.join()");
+   }
+
+   @Test
+   public void generators()
+   {
+      assertAllLevels("9", "function gen() { var o = {b: 1}; o['fr':'t'] = 'b'; var x = yield 1; ---fr--- o.t = x; ---en--- yield o.b; } var g = gen(); g.next(); g.send(9)");
+      assertAllLevels("5", "function gen() { var o = {b: 1}; o['fr':'t'] = 'b'; ---fr--- o[fournir 0] = fournir 1; ---en--- yield o.b; } var g = gen(); g.next(); g.send('t'); g.send(5)");
+   }
+}
@@ -0,0 +1,73 @@
+package com.babylscript.my2iu;
+
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import org.junit.Test;
+import org.mozilla.javascript.ConsString;
+import org.mozilla.javascript.Context;
+import org.mozilla.javascript.Scriptable;
+
+/**
+ * Checks that strings built by concatenation behave like flat strings
+ * everywhere a script or Java code can see them.
+ */
+public class ConsStringTest
+{
+   String evalStringToString(String code)
+   {
+      Context cx = Context.enter();
+      cx.setOptimizationLevel(-1);
+      try {
+         Scriptable scope = cx.initStandardObjects();
+         return Context.toString(cx.evaluateString(scope, code, "<test>", 0, null));
+      } finally {
+         Context.exit();
+      }
+   }
+
+   static final String BUILD = "var s = ''; for (var i = 0; i < 100; i++) s += 'abcdefghij'; ";
+
+   @Test
+   public void stringValue()
+   {
+      assertEquals("string|1000|f|g|9", evalStringToString(BUILD
+            + "[typeof s, s.length, s.charAt(55), s[56], s.indexOf('j')].join('|')"));
+      assertEquals("true|true|true|true", evalStringToString(BUILD
+            + "[s == 'abcdefghij' + s.substring(10), s === s.substring(0), s < s + 'a', s != s.substring(1)].join('|')"));
+      assertEquals("object|2000|1", evalStringToString(BUILD
+            + "var o = {}; o[s] = 1; [typeof new String(s + s), new String(s + s).length, o[s.substring(0)]].join('|')"));
+      assertEquals("true|110|string", evalStringToString(
+            "var n = ''; for (var i = 0; i < 70; i++) n += '1'; var q = ''; for (var i = 0; i < 10; i++) q = q.concat('0123456789', 'x');"
+            + "[Number(n) == n, q.length, typeof q].join('|')"));
+      assertEquals("matched", evalStringToString(BUILD
+            + "switch ('x' + s) { case 'x' + s: 'matched'; break; default: 'missed'; }"));
+   }
+
+   @Test
+   public void deepConcatenation()
+   {
+      assertEquals("a|b|200000", evalStringToString(
+            "var s = ''; for (var i = 0; i < 100000; i++) s += 'ab'; [s.charAt(0), s.charAt(199999), s.length].join('|')"));
+   }
+
+   @Test
+   public void handedToJava()
+   {
+      assertEquals("1000|1000", evalStringToString(BUILD
+            + "[java.lang.String.valueOf(s).length(), new java.lang.StringBuilder(s).length()].join('|')"));
+      Context cx = Context.enter();
+      try {
+         cx.setOptimizationLevel(-1);
+         Scriptable scope = cx.initStandardObjects();
+         Object result = cx.evaluateString(scope, BUILD + "s", "<test>", 0, null);
+         assertTrue(result instanceof ConsString);
+         assertEquals(1000, ((CharSequence)result).length());
+         assertEquals(String.class, Context.jsToJava(result, String.class).getClass());
+         assertEquals(String.class, Context.jsToJava(result, Object.class).getClass());
+      } finally {
+         Context.exit();
+      }
+   }
+}
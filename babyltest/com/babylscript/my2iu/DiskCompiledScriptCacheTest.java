@@ -0,0 +1,121 @@
+package com.babylscript.my2iu;
+
+
+import static org.junit.Assert.assertEquals;
+
+import java.io.File;
+import java.io.RandomAccessFile;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.mozilla.javascript.Context;
+import org.mozilla.javascript.ContextFactory;
+import org.mozilla.javascript.DiskCompiledScriptCache;
+import org.mozilla.javascript.Script;
+import org.mozilla.javascript.Scriptable;
+
+public class DiskCompiledScriptCacheTest
+{
+   static final String CODE =
+      "function fact(n) { return n <= 1 ? 1 : n * fact(n - 1); }\n" +
+      "var o = {a: 1, 2: 'b', get c() { return 3; }};\n" +
+      "var arr = [1,,3];\n" +
+      "var r = /b+/g;\n" +
+      "var s = '';\n" +
+      "try { null.x; } catch (e) { s += 'caught'; }\n" +
+      "var inner = (function() { var k = 'x\\u00e9\\ud800'; return function() { return k.length; }; })();\n" +
+      "[fact(5), o.a, o[2], o.c, arr.length, 1 in arr, 'abbcb'.replace(r, '-'), s, inner(), 0.25].join(';')";
+   static final String RESULT = "120;1;b;3;3;false;a-c-;caught;3;0.25";
+
+   File dir;
+
+   @Before
+   public void setUp() throws Exception
+   {
+      dir = File.createTempFile("icodecache", "");
+      dir.delete();
+      dir.mkdir();
+   }
+
+   @After
+   public void tearDown() throws Exception
+   {
+      for (File f: dir.listFiles())
+         f.delete();
+      dir.delete();
+   }
+
+   /**
+    * Each call simulates a new process by using a new factory and cache.
+    */
+   DiskCompiledScriptCache newCache()
+   {
+      return new DiskCompiledScriptCache(dir, 10);
+   }
+
+   String compileAndRun(DiskCompiledScriptCache cache, String code, String lang)
+   {
+      ContextFactory factory = new ContextFactory();
+      factory.setCompiledScriptCache(cache);
+      Context cx = factory.enterContext();
+      cx.setOptimizationLevel(-1);
+      if (lang != null)
+         cx.setLanguageMode(lang);
+      try {
+         Scriptable scope = cx.initStandardObjects();
+         Script script = cx.compileString(code, "<test>", 1, null);
+         return Context.toString(script.exec(cx, scope));
+      } finally {
+         Context.exit();
+      }
+   }
+
+   @Test
+   public void scriptIsLoadedAfterRestart()
+   {
+      DiskCompiledScriptCache cache = newCache();
+      assertEquals(RESULT, compileAndRun(cache, CODE, null));
+      assertEquals(0, cache.getDiskHitCount());
+      assertEquals(1, dir.listFiles().length);
+
+      cache = newCache();
+      assertEquals(RESULT, compileAndRun(cache, CODE, null));
+      assertEquals(1, cache.getDiskHitCount());
+      assertEquals(RESULT, compileAndRun(cache, CODE, null));
+      assertEquals(1, cache.getDiskHitCount());
+      assertEquals(1, cache.getHitCount());
+   }
+
+   @Test
+   public void translatedNamesAfterRestart()
+   {
+      String code = "var a = new Object(); a.b = 'x'; a['fr':'t'] = 'b'; ---fr--- a.t + 1,5";
+      assertEquals("x1.5", compileAndRun(newCache(), code, null));
+      DiskCompiledScriptCache cache = newCache();
+      assertEquals("x1.5", compileAndRun(cache, code, null));
+      assertEquals(1, cache.getDiskHitCount());
+      // The same text in another language is a different compilation
+      assertEquals("1.5", compileAndRun(cache, "1,5", "fr"));
+      assertEquals("5", compileAndRun(newCache(), "1,5", null));
+      assertEquals(1, cache.getDiskHitCount());
+   }
+
+   @Test
+   public void corruptFileIsRecompiled() throws Exception
+   {
+      compileAndRun(newCache(), CODE, null);
+      File file = dir.listFiles()[0];
+      RandomAccessFile raf = new RandomAccessFile(file, "rw");
+      raf.setLength(raf.length() / 2);
+      raf.close();
+
+      DiskCompiledScriptCache cache = newCache();
+      assertEquals(RESULT, compileAndRun(cache, CODE, null));
+      assertEquals(0, cache.getDiskHitCount());
+
+      cache = newCache();
+      assertEquals(RESULT, compileAndRun(cache, CODE, null));
+      assertEquals(1, cache.getDiskHitCount());
+   }
+}
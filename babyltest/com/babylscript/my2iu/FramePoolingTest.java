@@ -0,0 +1,97 @@
+package com.babylscript.my2iu;
+
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import org.junit.Test;
+import org.mozilla.javascript.Context;
+import org.mozilla.javascript.RhinoException;
+import org.mozilla.javascript.Scriptable;
+import org.mozilla.javascript.Wrapper;
+
+/**
+ * Checks that interpreter frames reused across calls never leak state
+ * between calls and are not reused while something can still reach them.
+ */
+public class FramePoolingTest
+{
+   String evalStringToString(String code)
+   {
+      Context cx = Context.enter();
+      cx.setOptimizationLevel(-1);
+      cx.setLanguageVersion(Context.VERSION_1_7);
+      try {
+         Scriptable scope = cx.initStandardObjects();
+         return Context.toString(cx.evaluateString(scope, code, "<test>", 0, null));
+      } finally {
+         Context.exit();
+      }
+   }
+
+   @Test
+   public void callsSeeFreshFrames()
+   {
+      assertEquals("undefined,4", evalStringToString(
+            "function f(a, b) { var x; if (a) x = a; return x; } f(1, 2); f(3); String(f()) + ',' + String(f(4))"));
+      assertEquals("6", evalStringToString(
+            "function big(a) { var b = a + 1, c = b + 1, d = c + 1; return d; } function small() { var y; return y; } big(3); small() === undefined ? big(3) : -1"));
+      assertEquals("120", evalStringToString(
+            "function fact(n) { return n <= 1 ? 1 : n * fact(n - 1); } fact(5)"));
+      assertEquals("100000", evalStringToString(
+            "function loop(n, acc) { if (n == 0) return acc; return loop(n - 1, acc + 1); } loop(100000, 0)"));
+   }
+
+   @Test
+   public void constVariables()
+   {
+      assertEquals("1,5", evalStringToString(
+            "function c() { const k = 1; return k; } function v() { var k; k = 5; return k; } c(); [c(), v()].join(',')"));
+   }
+
+   @Test
+   public void callbacks()
+   {
+      assertEquals("1,2,3,4", evalStringToString(
+            "var a = [4, 2, 3, 1]; a.sort(function(x, y) { return x - y; }); a.join(',')"));
+      assertEquals("10", evalStringToString(
+            "var s = 0; [1, 2, 3, 4].forEach(function(x) { s += x; }); s"));
+   }
+
+   @Test
+   public void generators()
+   {
+      assertEquals("0,1,2", evalStringToString(
+            "function gen() { var i = 0; while (true) yield i++; } function other(a) { var z = a; return z; } "
+            + "var g = gen(); var r = [g.next()]; other(9); r.push(g.next()); other(8); r.push(g.next()); r.join(',')"));
+   }
+
+   @Test
+   public void closures()
+   {
+      assertEquals("3", evalStringToString(
+            "function mk() { var n = 1; return function() { return ++n; }; } var c = mk(); function f(x) { return x; } f(1); c(); c()"));
+   }
+
+   @Test
+   public void caughtExceptionKeepsItsStack()
+   {
+      Context cx = Context.enter();
+      cx.setOptimizationLevel(-1);
+      try {
+         Scriptable scope = cx.initStandardObjects();
+         cx.evaluateString(scope,
+               "function thrower() { null.x; }\n"
+               + "function inner() { try { thrower(); } catch (e) { saved = e.rhinoException; } return 1; }\n"
+               + "function other(a, b, c) { var d = a; return d; }\n"
+               + "inner(); other(1, 2, 3); other(4, 5, 6);", "<test>", 1, null);
+         RhinoException saved = (RhinoException)((Wrapper)scope.get("saved", scope)).unwrap();
+         String stack = saved.getScriptStackTrace();
+         assertTrue(stack, stack.contains("<test>:1 (thrower)"));
+         assertTrue(stack, stack.contains("<test>:2 (inner)"));
+         assertTrue(stack, !stack.contains("other"));
+      } finally {
+         Context.exit();
+      }
+   }
+}
@@ -0,0 +1,123 @@
+package com.babylscript.my2iu;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+
+import org.mozilla.javascript.CompiledScriptCache;
+import org.mozilla.javascript.Context;
+import org.mozilla.javascript.ContextFactory;
+import org.mozilla.javascript.DiskCompiledScriptCache;
+import org.mozilla.javascript.Script;
+
+/**
+ * Compares the time to get a compiled script by compiling its source,
+ * by loading it from a DiskCompiledScriptCache as on a warm restart, and
+ * by Java deserialization, along with the size of the two stored forms.
+ */
+public class IcodeCacheBenchmark
+{
+   static final int ROUNDS = 200;
+
+   static String makeSource()
+   {
+      StringBuilder source = new StringBuilder();
+      for (int i = 0; i < 100; i++)
+      {
+         source.append("function f" + i + "(a, b) {\n");
+         source.append("   var o = {x: a, y: b, name: 'f" + i + "'};\n");
+         source.append("   for (var k = 0; k < 10; k++) o.x += k * 1.5;\n");
+         source.append("   if (/^f\\d+$/.test(o.name)) return [o.x, o.y, " + i + "];\n");
+         source.append("   return null;\n");
+         source.append("}\n");
+      }
+      return source.toString();
+   }
+
+   static long compileTime(ContextFactory factory, CompiledScriptCache cache, String source)
+   {
+      Context cx = factory.enterContext();
+      try
+      {
+         cx.setOptimizationLevel(-1);
+         long start = System.nanoTime();
+         for (int i = 0; i < ROUNDS; i++)
+         {
+            if (cache != null)
+               cache.clear();   // force loading from disk
+            cx.compileString(source, "<benchmark>", 1, null);
+         }
+         return (System.nanoTime() - start) / ROUNDS / 1000;
+      }
+      finally
+      {
+         Context.exit();
+      }
+   }
+
+   static long deserializeTime(byte[] bytes) throws IOException, ClassNotFoundException
+   {
+      long start = System.nanoTime();
+      for (int i = 0; i < ROUNDS; i++)
+      {
+         ObjectInputStream in = new ObjectInputStream(new ByteArrayInputStream(bytes));
+         in.readObject();
+      }
+      return (System.nanoTime() - start) / ROUNDS / 1000;
+   }
+
+   public static void main(String[] args) throws Exception
+   {
+      String source = makeSource();
+      File dir = File.createTempFile("icodebench", "");
+      dir.delete();
+      dir.mkdir();
+      try
+      {
+         ContextFactory plain = new ContextFactory();
+         ContextFactory cached = new ContextFactory();
+         DiskCompiledScriptCache cache = new DiskCompiledScriptCache(dir, 10);
+         cached.setCompiledScriptCache(cache);
+
+         Context cx = plain.enterContext();
+         byte[] serialized;
+         try
+         {
+            cx.setOptimizationLevel(-1);
+            Script script = cx.compileString(source, "<benchmark>", 1, null);
+            ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+            ObjectOutputStream out = new ObjectOutputStream(bytes);
+            out.writeObject(script);
+            out.close();
+            serialized = bytes.toByteArray();
+         }
+         finally
+         {
+            Context.exit();
+         }
+
+         long compile = 0, load = 0, deserialize = 0;
+         for (int round = 0; round < 5; round++)
+         {
+            compile = compileTime(plain, null, source);
+            load = compileTime(cached, cache, source);
+            deserialize = deserializeTime(serialized);
+         }
+         System.out.println("Source: " + source.length() + " chars");
+         System.out.println("Cache file: " + dir.listFiles()[0].length() + " bytes");
+         System.out.println("Java serialization: " + serialized.length + " bytes");
+         System.out.println("Compile: " + compile + " us");
+         System.out.println("Load from disk cache: " + load + " us");
+         System.out.println("Java deserialization: " + deserialize + " us");
+      }
+      finally
+      {
+         for (File f: dir.listFiles())
+            f.delete();
+         dir.delete();
+      }
+   }
+}
@@ -0,0 +1,63 @@
+package com.babylscript.my2iu;
+
+import java.lang.management.ManagementFactory;
+
+import org.mozilla.javascript.Context;
+import org.mozilla.javascript.Script;
+import org.mozilla.javascript.Scriptable;
+
+/**
+ * Measures calls per second and bytes allocated per call for interpreted
+ * functions, both when called from interpreted code and when called back
+ * from native functions such as Array.prototype.forEach and sort.
+ */
+public class InterpretedCallBenchmark
+{
+   static final int ROUNDS = 5;
+
+   // Each script evaluates to the number of calls it made
+   static final String[][] SCRIPTS = {
+      {"direct calls",
+         "function add(a, b) { return a + b; } function f() { var s = 0; for (var i = 0; i < 1000000; i++) s = add(s, i) % 1000; return s; } f(); 1000000"},
+      {"forEach callbacks",
+         "var a = []; for (var i = 0; i < 1000; i++) a.push(i); var s = 0; for (var k = 0; k < 1000; k++) a.forEach(function(x) { s = (s + x) & 1023; }); 1000000"},
+      {"sort comparators",
+         "var n = 0; for (var k = 0; k < 100; k++) { var a = []; for (var i = 0; i < 1000; i++) a.push((i * 7919) % 1000); a.sort(function(x, y) { n++; return x - y; }); } n"},
+   };
+
+   static long allocatedBytes()
+   {
+      return ((com.sun.management.ThreadMXBean)ManagementFactory.getThreadMXBean())
+            .getThreadAllocatedBytes(Thread.currentThread().getId());
+   }
+
+   public static void main(String[] args)
+   {
+      Context cx = Context.enter();
+      try {
+         cx.setOptimizationLevel(-1);
+         Scriptable scope = cx.initStandardObjects();
+         for (String[] script: SCRIPTS)
+         {
+            Script compiled = cx.compileString(script[1], script[0], 1, null);
+            // Warm up
+            long calls = (long)Context.toNumber(compiled.exec(cx, scope));
+            long bytes = Long.MAX_VALUE;
+            long nanos = Long.MAX_VALUE;
+            for (int round = 0; round < ROUNDS; round++)
+            {
+               long startBytes = allocatedBytes();
+               long start = System.nanoTime();
+               compiled.exec(cx, scope);
+               nanos = Math.min(nanos, System.nanoTime() - start);
+               bytes = Math.min(bytes, allocatedBytes() - startBytes);
+            }
+            System.out.println(script[0] + ": "
+                  + (calls * 1000000000L / nanos) + " calls per second, "
+                  + String.format("%.1f", (double)bytes / calls) + " bytes per call");
+         }
+      } finally {
+         Context.exit();
+      }
+   }
+}
@@ -0,0 +1,71 @@
+package com.babylscript.my2iu;
+
+
+import static org.junit.Assert.assertEquals;
+
+import org.junit.Test;
+import org.mozilla.javascript.Context;
+import org.mozilla.javascript.Scriptable;
+
+/**
+ * Exercises the icode sequences that the interpreter fuses into
+ * superinstructions, including the cases where it has to fall back to
+ * running the original icodes.
+ */
+public class InterpreterSuperinstructionsTest
+{
+   String evalStringToString(String code)
+   {
+      Context cx = Context.enter();
+      cx.setOptimizationLevel(-1);
+      cx.setLanguageVersion(Context.VERSION_1_7);
+      try {
+         Scriptable scope = cx.initStandardObjects();
+         return Context.toString(cx.evaluateString(scope, code, "<test>", 0, null));
+      } finally {
+         Context.exit();
+      }
+   }
+
+   @Test
+   public void getprop()
+   {
+      assertEquals("3", evalStringToString("var a = {b: 1, c: 2}; a.b + a.c"));
+      assertEquals("3", evalStringToString("var a = [1; 2; 3]; ---fr--- a.longueur"));
+      assertEquals("2", evalStringToString("var a = new Object(); a['b'] = 2; a['fr':'t'] = 'b'; ---fr--- a.t"));
+      // Enough strings that property names need a one byte string index
+      StringBuilder code = new StringBuilder("var o = {};");
+      for (int n = 0; n < 300; n++)
+         code.append("o.p" + n + " = " + n + ";");
+      code.append("o.p5 + o.p250");
+      assertEquals("255", evalStringToString(code.toString()));
+   }
+
+   @Test
+   public void callWithoutArguments()
+   {
+      assertEquals("5", evalStringToString("function f() { return 5; } f()"));
+      assertEquals("5", evalStringToString("function f() { return 5; } function g() { return f(); } g()"));
+      assertEquals("ok", evalStringToString("function f() { throw 'ok'; } var r; try { f(); } catch (e) { r = e; } r"));
+      assertEquals("ReferenceError", evalStringToString("var r; try { missing(); } catch (e) { r = e.name; } r"));
+   }
+
+   @Test
+   public void incrementVariable()
+   {
+      assertEquals("10", evalStringToString("function f() { var i, n = 0; for (i = 0; i < 10; i = i + 1) n = n + 1; return n; } f()"));
+      assertEquals("2", evalStringToString("function f() { var x = 1; var y; y = x + 1; return y; } f()"));
+      assertEquals("a1", evalStringToString("function f() { var x = 'a'; x = x + 1; return x; } f()"));
+      assertEquals("[object Object]1", evalStringToString("function f() { var x = {}; x = x + 1; return x; } f()"));
+      assertEquals("NaN", evalStringToString("function f() { var x; x = x + 1; return x; } f()"));
+      assertEquals("1", evalStringToString("function f() { var x = null; x = x + 1; return x; } f()"));
+      assertEquals("3", evalStringToString("function f(x) { try { x = x + 1; } finally { x = x + 1; } return x; } f(1)"));
+   }
+
+   @Test
+   public void incrementWithActivation()
+   {
+      assertEquals("3", evalStringToString("function f() { var x = 1; x = x + 1; eval('x = x + 1'); return x; } f()"));
+      assertEquals("2", evalStringToString("function f() { var x = 1; x = x + 1; return (function() { return x; })(); } f()"));
+   }
+}
@@ -0,0 +1,133 @@
+package com.babylscript.my2iu;
+
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.Test;
+import org.mozilla.javascript.Context;
+import org.mozilla.javascript.ContextFactory;
+import org.mozilla.javascript.EvaluatorException;
+import org.mozilla.javascript.NativeObject;
+import org.mozilla.javascript.Scriptable;
+import org.mozilla.javascript.ScriptableObject;
+
+/**
+ * Checks that objects behave the same with the lock-free property table
+ * selected by FEATURE_LOCK_FREE_PROPERTIES, and that the table stays
+ * consistent when many threads add and remove properties at once.
+ */
+public class LockFreePropertiesTest
+{
+   static class LockFreeContextFactory extends ContextFactory
+   {
+      final boolean lockFree;
+      LockFreeContextFactory(boolean lockFree)
+      {
+         this.lockFree = lockFree;
+      }
+      protected boolean hasFeature(Context cx, int featureIndex)
+      {
+         if (featureIndex == Context.FEATURE_LOCK_FREE_PROPERTIES)
+            return lockFree;
+         return super.hasFeature(cx, featureIndex);
+      }
+   }
+
+   String eval(ContextFactory factory, String code)
+   {
+      Context cx = factory.enterContext();
+      cx.setOptimizationLevel(-1);
+      cx.setLanguageVersion(Context.VERSION_1_7);
+      try {
+         Scriptable scope = cx.initStandardObjects();
+         return Context.toString(cx.evaluateString(scope, code, "<test>", 1, null));
+      } finally {
+         Context.exit();
+      }
+   }
+
+   static final String[] SCRIPTS = {
+      "var o = {a: 1, b: 2, c: 3}; delete o.b; o.d = 4; o.b = 5; var r = []; for (var k in o) r.push(k + o[k]); r.join()",
+      "var o = {}; for (var i = 0; i < 100; i++) o['p' + i] = i; for (var i = 0; i < 100; i += 2) delete o['p' + i]; var s = 0; for (var k in o) s += o[k]; s",
+      "var o = [1, 2, 3]; o[10] = 4; delete o[1]; var r = []; for (var k in o) r.push(k); r.join()",
+      "var o = {x: 1}; o.__defineGetter__('x', function() { return 7; }); o.y = 2; var r = []; for (var k in o) r.push(k + o[k]); r.join()",
+      "var o = {}; Object.defineProperty(o, 'x', {value: 3}); o.x = 4; delete o.x; var n = 0; for (var k in o) n++; o.x + n",
+      "function f() { const k = 1; return k; } f() + Math.max(2, 3) + typeof String.prototype.trim",
+   };
+
+   @Test
+   public void sameBehaviour()
+   {
+      ContextFactory plain = new LockFreeContextFactory(false);
+      ContextFactory lockFree = new LockFreeContextFactory(true);
+      for (String script: SCRIPTS)
+         assertEquals(script, eval(plain, script), eval(lockFree, script));
+      assertEquals("a1,c3,d4,b5", eval(lockFree, SCRIPTS[0]));
+   }
+
+   @Test
+   public void sealedObjects()
+   {
+      Context cx = new LockFreeContextFactory(true).enterContext();
+      try {
+         ScriptableObject scope = cx.initStandardObjects(null, true);
+         scope.sealObject();
+         assertTrue(scope.isSealed());
+         assertEquals("3", Context.toString(cx.evaluateString(scope,
+               "Math.max(1, 3)", "<test>", 1, null)));
+         try {
+            cx.evaluateString(scope, "Math.x = 1", "<test>", 1, null);
+            fail();
+         } catch (EvaluatorException e) {
+         }
+      } finally {
+         Context.exit();
+      }
+   }
+
+   @Test
+   public void concurrentChanges() throws InterruptedException
+   {
+      final ScriptableObject shared;
+      Context cx = new LockFreeContextFactory(true).enterContext();
+      try {
+         shared = new NativeObject();
+         shared.put("base", shared, "base");
+      } finally {
+         Context.exit();
+      }
+      List<Thread> threads = new ArrayList<Thread>();
+      final int THREADS = 8;
+      final int PROPERTIES = 2000;
+      for (int n = 0; n < THREADS; n++)
+      {
+         final String prefix = "t" + n + "_";
+         threads.add(new Thread() {
+            public void run()
+            {
+               for (int i = 0; i < PROPERTIES; i++)
+               {
+                  shared.put(prefix + i, shared, i);
+                  if (i % 2 == 1)
+                     shared.delete(prefix + (i - 1));
+               }
+            }
+         });
+      }
+      for (Thread t: threads)
+         t.start();
+      for (Thread t: threads)
+         t.join();
+      assertEquals(1 + THREADS * PROPERTIES / 2, shared.getIds().length);
+      assertEquals("base", shared.get("base", shared));
+      for (int n = 0; n < THREADS; n++)
+         for (int i = 0; i < PROPERTIES; i++)
+            assertEquals(i % 2 == 1 ? (Object)i : Scriptable.NOT_FOUND,
+                  shared.get("t" + n + "_" + i, shared));
+   }
+}
@@ -0,0 +1,96 @@
+package com.babylscript.my2iu;
+
+import org.mozilla.javascript.Context;
+import org.mozilla.javascript.Function;
+import org.mozilla.javascript.Scriptable;
+import org.mozilla.javascript.ScriptableObject;
+
+/**
+ * Measures language-qualified property lookups that mix names with and
+ * without translations. Accessing a user-defined property from French
+ * code is the common case: the name has no translation anywhere in the
+ * prototype chain, so the lookup should not need to walk the chain's
+ * translation tables.
+ */
+public class MixedLanguageLookupBenchmark
+{
+   static final int ITERATIONS = 2000000;
+
+   static final String SCRIPT =
+      "var points = [];" +
+      "for (var i = 0; i < 100; i++) points.push({x: i, y: i * 2, label: 'p' + i});" +
+      "function run(n) {" +
+      "   var total = 0;" +
+      "   for (var k = 0; k < n; k++) {" +
+      "      var p = points[k % 100];" +
+      "      ---fr--- total = total + p.x + p.y + p.label.longueur + points.longueur; ---en---" +
+      "   }" +
+      "   return total;" +
+      "}";
+
+   static long lookups(Scriptable obj, String lang, String[] names, int iterations)
+   {
+      long found = 0;
+      for (int i = 0; i < iterations; i++)
+      {
+         Object val = ScriptableObject.getProperty(obj, lang, names[i % names.length]);
+         if (val != Scriptable.NOT_FOUND)
+            found++;
+      }
+      return found;
+   }
+
+   static long timeLookups(Scriptable obj, String lang, String[] names)
+   {
+      long start = System.nanoTime();
+      lookups(obj, lang, names, ITERATIONS);
+      return (System.nanoTime() - start) / ITERATIONS;
+   }
+
+   public static void main(String[] args)
+   {
+      Context cx = Context.enter();
+      try
+      {
+         Scriptable scope = cx.initStandardObjects();
+         cx.evaluateString(scope, SCRIPT, "<benchmark>", 1, null);
+         Scriptable point = (Scriptable)cx.evaluateString(scope, "points[0]", "<benchmark>", 1, null);
+         Scriptable array = (Scriptable)cx.evaluateString(scope, "points", "<benchmark>", 1, null);
+
+         String[] labels = new String[] {
+               "Untranslated names, English",
+               "Untranslated names, French",
+               "Mixed names, French",
+               "Global variables, French"};
+         Scriptable[] objs = new Scriptable[] {point, point, array, scope};
+         String[] langs = new String[] {null, "fr", "fr", "fr"};
+         String[][] names = new String[][] {
+               {"x", "y", "label"},
+               {"x", "y", "label"},
+               {"longueur", "x", "empiler", "y"},
+               {"points", "run"}};
+
+         // Let all cases warm up together so that the measured round runs
+         // with code compiled for all of them
+         long[] times = new long[labels.length];
+         for (int round = 0; round < 5; round++)
+            for (int i = 0; i < labels.length; i++)
+               times[i] = timeLookups(objs[i], langs[i], names[i]);
+         for (int i = 0; i < labels.length; i++)
+            System.out.println(labels[i] + ": " + times[i] + " ns/lookup");
+
+         Object run = scope.get("run", scope);
+         Object[] callArgs = new Object[] {Integer.valueOf(ITERATIONS / 10)};
+         ((Function)run).call(cx, scope, scope, callArgs);
+         long start = System.nanoTime();
+         ((Function)run).call(cx, scope, scope, callArgs);
+         long end = System.nanoTime();
+         System.out.println("Interpreted mixed-language loop: "
+               + ((end - start) / 1000000) + " ms for " + (ITERATIONS / 10) + " iterations");
+      }
+      finally
+      {
+         Context.exit();
+      }
+   }
+}
@@ -0,0 +1,73 @@
+package com.babylscript.my2iu;
+
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import org.junit.Test;
+import org.mozilla.javascript.Context;
+import org.mozilla.javascript.ScriptRuntime;
+import org.mozilla.javascript.Scriptable;
+import org.mozilla.javascript.ScriptableObject;
+
+/**
+ * Checks that numbers leaving the interpreter's unboxed stack keep their
+ * values when small integers are boxed from a shared cache.
+ */
+public class NumberBoxingTest
+{
+   String evalStringToString(String code)
+   {
+      Context cx = Context.enter();
+      cx.setOptimizationLevel(-1);
+      try {
+         Scriptable scope = cx.initStandardObjects();
+         return Context.toString(cx.evaluateString(scope, code, "<test>", 0, null));
+      } finally {
+         Context.exit();
+      }
+   }
+
+   @Test
+   public void negativeZero()
+   {
+      assertEquals("-Infinity", evalStringToString("var a = []; a[0] = -0; 1 / a[0]"));
+      assertEquals("-Infinity", evalStringToString("var z = 0; z = -z; 1 / z"));
+      assertEquals("Infinity", evalStringToString("var z = -0; z = -z; 1 / z"));
+      assertTrue(1 / ScriptRuntime.wrapNumber(-0.0).doubleValue() < 0);
+   }
+
+   @Test
+   public void wrappedValues()
+   {
+      for (int i = -2000; i < 2000; i++)
+         assertEquals(i, ScriptRuntime.wrapNumber(i).doubleValue(), 0);
+      assertEquals(0.5, ScriptRuntime.wrapNumber(0.5).doubleValue(), 0);
+      assertTrue(Double.isNaN(ScriptRuntime.wrapNumber(Double.NaN).doubleValue()));
+      assertEquals("1023,1024,-128,-129", evalStringToString(
+            "var a = []; a.push(1023, 1024, -128, -129); a.join()"));
+   }
+
+   @Test
+   public void elementIncrements()
+   {
+      assertEquals("2,0,4|1,1,4", evalStringToString(
+            "var a = [1, 1, 3]; var r = [a[0]++, a[1]--, ++a[2]]; a.join() + '|' + r.join()"));
+      assertEquals("2.5,0|1.5,0", evalStringToString(
+            "var a = [1.5, 1]; var r = [a[0]++, --a[1]]; a.join() + '|' + r.join()"));
+      assertEquals("5000,4997,1,NaN,2", evalStringToString(
+            "var a = []; for (var i = 0; i < 5000; i++) a[i] = i; a[4999]++; a[4998]--; var b = [1]; b[1]++; [a[4999], a[4998], b[0], b[1], b.length].join()"));
+      Context cx = Context.enter();
+      cx.setOptimizationLevel(-1);
+      try {
+         Scriptable scope = cx.initStandardObjects();
+         ScriptableObject a = (ScriptableObject)cx.evaluateString(scope,
+               "var a = [1, 2]; a", "<test>", 0, null);
+         a.sealObject();
+         assertEquals("1,2", Context.toString(cx.evaluateString(scope,
+               "try { a[0]++; } catch (e) {} a.join()", "<test>", 0, null)));
+      } finally {
+         Context.exit();
+      }
+   }
+}
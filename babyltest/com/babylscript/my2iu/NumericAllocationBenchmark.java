@@ -0,0 +1,72 @@
+package com.babylscript.my2iu;
+
+import java.lang.management.ManagementFactory;
+
+import org.mozilla.javascript.Context;
+import org.mozilla.javascript.Script;
+import org.mozilla.javascript.Scriptable;
+
+/**
+ * Measures how many bytes the interpreter allocates per loop iteration in
+ * numeric code. Numbers that stay on the interpreter stack or in local
+ * variables are not boxed, so these loops should allocate next to nothing.
+ */
+public class NumericAllocationBenchmark
+{
+   static final int ITERATIONS = 1000000;
+   static final int ROUNDS = 5;
+
+   // The loops keep their values small, the way loop counters, indices
+   // and array contents usually are
+   static final String[][] SCRIPTS = {
+      {"local arithmetic",
+         "function f(n) { var s = 0; for (var i = 0; i < n; i++) s = (s + i * 3) % 1000; return s; } f(N)"},
+      {"global loop counters",
+         "var s = 0; for (var k = 0; k < N / 1000; k++) for (var i = 0; i < 1000; i++) s = (s + 1) & 1023; s"},
+      {"array elements",
+         "function f(n) { var a = [0, 0, 0, 0, 0, 0, 0, 0]; for (var i = 0; i < n; i++) a[i & 7] = (a[(i + 1) & 7] + 1) & 1023; return a[0]; } f(N)"},
+      {"array element increments",
+         "function f(n) { var a = []; for (var i = 0; i < 4096; i++) a[i] = i; for (var i = 0; i < n; i++) a[i & 4095]++; return a[0]; } f(N)"},
+      {"interpreted calls",
+         "function add(a, b) { return a + b; } function f(n) { var s = 0; for (var i = 0; i < n; i++) s = add(s, i) % 1000; return s; } f(N)"},
+      {"native calls",
+         "function f(n) { var s = 0; for (var i = 0; i < n; i++) s = Math.max(s, i & 255); return s; } f(N)"},
+   };
+
+   static long allocatedBytes()
+   {
+      return ((com.sun.management.ThreadMXBean)ManagementFactory.getThreadMXBean())
+            .getThreadAllocatedBytes(Thread.currentThread().getId());
+   }
+
+   public static void main(String[] args)
+   {
+      Context cx = Context.enter();
+      try {
+         cx.setOptimizationLevel(-1);
+         Scriptable scope = cx.initStandardObjects();
+         for (String[] script: SCRIPTS)
+         {
+            Script compiled = cx.compileString(
+                  script[1].replace("N", String.valueOf(ITERATIONS)), script[0], 1, null);
+            // Warm up
+            compiled.exec(cx, scope);
+            long bytes = Long.MAX_VALUE;
+            long nanos = Long.MAX_VALUE;
+            for (int round = 0; round < ROUNDS; round++)
+            {
+               long startBytes = allocatedBytes();
+               long start = System.nanoTime();
+               compiled.exec(cx, scope);
+               nanos = Math.min(nanos, System.nanoTime() - start);
+               bytes = Math.min(bytes, allocatedBytes() - startBytes);
+            }
+            System.out.println(script[0] + ": "
+                  + String.format("%.2f", (double)bytes / ITERATIONS) + " bytes and "
+                  + (nanos / ITERATIONS) + " ns per iteration");
+         }
+      } finally {
+         Context.exit();
+      }
+   }
+}
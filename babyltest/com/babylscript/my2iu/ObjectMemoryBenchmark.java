@@ -0,0 +1,68 @@
+package com.babylscript.my2iu;
+
+import java.lang.management.ManagementFactory;
+
+import org.mozilla.javascript.Context;
+import org.mozilla.javascript.Script;
+import org.mozilla.javascript.Scriptable;
+
+/**
+ * Measures how much heap small script objects keep alive and how long
+ * it takes to create and read them. Each script builds OBJECTS objects
+ * and keeps them in an array.
+ */
+public class ObjectMemoryBenchmark
+{
+   static final int OBJECTS = 200000;
+   static final int ROUNDS = 5;
+
+   static final String[][] SCRIPTS = {
+      {"object literals",
+         "var a = []; for (var i = 0; i < N; i++) a.push({x: i, y: i, z: i}); a"},
+      {"constructed objects",
+         "function P(x, y) { this.x = x; this.y = y; this.id = 'p'; } var a = []; for (var i = 0; i < N; i++) a.push(new P(i, i)); a"},
+      {"object properties read",
+         "var o = {x: 1, y: 2, z: 3, w: 4}; var s = 0; for (var i = 0; i < N; i++) s += o.x + o.y + o.z + o.w; s"},
+   };
+
+   static long usedHeap()
+   {
+      for (int i = 0; i < 3; i++)
+         System.gc();
+      return ManagementFactory.getMemoryMXBean().getHeapMemoryUsage().getUsed();
+   }
+
+   public static void main(String[] args)
+   {
+      Context cx = Context.enter();
+      try {
+         cx.setOptimizationLevel(-1);
+         Scriptable scope = cx.initStandardObjects();
+         for (String[] script: SCRIPTS)
+         {
+            Script compiled = cx.compileString(
+                  script[1].replace("N", String.valueOf(OBJECTS)), script[0], 1, null);
+            // Warm up
+            compiled.exec(cx, scope);
+            long bytes = Long.MAX_VALUE;
+            long nanos = Long.MAX_VALUE;
+            for (int round = 0; round < ROUNDS; round++)
+            {
+               // Drop the objects of the previous round
+               cx.evaluateString(scope, "a = null", "reset", 1, null);
+               long startBytes = usedHeap();
+               long start = System.nanoTime();
+               Object result = compiled.exec(cx, scope);
+               nanos = Math.min(nanos, System.nanoTime() - start);
+               bytes = Math.min(bytes, usedHeap() - startBytes);
+               if (result == null) System.out.print("");
+            }
+            System.out.println(script[0] + ": "
+                  + (bytes / OBJECTS) + " bytes retained and "
+                  + (nanos / OBJECTS) + " ns per iteration");
+         }
+      } finally {
+         Context.exit();
+      }
+   }
+}
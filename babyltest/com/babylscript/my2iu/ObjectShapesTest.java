@@ -0,0 +1,154 @@
+package com.babylscript.my2iu;
+
+
+import static org.junit.Assert.assertEquals;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+
+import org.junit.Test;
+import org.mozilla.javascript.Context;
+import org.mozilla.javascript.NativeObject;
+import org.mozilla.javascript.Scriptable;
+import org.mozilla.javascript.ScriptableObject;
+
+/**
+ * Checks that objects keeping their properties in shared shapes behave
+ * like objects keeping them in slots, including when they have to move
+ * their properties to slots part way through.
+ */
+public class ObjectShapesTest
+{
+   String evalStringToString(String code)
+   {
+      Context cx = Context.enter();
+      cx.setOptimizationLevel(-1);
+      try {
+         Scriptable scope = cx.initStandardObjects();
+         return Context.toString(cx.evaluateString(scope, code, "<test>", 0, null));
+      } finally {
+         Context.exit();
+      }
+   }
+
+   static final String KEYS = "function keys(o) { var r = []; for (var k in o) r.push(k + '=' + o[k]); return r.join(); } ";
+
+   @Test
+   public void sharedShapes()
+   {
+      assertEquals("x=1,y=2|x=3,y=4|y=5,x=6", evalStringToString(KEYS
+            + "var a = {x: 1, y: 2}, b = {x: 3, y: 4}, c = {y: 5, x: 6}; keys(a) + '|' + keys(b) + '|' + keys(c)"));
+      assertEquals("x=1,y=7,z=3", evalStringToString(KEYS
+            + "function P(x) { this.x = x; this.y = 2; } var p = new P(1); var q = new P(5); q.z = 4; p.z = 3; p.y = 7; keys(p)"));
+      assertEquals("true,false,2", evalStringToString(
+            "var o = {a: 1, b: 2}; ['a' in o, 'c' in o, o.b].join()"));
+   }
+
+   @Test
+   public void fallbackToSlots()
+   {
+      assertEquals("x=1,z=3,y=4", evalStringToString(KEYS
+            + "var o = {x: 1, y: 2, z: 3}; delete o.y; o.y = 4; keys(o)"));
+      assertEquals("a=1,0=2,b=3", evalStringToString(KEYS
+            + "var o = {a: 1}; o[0] = 2; o.b = 3; keys(o)"));
+      assertEquals("get,2", evalStringToString(
+            "var o = {x: 1, y: 2}; o.__defineGetter__('x', function() { return 'get'; }); [o.x, o.y].join()"));
+      assertEquals("40,780", evalStringToString(
+            "var o = {}; for (var i = 0; i < 40; i++) o['p' + i] = i; var n = 0, s = 0; for (var k in o) { n++; s += o[k]; } n + ',' + s"));
+   }
+
+   @Test
+   public void prototypeChain()
+   {
+      assertEquals("1,2,true,false", evalStringToString(
+            "function A() {} A.prototype.x = 1; var a = new A(); a.y = 2; [a.x, a.y, 'x' in a, a.hasOwnProperty('x')].join()"));
+      assertEquals("3,1", evalStringToString(
+            "var p = {x: 1}; function F() {} F.prototype = p; var o = new F(); o.x = 3; [o.x, p.x].join()"));
+   }
+
+   @Test
+   public void attributes()
+   {
+      Context cx = Context.enter();
+      try {
+         ScriptableObject o = (ScriptableObject)cx.newObject(cx.initStandardObjects());
+         o.put("a", o, "a");
+         o.defineProperty("hidden", "h", ScriptableObject.DONTENUM);
+         o.defineProperty("fixed", "f", ScriptableObject.READONLY | ScriptableObject.PERMANENT);
+         o.put("b", o, "b");
+         assertEquals(3, o.getIds().length);
+         assertEquals(4, o.getAllIds().length);
+         assertEquals(ScriptableObject.DONTENUM, o.getAttributes("hidden"));
+         o.put("fixed", o, "changed");
+         assertEquals("f", o.get("fixed", o));
+         o.delete("fixed");
+         assertEquals("f", o.get("fixed", o));
+         o.setAttributes("a", ScriptableObject.READONLY);
+         o.put("a", o, "changed");
+         assertEquals("a", o.get("a", o));
+         assertEquals("b", o.get("b", o));
+      } finally {
+         Context.exit();
+      }
+   }
+
+   @Test
+   public void attributesDoNotCollideWithNames()
+   {
+      Context cx = Context.enter();
+      try {
+         Scriptable scope = cx.initStandardObjects();
+         ScriptableObject hidden = (ScriptableObject)cx.newObject(scope);
+         hidden.defineProperty("foo", "h", ScriptableObject.DONTENUM);
+         ScriptableObject.putProperty(scope, "hidden", hidden);
+         assertEquals("5,,2:foo", Context.toString(cx.evaluateString(scope,
+               "var o = {}; o['2:foo'] = 5; var k = []; for (var p in o) k.push(p); [o['2:foo'], o.foo, k].join()",
+               "<test>", 0, null)));
+      } finally {
+         Context.exit();
+      }
+   }
+
+   @Test
+   public void serialization() throws Exception
+   {
+      ScriptableObject o = new NativeObject();
+      o.put("a", o, "1");
+      o.defineProperty("b", "2", ScriptableObject.DONTENUM);
+      ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+      ObjectOutputStream out = new ObjectOutputStream(bytes);
+      out.writeObject(o);
+      out.close();
+      ScriptableObject copy = (ScriptableObject)new ObjectInputStream(
+            new ByteArrayInputStream(bytes.toByteArray())).readObject();
+      assertEquals("1", copy.get("a", copy));
+      assertEquals("2", copy.get("b", copy));
+      assertEquals(1, copy.getIds().length);
+      assertEquals(ScriptableObject.DONTENUM, copy.getAttributes("b"));
+   }
+
+   @Test
+   public void concurrentWritesWhileGrowing() throws Exception
+   {
+      // Writes to existing properties must not be lost while another
+      // thread grows the values or moves them to slots
+      for (int round = 0; round < 500; round++) {
+         final ScriptableObject o = new NativeObject();
+         o.put("a", o, Integer.valueOf(0));
+         final int writes = 1000;
+         Thread writer = new Thread() {
+            public void run() {
+               for (int i = 1; i <= writes; i++)
+                  o.put("a", o, Integer.valueOf(i));
+            }
+         };
+         writer.start();
+         for (int i = 0; i < 40; i++)
+            o.put("p" + i, o, Integer.valueOf(i));
+         writer.join();
+         assertEquals(Integer.valueOf(writes), o.get("a", o));
+      }
+   }
+}
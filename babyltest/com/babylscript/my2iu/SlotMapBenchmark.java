@@ -0,0 +1,106 @@
+package com.babylscript.my2iu;
+
+import org.mozilla.javascript.Context;
+import org.mozilla.javascript.ContextFactory;
+import org.mozilla.javascript.NativeObject;
+import org.mozilla.javascript.ScriptableObject;
+
+/**
+ * Compares the default property table with the lock-free one selected by
+ * FEATURE_LOCK_FREE_PROPERTIES when several threads use one shared
+ * object. Most operations read existing properties, and every
+ * WRITE_INTERVAL-th operation adds a property and deletes it again, the
+ * way a shared global keeps gaining lazily defined names.
+ */
+public class SlotMapBenchmark
+{
+   static final int PROPERTIES = 64;
+   static final int OPERATIONS = 2000000;
+   static final int WRITE_INTERVAL = 100;
+   static final int ROUNDS = 5;
+   static final int[] THREAD_COUNTS = {1, 2, 4, 8};
+
+   static class BenchmarkContextFactory extends ContextFactory
+   {
+      final boolean lockFree;
+      BenchmarkContextFactory(boolean lockFree)
+      {
+         this.lockFree = lockFree;
+      }
+      protected boolean hasFeature(Context cx, int featureIndex)
+      {
+         if (featureIndex == Context.FEATURE_LOCK_FREE_PROPERTIES)
+            return lockFree;
+         return super.hasFeature(cx, featureIndex);
+      }
+   }
+
+   static final String[] NAMES = new String[PROPERTIES];
+   static {
+      for (int n = 0; n < PROPERTIES; n++)
+         NAMES[n] = "property" + n;
+   }
+
+   static ScriptableObject createShared(boolean lockFree)
+   {
+      Context cx = new BenchmarkContextFactory(lockFree).enterContext();
+      try {
+         ScriptableObject shared = new NativeObject();
+         for (int n = 0; n < PROPERTIES; n++)
+            shared.put(NAMES[n], shared, n);
+         return shared;
+      } finally {
+         Context.exit();
+      }
+   }
+
+   static long run(final ScriptableObject shared, int threadCount) throws InterruptedException
+   {
+      Thread[] threads = new Thread[threadCount];
+      for (int t = 0; t < threadCount; t++)
+      {
+         final String added = "added" + t;
+         threads[t] = new Thread() {
+            public void run()
+            {
+               int sum = 0;
+               for (int i = 0; i < OPERATIONS; i++)
+               {
+                  if (i % WRITE_INTERVAL == 0) {
+                     shared.put(added, shared, i);
+                     shared.delete(added);
+                  } else {
+                     sum += ((Integer)shared.get(NAMES[i % PROPERTIES], shared));
+                  }
+               }
+               if (sum == 42) System.out.print("");
+            }
+         };
+      }
+      long start = System.nanoTime();
+      for (Thread thread: threads)
+         thread.start();
+      for (Thread thread: threads)
+         thread.join();
+      return System.nanoTime() - start;
+   }
+
+   public static void main(String[] args) throws InterruptedException
+   {
+      for (int threadCount: THREAD_COUNTS)
+      {
+         for (boolean lockFree: new boolean[] {false, true})
+         {
+            ScriptableObject shared = createShared(lockFree);
+            // Warm up
+            run(shared, threadCount);
+            long nanos = Long.MAX_VALUE;
+            for (int round = 0; round < ROUNDS; round++)
+               nanos = Math.min(nanos, run(shared, threadCount));
+            System.out.println(threadCount + " threads, "
+                  + (lockFree ? "lock-free table: " : "hash table: ")
+                  + ((long)OPERATIONS * threadCount * 1000 / nanos) + " million operations per second");
+         }
+      }
+   }
+}
@@ -0,0 +1,72 @@
+package com.babylscript.my2iu;
+
+import java.lang.management.ManagementFactory;
+
+import org.mozilla.javascript.Context;
+import org.mozilla.javascript.Script;
+import org.mozilla.javascript.Scriptable;
+
+/**
+ * Measures how much heap sparse arrays keep alive and how long it takes
+ * to fill, enumerate, slice and truncate them. Each script works on an
+ * array of N elements spread STRIDE indexes apart.
+ */
+public class SparseArrayBenchmark
+{
+   static final int ELEMENTS = 100000;
+   static final int STRIDE = 100;
+   static final int ROUNDS = 5;
+
+   static final String[][] SCRIPTS = {
+      {"sparse elements stored",
+         "var a = []; for (var i = 0; i < N; i++) a[i * S] = i; a"},
+      {"sparse elements enumerated",
+         "var a = []; for (var i = 0; i < N; i++) a[i * S] = i; var n = 0; for (var k in a) n++; a = null; n"},
+      {"sparse array sliced and concatenated",
+         "var a = []; for (var i = 0; i < N; i++) a[i * S] = i; var b = a.slice(S).concat(a); a = null; b.length"},
+      {"sparse array truncated",
+         "var a = []; for (var i = 0; i < N; i++) a[i * S] = i; for (var l = N * S; l > 0; l = l >> 1) a.length = l; a = null; l"},
+   };
+
+   static long usedHeap()
+   {
+      for (int i = 0; i < 3; i++)
+         System.gc();
+      return ManagementFactory.getMemoryMXBean().getHeapMemoryUsage().getUsed();
+   }
+
+   public static void main(String[] args)
+   {
+      Context cx = Context.enter();
+      try {
+         cx.setOptimizationLevel(-1);
+         Scriptable scope = cx.initStandardObjects();
+         for (String[] script: SCRIPTS)
+         {
+            Script compiled = cx.compileString(script[1]
+                  .replace("N", String.valueOf(ELEMENTS))
+                  .replace("S", String.valueOf(STRIDE)), script[0], 1, null);
+            // Warm up
+            compiled.exec(cx, scope);
+            long bytes = Long.MAX_VALUE;
+            long nanos = Long.MAX_VALUE;
+            for (int round = 0; round < ROUNDS; round++)
+            {
+               // Drop the array of the previous round
+               cx.evaluateString(scope, "a = null", "reset", 1, null);
+               long startBytes = usedHeap();
+               long start = System.nanoTime();
+               Object result = compiled.exec(cx, scope);
+               nanos = Math.min(nanos, System.nanoTime() - start);
+               bytes = Math.min(bytes, usedHeap() - startBytes);
+               if (result == null) System.out.print("");
+            }
+            System.out.println(script[0] + ": "
+                  + (bytes / ELEMENTS) + " bytes retained and "
+                  + (nanos / ELEMENTS) + " ns per element");
+         }
+      } finally {
+         Context.exit();
+      }
+   }
+}
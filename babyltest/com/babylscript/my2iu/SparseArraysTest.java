@@ -0,0 +1,91 @@
+package com.babylscript.my2iu;
+
+
+import static org.junit.Assert.assertEquals;
+
+import org.junit.Test;
+import org.mozilla.javascript.Context;
+import org.mozilla.javascript.Scriptable;
+import org.mozilla.javascript.ScriptableObject;
+
+/**
+ * Checks that arrays too sparse to be dense keep their elements, and that
+ * operations over their length only visit the elements present.
+ */
+public class SparseArraysTest
+{
+   String evalStringToString(String code)
+   {
+      Context cx = Context.enter();
+      cx.setOptimizationLevel(-1);
+      try {
+         Scriptable scope = cx.initStandardObjects();
+         return Context.toString(cx.evaluateString(scope, code, "<test>", 0, null));
+      } finally {
+         Context.exit();
+      }
+   }
+
+   static final String KEYS = "function keys(o) { var r = []; for (var k in o) r.push(k + '=' + o[k]); return r.join(); } ";
+
+   @Test
+   public void elements()
+   {
+      assertEquals("1000000001|3=4,20000=3,500000000=2,1000000000=1|true|false", evalStringToString(KEYS
+            + "var a = []; a[1e9] = 1; a[5e8] = 2; a[20000] = 3; a[3] = 4; [a.length, keys(a), 5e8 in a, 6e8 in a].join('|')"));
+      assertEquals("0=y,49999=z|z", evalStringToString(KEYS
+            + "var a = new Array(50000); a[49999] = 'z'; a[0] = 'y'; keys(a) + '|' + a[49999]"));
+      assertEquals("3=4|false|", evalStringToString(KEYS
+            + "var a = []; a[3] = 4; a[1e6] = 1; delete a[1e6]; [keys(a), 1e6 in a, a[1e6]].join('|')"));
+   }
+
+   @Test
+   public void truncation()
+   {
+      assertEquals("3=4,20000=3|600000000|false", evalStringToString(KEYS
+            + "var a = []; a[1e9] = 1; a[6e8] = 2; a[20000] = 3; a[3] = 4; a.length = 6e8; [keys(a), a.length, 1e9 in a].join('|')"));
+      assertEquals("1=b|2", evalStringToString(KEYS
+            + "var a = []; a[1] = 'b'; a[1e6] = 'c'; a.length = 2; keys(a) + '|' + a.length"));
+   }
+
+   @Test
+   public void sliceAndConcat()
+   {
+      assertEquals("599999996|19996=3,499999996=2", evalStringToString(KEYS
+            + "var a = []; a[1e9] = 1; a[5e8] = 2; a[20000] = 3; a[3] = 4; var b = a.slice(4, 6e8); b.length + '|' + keys(b)"));
+      assertEquals("2000000003|7|1|2", evalStringToString(
+            "var a = []; a[1e9] = 1; a[5e8] = 2; var c = a.concat([7], a); [c.length, c[1e9 + 1], c[2e9 + 2], c[15e8 + 2]].join('|')"));
+      assertEquals("1000001|x|1", evalStringToString(
+            "Array.prototype[5] = 'x'; var a = []; a[1e6] = 1; var b = a.slice(0); [b.length, b[5], b[1e6]].join('|')"));
+   }
+
+   @Test
+   public void attributes()
+   {
+      assertEquals("100000=5,100001=g|g", evalStringToString(KEYS
+            + "var a = []; a[100000] = 1; a.__defineGetter__(100001, function() { return 'g'; }); a[100000] = 5; keys(a) + '|' + a[100001]"));
+      assertEquals("9|1000000=9", evalStringToString(KEYS
+            + "var a = []; a[1e6] = 1; Object.defineProperty(a, '1000000', {value: 9, enumerable: true}); a[1e6] + '|' + keys(a)"));
+   }
+
+   @Test
+   public void indexAttributes()
+   {
+      assertEquals("true|false", evalStringToString(
+            "var a = []; a[1000000] = 1; [a.propertyIsEnumerable(1000000), a.propertyIsEnumerable(1000001)].join('|')"));
+      Context cx = Context.enter();
+      try {
+         Scriptable scope = cx.initStandardObjects();
+         ScriptableObject a = (ScriptableObject)cx.evaluateString(scope,
+               "var a = []; a[1000000] = 1; a[2000000] = 2; a", "<test>", 0, null);
+         assertEquals(ScriptableObject.EMPTY, a.getAttributes(1000000));
+         a.setAttributes(1000000, ScriptableObject.DONTENUM | ScriptableObject.READONLY);
+         assertEquals(ScriptableObject.DONTENUM | ScriptableObject.READONLY, a.getAttributes(1000000));
+         assertEquals("1|2000000=2|false|2000001", Context.toString(cx.evaluateString(scope,
+               KEYS + "a[1000000] = 5; [a[1000000], keys(a), a.propertyIsEnumerable(1000000), a.length].join('|')",
+               "<test>", 0, null)));
+      } finally {
+         Context.exit();
+      }
+   }
+}
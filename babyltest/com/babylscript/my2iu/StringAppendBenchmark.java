@@ -0,0 +1,67 @@
+package com.babylscript.my2iu;
+
+import java.lang.management.ManagementFactory;
+
+import org.mozilla.javascript.Context;
+import org.mozilla.javascript.Script;
+import org.mozilla.javascript.Scriptable;
+
+/**
+ * Measures how long it takes to build a string by appending to it N times,
+ * including reading the finished string once, and how many bytes that
+ * allocates.
+ */
+public class StringAppendBenchmark
+{
+   static final int APPENDS = 100000;
+   static final int ROUNDS = 5;
+
+   static final String[][] SCRIPTS = {
+      {"s += literal",
+         "var s = ''; for (var i = 0; i < N; i++) s += '<td>cell</td>'; s.charAt(0) + s.length"},
+      {"s += number",
+         "var s = ''; for (var i = 0; i < N; i++) s += i; s.charAt(0) + s.length"},
+      {"s = s.concat(a, b)",
+         "var s = ''; for (var i = 0; i < N; i++) s = s.concat('<li>', i); s.charAt(0) + s.length"},
+      {"template lines",
+         "var row = {name: 'item', price: 12.5}; var s = ''; for (var i = 0; i < N; i++) s += '<tr><td>' + row.name + i + '</td><td>' + row.price + '</td></tr>\\n'; s.charAt(0) + s.length"},
+   };
+
+   static long allocatedBytes()
+   {
+      return ((com.sun.management.ThreadMXBean)ManagementFactory.getThreadMXBean())
+            .getThreadAllocatedBytes(Thread.currentThread().getId());
+   }
+
+   public static void main(String[] args)
+   {
+      Context cx = Context.enter();
+      try {
+         cx.setOptimizationLevel(-1);
+         Scriptable scope = cx.initStandardObjects();
+         for (String[] script: SCRIPTS)
+         {
+            Script compiled = cx.compileString(
+                  script[1].replace("N", String.valueOf(APPENDS)), script[0], 1, null);
+            // Warm up
+            compiled.exec(cx, scope);
+            long bytes = Long.MAX_VALUE;
+            long nanos = Long.MAX_VALUE;
+            for (int round = 0; round < ROUNDS; round++)
+            {
+               long startBytes = allocatedBytes();
+               long start = System.nanoTime();
+               Object result = compiled.exec(cx, scope);
+               nanos = Math.min(nanos, System.nanoTime() - start);
+               bytes = Math.min(bytes, allocatedBytes() - startBytes);
+               if (result == null) System.out.print("");
+            }
+            System.out.println(script[0] + ": "
+                  + (nanos / 1000000) + " ms and "
+                  + (bytes / 1024 / 1024) + " MB allocated for " + APPENDS + " appends");
+         }
+      } finally {
+         Context.exit();
+      }
+   }
+}
@@ -0,0 +1,69 @@
+package com.babylscript.my2iu;
+
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertSame;
+
+import org.junit.Test;
+import org.mozilla.javascript.Context;
+import org.mozilla.javascript.ContextFactory;
+import org.mozilla.javascript.Scriptable;
+
+/**
+ * Checks that names in compiled scripts are shared with the rest of the
+ * process when FEATURE_INTERN_STRINGS is on.
+ */
+public class StringInterningTest
+{
+   static class InterningContextFactory extends ContextFactory
+   {
+      final boolean intern;
+      InterningContextFactory(boolean intern)
+      {
+         this.intern = intern;
+      }
+      protected boolean hasFeature(Context cx, int featureIndex)
+      {
+         if (featureIndex == Context.FEATURE_INTERN_STRINGS)
+            return intern;
+         return super.hasFeature(cx, featureIndex);
+      }
+   }
+
+   Object eval(ContextFactory factory, String code, int optimizationLevel)
+   {
+      Context cx = factory.enterContext();
+      cx.setOptimizationLevel(optimizationLevel);
+      try {
+         Scriptable scope = cx.initStandardObjects();
+         return cx.evaluateString(scope, code, "<test>", 1, null);
+      } finally {
+         Context.exit();
+      }
+   }
+
+   static final String LAST_KEY = "var o = {}; o.someLongName = 1; var r; for (var k in o) r = k; r";
+
+   @Test
+   public void namesInternedForProcess()
+   {
+      ContextFactory factory = new InterningContextFactory(true);
+      assertSame("someLongName", eval(factory, LAST_KEY, -1));
+      assertSame("someLongName", eval(factory, LAST_KEY, 9));
+   }
+
+   @Test
+   public void namesInternedForCompilationByDefault()
+   {
+      ContextFactory factory = new InterningContextFactory(false);
+      // A name of its own, since objects with the same properties share
+      // the names of the first object that had them
+      Object key = eval(factory, LAST_KEY.replace("someLongName", "otherLongName"), -1);
+      assertEquals("otherLongName", key);
+      assertFalse(key == "otherLongName");
+      // Functions compiled together still work off shared names
+      assertEquals("3", Context.toString(eval(factory,
+            "---fr--- fonction f(o) { retourner o.longueur; } fonction g(o) { retourner o['longueur']; } f([1; 2; 3]) + g([]) * 2", -1)));
+   }
+}
@@ -0,0 +1,80 @@
+package com.babylscript.my2iu;
+
+import java.util.HashMap;
+import java.util.Map;
+
+import org.mozilla.javascript.CompilerEnvirons;
+import org.mozilla.javascript.Parser;
+import org.mozilla.javascript.babylscript.gen.Keywords;
+
+/**
+ * Measures parsing speed for large sources written in languages with
+ * non-Latin keywords. Most of the parsing time is spent in the tokenizer,
+ * which has to recognise every word as either a keyword or an identifier.
+ */
+public class TokenizerBenchmark
+{
+   static final int FUNCTIONS = 2000;
+   static final int ROUNDS = 20;
+
+   static Map<String, String> keywords(String[] arr)
+   {
+      Map<String, String> map = new HashMap<String, String>();
+      for (int n = 0; n < arr.length; n += 2)
+         map.put(arr[n], arr[n + 1]);
+      return map;
+   }
+
+   static String source(String lang, String[] keywordArray)
+   {
+      Map<String, String> k = keywords(keywordArray);
+      StringBuilder sb = new StringBuilder();
+      sb.append("---" + lang + "---\n");
+      for (int i = 0; i < FUNCTIONS; i++)
+      {
+         sb.append(k.get("function")).append(" f").append(i).append("(alpha, beta) {\n");
+         sb.append("   ").append(k.get("var")).append(" gamma = alpha;\n");
+         sb.append("   ").append(k.get("if")).append(" (gamma ").append(k.get("instanceof"))
+               .append(" beta) ").append(k.get("return")).append(" ")
+               .append(k.get("true")).append(";\n");
+         sb.append("   ").append(k.get("while")).append(" (gamma) gamma = ")
+               .append(k.get("typeof")).append(" beta;\n");
+         sb.append("   ").append(k.get("return")).append(" ").append(k.get("null")).append(";\n");
+         sb.append("}\n");
+      }
+      return sb.toString();
+   }
+
+   static void parse(String source)
+   {
+      CompilerEnvirons env = new CompilerEnvirons();
+      new Parser(env, env.getErrorReporter()).parse(source, "<benchmark>", 1);
+   }
+
+   static long time(String source)
+   {
+      long start = System.nanoTime();
+      for (int i = 0; i < ROUNDS; i++)
+         parse(source);
+      return (System.nanoTime() - start) / ROUNDS / 1000;
+   }
+
+   public static void main(String[] args)
+   {
+      String[] langs = {"en", "zh", "ar", "ru"};
+      String[] sources = {
+            source("en", Keywords.en),
+            source("zh", Keywords.zh),
+            source("ar", Keywords.ar),
+            source("ru", Keywords.ru)};
+
+      // Warm up with all languages before measuring any of them
+      for (int round = 0; round < 5; round++)
+         for (String source: sources)
+            time(source);
+
+      for (int i = 0; i < langs.length; i++)
+         System.out.println(langs[i] + ": " + time(sources[i]) + " us per parse of "
+               + sources[i].length() + " characters");
+   }
+}
@@ -378,4 +378,39 @@ public class TranslatedNames
                evalStringToString("a={a:'1'}; a['fr':'b'] = 'a'; c = ---fr---a.b---en---; c += ---fr---a.b---en---;c;"));
    }
 
+   @Test 
+   public void cachedGetAfterTranslationChange()
+   {
+       assertEquals("1122",
+               evalStringToString("a={a:'1', c:'2'}; a['fr':'b'] = 'a'; function f() {return ---fr---a.b---en---;} r = f() + f(); a['fr':'b'] = 'c'; r += f() + f(); r;"));
+   }
+
+   @Test 
+   public void cachedCallAfterPrototypeChange()
+   {
+       assertEquals("12",
+               evalStringToString("p={x: function() {return 1;}}; q={y: function() {return 2;}}; p['fr':'f'] = 'x'; q['fr':'f'] = 'y'; o={}; o.__proto__ = p; function g() {return ---fr---o.f()---en---;} r = '' + g(); o.__proto__ = q; r += g(); r;"));
+   }
+
+   @Test 
+   public void cachedSetAfterTranslationDelete()
+   {
+       assertEquals("5,5,7",
+               evalStringToString("a={b:0}; a['fr':'t'] = 'b'; function s(v) {---fr--- a.t = v; ---en---} s(5); r = '' + a.b; delete a['fr':'t']; s(7); r += ',' + a.b + ',' + a.t; r;"));
+   }
+
+   @Test 
+   public void filteredGetAfterTranslationAdded()
+   {
+       assertEquals("undefined,1",
+               evalStringToString("p={x: 1}; p['fr':'t'] = 'x'; o={}; o.__proto__ = p; r = '' + ---fr---o['u']---en---; p['fr':'u'] = 'x'; r += ',' + ---fr---o['u']---en---; r;"));
+   }
+
+   @Test 
+   public void filteredGetAfterPrototypeSet()
+   {
+       assertEquals("undefined,2",
+               evalStringToString("q={y: 2}; q['fr':'v'] = 'y'; p={}; p['fr':'t'] = 'x'; p.__proto__ = null; o={}; o.__proto__ = p; r = '' + ---fr---o['v']---en---; p.__proto__ = q; r += ',' + ---fr---o['v']---en---; r;"));
+   }
+
 }
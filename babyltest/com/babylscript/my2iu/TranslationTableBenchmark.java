@@ -0,0 +1,75 @@
+package com.babylscript.my2iu;
+
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.mozilla.javascript.NativeObject;
+import org.mozilla.javascript.ScriptableObject;
+
+/**
+ * Measures the heap used per ScriptableObject with and without translated
+ * names. Objects without translated names share the empty translation
+ * table, so they should be smaller than objects that have one by roughly
+ * the size of the two language maps that every object used to allocate.
+ *
+ * Run with a fixed heap (e.g. -Xms512m -Xmx512m) for stable numbers.
+ */
+public class TranslationTableBenchmark
+{
+   static final int COUNT = 200000;
+
+   static long usedMemory()
+   {
+      Runtime rt = Runtime.getRuntime();
+      for (int i = 0; i < 4; i++)
+      {
+         System.gc();
+         try {
+            Thread.sleep(50);
+         } catch (InterruptedException e) {
+         }
+      }
+      return rt.totalMemory() - rt.freeMemory();
+   }
+
+   static double bytesPerObject(boolean translate, boolean oldLayout)
+   {
+      Object[] holder = new Object[COUNT];
+      long before = usedMemory();
+      for (int i = 0; i < COUNT; i++)
+      {
+         if (oldLayout)
+         {
+            // The two maps that every object allocated eagerly before
+            holder[i] = new Object[] {
+                  new ConcurrentHashMap<String, ConcurrentHashMap<String, String>>(),
+                  new ConcurrentHashMap<String, ConcurrentHashMap<String, String>>()};
+            continue;
+         }
+         ScriptableObject obj = new NativeObject();
+         if (translate)
+            obj.putTranslatedName("fr", "nom", obj, "name");
+         holder[i] = obj;
+      }
+      long after = usedMemory();
+      double result = (double)(after - before) / COUNT;
+      if (holder[COUNT - 1] == null) throw new IllegalStateException();
+      return result;
+   }
+
+   public static void main(String[] args)
+   {
+      // Warm up class loading
+      bytesPerObject(false, false);
+      bytesPerObject(true, false);
+
+      double plain = bytesPerObject(false, false);
+      double translated = bytesPerObject(true, false);
+      double eagerMaps = bytesPerObject(false, true);
+      System.out.println("Objects measured: " + COUNT);
+      System.out.println("Bytes per object without translations: " + plain);
+      System.out.println("Bytes per object with one translation: " + translated);
+      // Only the two maps are allocated in this case, so this is what
+      // every object used to cost on top of the plain layout
+      System.out.println("Bytes per object for the two eager maps: " + eagerMaps);
+   }
+}
@@ -0,0 +1,57 @@
+package org.mozilla.javascript;
+
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import org.junit.Test;
+
+/**
+ * Checks that inline caches of translated names are only invalidated by
+ * changes to objects they may depend on.
+ */
+public class TranslatedNameCacheTest
+{
+   @Test
+   public void survivesUnrelatedScopes()
+   {
+      NativeObject proto = new NativeObject();
+      proto.putTranslatedName("fr", "t", proto, "b");
+      NativeObject obj = new NativeObject();
+      obj.setPrototype(proto);
+      TranslatedNameCache cache = new TranslatedNameCache();
+      assertEquals("b", cache.resolve(obj, "fr", "t"));
+
+      int epoch = TranslatedNameCache.currentEpoch();
+      Context cx = Context.enter();
+      try {
+         Scriptable scope = cx.initStandardObjects();
+         cx.evaluateString(scope, "var o = {a: 1}; o['fr':'x'] = 'a'; ---fr--- o.x", "<test>", 0, null);
+      } finally {
+         Context.exit();
+      }
+      assertEquals(epoch, TranslatedNameCache.currentEpoch());
+      assertEquals("b", cache.resolve(obj, "fr", "t"));
+   }
+
+   @Test
+   public void invalidatedByObservedChanges()
+   {
+      NativeObject proto = new NativeObject();
+      proto.putTranslatedName("fr", "t", proto, "b");
+      NativeObject obj = new NativeObject();
+      obj.setPrototype(proto);
+      TranslatedNameCache cache = new TranslatedNameCache();
+      assertEquals("b", cache.resolve(obj, "fr", "t"));
+
+      int epoch = TranslatedNameCache.currentEpoch();
+      proto.putTranslatedName("fr", "t", proto, "c");
+      assertTrue(epoch != TranslatedNameCache.currentEpoch());
+      assertEquals("c", cache.resolve(obj, "fr", "t"));
+
+      NativeObject other = new NativeObject();
+      other.putTranslatedName("fr", "t", other, "d");
+      obj.setPrototype(other);
+      assertEquals("d", cache.resolve(obj, "fr", "t"));
+   }
+}
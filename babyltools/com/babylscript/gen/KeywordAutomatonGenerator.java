@@ -0,0 +1,160 @@
+package com.babylscript.gen;
+
+import java.io.FileOutputStream;
+import java.io.PrintStream;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Generates a keyword automaton for each language from the generated
+ * Keywords class so that tokenizers can recognise keywords directly from
+ * their character buffer.
+ * <p>
+ * Each automaton is a trie, encoded as a string so that it does not bloat
+ * the static initializer of the generated class. For every state, in
+ * order, the string holds the index of the accepted keyword plus one (or
+ * zero), the number of outgoing edges and then the character and target
+ * state of each edge, sorted by character.
+ */
+public class KeywordAutomatonGenerator
+{
+    /**
+     * The keywords in order of precedence. When a language uses the same
+     * word for two keywords, the later one wins, as it does in
+     * BabylGenericTokenizer.
+     */
+    static final String [] KEYWORDS = {
+        "function", "if", "else", "for", "while", "return", "do", "true",
+        "false", "var", "break", "try", "switch", "case", "null", "in",
+        "int", "let", "new", "byte", "char", "enum", "goto", "long", "this",
+        "void", "with", "class", "yield", "const", "final", "float", "short",
+        "super", "throw", "catch", "native", "delete", "throws", "import",
+        "double", "static", "public", "export", "typeof", "package",
+        "default", "finally", "boolean", "private", "extends", "abstract",
+        "continue", "debugger", "volatile", "interface", "protected",
+        "transient", "implements", "instanceof", "synchronized"
+    };
+
+    static class State
+    {
+        int accept = -1;
+        TreeMap<Character, State> edges = new TreeMap<Character, State>();
+        int number;
+    }
+
+    static String encode(Map<String, String> keywords)
+    {
+        State root = new State();
+        for (int n = 0; n < KEYWORDS.length; n++)
+        {
+            String word = keywords.get(KEYWORDS[n]);
+            if (word == null) continue;
+            State state = root;
+            for (int i = 0; i < word.length(); i++)
+            {
+                State next = state.edges.get(word.charAt(i));
+                if (next == null)
+                {
+                    next = new State();
+                    state.edges.put(word.charAt(i), next);
+                }
+                state = next;
+            }
+            state.accept = n;
+        }
+
+        // Number the states in breadth-first order
+        List<State> states = new ArrayList<State>();
+        states.add(root);
+        for (int n = 0; n < states.size(); n++)
+        {
+            State state = states.get(n);
+            state.number = n;
+            states.addAll(state.edges.values());
+        }
+
+        StringBuilder encoded = new StringBuilder();
+        for (State state: states)
+        {
+            encoded.append((char)(state.accept + 1));
+            encoded.append((char)state.edges.size());
+            for (Map.Entry<Character, State> edge: state.edges.entrySet())
+            {
+                encoded.append(edge.getKey().charValue());
+                encoded.append((char)edge.getValue().number);
+            }
+        }
+        return encoded.toString();
+    }
+
+    static String toJavaString(String str)
+    {
+        StringBuilder result = new StringBuilder("\"");
+        for (int i = 0; i < str.length(); i++)
+        {
+            char c = str.charAt(i);
+            // Unicode escapes are translated before the source is parsed,
+            // so line breaks, quotes and backslashes need octal escapes
+            if (c >= 0x20 && c < 0x7f && c != '"' && c != '\\')
+                result.append(c);
+            else if (c < 0x100)
+                result.append(String.format("\\%03o", (int)c));
+            else
+                result.append(String.format("\\u%04x", (int)c));
+        }
+        result.append('"');
+        return result.toString();
+    }
+
+    public void doit(Class<?> keywordsClass, String []langs, String destDir, String pkg, String className) throws Exception
+    {
+        FileOutputStream outFile = new FileOutputStream(destDir + "/" + className + ".java");
+        PrintStream out = new PrintStream(outFile, false, "UTF-8");
+
+        out.println("package " + pkg + ";");
+        out.println("public class " + className + " {");
+
+        out.println("public final static String [] KEYWORDS = {");
+        for (String keyword: KEYWORDS)
+            out.println("\"" + keyword + "\",");
+        out.println("};");
+
+        for (String lang: langs)
+        {
+            String [] arr = (String [])keywordsClass.getField(lang).get(null);
+            Map<String, String> keywords = new HashMap<String, String>();
+            for (int n = 0; n < arr.length; n += 2)
+                keywords.put(arr[n], arr[n+1]);
+            out.println("public final static String " + lang + " =");
+            out.println("    " + toJavaString(encode(keywords)) + ";");
+        }
+
+        out.println("public final static String [] LANGUAGES = {");
+        for (String lang: langs)
+            out.println("\"" + lang + "\",");
+        out.println("};");
+        out.println("public final static String [] AUTOMATA = {");
+        for (String lang: langs)
+            out.println(lang + ",");
+        out.println("};");
+
+        out.println("}");
+        out.close();
+    }
+
+    /**
+     * Expects the generated Keywords class to be on the class path.
+     */
+    public static void main(String[] args) throws Exception
+    {
+        String destDir = "src/org/mozilla/javascript/babylscript/gen";
+        String pkg = "org.mozilla.javascript.babylscript.gen";
+
+        String [] langs = {"ar", "de", "en", "eo", "es", "fr", "hi", "ja", "pt", "ro", "ru", "zh", "bn", "ko", "tr", "id", "it", "sw", "nl", "pl"};
+        new KeywordAutomatonGenerator().doit(Class.forName(pkg + ".Keywords"),
+                langs, destDir, pkg, "KeywordAutomata");
+    }
+}
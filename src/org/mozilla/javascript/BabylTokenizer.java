@@ -45,6 +45,7 @@
 package org.mozilla.javascript;
 
 import java.io.IOException;
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.Map;
 
@@ -62,6 +63,7 @@ public class BabylTokenizer
     private int stringBufferTop;
     protected void setStringBufferTop(int top) { stringBufferTop = top; }
     protected int getStringBufferTop() { return stringBufferTop;}
+    protected char[] getStringBuffer() { return stringBuffer; }
     protected String getStringFromBuffer()
     {
         return new String(stringBuffer, 0, stringBufferTop);
@@ -80,7 +82,16 @@ public class BabylTokenizer
     }
 
     // Interns a string
-    protected String internString(String str) {return (String)ts.allStrings.intern(str); }
+    protected String internString(String str) {return ts.allStrings.intern(str); }
+
+    /**
+     * Returns the interned string with the contents of the string buffer.
+     * A new String is only created the first time a token is seen.
+     */
+    protected String internStringBuffer()
+    {
+        return ts.allStrings.intern(stringBuffer, 0, stringBufferTop);
+    }
 
     // The value of a string/number that was tokenized
     protected void setString(String str) {ts.string = str;}
@@ -101,19 +112,35 @@ public class BabylTokenizer
         this.numberReader = numberReader;
     }
 
-    protected Map<String, Integer> keywordLookup = new HashMap<String, Integer>();
+    /**
+     * Maps keywords to their ids. Tables for the built-in languages are
+     * shared by all tokenizers and must not be modified.
+     */
+    protected Map<String, Integer> keywordLookup = Collections.emptyMap();
 
     protected int stringToKeyword(String name)
     {
-        if (keywordLookup.containsKey(name))
-            return keywordLookup.get(name) & 0xff;
+        Integer id = keywordLookup.get(name);
+        if (id != null)
+            return id.intValue() & 0xff;
         return Token.EOF;
     }
-    
+
+    /**
+     * Returns the keyword id of the identifier in the string buffer, or
+     * Token.EOF if it is not a keyword. Tokenizers that can match keywords
+     * without making a string of the identifier override this.
+     */
+    protected int bufferToKeyword()
+    {
+        return stringToKeyword(internStringBuffer());
+    }
+
     static int englishStringToKeyword(String name)
     {
-        if (englishKeywordLookup.containsKey(name))
-            return englishKeywordLookup.get(name) & 0xff;
+        Integer id = englishKeywordLookup.get(name);
+        if (id != null)
+            return id.intValue() & 0xff;
         return Token.EOF;
     }
 
@@ -137,6 +164,7 @@ public class BabylTokenizer
                     break;
                 }
             }
+            in.markTokenStart();
 
             if (c == '@') return Token.XMLATTR;
 
@@ -209,13 +237,9 @@ public class BabylTokenizer
                 }
                 in.ungetChar(c);
 
-                String str = getStringFromBuffer();
                 if (!containsEscape) {
-                    // OPT we shouldn't have to make a string (object!) to
-                    // check if it's a keyword.
-
                     // Return the corresponding token if it's a keyword
-                    int result = stringToKeyword(str);
+                    int result = bufferToKeyword();
                     if (result != Token.EOF) {
                         if ((result == Token.LET || result == Token.YIELD) && 
                             parser.compilerEnv.getLanguageVersion() 
@@ -235,11 +259,12 @@ public class BabylTokenizer
                             // If implementation permits to use future reserved
                             // keywords in violation with the EcmaScript,
                             // treat it as name but issue warning
-                            parser.addWarning("msg.reserved.keyword", str);
+                            parser.addWarning("msg.reserved.keyword",
+                                              getStringFromBuffer());
                         }
                     }
                 }
-                setString(internString(str));
+                setString(internStringBuffer());
                 return Token.NAME;
             }
 
@@ -366,8 +391,7 @@ public class BabylTokenizer
                 }
 
                 in.setIsNormalizeChars(true);  
-                String str = getStringFromBuffer();
-                setString(internString(str));
+                setString(internStringBuffer());
                 return Token.STRING;
             }
 
@@ -0,0 +1,281 @@
+/* -*- Mode: java; tab-width: 8; indent-tabs-mode: nil; c-basic-offset: 4 -*-
+ *
+ * ***** BEGIN LICENSE BLOCK *****
+ * Version: MPL 1.1/GPL 2.0
+ *
+ * The contents of this file are subject to the Mozilla Public License Version
+ * 1.1 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ * http://www.mozilla.org/MPL/
+ *
+ * Software distributed under the License is distributed on an "AS IS" basis,
+ * WITHOUT WARRANTY OF ANY KIND, either express or implied. See the License
+ * for the specific language governing rights and limitations under the
+ * License.
+ *
+ * The Original Code is Rhino code, released
+ * May 6, 1999.
+ *
+ * The Initial Developer of the Original Code is
+ * Netscape Communications Corporation.
+ * Portions created by the Initial Developer are Copyright (C) 1997-1999
+ * the Initial Developer. All Rights Reserved.
+ *
+ * Contributor(s):
+ *
+ * Alternatively, the contents of this file may be used under the terms of
+ * the GNU General Public License Version 2 or later (the "GPL"), in which
+ * case the provisions of the GPL are applicable instead of those above. If
+ * you wish to allow use of your version of this file only under the terms of
+ * the GPL and not to allow others to use your version of this file under the
+ * MPL, indicate your decision by deleting the provisions above and replacing
+ * them with the notice and other provisions required by the GPL. If you do
+ * not delete the provisions above, a recipient may use your version of this
+ * file under either the MPL or the GPL.
+ *
+ * ***** END LICENSE BLOCK ***** */
+
+package org.mozilla.javascript;
+
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.security.DigestOutputStream;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.TreeSet;
+
+/**
+ * Bounded cache of compiled scripts and functions, shared by all contexts
+ * of a {@link ContextFactory}. When a cache is installed with
+ * {@link ContextFactory#setCompiledScriptCache(CompiledScriptCache)},
+ * compiling a source that was compiled before with the same settings
+ * skips parsing and code generation.
+ * <p>
+ * The default implementation keeps the most recently used entries up to
+ * a fixed count. Applications can override {@link #get(Key)} and
+ * {@link #put(Key, Object)} to provide a different policy.
+ * <p>
+ * Compilation warnings are only reported when a source is actually
+ * compiled, not when its compiled form is taken from the cache.
+ */
+public class CompiledScriptCache
+{
+    /**
+     * Identifies a compilation. Besides the source text, the key holds
+     * everything that can change the compiled result: the source name
+     * and line number recorded in it, the compiler, the compiler
+     * settings and the Babylscript language, including the keywords of
+     * the custom language, since the same text means different things in
+     * different languages.
+     */
+    public static final class Key
+    {
+        private final String source;
+        private final String sourceName;
+        private final int lineno;
+        private final boolean returnFunction;
+        private final Class<?> compilerClass;
+        private final Object[] settings;
+        private final int hashCode;
+
+        Key(String source, String sourceName, int lineno,
+            boolean returnFunction, Evaluator compiler,
+            CompilerEnvirons compilerEnv)
+        {
+            this.source = source;
+            this.sourceName = sourceName;
+            this.lineno = lineno;
+            this.returnFunction = returnFunction;
+            this.compilerClass = compiler.getClass();
+            Set<String> activationNames = compilerEnv.activationNames == null
+                ? null : new HashSet<String>(compilerEnv.activationNames);
+            Map<String, String> customKeywords = new HashMap<String, String>(
+                compilerEnv.getCustomTokenizerConfig().keywords);
+            this.settings = new Object[] {
+                Integer.valueOf(compilerEnv.getLanguageVersion()),
+                Boolean.valueOf(compilerEnv.isGenerateDebugInfo()),
+                Boolean.valueOf(compilerEnv.isUseDynamicScope()),
+                Boolean.valueOf(compilerEnv.isReservedKeywordAsIdentifier()),
+                Boolean.valueOf(compilerEnv.isAllowMemberExprAsFunctionName()),
+                Boolean.valueOf(compilerEnv.isXmlAvailable()),
+                Integer.valueOf(compilerEnv.getOptimizationLevel()),
+                Boolean.valueOf(compilerEnv.isGeneratingSource()),
+                Boolean.valueOf(compilerEnv.isStrictMode()),
+                Boolean.valueOf(compilerEnv.reportWarningAsError()),
+                Boolean.valueOf(compilerEnv.isGenerateObserverCount()),
+                activationNames,
+                compilerEnv.getLanguageMode(),
+                customKeywords
+            };
+            int h = source.hashCode();
+            h = h * 31 + (sourceName == null ? 0 : sourceName.hashCode());
+            h = h * 31 + lineno;
+            h = h * 31 + Arrays.hashCode(settings);
+            this.hashCode = h;
+        }
+
+        /**
+         * Returns the source that was compiled.
+         */
+        public String getSource()
+        {
+            return source;
+        }
+
+        /**
+         * Returns a SHA-1 digest of everything the key holds. Unlike
+         * {@link #hashCode()} it does not depend on the order of hashed
+         * collections, so it identifies the same compilation across runs.
+         */
+        byte[] digest()
+        {
+            MessageDigest md;
+            try {
+                md = MessageDigest.getInstance("SHA-1");
+            } catch (NoSuchAlgorithmException ex) {
+                throw new RuntimeException(ex);
+            }
+            DataOutputStream out = new DataOutputStream(
+                new DigestOutputStream(new OutputStream() {
+                    @Override
+                    public void write(int b) { }
+                }, md));
+            try {
+                writeDigestString(out, source);
+                writeDigestString(out, sourceName);
+                out.writeInt(lineno);
+                out.writeBoolean(returnFunction);
+                out.writeUTF(compilerClass.getName());
+                for (Object setting: settings) {
+                    if (setting instanceof Set<?>) {
+                        setting = new TreeSet<Object>((Set<?>)setting);
+                    } else if (setting instanceof Map<?, ?>) {
+                        setting = new TreeMap<Object, Object>((Map<?, ?>)setting);
+                    }
+                    writeDigestString(out, setting == null
+                                           ? null : setting.toString());
+                }
+                out.flush();
+            } catch (IOException ex) {
+                throw new RuntimeException(ex);
+            }
+            return md.digest();
+        }
+
+        private static void writeDigestString(DataOutputStream out, String s)
+            throws IOException
+        {
+            if (s == null) {
+                out.writeInt(-1);
+            } else {
+                out.writeInt(s.length());
+                out.writeChars(s);
+            }
+        }
+
+        @Override
+        public int hashCode()
+        {
+            return hashCode;
+        }
+
+        @Override
+        public boolean equals(Object obj)
+        {
+            if (obj == this)
+                return true;
+            if (!(obj instanceof Key))
+                return false;
+            Key other = (Key)obj;
+            return hashCode == other.hashCode
+                && lineno == other.lineno
+                && returnFunction == other.returnFunction
+                && compilerClass == other.compilerClass
+                && source.equals(other.source)
+                && (sourceName == null ? other.sourceName == null
+                                       : sourceName.equals(other.sourceName))
+                && Arrays.equals(settings, other.settings);
+        }
+    }
+
+    private final Map<Key, Object> entries;
+    private long hits;
+    private long misses;
+
+    /**
+     * Creates a cache that keeps the <code>maxEntries</code> most recently
+     * used compiled scripts.
+     */
+    public CompiledScriptCache(final int maxEntries)
+    {
+        if (maxEntries <= 0)
+            throw new IllegalArgumentException("maxEntries must be positive");
+        entries = new LinkedHashMap<Key, Object>(16, 0.75f, true) {
+            static final long serialVersionUID = 4961052633120317539L;
+
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Key, Object> eldest)
+            {
+                return size() > maxEntries;
+            }
+        };
+    }
+
+    /**
+     * Returns the compiled form stored for <code>key</code>, or null if
+     * there is none.
+     */
+    public synchronized Object get(Key key)
+    {
+        Object compiled = entries.get(key);
+        if (compiled != null) {
+            ++hits;
+        } else {
+            ++misses;
+        }
+        return compiled;
+    }
+
+    /**
+     * Stores the compiled form of a source. The object is only meaningful
+     * to the compiler that produced it.
+     */
+    public synchronized void put(Key key, Object compiled)
+    {
+        entries.put(key, compiled);
+    }
+
+    public synchronized void clear()
+    {
+        entries.clear();
+    }
+
+    public synchronized int size()
+    {
+        return entries.size();
+    }
+
+    /**
+     * Returns the number of lookups that found a compiled script.
+     */
+    public synchronized long getHitCount()
+    {
+        return hits;
+    }
+
+    /**
+     * Returns the number of lookups that did not find a compiled script.
+     */
+    public synchronized long getMissCount()
+    {
+        return misses;
+    }
+}
@@ -77,6 +77,7 @@ public class CompilerEnvirons
         strictMode
             = cx.hasFeature(Context.FEATURE_STRICT_MODE);
         warningAsError = cx.hasFeature(Context.FEATURE_WARNING_AS_ERROR);
+        internStringsGlobally = cx.hasFeature(Context.FEATURE_INTERN_STRINGS);
         xmlAvailable
             = cx.hasFeature(Context.FEATURE_E4X);
 
@@ -226,6 +227,35 @@ public class CompilerEnvirons
         this.generateObserverCount = generateObserverCount;
     }
 
+    public final boolean isInternStringsGlobally()
+    {
+        return internStringsGlobally;
+    }
+
+    /**
+     * Controls whether names and string literals are shared with the rest
+     * of the process through {@link String#intern()}, rather than only
+     * between the scripts compiled with this CompilerEnvirons.
+     * @see Context#FEATURE_INTERN_STRINGS
+     */
+    public void setInternStringsGlobally(boolean flag)
+    {
+        if (stringInterner != null && stringInterner.isGlobal() != flag)
+            stringInterner = null;
+        internStringsGlobally = flag;
+    }
+
+    /**
+     * Returns the table used to intern names and string literals in all
+     * code compiled with this CompilerEnvirons.
+     */
+    StringInterner getStringInterner()
+    {
+        if (stringInterner == null)
+            stringInterner = new StringInterner(internStringsGlobally);
+        return stringInterner;
+    }
+
     public TokenStream.LanguageMode getLanguageMode()
     {
         return this.languageMode;
@@ -248,6 +278,8 @@ public class CompilerEnvirons
     private boolean strictMode;
     private boolean warningAsError;
     private boolean generateObserverCount;
+    private boolean internStringsGlobally;
+    private StringInterner stringInterner;
     Set<String> activationNames;
     private TokenStream.LanguageMode languageMode;
     private CustomTokenizerConfig customTokenizerConfig = null;
@@ -0,0 +1,142 @@
+/* -*- Mode: java; tab-width: 8; indent-tabs-mode: nil; c-basic-offset: 4 -*-
+ *
+ * ***** BEGIN LICENSE BLOCK *****
+ * Version: MPL 1.1/GPL 2.0
+ *
+ * The contents of this file are subject to the Mozilla Public License Version
+ * 1.1 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ * http://www.mozilla.org/MPL/
+ *
+ * Software distributed under the License is distributed on an "AS IS" basis,
+ * WITHOUT WARRANTY OF ANY KIND, either express or implied. See the License
+ * for the specific language governing rights and limitations under the
+ * License.
+ *
+ * The Original Code is Rhino code, released
+ * May 6, 1999.
+ *
+ * The Initial Developer of the Original Code is
+ * Netscape Communications Corporation.
+ * Portions created by the Initial Developer are Copyright (C) 1997-1999
+ * the Initial Developer. All Rights Reserved.
+ *
+ * Contributor(s):
+ *
+ * Alternatively, the contents of this file may be used under the terms of
+ * the GNU General Public License Version 2 or later (the "GPL"), in which
+ * case the provisions of the GPL are applicable instead of those above. If
+ * you wish to allow use of your version of this file only under the terms of
+ * the GPL and not to allow others to use your version of this file under the
+ * MPL, indicate your decision by deleting the provisions above and replacing
+ * them with the notice and other provisions required by the GPL. If you do
+ * not delete the provisions above, a recipient may use your version of this
+ * file under either the MPL or the GPL.
+ *
+ * ***** END LICENSE BLOCK ***** */
+
+
+package org.mozilla.javascript;
+
+import java.io.Serializable;
+
+/**
+ * A JavaScript string value made by concatenating two others. The
+ * characters are only copied into a flat String when the value is first
+ * read as a whole, so building a long string by repeated concatenation
+ * takes linear rather than quadratic time. The runtime treats it as a
+ * primitive string wherever it accepts a String, and flattens it before
+ * handing it to Java code.
+ */
+public final class ConsString implements CharSequence, Serializable
+{
+    static final long serialVersionUID = -8432806714471372570L;
+
+    private CharSequence left, right;
+    private final int length;
+    private volatile String flat;
+
+    public ConsString(CharSequence left, CharSequence right)
+    {
+        this.left = left;
+        this.right = right;
+        length = left.length() + right.length();
+    }
+
+    public int length()
+    {
+        return length;
+    }
+
+    public char charAt(int index)
+    {
+        return toString().charAt(index);
+    }
+
+    public CharSequence subSequence(int start, int end)
+    {
+        return toString().substring(start, end);
+    }
+
+    @Override
+    public String toString()
+    {
+        String s = flat;
+        return s != null ? s : flatten();
+    }
+
+    private synchronized String flatten()
+    {
+        if (flat != null) {
+            return flat;
+        }
+        char[] chars = new char[length];
+        // Walks the tree with an explicit stack, since ropes built by
+        // appending in a loop are as deep as the number of appends
+        CharSequence[] stack = new CharSequence[16];
+        int top = 0;
+        stack[top++] = right;
+        CharSequence next = left;
+        int pos = 0;
+        for (;;) {
+            String s = null;
+            if (next instanceof ConsString) {
+                ConsString cons = (ConsString) next;
+                s = cons.flat;
+                CharSequence l = cons.left, r = cons.right;
+                if (s == null && l != null && r != null) {
+                    if (top == stack.length) {
+                        CharSequence[] tmp = new CharSequence[top * 2];
+                        System.arraycopy(stack, 0, tmp, 0, top);
+                        stack = tmp;
+                    }
+                    stack[top++] = r;
+                    next = l;
+                    continue;
+                } else if (s == null) {
+                    // Flattened by another thread meanwhile
+                    s = cons.toString();
+                }
+            } else {
+                s = next.toString();
+            }
+            s.getChars(0, s.length(), chars, pos);
+            pos += s.length();
+            if (top == 0) {
+                break;
+            }
+            next = stack[--top];
+            stack[top] = null;
+        }
+        String result = new String(chars);
+        flat = result;
+        // The parts are no longer needed
+        left = right = null;
+        return result;
+    }
+
+    private Object writeReplace()
+    {
+        return toString();
+    }
+}
@@ -310,6 +310,37 @@ public class Context
      */
     public static final int FEATURE_ENHANCED_JAVA_ACCESS = 13;
 
+    /**
+     * Controls whether names and string literals in compiled scripts are
+     * interned for the whole process with {@link String#intern()}.
+     * <p>
+     * Names and literals are always shared between the functions of one
+     * compilation. With this feature they are also shared between scripts
+     * compiled separately, which saves memory in long-running servers
+     * that load many scripts, and property lookups on names defined from
+     * Java can succeed on an identity check.
+     * <p>
+     * By default {@link #hasFeature(int)} returns false.
+     */
+    public static final int FEATURE_INTERN_STRINGS = 14;
+
+    /**
+     * Controls whether objects created in this context keep their
+     * properties in a lock-free copy-on-write table instead of the
+     * default hash table.
+     * <p>
+     * Reading a property never locks in either table, but adding or
+     * removing one locks the default table, which becomes a point of
+     * contention when many threads share a scope that still gains
+     * properties, for example one with lazily defined standard objects.
+     * The copy-on-write table never locks, but copies itself on every
+     * addition or removal, so it only suits objects that rarely change.
+     * The table is chosen when an object gets its first property.
+     * <p>
+     * By default {@link #hasFeature(int)} returns false.
+     */
+    public static final int FEATURE_LOCK_FREE_PROPERTIES = 15;
+
 
     public static final String languageVersionProperty = "language version";
     public static final String errorReporterProperty   = "error reporter";
@@ -1357,6 +1388,41 @@ public class Context
                              securityDomain);
     }
 
+    /**
+     * Compiles the source in the given character sequence.
+     * <p>
+     * Returns a script that may later be executed. A CharBuffer with a
+     * backing array, such as one decoded from a memory-mapped file, is
+     * parsed in place without being copied into a String. The buffer
+     * must not be modified during the compilation.
+     *
+     * @param source the source characters
+     * @param sourceName a string describing the source, such as a filename
+     * @param lineno the starting line number for reporting errors
+     * @param securityDomain an arbitrary object that specifies security
+     *        information about the origin or owner of the script. For
+     *        implementations that don't care about security, this value
+     *        may be null.
+     * @return a script that may later be executed
+     * @see org.mozilla.javascript.Script
+     */
+    public final Script compileCharSequence(CharSequence source,
+                                            String sourceName, int lineno,
+                                            Object securityDomain)
+    {
+        if (lineno < 0) {
+            // For compatibility IllegalArgumentException can not be thrown here
+            lineno = 0;
+        }
+        try {
+            return (Script) compileImpl(null, null, source, sourceName, lineno,
+                                        securityDomain, false, null, null);
+        } catch (IOException ex) {
+            // Should not happen when dealing with source in memory
+            throw new RuntimeException();
+        }
+    }
+
     final Script compileString(String source,
                                Evaluator compiler,
                                ErrorReporter compilationErrorReporter,
@@ -1380,12 +1446,102 @@ public class Context
     		// For compatibility IllegalArgumentException can not be thrown here
     		lineno = 0;
     	}
+        StringBuilder out = new StringBuilder(source.length() * 2);
         try {
-        	return compileToJSImpl(null, source, sourceName, lineno, null, withHeaders);
+        	compileToJSImpl(null, source, sourceName, lineno, null, withHeaders, out, null);
         } catch (IOException ex) {
             // Should not happen when dealing with source as string
             throw new RuntimeException();
         }
+        return out.toString();
+    }
+
+    /**
+     * Translates the Babylscript source in the given reader into
+     * JavaScript and writes it to <code>out</code>.
+     * <p>
+     * The translation is written out in a single pass once the whole
+     * source has been parsed, so large files do not need to be held in
+     * memory as one string. Nothing is written if the source has syntax
+     * errors.
+     *
+     * @param in the input reader
+     * @param sourceName a string describing the source, such as a filename
+     * @param lineno the starting line number for reporting errors
+     * @param withHeaders whether to write the Babylscript runtime header
+     *        before the translated code
+     * @param out where the JavaScript is written
+     * @exception IOException if an IOException was generated by the Reader
+     *        or by <code>out</code>
+     */
+    public final void compileReaderToJS(Reader in, String sourceName,
+            int lineno, boolean withHeaders, Appendable out)
+        throws IOException
+    {
+        compileReaderToJS(in, sourceName, lineno, withHeaders, out, null);
+    }
+
+    /**
+     * Translates the Babylscript source in the given reader into
+     * JavaScript and writes it to <code>out</code>, together with a
+     * Source Map (version 3) relating the JavaScript back to the source.
+     * <p>
+     * The map is written in the same pass as the JavaScript. Positions in
+     * the map are relative to <code>lineno</code>, so the first line of
+     * the source is line 0 of the map.
+     *
+     * @param in the input reader
+     * @param sourceName a string describing the source, such as a filename
+     * @param lineno the starting line number for reporting errors
+     * @param withHeaders whether to write the Babylscript runtime header
+     *        before the translated code
+     * @param out where the JavaScript is written
+     * @param sourceMap where the source map is written, or null for no map
+     * @exception IOException if an IOException was generated by the Reader,
+     *        by <code>out</code> or by the source map
+     */
+    public final void compileReaderToJS(Reader in, String sourceName,
+            int lineno, boolean withHeaders, Appendable out,
+            SourceMapGenerator sourceMap)
+        throws IOException
+    {
+        if (lineno < 0) {
+            lineno = 0;
+        }
+        compileToJSImpl(in, null, sourceName, lineno, null, withHeaders, out,
+                        sourceMap);
+    }
+
+    /**
+     * Translates the Babylscript source in the given character sequence
+     * into JavaScript and writes it to <code>out</code>, together with a
+     * source map if <code>sourceMap</code> is not null.
+     * <p>
+     * A CharBuffer with a backing array, such as one decoded from a
+     * memory-mapped file, is translated in place without being copied
+     * into a String. The buffer must not be modified during the
+     * translation.
+     *
+     * @param source the source characters
+     * @param sourceName a string describing the source, such as a filename
+     * @param lineno the starting line number for reporting errors
+     * @param withHeaders whether to write the Babylscript runtime header
+     *        before the translated code
+     * @param out where the JavaScript is written
+     * @param sourceMap where the source map is written, or null for no map
+     * @exception IOException if an IOException was generated by
+     *        <code>out</code> or by the source map
+     */
+    public final void compileCharSequenceToJS(CharSequence source,
+            String sourceName, int lineno, boolean withHeaders, Appendable out,
+            SourceMapGenerator sourceMap)
+        throws IOException
+    {
+        if (lineno < 0) {
+            lineno = 0;
+        }
+        compileToJSImpl(null, source, sourceName, lineno, null, withHeaders,
+                        out, sourceMap);
     }
 
 
@@ -1712,7 +1868,8 @@ public class Context
     public static Object javaToJS(Object value, Scriptable scope)
     {
         if (value instanceof String || value instanceof Number
-            || value instanceof Boolean || value instanceof Scriptable)
+            || value instanceof Boolean || value instanceof Scriptable
+            || value instanceof ConsString)
         {
             return value;
         } else if (value instanceof Character) {
@@ -2370,10 +2527,11 @@ public class Context
         return cx;
     }
 
-    private String compileToJSImpl(
-            Reader sourceReader, String sourceString,
+    private void compileToJSImpl(
+            Reader sourceReader, CharSequence sourceString,
             String sourceName, int lineno,
-            ErrorReporter compilationErrorReporter, boolean withHeaders) throws IOException
+            ErrorReporter compilationErrorReporter, boolean withHeaders,
+            Appendable out, SourceMapGenerator sourceMap) throws IOException
     {
     	if(sourceName == null) {
     		sourceName = "unnamed script";
@@ -2396,20 +2554,17 @@ public class Context
     	}
 
     	ParserToJS p = new ParserToJS(compilerEnv, compilationErrorReporter);
-    	String result;
     	if (sourceString != null) {
-    		result = p.parse(sourceString, sourceName, lineno, withHeaders);
+    		p.parse(sourceString, sourceName, lineno, withHeaders, out, sourceMap);
     	} else {
-    		result = p.parse(sourceReader, sourceName, lineno, withHeaders);
+    		p.parse(sourceReader, sourceName, lineno, withHeaders, out, sourceMap);
     	}
-
-    	return result;
     }
 
 
 
     private Object compileImpl(Scriptable scope,
-                               Reader sourceReader, String sourceString,
+                               Reader sourceReader, CharSequence sourceString,
                                String sourceName, int lineno,
                                Object securityDomain, boolean returnFunction,
                                Evaluator compiler,
@@ -2442,44 +2597,66 @@ public class Context
             }
         }
 
-        Parser p = new Parser(compilerEnv, compilationErrorReporter);
-        if (returnFunction) {
-            p.calledByCompileFunction = true;
-        }
-        ScriptOrFnNode tree;
-        if (sourceString != null) {
-            tree = p.parse(sourceString, sourceName, lineno);
-        } else {
-            tree = p.parse(sourceReader, sourceName, lineno);
+        // Callers that pass their own compiler, like eval, may modify
+        // what it produces, so only default compilations are cached
+        CompiledScriptCache cache = compiler == null
+            ? factory.getCompiledScriptCache() : null;
+        if (compiler == null) {
+            compiler = createCompiler();
         }
-        if (returnFunction) {
-            if (!(tree.getFunctionCount() == 1
-                  && tree.getFirstChild() != null
-                  && tree.getFirstChild().getType() == Token.FUNCTION))
-            {
-                // XXX: the check just look for the first child
-                // and allows for more nodes after it for compatibility
-                // with sources like function() {};;;
-                throw new IllegalArgumentException(
-                    "compileFunction only accepts source with single JS function: "+sourceString);
+
+        CompiledScriptCache.Key cacheKey = null;
+        Object bytecode = null;
+        if (cache != null && debugger == null) {
+            if (sourceReader != null) {
+                sourceString = Kit.readReader(sourceReader);
+                sourceReader = null;
             }
+            cacheKey = new CompiledScriptCache.Key(sourceString.toString(), sourceName,
+                                                   lineno, returnFunction,
+                                                   compiler, compilerEnv);
+            bytecode = cache.get(cacheKey);
         }
 
-        if (compiler == null) {
-            compiler = createCompiler();
-        }
+        if (bytecode == null) {
+            Parser p = new Parser(compilerEnv, compilationErrorReporter);
+            if (returnFunction) {
+                p.calledByCompileFunction = true;
+            }
+            ScriptOrFnNode tree;
+            if (sourceString != null) {
+                tree = p.parse(sourceString, sourceName, lineno);
+            } else {
+                tree = p.parse(sourceReader, sourceName, lineno);
+            }
+            if (returnFunction) {
+                if (!(tree.getFunctionCount() == 1
+                      && tree.getFirstChild() != null
+                      && tree.getFirstChild().getType() == Token.FUNCTION))
+                {
+                    // XXX: the check just look for the first child
+                    // and allows for more nodes after it for compatibility
+                    // with sources like function() {};;;
+                    throw new IllegalArgumentException(
+                        "compileFunction only accepts source with single JS function: "+sourceString);
+                }
+            }
 
-        String encodedSource = p.getEncodedSource();
+            String encodedSource = p.getEncodedSource();
 
-        Object bytecode = compiler.compile(compilerEnv,
-                                           tree, encodedSource,
-                                           returnFunction);
+            bytecode = compiler.compile(compilerEnv,
+                                        tree, encodedSource,
+                                        returnFunction);
+            if (cacheKey != null) {
+                cache.put(cacheKey, bytecode);
+            }
+        }
 
         if (debugger != null) {
             if (sourceString == null) Kit.codeBug();
             if (bytecode instanceof DebuggableScript) {
                 DebuggableScript dscript = (DebuggableScript)bytecode;
-                notifyDebugger_r(this, dscript, sourceString);
+                notifyDebugger_r(this, dscript, sourceString.toString());
             } else {
                 throw new RuntimeException("NOT SUPPORTED");
             }
@@ -2707,6 +2884,9 @@ public class Context
     // interpreter invocations
     ObjArray previousInterpreterInvocations;
 
+    // For the interpreter to reuse the frames of calls that have returned
+    ObjArray interpreterFramePool;
+
     // For instruction counting (interpreter only)
     int instructionCount;
     int instructionThreshold;
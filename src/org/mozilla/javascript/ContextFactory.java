@@ -147,6 +147,7 @@ public class ContextFactory
     private volatile Object listeners;
     private boolean disabledListening;
     private ClassLoader applicationClassLoader;
+    private volatile CompiledScriptCache compiledScriptCache;
 
     /**
      * Listener of {@link Context} creation and release events.
@@ -287,6 +288,12 @@ public class ContextFactory
 
           case Context.FEATURE_ENHANCED_JAVA_ACCESS:
             return false;
+
+          case Context.FEATURE_INTERN_STRINGS:
+            return false;
+
+          case Context.FEATURE_LOCK_FREE_PROPERTIES:
+            return false;
         }
         // It is a bug to call the method with unknown featureIndex
         throw new IllegalArgumentException(String.valueOf(featureIndex));
@@ -384,6 +391,27 @@ public class ContextFactory
         this.applicationClassLoader = loader;
     }
 
+    /**
+     * Get the cache of compiled scripts used by contexts of this factory,
+     * or null if compiled scripts are not cached.
+     */
+    public final CompiledScriptCache getCompiledScriptCache()
+    {
+        return compiledScriptCache;
+    }
+
+    /**
+     * Set the cache of compiled scripts used by contexts of this factory.
+     * Pass null to stop caching.
+     *
+     * @see #getCompiledScriptCache()
+     */
+    public final void setCompiledScriptCache(CompiledScriptCache cache)
+    {
+        checkNotSealed();
+        this.compiledScriptCache = cache;
+    }
+
     /**
      * Execute top call to script or function.
      * When the runtime is about to execute a script or function that will
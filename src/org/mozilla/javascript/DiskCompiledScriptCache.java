@@ -0,0 +1,196 @@
+/* -*- Mode: java; tab-width: 8; indent-tabs-mode: nil; c-basic-offset: 4 -*-
+ *
+ * ***** BEGIN LICENSE BLOCK *****
+ * Version: MPL 1.1/GPL 2.0
+ *
+ * The contents of this file are subject to the Mozilla Public License Version
+ * 1.1 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ * http://www.mozilla.org/MPL/
+ *
+ * Software distributed under the License is distributed on an "AS IS" basis,
+ * WITHOUT WARRANTY OF ANY KIND, either express or implied. See the License
+ * for the specific language governing rights and limitations under the
+ * License.
+ *
+ * The Original Code is Rhino code, released
+ * May 6, 1999.
+ *
+ * The Initial Developer of the Original Code is
+ * Netscape Communications Corporation.
+ * Portions created by the Initial Developer are Copyright (C) 1997-1999
+ * the Initial Developer. All Rights Reserved.
+ *
+ * Contributor(s):
+ *
+ * Alternatively, the contents of this file may be used under the terms of
+ * the GNU General Public License Version 2 or later (the "GPL"), in which
+ * case the provisions of the GPL are applicable instead of those above. If
+ * you wish to allow use of your version of this file only under the terms of
+ * the GPL and not to allow others to use your version of this file under the
+ * MPL, indicate your decision by deleting the provisions above and replacing
+ * them with the notice and other provisions required by the GPL. If you do
+ * not delete the provisions above, a recipient may use your version of this
+ * file under either the MPL or the GPL.
+ *
+ * ***** END LICENSE BLOCK ***** */
+
+
+package org.mozilla.javascript;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+
+/**
+ * Compiled script cache that also keeps interpreted scripts in a
+ * directory, so that they survive restarts. On a warm start, scripts
+ * found in the directory are loaded without parsing or generating code.
+ * <p>
+ * Each file is named after a digest of the source and the compiler
+ * settings, and records the version of the engine that wrote it. Files
+ * written by another version of the engine or for another compilation
+ * are ignored and replaced. Errors while reading or writing the directory
+ * are never reported to scripts; the source is simply compiled again.
+ * <p>
+ * Only scripts compiled by the interpreter are written to disk. Code
+ * generated by the optimizer is kept in memory only.
+ */
+public class DiskCompiledScriptCache extends CompiledScriptCache
+{
+    private static final String SUFFIX = ".icode";
+
+    private final File directory;
+    private long diskHits;
+
+    /**
+     * Creates a cache that keeps all interpreted scripts in
+     * <code>directory</code> and the <code>maxEntries</code> most
+     * recently used ones in memory.
+     */
+    public DiskCompiledScriptCache(File directory, int maxEntries)
+    {
+        super(maxEntries);
+        if (directory == null)
+            throw new IllegalArgumentException("directory must not be null");
+        this.directory = directory;
+    }
+
+    public File getDirectory()
+    {
+        return directory;
+    }
+
+    @Override
+    public Object get(Key key)
+    {
+        Object compiled = super.get(key);
+        if (compiled != null)
+            return compiled;
+        byte[] digest = key.digest();
+        compiled = load(fileFor(digest), digest);
+        if (compiled != null) {
+            super.put(key, compiled);
+            synchronized (this) {
+                ++diskHits;
+            }
+        }
+        return compiled;
+    }
+
+    @Override
+    public void put(Key key, Object compiled)
+    {
+        super.put(key, compiled);
+        if (compiled instanceof InterpreterData) {
+            InterpreterData idata = (InterpreterData)compiled;
+            if (InterpreterDataFormat.canWrite(idata)) {
+                byte[] digest = key.digest();
+                store(fileFor(digest), digest, idata);
+            }
+        }
+    }
+
+    /**
+     * Returns the number of lookups that were not found in memory but
+     * loaded from the directory. These are also counted by
+     * {@link #getMissCount()}.
+     */
+    public synchronized long getDiskHitCount()
+    {
+        return diskHits;
+    }
+
+    private File fileFor(byte[] digest)
+    {
+        StringBuilder name = new StringBuilder(digest.length * 2
+                                               + SUFFIX.length());
+        for (byte b: digest) {
+            name.append(Character.forDigit((b >> 4) & 0xF, 16));
+            name.append(Character.forDigit(b & 0xF, 16));
+        }
+        name.append(SUFFIX);
+        return new File(directory, name.toString());
+    }
+
+    private static InterpreterData load(File file, byte[] digest)
+    {
+        if (!file.isFile())
+            return null;
+        RandomAccessFile raf = null;
+        try {
+            raf = new RandomAccessFile(file, "r");
+            FileChannel channel = raf.getChannel();
+            MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY,
+                                                  0, channel.size());
+            return InterpreterDataFormat.read(buffer, digest);
+        } catch (IOException ex) {
+            return null;
+        } catch (IllegalArgumentException ex) {
+            // Corrupt or truncated; it is rewritten after compiling
+            return null;
+        } finally {
+            if (raf != null) {
+                try {
+                    raf.close();
+                } catch (IOException ex) {
+                }
+            }
+        }
+    }
+
+    /**
+     * Writes to a temporary file first, so that other processes sharing
+     * the directory never see a partially written file.
+     */
+    private void store(File file, byte[] digest, InterpreterData idata)
+    {
+        File tmp = null;
+        try {
+            if (!directory.isDirectory() && !directory.mkdirs())
+                return;
+            tmp = File.createTempFile("icode", ".tmp", directory);
+            FileOutputStream out = new FileOutputStream(tmp);
+            try {
+                InterpreterDataFormat.write(idata, digest, out);
+            } finally {
+                out.close();
+            }
+            if (!tmp.renameTo(file)) {
+                // Windows does not replace existing files on rename
+                file.delete();
+                if (!tmp.renameTo(file))
+                    return;
+            }
+            tmp = null;
+        } catch (IOException ex) {
+        } catch (SecurityException ex) {
+        } finally {
+            if (tmp != null)
+                tmp.delete();
+        }
+    }
+}
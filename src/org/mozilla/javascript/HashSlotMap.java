@@ -0,0 +1,335 @@
+/* -*- Mode: java; tab-width: 8; indent-tabs-mode: nil; c-basic-offset: 4 -*-
+ *
+ * ***** BEGIN LICENSE BLOCK *****
+ * Version: MPL 1.1/GPL 2.0
+ *
+ * The contents of this file are subject to the Mozilla Public License Version
+ * 1.1 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ * http://www.mozilla.org/MPL/
+ *
+ * Software distributed under the License is distributed on an "AS IS" basis,
+ * WITHOUT WARRANTY OF ANY KIND, either express or implied. See the License
+ * for the specific language governing rights and limitations under the
+ * License.
+ *
+ * The Original Code is Rhino code, released
+ * May 6, 1999.
+ *
+ * The Initial Developer of the Original Code is
+ * Netscape Communications Corporation.
+ * Portions created by the Initial Developer are Copyright (C) 1997-1999
+ * the Initial Developer. All Rights Reserved.
+ *
+ * Contributor(s):
+ *
+ * Alternatively, the contents of this file may be used under the terms of
+ * the GNU General Public License Version 2 or later (the "GPL"), in which
+ * case the provisions of the GPL are applicable instead of those above. If
+ * you wish to allow use of your version of this file only under the terms of
+ * the GPL and not to allow others to use your version of this file under the
+ * MPL, indicate your decision by deleting the provisions above and replacing
+ * them with the notice and other provisions required by the GPL. If you do
+ * not delete the provisions above, a recipient may use your version of this
+ * file under either the MPL or the GPL.
+ *
+ * ***** END LICENSE BLOCK ***** */
+
+
+package org.mozilla.javascript;
+
+import static org.mozilla.javascript.ScriptableObject.CONST;
+import static org.mozilla.javascript.ScriptableObject.PERMANENT;
+import static org.mozilla.javascript.ScriptableObject.SLOT_MODIFY;
+import static org.mozilla.javascript.ScriptableObject.SLOT_MODIFY_CONST;
+import static org.mozilla.javascript.ScriptableObject.SLOT_MODIFY_GETTER_SETTER;
+
+import org.mozilla.javascript.ScriptableObject.GetterSlot;
+import org.mozilla.javascript.ScriptableObject.Slot;
+
+/**
+ * The default slot table: a chained hash table plus a linked list of the
+ * slots in the order they were added. Lookups read the table without
+ * locking, while additions and removals synchronize on the table.
+ */
+final class HashSlotMap implements SlotMap
+{
+    private Slot[] slots;
+    private int count;
+
+    // gateways into the definition-order linked list of slots
+    private Slot firstAdded;
+    private Slot lastAdded;
+
+    public int size()
+    {
+        return count;
+    }
+
+    public Slot query(String name, int index)
+    {
+        Slot[] slotsLocalRef = slots; // Get stable local reference
+        if (slotsLocalRef == null)
+            return null;
+        int indexOrHash = (name != null ? name.hashCode() : index);
+        int slotIndex = getSlotIndex(slotsLocalRef.length, indexOrHash);
+        Slot slot = slotsLocalRef[slotIndex];
+        while (slot != null) {
+            String sname = slot.name;
+            if (sname != null) {
+                if (sname == name)
+                    break;
+                if (name != null && indexOrHash == slot.indexOrHash) {
+                    if (name.equals(sname)) {
+                        // This will avoid calling String.equals when
+                        // slot is accessed with same string object
+                        // next time.
+                        slot.name = name;
+                        break;
+                    }
+                }
+            } else if (name == null &&
+                       indexOrHash == slot.indexOrHash) {
+                break;
+            }
+            slot = slot.next;
+        }
+        return slot;
+    }
+
+    public Slot get(String name, int index, int accessType)
+    {
+        // Check the hashtable without using synchronization
+        Slot slot = query(name, index);
+        if (slot != null && (accessType != SLOT_MODIFY_GETTER_SETTER ||
+                             slot instanceof GetterSlot))
+        {
+            return slot;
+        }
+
+        // A new slot has to be inserted or the old has to be replaced
+        // by GetterSlot. Time to synchronize.
+        int indexOrHash = (name != null ? name.hashCode() : index);
+        synchronized (this) {
+            // Refresh local ref if another thread triggered grow
+            Slot[] slotsLocalRef = slots;
+            int insertPos;
+            if (count == 0) {
+                // Always throw away old slots if any on empty insert
+                slotsLocalRef = new Slot[5];
+                slots = slotsLocalRef;
+                insertPos = getSlotIndex(slotsLocalRef.length, indexOrHash);
+            } else {
+                int tableSize = slotsLocalRef.length;
+                insertPos = getSlotIndex(tableSize, indexOrHash);
+                Slot prev = slotsLocalRef[insertPos];
+                slot = prev;
+                while (slot != null) {
+                    if (slot.indexOrHash == indexOrHash &&
+                        (slot.name == name ||
+                         (name != null && name.equals(slot.name))))
+                    {
+                        break;
+                    }
+                    prev = slot;
+                    slot = slot.next;
+                }
+
+                if (slot != null) {
+                    // Another thread just added a slot with same
+                    // name/index before this one entered synchronized
+                    // block. This is a race in application code and
+                    // probably indicates bug there. But for the hashtable
+                    // implementation it is harmless with the only
+                    // complication is the need to replace the added slot
+                    // if we need GetterSlot and the old one is not.
+                    if (accessType == SLOT_MODIFY_GETTER_SETTER &&
+                        !(slot instanceof GetterSlot))
+                    {
+                        GetterSlot newSlot = new GetterSlot(name,
+                                indexOrHash, slot.getAttributes());
+                        newSlot.value = slot.value;
+                        newSlot.next = slot.next;
+                        // add new slot to linked list
+                        if (lastAdded != null)
+                            lastAdded.orderedNext = newSlot;
+                        if (firstAdded == null)
+                            firstAdded = newSlot;
+                        lastAdded = newSlot;
+                        // add new slot to hash table
+                        if (prev == slot) {
+                            slotsLocalRef[insertPos] = newSlot;
+                        } else {
+                            prev.next = newSlot;
+                        }
+                        // other housekeeping
+                        slot.wasDeleted = true;
+                        slot.value = null;
+                        slot.name = null;
+                        slot = newSlot;
+                    } else if (accessType == SLOT_MODIFY_CONST) {
+                        return null;
+                    }
+                    return slot;
+                }
+
+                // Check if the table is not too full before inserting.
+                if (4 * (count + 1) > 3 * slotsLocalRef.length) {
+                    slotsLocalRef = new Slot[slotsLocalRef.length * 2 + 1];
+                    copyTable(slots, slotsLocalRef, count);
+                    slots = slotsLocalRef;
+                    insertPos = getSlotIndex(slotsLocalRef.length,
+                            indexOrHash);
+                }
+            }
+
+            Slot newSlot = (accessType == SLOT_MODIFY_GETTER_SETTER
+                            ? new GetterSlot(name, indexOrHash, 0)
+                            : new Slot(name, indexOrHash, 0));
+            if (accessType == SLOT_MODIFY_CONST)
+                newSlot.setAttributes(CONST);
+            ++count;
+            // add new slot to linked list
+            if (lastAdded != null)
+                lastAdded.orderedNext = newSlot;
+            if (firstAdded == null)
+                firstAdded = newSlot;
+            lastAdded = newSlot;
+            // add new slot to hash table, return it
+            addKnownAbsentSlot(slotsLocalRef, newSlot, insertPos);
+            return newSlot;
+        }
+    }
+
+    public synchronized Slot remove(String name, int index)
+    {
+        if (count == 0)
+            return null;
+        int indexOrHash = (name != null ? name.hashCode() : index);
+        Slot[] slotsLocalRef = slots;
+        int slotIndex = getSlotIndex(slotsLocalRef.length, indexOrHash);
+        Slot prev = slotsLocalRef[slotIndex];
+        Slot slot = prev;
+        while (slot != null) {
+            if (slot.indexOrHash == indexOrHash &&
+                (slot.name == name ||
+                 (name != null && name.equals(slot.name))))
+            {
+                break;
+            }
+            prev = slot;
+            slot = slot.next;
+        }
+        if (slot == null || (slot.getAttributes() & PERMANENT) != 0)
+            return null;
+        count--;
+        // remove slot from hash table
+        if (prev == slot) {
+            slotsLocalRef[slotIndex] = slot.next;
+        } else {
+            prev.next = slot.next;
+        }
+        // Mark the slot as removed. It is still referenced
+        // from the order-added linked list, but will be
+        // cleaned up later
+        slot.wasDeleted = true;
+        slot.value = null;
+        slot.name = null;
+        return slot;
+    }
+
+    public synchronized void add(Slot slot)
+    {
+        if (slots == null) {
+            slots = new Slot[5];
+        } else if (4 * (count + 1) > 3 * slots.length) {
+            Slot[] newSlots = new Slot[slots.length * 2 + 1];
+            copyTable(slots, newSlots, count);
+            slots = newSlots;
+        }
+        ++count;
+        if (lastAdded != null)
+            lastAdded.orderedNext = slot;
+        if (firstAdded == null)
+            firstAdded = slot;
+        lastAdded = slot;
+        addKnownAbsentSlot(slots, slot,
+                           getSlotIndex(slots.length, slot.indexOrHash));
+    }
+
+    public synchronized Slot[] toArray()
+    {
+        Slot[] result = new Slot[count];
+        int c = 0;
+        Slot slot = firstAdded;
+        while (slot != null && slot.wasDeleted) {
+            // as long as we're traversing the order-added linked list,
+            // remove deleted slots
+            slot = slot.orderedNext;
+        }
+        firstAdded = slot;
+        if (slot != null) {
+            for (;;) {
+                result[c++] = slot;
+                Slot next = slot.orderedNext;
+                while (next != null && next.wasDeleted) {
+                    // remove deleted slots
+                    next = next.orderedNext;
+                }
+                slot.orderedNext = next;
+                if (next == null) {
+                    break;
+                }
+                slot = next;
+            }
+        }
+        lastAdded = slot;
+        return result;
+    }
+
+    private static int getSlotIndex(int tableSize, int indexOrHash)
+    {
+        return (indexOrHash & 0x7fffffff) % tableSize;
+    }
+
+    // Must be inside synchronized (this)
+    private static void copyTable(Slot[] slots, Slot[] newSlots, int count)
+    {
+        if (count == 0) throw Kit.codeBug();
+
+        int tableSize = newSlots.length;
+        int i = slots.length;
+        for (;;) {
+            --i;
+            Slot slot = slots[i];
+            while (slot != null) {
+                int insertPos = getSlotIndex(tableSize, slot.indexOrHash);
+                Slot next = slot.next;
+                addKnownAbsentSlot(newSlots, slot, insertPos);
+                slot.next = null;
+                slot = next;
+                if (--count == 0)
+                    return;
+            }
+        }
+    }
+
+    /**
+     * Add slot with keys that are known to absent from the table.
+     * This is an optimization to use when inserting into empty table,
+     * after table growth or during deserialization.
+     */
+    private static void addKnownAbsentSlot(Slot[] slots, Slot slot,
+                                           int insertPos)
+    {
+        if (slots[insertPos] == null) {
+            slots[insertPos] = slot;
+        } else {
+            Slot prev = slots[insertPos];
+            while (prev.next != null) {
+                prev = prev.next;
+            }
+            prev.next = slot;
+        }
+    }
+}
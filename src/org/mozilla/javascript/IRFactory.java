@@ -1188,7 +1188,7 @@ final class IRFactory
                     break;
                 }
                 String s1 = left.getString();
-                left.setString(s1.concat(s2));
+                left.setString(intern(s1.concat(s2)));
                 return left;
             } else if (left.type == Token.NUMBER) {
                 if (right.type == Token.NUMBER) {
@@ -1198,7 +1198,7 @@ final class IRFactory
                     String s1, s2;
                     s1 = ScriptRuntime.numberToString(left.getDouble(), 10);
                     s2 = right.getString();
-                    right.setString(s1.concat(s2));
+                    right.setString(intern(s1.concat(s2)));
                     return right;
                 }
             }
@@ -1635,6 +1635,11 @@ final class IRFactory
         }
     }
 
+    private String intern(String str)
+    {
+        return parser.compilerEnv.getStringInterner().intern(str);
+    }
+
     private Parser parser;
 
     private static final int LOOP_DO_WHILE = 0;
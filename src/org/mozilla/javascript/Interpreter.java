@@ -190,11 +190,18 @@ public class Interpreter implements Evaluator
        Icode_LANGREG_STR1               = -70, // loads a language string into the language register
        Icode_LANGREG_STR2               = -71,
        Icode_LANGREG_STR4               = -72,
-       Icode_BINDWITHLANG               = -73; // like BIND, but returns the translated name that an id was bounded to 
+       Icode_BINDWITHLANG               = -73, // like BIND, but returns the translated name that an id was bounded to 
+       Icode_CACHEREG                   = -74, // loads the translated name cache for the next property access
+
+       // Superinstructions written over the first icode of a common
+       // sequence by fuseSuperinstructions()
+       Icode_LANGSTR1_GETPROP           = -75, // LANGREG_STR1, REG_STR, GETPROP
+       Icode_NAME_AND_THIS_CALL0        = -76, // NAME_AND_THIS, REG_IND_C0, CALL
+       Icode_GETVAR1_INC_SETVAR1        = -77; // GETVAR1, ONE, ADD, SETVAR1
 
-    private static final int
+    static final int
        // Last icode
-       MIN_ICODE                       = -73;
+       MIN_ICODE                       = -77;
 
     // data for parsing
 
@@ -210,6 +217,7 @@ public class Interpreter implements Evaluator
     private int itsLineNumber;
     private int itsDoubleTableTop;
     private ObjToIntMap itsStrings = new ObjToIntMap(20);
+    private int itsTranslatedNameCacheCount;
     private int itsLocalTop;
 
     private static final int MIN_LABEL_TABLE_SIZE = 32;
@@ -235,6 +243,9 @@ public class Interpreter implements Evaluator
 // ECF_ or Expression Context Flags constants: for now only TAIL is available
     private static final int ECF_TAIL = 1 << 0;
 
+    // Most frames released to the pool of one Context at any time
+    private static final int MAX_POOLED_FRAMES = 32;
+
     /**
      * Class to hold data corresponding to one interpreted call stack frame.
      */
@@ -247,6 +258,10 @@ public class Interpreter implements Evaluator
         int frameIndex;
         // If true indicates read-only frame that is a part of continuation
         boolean frozen;
+        // If true the frame can be reached after it exits, from a generator
+        // or from the stack information of an exception, so it must not
+        // be recycled
+        boolean escaped;
 
         InterpretedFunction fnOrScript;
         InterpreterData idata;
@@ -365,6 +380,9 @@ public class Interpreter implements Evaluator
       frame.frozen = true;
       CallFrame result = frame.cloneFrozen();
       frame.frozen = false;
+      // The generator keeps using the variables of this frame
+      frame.escaped = true;
+      result.escaped = true;
 
       // now isolate this frame from its previous context
       result.parentFrame = null;
@@ -476,6 +494,10 @@ public class Interpreter implements Evaluator
           case Icode_LANGREG_STR2:     return "LOAD_LANGSTR2";
           case Icode_LANGREG_STR4:     return "LOAD_LANGSTR4";
           case Icode_BINDWITHLANG:     return "BINDWITHLANG"; 
+          case Icode_CACHEREG:         return "LOAD_CACHE";
+          case Icode_LANGSTR1_GETPROP: return "LANGSTR1_GETPROP";
+          case Icode_NAME_AND_THIS_CALL0: return "NAME_AND_THIS_CALL0";
+          case Icode_GETVAR1_INC_SETVAR1: return "GETVAR1_INC_SETVAR1";
         }
 
         // icode without name
@@ -531,11 +553,12 @@ public class Interpreter implements Evaluator
 
     public Script createScriptObject(Object bytecode, Object staticSecurityDomain)
     {
-        if(bytecode != itsData)
+        // The bytecode may also come from a compiled script cache
+        if(itsData != null && bytecode != itsData)
         {
             Kit.codeBug();
         }
-        return InterpretedFunction.createScript(itsData,
+        return InterpretedFunction.createScript((InterpreterData)bytecode,
                                                 staticSecurityDomain);
     }
 
@@ -547,11 +570,12 @@ public class Interpreter implements Evaluator
     public Function createFunctionObject(Context cx, Scriptable scope,
             Object bytecode, Object staticSecurityDomain)
     {
-        if(bytecode != itsData)
+        if(itsData != null && bytecode != itsData)
         {
             Kit.codeBug();
         }
-        return InterpretedFunction.createFunction(cx, scope, itsData,
+        return InterpretedFunction.createFunction(cx, scope,
+                                                  (InterpreterData)bytecode,
                                                   staticSecurityDomain);
     }
 
@@ -601,12 +625,15 @@ public class Interpreter implements Evaluator
             itsData.itsStringTable = null;
         } else {
             itsData.itsStringTable = new String[itsStrings.size()];
+            // Strings made while compiling, such as generated names, go
+            // into the shared table too, so all functions use one copy
+            StringInterner interner = compilerEnv.getStringInterner();
             ObjToIntMap.Iterator iter = itsStrings.newIterator();
             for (iter.start(); !iter.done(); iter.next()) {
                 String str = (String)iter.getKey();
                 int index = iter.getValue();
                 if (itsData.itsStringTable[index] != null) Kit.codeBug();
-                itsData.itsStringTable[index] = str;
+                itsData.itsStringTable[index] = interner.intern(str);
             }
         }
         if (itsDoubleTableTop == 0) {
@@ -644,9 +671,80 @@ public class Interpreter implements Evaluator
             itsData.literalIds = itsLiteralIds.toArray();
         }
 
+        if (itsTranslatedNameCacheCount != 0) {
+            TranslatedNameCache[] caches
+                = new TranslatedNameCache[itsTranslatedNameCacheCount];
+            for (int i = 0; i != caches.length; i++) {
+                caches[i] = new TranslatedNameCache();
+            }
+            itsData.itsTranslatedNameCaches = caches;
+        }
+
+        fuseSuperinstructions();
+
         if (Token.printICode) dumpICode(itsData);
     }
 
+    /**
+     * Peephole pass that replaces the first icode of frequent sequences
+     * with a superinstruction that runs the whole sequence in one
+     * dispatch. Only that first byte is rewritten: the operands and the
+     * icodes after it stay in place, so every pc inside the sequence still
+     * decodes as before. Jumps into the middle of a sequence, exception
+     * table ranges and saved call pcs are unaffected, and the interpreter
+     * can fall back to running the original icodes one by one.
+     */
+    private void fuseSuperinstructions()
+    {
+        byte[] iCode = itsData.itsICode;
+        int iCodeLength = iCode.length;
+        for (int pc = 0; pc < iCodeLength; ) {
+            int bytecode = iCode[pc];
+            int next = pc + bytecodeSpan(bytecode);
+            switch (bytecode) {
+              case Icode_LANGREG_STR1: {
+                // Only string forms without an operand or with a one byte
+                // operand are fused to keep the handler short
+                if (next >= iCodeLength) break;
+                int strOp = iCode[next];
+                int end;
+                if (Icode_REG_STR_C3 <= strOp && strOp <= Icode_REG_STR_C0) {
+                    end = next + 1;
+                } else if (strOp == Icode_REG_STR1) {
+                    end = next + 2;
+                } else {
+                    break;
+                }
+                if (end < iCodeLength && iCode[end] == Token.GETPROP) {
+                    iCode[pc] = (byte)Icode_LANGSTR1_GETPROP;
+                }
+                break;
+              }
+              case Icode_NAME_AND_THIS:
+                // Arguments are pushed between NAME_AND_THIS and CALL, so
+                // only calls without arguments form a sequence
+                if (next + 1 < iCodeLength
+                    && iCode[next] == Icode_REG_IND_C0
+                    && (iCode[next + 1] == Token.CALL
+                        || iCode[next + 1] == Icode_TAIL_CALL))
+                {
+                    iCode[pc] = (byte)Icode_NAME_AND_THIS_CALL0;
+                }
+                break;
+              case Icode_GETVAR1:
+                if (next + 3 < iCodeLength
+                    && iCode[next] == Icode_ONE
+                    && iCode[next + 1] == Token.ADD
+                    && iCode[next + 2] == Icode_SETVAR1)
+                {
+                    iCode[pc] = (byte)Icode_GETVAR1_INC_SETVAR1;
+                }
+                break;
+            }
+            pc = next;
+        }
+    }
+
     private void generateNestedFunctions()
     {
         int functionCount = scriptOrFn.getFunctionCount();
@@ -673,12 +771,18 @@ public class Interpreter implements Evaluator
         Context cx = Context.getContext();
         RegExpProxy rep = ScriptRuntime.checkRegExpProxy(cx);
         Object[] array = new Object[N];
+        String[] strings = new String[N];
+        String[] flagStrings = new String[N];
         for (int i = 0; i != N; i++) {
             String string = scriptOrFn.getRegexpString(i);
             String flags = scriptOrFn.getRegexpFlags(i);
             array[i] = rep.compileRegExp(cx, string, flags);
+            strings[i] = string;
+            flagStrings[i] = flags;
         }
         itsData.itsRegExpLiterals = array;
+        itsData.itsRegExpStrings = strings;
+        itsData.itsRegExpFlags = flagStrings;
     }
 
     private void updateLineNumber(Node node)
@@ -1104,6 +1208,9 @@ public class Interpreter implements Evaluator
           case Token.GETPROPNOWARN:
             visitExpression(child, 0);
             child = child.getNext();
+            if (type == Token.GETPROP) {
+                addTranslatedNameCachePrefix(node.getLanguageTag());
+            }
             addLangStringPrefix(node.getLanguageTag());
             addStringOp(type, child.getString());
             break;
@@ -1178,12 +1285,14 @@ public class Interpreter implements Evaluator
                 if (type == Token.SETPROP_OP) {
                     addIcode(Icode_DUP);
                     stackChange(1);
+                    addTranslatedNameCachePrefix(lang);
                     addLangStringPrefix(lang);
                     addStringOp(Token.GETPROP, property);
                     // Compensate for the following USE_STACK
                     stackChange(-1);
                 }
                 visitExpression(child, 0);
+                addTranslatedNameCachePrefix(lang);
                 addLangStringPrefix(lang);
                 addStringOp(Token.SETPROP, property);
                 stackChange(-1);
@@ -1518,6 +1627,7 @@ public class Interpreter implements Evaluator
             Node id = target.getNext();
             if (type == Token.GETPROP) {
                 String property = id.getString();
+                addTranslatedNameCachePrefix(left.getLanguageTag());
                 addLangStringPrefix(left.getLanguageTag());
                 // stack: ... target -> ... function thisObj
                 addStringOp(Icode_PROP_AND_THIS, property);
@@ -1916,6 +2026,19 @@ public class Interpreter implements Evaluator
         }
     }
 
+    /**
+     * Gives a language-qualified property access its own inline cache
+     * for resolving translated names.
+     */
+    private void addTranslatedNameCachePrefix(String lang)
+    {
+        if (lang == null || itsTranslatedNameCacheCount > 0xFFFF)
+            return;
+        addIcode(Icode_CACHEREG);
+        addUint16(itsTranslatedNameCacheCount);
+        ++itsTranslatedNameCacheCount;
+    }
+
     private void addLangStringPrefix(String str)
     {
         if (str == null)
@@ -2262,11 +2385,13 @@ public class Interpreter implements Evaluator
               case Icode_GETVAR1:
               case Icode_SETVAR1:
               case Icode_SETCONSTVAR1:
+              case Icode_GETVAR1_INC_SETVAR1:
                 indexReg = iCode[pc];
                 out.println(tname+" "+indexReg);
                 ++pc;
                 break;
-              case Icode_LANGREG_STR1: {
+              case Icode_LANGREG_STR1:
+              case Icode_LANGSTR1_GETPROP: {
                 String str = strings[0xFF & iCode[pc]];
                 out.println(tname + " \"" + str + '"');
                 ++pc;
@@ -2284,6 +2409,11 @@ public class Interpreter implements Evaluator
                  pc += 4;
                  break;
                }
+               case Icode_CACHEREG: {
+                 out.println(tname + " " + getIndex(iCode, pc));
+                 pc += 2;
+                 break;
+               }
             }
             if (old_pc + icodeLength != pc) Kit.codeBug();
         }
@@ -2383,6 +2513,7 @@ public class Interpreter implements Evaluator
             case Icode_GETVAR1:
             case Icode_SETVAR1:
             case Icode_SETCONSTVAR1:
+            case Icode_GETVAR1_INC_SETVAR1:
                 // byte var index
                 return 1 + 1;
 
@@ -2391,6 +2522,7 @@ public class Interpreter implements Evaluator
                 return 1 + 2;
                 
             case Icode_LANGREG_STR1:
+            case Icode_LANGSTR1_GETPROP:
                // ubyte string index
                return 1 + 1;
 
@@ -2401,6 +2533,10 @@ public class Interpreter implements Evaluator
            case Icode_LANGREG_STR4:
                // int string index
                return 1 + 4;
+
+           case Icode_CACHEREG:
+               // ushort cache index
+               return 1 + 2;
         }
         if (!validBytecode(bytecode)) throw Kit.codeBug();
         return 1;
@@ -2472,6 +2608,7 @@ public class Interpreter implements Evaluator
             while (frame != null) {
                 --linePCIndex;
                 linePC[linePCIndex] = frame.pcSourceLineStart;
+                frame.escaped = true;
                 frame = frame.parentFrame;
             }
         }
@@ -2630,7 +2767,7 @@ public class Interpreter implements Evaluator
             }
         }
 
-        CallFrame frame = new CallFrame();
+        CallFrame frame = obtainFrame(cx);
         initFrame(cx, scope, thisObj, args, null, 0, args.length,
                   ifun, null, frame);
         frame.isContinuationsTopFrame = cx.isContinuationsTopCall;
@@ -2718,6 +2855,7 @@ public class Interpreter implements Evaluator
 
         String stringReg = null;
         String langStringReg = ScriptRuntime.TOFILL;
+        TranslatedNameCache cacheReg = null;
         int indexReg = -1;
 
         if (cx.lastInterpreterFrame != null) {
@@ -2854,98 +2992,17 @@ switch (op) {
     case Token.LE :
     case Token.GT :
     case Token.LT : {
-        --stackTop;
-        Object rhs = stack[stackTop + 1];
-        Object lhs = stack[stackTop];
-        boolean valBln;
-      object_compare:
-        {
-          number_compare:
-            {
-                double rDbl, lDbl;
-                if (rhs == DBL_MRK) {
-                    rDbl = sDbl[stackTop + 1];
-                    lDbl = stack_double(frame, stackTop);
-                } else if (lhs == DBL_MRK) {
-                    rDbl = ScriptRuntime.toNumber(rhs);
-                    lDbl = sDbl[stackTop];
-                } else {
-                    break number_compare;
-                }
-                switch (op) {
-                  case Token.GE:
-                    valBln = (lDbl >= rDbl);
-                    break object_compare;
-                  case Token.LE:
-                    valBln = (lDbl <= rDbl);
-                    break object_compare;
-                  case Token.GT:
-                    valBln = (lDbl > rDbl);
-                    break object_compare;
-                  case Token.LT:
-                    valBln = (lDbl < rDbl);
-                    break object_compare;
-                  default:
-                    throw Kit.codeBug();
-                }
-            }
-            switch (op) {
-              case Token.GE:
-                valBln = ScriptRuntime.cmp_LE(rhs, lhs);
-                break;
-              case Token.LE:
-                valBln = ScriptRuntime.cmp_LE(lhs, rhs);
-                break;
-              case Token.GT:
-                valBln = ScriptRuntime.cmp_LT(rhs, lhs);
-                break;
-              case Token.LT:
-                valBln = ScriptRuntime.cmp_LT(lhs, rhs);
-                break;
-              default:
-                throw Kit.codeBug();
-            }
-        }
-        stack[stackTop] = ScriptRuntime.wrapBoolean(valBln);
+        stackTop = doCompare(frame, op, stack, sDbl, stackTop);
         continue Loop;
     }
     case Token.IN :
     case Token.INSTANCEOF : {
-        Object rhs = stack[stackTop];
-        if (rhs == DBL_MRK) rhs = ScriptRuntime.wrapNumber(sDbl[stackTop]);
-        --stackTop;
-        Object lhs = stack[stackTop];
-        if (lhs == DBL_MRK) lhs = ScriptRuntime.wrapNumber(sDbl[stackTop]);
-        boolean valBln;
-        if (op == Token.IN) {
-            valBln = ScriptRuntime.in(ScriptRuntime.TOFILL, lhs, rhs, cx);
-        } else {
-            valBln = ScriptRuntime.instanceOf(lhs, rhs, cx);
-        }
-        stack[stackTop] = ScriptRuntime.wrapBoolean(valBln);
+        stackTop = doInOrInstanceof(cx, op, stack, sDbl, stackTop);
         continue Loop;
     }
     case Token.EQ :
     case Token.NE : {
-        --stackTop;
-        boolean valBln;
-        Object rhs = stack[stackTop + 1];
-        Object lhs = stack[stackTop];
-        if (rhs == DBL_MRK) {
-            if (lhs == DBL_MRK) {
-                valBln = (sDbl[stackTop] == sDbl[stackTop + 1]);
-            } else {
-                valBln = ScriptRuntime.eqNumber(sDbl[stackTop + 1], lhs);
-            }
-        } else {
-            if (lhs == DBL_MRK) {
-                valBln = ScriptRuntime.eqNumber(sDbl[stackTop], rhs);
-            } else {
-                valBln = ScriptRuntime.eq(lhs, rhs);
-            }
-        }
-        valBln ^= (op == Token.NE);
-        stack[stackTop] = ScriptRuntime.wrapBoolean(valBln);
+        stackTop = doEquals(op, stack, sDbl, stackTop);
         continue Loop;
     }
     case Token.SHEQ :
@@ -3180,9 +3237,28 @@ switch (op) {
         stack[stackTop] = ScriptRuntime.getObjectPropNoWarn(lhs, langStringReg, stringReg, cx);
         continue Loop;
     }
+    case Icode_LANGSTR1_GETPROP : {
+        langStringReg = strings[0xFF & iCode[frame.pc]];
+        int strOp = iCode[frame.pc + 1];
+        if (strOp == Icode_REG_STR1) {
+            stringReg = strings[0xFF & iCode[frame.pc + 2]];
+            frame.pc += 4;
+        } else {
+            stringReg = strings[Icode_REG_STR_C0 - strOp];
+            frame.pc += 3;
+        }
+        // fallthrough to GETPROP with frame.pc past its icode
+    }
     case Token.GETPROP : {
         Object lhs = stack[stackTop];
         if (lhs == DBL_MRK) lhs = ScriptRuntime.wrapNumber(sDbl[stackTop]);
+        if (cacheReg != null) {
+            TranslatedNameCache cache = cacheReg;
+            cacheReg = null;
+            stack[stackTop] = ScriptRuntime.getObjectProp(lhs, langStringReg, stringReg, cx,
+                                                          frame.scope, cache);
+            continue Loop;
+        }
         stack[stackTop] = ScriptRuntime.getObjectProp(lhs, langStringReg, stringReg, cx, frame.scope);
         continue Loop;
     }
@@ -3192,6 +3268,13 @@ switch (op) {
         --stackTop;
         Object lhs = stack[stackTop];
         if (lhs == DBL_MRK) lhs = ScriptRuntime.wrapNumber(sDbl[stackTop]);
+        if (cacheReg != null) {
+            TranslatedNameCache cache = cacheReg;
+            cacheReg = null;
+            stack[stackTop] = ScriptRuntime.setObjectProp(lhs, langStringReg, stringReg, rhs,
+                                                          cx, cache);
+            continue Loop;
+        }
         stack[stackTop] = ScriptRuntime.setObjectProp(lhs, langStringReg, stringReg, rhs,
                                                       cx);
         continue Loop;
@@ -3204,55 +3287,15 @@ switch (op) {
         ++frame.pc;
         continue Loop;
     }
-    case Token.GETELEM : {
-        --stackTop;
-        Object lhs = stack[stackTop];
-        if (lhs == DBL_MRK) {
-            lhs = ScriptRuntime.wrapNumber(sDbl[stackTop]);
-        }
-        Object value;
-        String lang = langStringReg;
-        Object id = stack[stackTop + 1];
-        if (id != DBL_MRK) {
-            value = ScriptRuntime.getObjectElem(lhs, lang, id, cx, frame.scope);
-        } else {
-            double d = sDbl[stackTop + 1];
-            value = ScriptRuntime.getObjectIndex(lhs, lang, d, cx);
-        }
-        stack[stackTop] = value;
+    case Token.GETELEM :
+        stackTop = doGetElem(cx, frame, langStringReg, stack, sDbl, stackTop);
         continue Loop;
-    }
-    case Token.SETELEM : {
-        stackTop -= 2;
-        Object rhs = stack[stackTop + 2];
-        if (rhs == DBL_MRK) {
-            rhs = ScriptRuntime.wrapNumber(sDbl[stackTop + 2]);
-        }
-        Object lhs = stack[stackTop];
-        if (lhs == DBL_MRK) {
-            lhs = ScriptRuntime.wrapNumber(sDbl[stackTop]);
-        }
-        String lang = langStringReg;
-        Object value;
-        Object id = stack[stackTop + 1];
-        if (id != DBL_MRK) {
-            value = ScriptRuntime.setObjectElem(lhs, lang, id, rhs, cx);
-        } else {
-            double d = sDbl[stackTop + 1];
-            value = ScriptRuntime.setObjectIndex(lhs, d, rhs, cx);
-        }
-        stack[stackTop] = value;
+    case Token.SETELEM :
+        stackTop = doSetElem(cx, langStringReg, stack, sDbl, stackTop);
         continue Loop;
-    }
     case Icode_ELEM_INC_DEC: {
-        Object rhs = stack[stackTop];
-        if (rhs == DBL_MRK) rhs = ScriptRuntime.wrapNumber(sDbl[stackTop]);
-        --stackTop;
-        Object lhs = stack[stackTop];
-        if (lhs == DBL_MRK) lhs = ScriptRuntime.wrapNumber(sDbl[stackTop]);
-        stack[stackTop] = ScriptRuntime.elemIncrDecr(lhs, langStringReg, rhs, cx,
-                                                     iCode[frame.pc]);
-        ++frame.pc;
+        stackTop = doElemIncDec(cx, frame, iCode, langStringReg, stack, sDbl,
+                                stackTop);
         continue Loop;
     }
     case Token.GET_REF : {
@@ -3320,6 +3363,10 @@ switch (op) {
         langStringReg = strings[getInt(iCode, frame.pc)];
         frame.pc += 4;
         continue Loop;
+    case Icode_CACHEREG:
+        cacheReg = frame.idata.itsTranslatedNameCaches[getIndex(iCode, frame.pc)];
+        frame.pc += 2;
+        continue Loop;
     case Token.DEL_REF : {
         Ref ref = (Ref)stack[stackTop];
         stack[stackTop] = ScriptRuntime.refDel(ref, cx);
@@ -3353,8 +3400,15 @@ switch (op) {
         Object obj = stack[stackTop];
         if (obj == DBL_MRK) obj = ScriptRuntime.wrapNumber(sDbl[stackTop]);
         // stringReg: property
-        stack[stackTop] = ScriptRuntime.getPropFunctionAndThis(obj, langStringReg, stringReg,
-                                                               cx, frame.scope);
+        if (cacheReg != null) {
+            TranslatedNameCache cache = cacheReg;
+            cacheReg = null;
+            stack[stackTop] = ScriptRuntime.getPropFunctionAndThis(obj, langStringReg, stringReg,
+                                                                   cx, frame.scope, cache);
+        } else {
+            stack[stackTop] = ScriptRuntime.getPropFunctionAndThis(obj, langStringReg, stringReg,
+                                                                   cx, frame.scope);
+        }
         ++stackTop;
         stack[stackTop] = ScriptRuntime.lastStoredScriptable(cx);
         continue Loop;
@@ -3380,40 +3434,22 @@ switch (op) {
         if (instructionCounting) {
             cx.instructionCount += INVOCATION_COST;
         }
-        int callType = iCode[frame.pc] & 0xFF;
-        boolean isNew =  (iCode[frame.pc + 1] != 0);
-        int sourceLine = getIndex(iCode, frame.pc + 2);
-
-        // indexReg: number of arguments
-        if (isNew) {
-            // stack change: function arg0 .. argN -> newResult
-            stackTop -= indexReg;
-
-            Object function = stack[stackTop];
-            if (function == DBL_MRK)
-                function = ScriptRuntime.wrapNumber(sDbl[stackTop]);
-            Object[] outArgs = getArgsArray(
-                                   stack, sDbl, stackTop + 1, indexReg);
-            stack[stackTop] = ScriptRuntime.newSpecial(
-                                  cx, function, outArgs, frame.scope, callType);
-        } else {
-            // stack change: function thisObj arg0 .. argN -> result
-            stackTop -= 1 + indexReg;
-
-            // Call code generation ensure that stack here
-            // is ... Callable Scriptable
-            Scriptable functionThis = (Scriptable)stack[stackTop + 1];
-            Callable function = (Callable)stack[stackTop];
-            Object[] outArgs = getArgsArray(
-                                   stack, sDbl, stackTop + 2, indexReg);
-            stack[stackTop] = ScriptRuntime.callSpecial(
-                                  cx, function, functionThis, outArgs,
-                                  frame.scope, frame.thisObj, callType,
-                                  frame.idata.itsSourceFile, sourceLine);
-        }
-        frame.pc += 4;
+        stackTop = doCallSpecial(cx, frame, stack, sDbl, stackTop, iCode,
+                                 indexReg);
         continue Loop;
     }
+    case Icode_NAME_AND_THIS_CALL0 :
+        // stringReg: name
+        ++stackTop;
+        stack[stackTop] = ScriptRuntime.getNameFunctionAndThis(langStringReg, stringReg,
+                                                               cx, frame.scope);
+        ++stackTop;
+        stack[stackTop] = ScriptRuntime.lastStoredScriptable(cx);
+        // Skip REG_IND_C0 and continue with CALL or TAIL_CALL
+        indexReg = 0;
+        op = iCode[frame.pc + 1];
+        frame.pc += 2;
+        // fallthrough
     case Token.CALL :
     case Icode_TAIL_CALL :
     case Token.REF_CALL : {
@@ -3443,7 +3479,7 @@ switch (op) {
             InterpretedFunction ifun = (InterpretedFunction)fun;
             if (frame.fnOrScript.securityDomain == ifun.securityDomain) {
                 CallFrame callParentFrame = frame;
-                CallFrame calleeFrame = new CallFrame();
+                CallFrame calleeFrame = obtainFrame(cx);
                 if (op == Icode_TAIL_CALL) {
                     // In principle tail call can re-use the current
                     // frame and its stack arrays but it is hard to
@@ -3471,6 +3507,9 @@ switch (op) {
                 if (op != Icode_TAIL_CALL) {
                     frame.savedStackTop = stackTop;
                     frame.savedCallOp = op;
+                } else {
+                    // The arguments have been copied out of the old frame
+                    releaseFrame(cx, frame);
                 }
                 frame = calleeFrame;
                 continue StateLoop;
@@ -3559,7 +3598,7 @@ switch (op) {
             InterpretedFunction f = (InterpretedFunction)lhs;
             if (frame.fnOrScript.securityDomain == f.securityDomain) {
                 Scriptable newInstance = f.createObject(cx, frame.scope);
-                CallFrame calleeFrame = new CallFrame();
+                CallFrame calleeFrame = obtainFrame(cx);
                 initFrame(cx, frame.scope, newInstance, stack, sDbl,
                           stackTop + 1, indexReg, f, frame,
                           calleeFrame);
@@ -3631,28 +3670,8 @@ switch (op) {
         indexReg = iCode[frame.pc++];
         // fallthrough
     case Token.SETCONSTVAR :
-        if (!frame.useActivation) {
-            if ((varAttributes[indexReg] & ScriptableObject.READONLY) == 0) {
-                throw Context.reportRuntimeError1("msg.var.redecl",
-                                                  frame.idata.argNames[indexReg]);
-            }
-            if ((varAttributes[indexReg] & ScriptableObject.UNINITIALIZED_CONST)
-                != 0)
-            {
-                vars[indexReg] = stack[stackTop];
-                varAttributes[indexReg] &= ~ScriptableObject.UNINITIALIZED_CONST;
-                varDbls[indexReg] = sDbl[stackTop];
-            }
-        } else {
-            Object val = stack[stackTop];
-            if (val == DBL_MRK) val = ScriptRuntime.wrapNumber(sDbl[stackTop]);
-            stringReg = frame.idata.argNames[indexReg];
-            if (frame.scope instanceof ConstProperties) {
-                ConstProperties cp = (ConstProperties)frame.scope;
-                cp.putConst(stringReg, frame.scope, val);
-            } else
-                throw Kit.codeBug();
-        }
+        doSetConstVar(frame, stack, sDbl, stackTop, vars, varDbls,
+                      varAttributes, indexReg);
         continue Loop;
     case Icode_SETVAR1:
         indexReg = iCode[frame.pc++];
@@ -3670,6 +3689,29 @@ switch (op) {
             frame.scope.put(stringReg, frame.scope, val);
         }
         continue Loop;
+    case Icode_GETVAR1_INC_SETVAR1 :
+        if (!frame.useActivation) {
+            indexReg = iCode[frame.pc];
+            Object value = vars[indexReg];
+            if (value == DBL_MRK || value instanceof Number) {
+                double d = (value == DBL_MRK)
+                           ? varDbls[indexReg] : ((Number)value).doubleValue();
+                d += 1.0;
+                ++stackTop;
+                stack[stackTop] = DBL_MRK;
+                sDbl[stackTop] = d;
+                // The SETVAR1 operand follows ONE, ADD and SETVAR1
+                indexReg = iCode[frame.pc + 4];
+                if ((varAttributes[indexReg] & ScriptableObject.READONLY) == 0) {
+                    vars[indexReg] = DBL_MRK;
+                    varDbls[indexReg] = d;
+                }
+                frame.pc += 5;
+                continue Loop;
+            }
+        }
+        // Not a number: run the sequence one icode at a time
+        // fallthrough
     case Icode_GETVAR1:
         indexReg = iCode[frame.pc++];
         // fallthrough
@@ -3685,31 +3727,11 @@ switch (op) {
         continue Loop;
     case Icode_VAR_INC_DEC : {
         // indexReg : varindex
-        ++stackTop;
-        int incrDecrMask = iCode[frame.pc];
-        if (!frame.useActivation) {
-            stack[stackTop] = DBL_MRK;
-            Object varValue = vars[indexReg];
-            double d;
-            if (varValue == DBL_MRK) {
-                d = varDbls[indexReg];
-            } else {
-                d = ScriptRuntime.toNumber(varValue);
-                vars[indexReg] = DBL_MRK;
-            }
-            double d2 = ((incrDecrMask & Node.DECR_FLAG) == 0)
-                        ? d + 1.0 : d - 1.0;
-            varDbls[indexReg] = d2;
-            sDbl[stackTop] = ((incrDecrMask & Node.POST_FLAG) == 0) ? d2 : d;
-        } else {
-            String varName = frame.idata.argNames[indexReg];
-            stack[stackTop] = ScriptRuntime.nameIncrDecr(frame.scope, ScriptRuntime.TOFILL, varName,
-                                                         cx, incrDecrMask);
-        }
-        ++frame.pc;
-        continue Loop;
-    }
-    case Icode_ZERO :
+        stackTop = doVarIncDec(cx, frame, iCode, stack, sDbl, stackTop,
+                               vars, varDbls, indexReg);
+        continue Loop;
+    }
+    case Icode_ZERO :
         ++stackTop;
         stack[stackTop] = DBL_MRK;
         sDbl[stackTop] = 0;
@@ -3802,25 +3824,12 @@ switch (op) {
     }
     case Token.REF_MEMBER: {
         //indexReg: flags
-        Object elem = stack[stackTop];
-        if (elem == DBL_MRK) elem = ScriptRuntime.wrapNumber(sDbl[stackTop]);
-        --stackTop;
-        Object obj = stack[stackTop];
-        if (obj == DBL_MRK) obj = ScriptRuntime.wrapNumber(sDbl[stackTop]);
-        stack[stackTop] = ScriptRuntime.memberRef(obj, elem, cx, indexReg);
+        stackTop = doRefMember(cx, stack, sDbl, stackTop, indexReg);
         continue Loop;
     }
     case Token.REF_NS_MEMBER: {
         //indexReg: flags
-        Object elem = stack[stackTop];
-        if (elem == DBL_MRK) elem = ScriptRuntime.wrapNumber(sDbl[stackTop]);
-        --stackTop;
-        Object ns = stack[stackTop];
-        if (ns == DBL_MRK) ns = ScriptRuntime.wrapNumber(sDbl[stackTop]);
-        --stackTop;
-        Object obj = stack[stackTop];
-        if (obj == DBL_MRK) obj = ScriptRuntime.wrapNumber(sDbl[stackTop]);
-        stack[stackTop] = ScriptRuntime.memberRef(obj, ns, elem, cx, indexReg);
+        stackTop = doRefNsMember(cx, stack, sDbl, stackTop, indexReg);
         continue Loop;
     }
     case Token.REF_NAME: {
@@ -3833,13 +3842,7 @@ switch (op) {
     }
     case Token.REF_NS_NAME: {
         //indexReg: flags
-        Object name = stack[stackTop];
-        if (name == DBL_MRK) name = ScriptRuntime.wrapNumber(sDbl[stackTop]);
-        --stackTop;
-        Object ns = stack[stackTop];
-        if (ns == DBL_MRK) ns = ScriptRuntime.wrapNumber(sDbl[stackTop]);
-        stack[stackTop] = ScriptRuntime.nameRef(ns, name, cx, frame.scope,
-                                                indexReg);
+        stackTop = doRefNsName(cx, frame, stack, sDbl, stackTop, indexReg);
         continue Loop;
     }
     case Icode_SCOPE_LOAD :
@@ -4057,6 +4060,7 @@ switch (op) {
                 interpreterResult = frame.result;
                 interpreterResultDbl = frame.resultDbl;
                 if (frame.parentFrame != null) {
+                    CallFrame exitedFrame = frame;
                     frame = frame.parentFrame;
                     if (frame.frozen) {
                         frame = frame.cloneFrozen();
@@ -4064,8 +4068,10 @@ switch (op) {
                     setCallResult(
                         frame, interpreterResult, interpreterResultDbl);
                     interpreterResult = null; // Help GC
+                    releaseFrame(cx, exitedFrame);
                     continue StateLoop;
                 }
+                releaseFrame(cx, frame);
                 break StateLoop;
 
             }  // end of interpreter withoutExceptions: try
@@ -4252,7 +4258,7 @@ switch (op) {
         
         // exactly the same as if it's a regular InterpretedFunction
         CallFrame callParentFrame = frame;
-        CallFrame calleeFrame = new CallFrame();
+        CallFrame calleeFrame = obtainFrame(cx);
         if (op == Icode_TAIL_CALL) {
             callParentFrame = frame.parentFrame;
             exitFrame(cx, frame, null);
@@ -4268,6 +4274,365 @@ switch (op) {
         return calleeFrame;
     }
     
+    // The do* helpers hold the bulkier cases of interpretLoop. Keeping the
+    // loop itself below 8000 bytes of bytecode lets HotSpot compile it;
+    // larger methods are never compiled by default.
+
+    private static int doCompare(CallFrame frame, int op, Object[] stack,
+                                 double[] sDbl, int stackTop)
+    {
+        --stackTop;
+        Object rhs = stack[stackTop + 1];
+        Object lhs = stack[stackTop];
+        boolean valBln;
+      object_compare:
+        {
+          number_compare:
+            {
+                double rDbl, lDbl;
+                if (rhs == UniqueTag.DOUBLE_MARK) {
+                    rDbl = sDbl[stackTop + 1];
+                    lDbl = stack_double(frame, stackTop);
+                } else if (lhs == UniqueTag.DOUBLE_MARK) {
+                    rDbl = ScriptRuntime.toNumber(rhs);
+                    lDbl = sDbl[stackTop];
+                } else {
+                    break number_compare;
+                }
+                switch (op) {
+                  case Token.GE:
+                    valBln = (lDbl >= rDbl);
+                    break object_compare;
+                  case Token.LE:
+                    valBln = (lDbl <= rDbl);
+                    break object_compare;
+                  case Token.GT:
+                    valBln = (lDbl > rDbl);
+                    break object_compare;
+                  case Token.LT:
+                    valBln = (lDbl < rDbl);
+                    break object_compare;
+                  default:
+                    throw Kit.codeBug();
+                }
+            }
+            switch (op) {
+              case Token.GE:
+                valBln = ScriptRuntime.cmp_LE(rhs, lhs);
+                break;
+              case Token.LE:
+                valBln = ScriptRuntime.cmp_LE(lhs, rhs);
+                break;
+              case Token.GT:
+                valBln = ScriptRuntime.cmp_LT(rhs, lhs);
+                break;
+              case Token.LT:
+                valBln = ScriptRuntime.cmp_LT(lhs, rhs);
+                break;
+              default:
+                throw Kit.codeBug();
+            }
+        }
+        stack[stackTop] = ScriptRuntime.wrapBoolean(valBln);
+        return stackTop;
+    }
+
+    private static int doInOrInstanceof(Context cx, int op, Object[] stack,
+                                        double[] sDbl, int stackTop)
+    {
+        Object rhs = stack[stackTop];
+        if (rhs == UniqueTag.DOUBLE_MARK) rhs = ScriptRuntime.wrapNumber(sDbl[stackTop]);
+        --stackTop;
+        Object lhs = stack[stackTop];
+        if (lhs == UniqueTag.DOUBLE_MARK) lhs = ScriptRuntime.wrapNumber(sDbl[stackTop]);
+        boolean valBln;
+        if (op == Token.IN) {
+            valBln = ScriptRuntime.in(ScriptRuntime.TOFILL, lhs, rhs, cx);
+        } else {
+            valBln = ScriptRuntime.instanceOf(lhs, rhs, cx);
+        }
+        stack[stackTop] = ScriptRuntime.wrapBoolean(valBln);
+        return stackTop;
+    }
+
+    private static int doEquals(int op, Object[] stack, double[] sDbl,
+                                int stackTop)
+    {
+        --stackTop;
+        boolean valBln;
+        Object rhs = stack[stackTop + 1];
+        Object lhs = stack[stackTop];
+        if (rhs == UniqueTag.DOUBLE_MARK) {
+            if (lhs == UniqueTag.DOUBLE_MARK) {
+                valBln = (sDbl[stackTop] == sDbl[stackTop + 1]);
+            } else {
+                valBln = ScriptRuntime.eqNumber(sDbl[stackTop + 1], lhs);
+            }
+        } else {
+            if (lhs == UniqueTag.DOUBLE_MARK) {
+                valBln = ScriptRuntime.eqNumber(sDbl[stackTop], rhs);
+            } else {
+                valBln = ScriptRuntime.eq(lhs, rhs);
+            }
+        }
+        valBln ^= (op == Token.NE);
+        stack[stackTop] = ScriptRuntime.wrapBoolean(valBln);
+        return stackTop;
+    }
+
+    private static int doGetElem(Context cx, CallFrame frame, String lang,
+                                 Object[] stack, double[] sDbl, int stackTop)
+    {
+        final Object DBL_MRK = UniqueTag.DOUBLE_MARK;
+        --stackTop;
+        Object lhs = stack[stackTop];
+        if (lhs == DBL_MRK) {
+            lhs = ScriptRuntime.wrapNumber(sDbl[stackTop]);
+        }
+        Object value;
+        Object id = stack[stackTop + 1];
+        if (id != DBL_MRK) {
+            value = ScriptRuntime.getObjectElem(lhs, lang, id, cx, frame.scope);
+        } else {
+            double d = sDbl[stackTop + 1];
+            NativeArray array = plainArray(lhs);
+            int index = (int)d;
+            if (array != null && index == d && array.hasNumber(index)) {
+                // Read numbers stored unboxed without boxing them
+                stack[stackTop] = DBL_MRK;
+                sDbl[stackTop] = array.getNumber(index);
+                return stackTop;
+            }
+            value = ScriptRuntime.getObjectIndex(lhs, lang, d, cx);
+        }
+        stack[stackTop] = value;
+        return stackTop;
+    }
+
+    private static int doSetElem(Context cx, String lang, Object[] stack,
+                                 double[] sDbl, int stackTop)
+    {
+        final Object DBL_MRK = UniqueTag.DOUBLE_MARK;
+        stackTop -= 2;
+        Object rhs = stack[stackTop + 2];
+        Object lhs = stack[stackTop];
+        if (lhs == DBL_MRK) {
+            lhs = ScriptRuntime.wrapNumber(sDbl[stackTop]);
+        }
+        Object id = stack[stackTop + 1];
+        if (rhs == DBL_MRK && id == DBL_MRK) {
+            double d = sDbl[stackTop + 1];
+            NativeArray array = plainArray(lhs);
+            int index = (int)d;
+            if (array != null && index == d &&
+                array.putNumber(index, sDbl[stackTop + 2]))
+            {
+                stack[stackTop] = DBL_MRK;
+                sDbl[stackTop] = sDbl[stackTop + 2];
+                return stackTop;
+            }
+        }
+        if (rhs == DBL_MRK) {
+            rhs = ScriptRuntime.wrapNumber(sDbl[stackTop + 2]);
+        }
+        Object value;
+        if (id != DBL_MRK) {
+            value = ScriptRuntime.setObjectElem(lhs, lang, id, rhs, cx);
+        } else {
+            double d = sDbl[stackTop + 1];
+            value = ScriptRuntime.setObjectIndex(lhs, lang, d, rhs, cx);
+        }
+        stack[stackTop] = value;
+        return stackTop;
+    }
+
+    /**
+     * Returns obj if it is a NativeArray whose element access is not
+     * overridden by a subclass, so its numbers can be accessed unboxed.
+     */
+    private static NativeArray plainArray(Object obj)
+    {
+        if (obj != null && obj.getClass() == NativeArray.class) {
+            return (NativeArray)obj;
+        }
+        return null;
+    }
+
+    private static int doElemIncDec(Context cx, CallFrame frame, byte[] iCode,
+                                    String langStringReg, Object[] stack,
+                                    double[] sDbl, int stackTop)
+    {
+        Object rhs = stack[stackTop];
+        int incrDecrMask = iCode[frame.pc];
+        if (rhs == UniqueTag.DOUBLE_MARK) {
+            double d = sDbl[stackTop];
+            NativeArray array = plainArray(stack[stackTop - 1]);
+            int index = (int)d;
+            if (array != null && index == d && array.hasNumber(index)) {
+                // Update numbers stored unboxed without boxing the index,
+                // the old value or the new one
+                double number = array.getNumber(index);
+                double result = ((incrDecrMask & Node.DECR_FLAG) == 0)
+                                ? number + 1.0 : number - 1.0;
+                if (array.putNumber(index, result)) {
+                    --stackTop;
+                    stack[stackTop] = UniqueTag.DOUBLE_MARK;
+                    sDbl[stackTop] = ((incrDecrMask & Node.POST_FLAG) == 0)
+                                     ? result : number;
+                    ++frame.pc;
+                    return stackTop;
+                }
+            }
+            rhs = ScriptRuntime.wrapNumber(d);
+        }
+        --stackTop;
+        Object lhs = stack[stackTop];
+        if (lhs == UniqueTag.DOUBLE_MARK) lhs = ScriptRuntime.wrapNumber(sDbl[stackTop]);
+        stack[stackTop] = ScriptRuntime.elemIncrDecr(lhs, langStringReg, rhs, cx,
+                                                     incrDecrMask);
+        ++frame.pc;
+        return stackTop;
+    }
+
+    private static int doCallSpecial(Context cx, CallFrame frame,
+                                     Object[] stack, double[] sDbl,
+                                     int stackTop, byte[] iCode, int indexReg)
+    {
+        int callType = iCode[frame.pc] & 0xFF;
+        boolean isNew =  (iCode[frame.pc + 1] != 0);
+        int sourceLine = getIndex(iCode, frame.pc + 2);
+
+        // indexReg: number of arguments
+        if (isNew) {
+            // stack change: function arg0 .. argN -> newResult
+            stackTop -= indexReg;
+
+            Object function = stack[stackTop];
+            if (function == UniqueTag.DOUBLE_MARK)
+                function = ScriptRuntime.wrapNumber(sDbl[stackTop]);
+            Object[] outArgs = getArgsArray(
+                                   stack, sDbl, stackTop + 1, indexReg);
+            stack[stackTop] = ScriptRuntime.newSpecial(
+                                  cx, function, outArgs, frame.scope, callType);
+        } else {
+            // stack change: function thisObj arg0 .. argN -> result
+            stackTop -= 1 + indexReg;
+
+            // Call code generation ensure that stack here
+            // is ... Callable Scriptable
+            Scriptable functionThis = (Scriptable)stack[stackTop + 1];
+            Callable function = (Callable)stack[stackTop];
+            Object[] outArgs = getArgsArray(
+                                   stack, sDbl, stackTop + 2, indexReg);
+            stack[stackTop] = ScriptRuntime.callSpecial(
+                                  cx, function, functionThis, outArgs,
+                                  frame.scope, frame.thisObj, callType,
+                                  frame.idata.itsSourceFile, sourceLine);
+        }
+        frame.pc += 4;
+        return stackTop;
+    }
+
+    private static void doSetConstVar(CallFrame frame, Object[] stack,
+                                      double[] sDbl, int stackTop,
+                                      Object[] vars, double[] varDbls,
+                                      int[] varAttributes, int indexReg)
+    {
+        if (!frame.useActivation) {
+            if ((varAttributes[indexReg] & ScriptableObject.READONLY) == 0) {
+                throw Context.reportRuntimeError1("msg.var.redecl",
+                                                  frame.idata.argNames[indexReg]);
+            }
+            if ((varAttributes[indexReg] & ScriptableObject.UNINITIALIZED_CONST)
+                != 0)
+            {
+                vars[indexReg] = stack[stackTop];
+                varAttributes[indexReg] &= ~ScriptableObject.UNINITIALIZED_CONST;
+                varDbls[indexReg] = sDbl[stackTop];
+            }
+        } else {
+            Object val = stack[stackTop];
+            if (val == UniqueTag.DOUBLE_MARK) val = ScriptRuntime.wrapNumber(sDbl[stackTop]);
+            String stringReg = frame.idata.argNames[indexReg];
+            if (frame.scope instanceof ConstProperties) {
+                ConstProperties cp = (ConstProperties)frame.scope;
+                cp.putConst(stringReg, frame.scope, val);
+            } else
+                throw Kit.codeBug();
+        }
+    }
+
+    private static int doVarIncDec(Context cx, CallFrame frame, byte[] iCode,
+                                   Object[] stack, double[] sDbl,
+                                   int stackTop, Object[] vars,
+                                   double[] varDbls, int indexReg)
+    {
+        ++stackTop;
+        int incrDecrMask = iCode[frame.pc];
+        if (!frame.useActivation) {
+            stack[stackTop] = UniqueTag.DOUBLE_MARK;
+            Object varValue = vars[indexReg];
+            double d;
+            if (varValue == UniqueTag.DOUBLE_MARK) {
+                d = varDbls[indexReg];
+            } else {
+                d = ScriptRuntime.toNumber(varValue);
+                vars[indexReg] = UniqueTag.DOUBLE_MARK;
+            }
+            double d2 = ((incrDecrMask & Node.DECR_FLAG) == 0)
+                        ? d + 1.0 : d - 1.0;
+            varDbls[indexReg] = d2;
+            sDbl[stackTop] = ((incrDecrMask & Node.POST_FLAG) == 0) ? d2 : d;
+        } else {
+            String varName = frame.idata.argNames[indexReg];
+            stack[stackTop] = ScriptRuntime.nameIncrDecr(frame.scope, ScriptRuntime.TOFILL, varName,
+                                                         cx, incrDecrMask);
+        }
+        ++frame.pc;
+        return stackTop;
+    }
+
+    private static int doRefMember(Context cx, Object[] stack, double[] sDbl,
+                                   int stackTop, int flags)
+    {
+        Object elem = stack[stackTop];
+        if (elem == UniqueTag.DOUBLE_MARK) elem = ScriptRuntime.wrapNumber(sDbl[stackTop]);
+        --stackTop;
+        Object obj = stack[stackTop];
+        if (obj == UniqueTag.DOUBLE_MARK) obj = ScriptRuntime.wrapNumber(sDbl[stackTop]);
+        stack[stackTop] = ScriptRuntime.memberRef(obj, elem, cx, flags);
+        return stackTop;
+    }
+
+    private static int doRefNsMember(Context cx, Object[] stack,
+                                     double[] sDbl, int stackTop, int flags)
+    {
+        Object elem = stack[stackTop];
+        if (elem == UniqueTag.DOUBLE_MARK) elem = ScriptRuntime.wrapNumber(sDbl[stackTop]);
+        --stackTop;
+        Object ns = stack[stackTop];
+        if (ns == UniqueTag.DOUBLE_MARK) ns = ScriptRuntime.wrapNumber(sDbl[stackTop]);
+        --stackTop;
+        Object obj = stack[stackTop];
+        if (obj == UniqueTag.DOUBLE_MARK) obj = ScriptRuntime.wrapNumber(sDbl[stackTop]);
+        stack[stackTop] = ScriptRuntime.memberRef(obj, ns, elem, cx, flags);
+        return stackTop;
+    }
+
+    private static int doRefNsName(Context cx, CallFrame frame,
+                                   Object[] stack, double[] sDbl,
+                                   int stackTop, int flags)
+    {
+        Object name = stack[stackTop];
+        if (name == UniqueTag.DOUBLE_MARK) name = ScriptRuntime.wrapNumber(sDbl[stackTop]);
+        --stackTop;
+        Object ns = stack[stackTop];
+        if (ns == UniqueTag.DOUBLE_MARK) ns = ScriptRuntime.wrapNumber(sDbl[stackTop]);
+        stack[stackTop] = ScriptRuntime.nameRef(ns, name, cx, frame.scope,
+                                                flags);
+        return stackTop;
+    }
+
     private static boolean shallowEquals(Object[] stack, double[] sDbl,
             int stackTop)
     {
@@ -4466,7 +4831,7 @@ switch (op) {
             frame.savedStackTop = stackTop;
             frame.savedCallOp = op;
         }
-        CallFrame calleeFrame = new CallFrame();
+        CallFrame calleeFrame = obtainFrame(cx);
         if(BaseFunction.isApply(ifun)) {
             Object[] callArgs = indexReg < 2 ? ScriptRuntime.emptyArgs : 
                 ScriptRuntime.getApplyArguments(cx, stack[stackTop + 3]);
@@ -4488,6 +4853,59 @@ switch (op) {
         return frame;
     }
 
+    /**
+     * Returns a frame for an interpreted call, reusing one that an earlier
+     * call on this Context released if there is one.
+     */
+    private static CallFrame obtainFrame(Context cx)
+    {
+        ObjArray pool = cx.interpreterFramePool;
+        if (pool != null && pool.size() != 0) {
+            return (CallFrame)pool.pop();
+        }
+        return new CallFrame();
+    }
+
+    /**
+     * Keeps a frame that has returned so that a later call can reuse it
+     * and its stack arrays. Only frames that nothing can refer to after
+     * they exit are kept: frames without an activation object that are
+     * not part of a continuation or a generator and were not captured in
+     * the stack information of an exception.
+     */
+    private static void releaseFrame(Context cx, CallFrame frame)
+    {
+        if (frame.escaped || frame.frozen || frame.useActivation
+            || frame.varSource != frame)
+        {
+            return;
+        }
+        ObjArray pool = cx.interpreterFramePool;
+        if (pool == null) {
+            pool = new ObjArray();
+            cx.interpreterFramePool = pool;
+        } else if (pool.size() >= MAX_POOLED_FRAMES) {
+            return;
+        }
+        // Drop references so that pooled frames do not keep objects alive
+        Object[] stack = frame.stack;
+        for (int i = frame.idata.itsMaxFrameArray; i != 0;) {
+            stack[--i] = null;
+        }
+        frame.parentFrame = null;
+        frame.fnOrScript = null;
+        frame.idata = null;
+        frame.varSource = null;
+        frame.debuggerFrame = null;
+        frame.isContinuationsTopFrame = false;
+        frame.thisObj = null;
+        frame.scriptRegExps = null;
+        frame.result = null;
+        frame.scope = null;
+        frame.throwable = null;
+        pool.push(frame);
+    }
+
     private static void initFrame(Context cx, Scriptable callerScope,
                                   Scriptable thisObj,
                                   Object[] args, double[] argsDbl,
@@ -4575,6 +4993,9 @@ switch (op) {
             stack = frame.stack;
             stackAttributes = frame.stackAttributes;
             sDbl = frame.sDbl;
+            for (int i = idata.itsMaxVars; i != 0;) {
+                stackAttributes[--i] = ScriptableObject.EMPTY;
+            }
         } else {
             stackReuse = false;
             stack = new Object[maxFrameArray];
@@ -4880,14 +5301,12 @@ switch (op) {
         } else {
             if (lhs instanceof Scriptable || rhs instanceof Scriptable) {
                 stack[stackTop] = ScriptRuntime.add(lhs, rhs, cx);
-            } else if (lhs instanceof String) {
-                String lstr = (String)lhs;
-                String rstr = ScriptRuntime.toString(rhs);
-                stack[stackTop] = lstr.concat(rstr);
-            } else if (rhs instanceof String) {
-                String lstr = ScriptRuntime.toString(lhs);
-                String rstr = (String)rhs;
-                stack[stackTop] = lstr.concat(rstr);
+            } else if (lhs instanceof String || lhs instanceof ConsString ||
+                       rhs instanceof String || rhs instanceof ConsString)
+            {
+                CharSequence lstr = ScriptRuntime.toCharSequence(lhs);
+                CharSequence rstr = ScriptRuntime.toCharSequence(rhs);
+                stack[stackTop] = ScriptRuntime.concat(lstr, rstr);
             } else {
                 double lDbl = (lhs instanceof Number)
                     ? ((Number)lhs).doubleValue() : ScriptRuntime.toNumber(lhs);
@@ -4908,13 +5327,13 @@ switch (op) {
                 rhs = tmp;
             }
             stack[stackTop] = ScriptRuntime.add(lhs, rhs, cx);
-        } else if (lhs instanceof String) {
-            String lstr = (String)lhs;
+        } else if (lhs instanceof String || lhs instanceof ConsString) {
+            CharSequence lstr = (CharSequence)lhs;
             String rstr = ScriptRuntime.toString(d);
             if (leftRightOrder) {
-                stack[stackTop] = lstr.concat(rstr);
+                stack[stackTop] = ScriptRuntime.concat(lstr, rstr);
             } else {
-                stack[stackTop] = rstr.concat(lstr);
+                stack[stackTop] = ScriptRuntime.concat(rstr, lstr);
             }
         } else {
             double lDbl = (lhs instanceof Number)
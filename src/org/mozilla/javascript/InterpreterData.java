@@ -87,6 +87,9 @@ final class InterpreterData implements Serializable, DebuggableScript
     double[] itsDoubleTable;
     InterpreterData[] itsNestedFunctions;
     Object[] itsRegExpLiterals;
+    // sources and flags of the regexp literals, so they can be recompiled
+    String[] itsRegExpStrings;
+    String[] itsRegExpFlags;
 
     byte[] itsICode;
 
@@ -116,6 +119,9 @@ final class InterpreterData implements Serializable, DebuggableScript
 
     Object[] literalIds;
 
+    // inline caches for language-qualified property accesses
+    TranslatedNameCache[] itsTranslatedNameCaches;
+
     UintMap longJumps;
 
     int firstLinePC = -1; // PC for the first LINE icode
@@ -0,0 +1,618 @@
+/* -*- Mode: java; tab-width: 8; indent-tabs-mode: nil; c-basic-offset: 4 -*-
+ *
+ * ***** BEGIN LICENSE BLOCK *****
+ * Version: MPL 1.1/GPL 2.0
+ *
+ * The contents of this file are subject to the Mozilla Public License Version
+ * 1.1 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ * http://www.mozilla.org/MPL/
+ *
+ * Software distributed under the License is distributed on an "AS IS" basis,
+ * WITHOUT WARRANTY OF ANY KIND, either express or implied. See the License
+ * for the specific language governing rights and limitations under the
+ * License.
+ *
+ * The Original Code is Rhino code, released
+ * May 6, 1999.
+ *
+ * The Initial Developer of the Original Code is
+ * Netscape Communications Corporation.
+ * Portions created by the Initial Developer are Copyright (C) 1997-1999
+ * the Initial Developer. All Rights Reserved.
+ *
+ * Contributor(s):
+ *
+ * Alternatively, the contents of this file may be used under the terms of
+ * the GNU General Public License Version 2 or later (the "GPL"), in which
+ * case the provisions of the GPL are applicable instead of those above. If
+ * you wish to allow use of your version of this file only under the terms of
+ * the GPL and not to allow others to use your version of this file under the
+ * MPL, indicate your decision by deleting the provisions above and replacing
+ * them with the notice and other provisions required by the GPL. If you do
+ * not delete the provisions above, a recipient may use your version of this
+ * file under either the MPL or the GPL.
+ *
+ * ***** END LICENSE BLOCK ***** */
+
+
+package org.mozilla.javascript;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.lang.reflect.Array;
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+
+/**
+ * Compact binary form of {@link InterpreterData}, used to keep compiled
+ * scripts on disk between runs.
+ * <p>
+ * Integers and the characters of strings are written as variable length
+ * numbers, so that icode tables made of small indexes and mostly ASCII
+ * names take about one byte per element. Nested functions are written
+ * inside their parent and share its source name and encoded source.
+ * Inline caches are not written, only their number, and regular
+ * expression literals are kept as source and recompiled on load.
+ * <p>
+ * Every file starts with a header holding the format version and a
+ * fingerprint of the engine that wrote it, since icode is only meaningful
+ * to the interpreter that generated it. Data written by a different
+ * engine is rejected rather than interpreted.
+ */
+final class InterpreterDataFormat
+{
+    private static final int MAGIC = 0x42416943; // "BAiC"
+
+    static final int FORMAT_VERSION = 1;
+
+    private static final int LITERAL_SKIP_INDEXES = 1;
+    private static final int LITERAL_PROPERTY_IDS = 2;
+
+    private static final int ID_STRING = 1;
+    private static final int ID_INTEGER = 2;
+
+    private static String engineFingerprint;
+
+    private InterpreterDataFormat() { }
+
+    /**
+     * Identifies the icode set of this engine. Any change to the
+     * implementation version, the icodes, the tokens or the layout of
+     * InterpreterData makes previously written data unreadable.
+     */
+    static String getEngineFingerprint()
+    {
+        if (engineFingerprint == null) {
+            engineFingerprint
+                = ScriptRuntime.getMessage0("implementation.version")
+                  + "/" + Interpreter.MIN_ICODE
+                  + "/" + Token.LAST_TOKEN
+                  + "/" + InterpreterData.serialVersionUID;
+        }
+        return engineFingerprint;
+    }
+
+    /**
+     * Returns true if <code>idata</code> only holds data this format can
+     * represent. Scripts compiled with a debugger or for eval are not
+     * written.
+     */
+    static boolean canWrite(InterpreterData idata)
+    {
+        if (idata.evalScriptFlag)
+            return false;
+        if (idata.itsRegExpLiterals != null && idata.itsRegExpStrings == null)
+            return false;
+        if (idata.literalIds != null) {
+            for (Object literal: idata.literalIds) {
+                if (literal instanceof Object[]) {
+                    for (Object id: (Object[])literal) {
+                        if (!(id instanceof String || id instanceof Integer))
+                            return false;
+                    }
+                } else if (!(literal instanceof int[])) {
+                    return false;
+                }
+            }
+        }
+        if (idata.itsNestedFunctions != null) {
+            for (InterpreterData nested: idata.itsNestedFunctions) {
+                if (!canWrite(nested))
+                    return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Writes a top level script or function compiled by the interpreter.
+     * <code>digest</code> identifies the compilation and is checked again
+     * by {@link #read(ByteBuffer, byte[])}.
+     */
+    static void write(InterpreterData idata, byte[] digest, OutputStream out)
+        throws IOException
+    {
+        if (!idata.topLevel || idata.parentData != null)
+            throw new IllegalArgumentException();
+        Writer w = new Writer();
+        w.writeRawInt(MAGIC);
+        w.writeInt(FORMAT_VERSION);
+        w.writeString(getEngineFingerprint());
+        w.writeByteArray(digest);
+        w.writeString(idata.itsSourceFile);
+        w.writeInt(idata.languageVersion);
+        w.writeString(idata.encodedSource);
+        writeFunction(w, idata);
+        w.writeTo(out);
+    }
+
+    /**
+     * Reads data written by {@link #write(InterpreterData, byte[],
+     * OutputStream)}. Returns null if the data was written by another
+     * version of the engine or for another compilation. Regular
+     * expressions are compiled with the RegExpProxy of the current
+     * Context.
+     *
+     * @throws IllegalArgumentException if the data is corrupt
+     */
+    static InterpreterData read(ByteBuffer buffer, byte[] digest)
+    {
+        Reader r = new Reader(buffer);
+        try {
+            if (r.readRawInt() != MAGIC
+                || r.readInt() != FORMAT_VERSION
+                || !getEngineFingerprint().equals(r.readString())
+                || !Arrays.equals(digest, r.readByteArray()))
+            {
+                return null;
+            }
+            String sourceFile = r.readString();
+            int languageVersion = r.readInt();
+            String encodedSource = r.readString();
+            InterpreterData idata = new InterpreterData(languageVersion,
+                                                        sourceFile,
+                                                        encodedSource);
+            readFunction(r, idata);
+            if (buffer.hasRemaining())
+                throw new IllegalArgumentException("Trailing data");
+            return idata;
+        } catch (RuntimeException ex) {
+            if (ex instanceof IllegalArgumentException)
+                throw ex;
+            // Buffer underflows and bad array sizes from truncated files
+            throw new IllegalArgumentException(ex.toString());
+        }
+    }
+
+    private static void writeFunction(Writer w, InterpreterData idata)
+    {
+        w.writeString(idata.itsName);
+        w.writeBoolean(idata.itsNeedsActivation);
+        w.writeInt(idata.itsFunctionType);
+        w.writeStrings(idata.itsStringTable);
+
+        double[] doubles = idata.itsDoubleTable;
+        w.writeLength(doubles);
+        if (doubles != null) {
+            for (double d: doubles) {
+                w.writeRawLong(Double.doubleToRawLongBits(d));
+            }
+        }
+
+        InterpreterData[] nested = idata.itsNestedFunctions;
+        w.writeLength(nested);
+        if (nested != null) {
+            for (InterpreterData fdata: nested) {
+                writeFunction(w, fdata);
+            }
+        }
+
+        w.writeStrings(idata.itsRegExpStrings);
+        w.writeStrings(idata.itsRegExpFlags);
+
+        w.writeByteArray(idata.itsICode);
+        w.writeInts(idata.itsExceptionTable);
+
+        w.writeInt(idata.itsMaxVars);
+        w.writeInt(idata.itsMaxLocals);
+        w.writeInt(idata.itsMaxStack);
+        w.writeInt(idata.itsMaxFrameArray);
+
+        w.writeStrings(idata.argNames);
+        boolean[] argIsConst = idata.argIsConst;
+        w.writeLength(argIsConst);
+        if (argIsConst != null) {
+            for (boolean b: argIsConst) {
+                w.writeBoolean(b);
+            }
+        }
+        w.writeInt(idata.argCount);
+        w.writeInt(idata.itsMaxCalleeArgs);
+
+        w.writeInt(idata.encodedSourceStart);
+        w.writeInt(idata.encodedSourceEnd);
+        w.writeBoolean(idata.useDynamicScope);
+        w.writeBoolean(idata.topLevel);
+
+        Object[] literalIds = idata.literalIds;
+        w.writeLength(literalIds);
+        if (literalIds != null) {
+            for (Object literal: literalIds) {
+                if (literal instanceof int[]) {
+                    w.writeInt(LITERAL_SKIP_INDEXES);
+                    w.writeInts((int[])literal);
+                } else {
+                    Object[] ids = (Object[])literal;
+                    w.writeInt(LITERAL_PROPERTY_IDS);
+                    w.writeLength(ids);
+                    for (Object id: ids) {
+                        if (id instanceof String) {
+                            w.writeInt(ID_STRING);
+                            w.writeString((String)id);
+                        } else {
+                            w.writeInt(ID_INTEGER);
+                            w.writeInt(((Integer)id).intValue());
+                        }
+                    }
+                }
+            }
+        }
+
+        w.writeInt(idata.itsTranslatedNameCaches == null
+                   ? 0 : idata.itsTranslatedNameCaches.length);
+
+        UintMap longJumps = idata.longJumps;
+        if (longJumps == null) {
+            w.writeInt(0);
+        } else {
+            int[] sites = longJumps.getKeys();
+            w.writeInt(sites.length);
+            for (int site: sites) {
+                w.writeInt(site);
+                w.writeInt(longJumps.getExistingInt(site));
+            }
+        }
+
+        w.writeInt(idata.firstLinePC);
+    }
+
+    private static void readFunction(Reader r, InterpreterData idata)
+    {
+        idata.itsName = r.readString();
+        idata.itsNeedsActivation = r.readBoolean();
+        idata.itsFunctionType = r.readInt();
+        idata.itsStringTable = r.readStrings();
+
+        int count = r.readLength(8);
+        if (count >= 0) {
+            double[] doubles = new double[count];
+            for (int i = 0; i != count; i++) {
+                doubles[i] = Double.longBitsToDouble(r.readRawLong());
+            }
+            idata.itsDoubleTable = doubles;
+        } else {
+            idata.itsDoubleTable = null;
+        }
+
+        count = r.readLength(1);
+        if (count >= 0) {
+            InterpreterData[] nested = new InterpreterData[count];
+            for (int i = 0; i != count; i++) {
+                nested[i] = new InterpreterData(idata);
+                readFunction(r, nested[i]);
+            }
+            idata.itsNestedFunctions = nested;
+        }
+
+        idata.itsRegExpStrings = r.readStrings();
+        idata.itsRegExpFlags = r.readStrings();
+        if (idata.itsRegExpStrings != null) {
+            String[] strings = idata.itsRegExpStrings;
+            String[] flags = idata.itsRegExpFlags;
+            if (flags == null || flags.length != strings.length)
+                throw new IllegalArgumentException("Bad regexp table");
+            Context cx = Context.getContext();
+            RegExpProxy rep = ScriptRuntime.checkRegExpProxy(cx);
+            Object[] regexps = new Object[strings.length];
+            for (int i = 0; i != strings.length; i++) {
+                regexps[i] = rep.compileRegExp(cx, strings[i], flags[i]);
+            }
+            idata.itsRegExpLiterals = regexps;
+        }
+
+        idata.itsICode = r.readByteArray();
+        if (idata.itsICode == null)
+            throw new IllegalArgumentException("Missing icode");
+        idata.itsExceptionTable = r.readInts();
+
+        idata.itsMaxVars = r.readInt();
+        idata.itsMaxLocals = r.readInt();
+        idata.itsMaxStack = r.readInt();
+        idata.itsMaxFrameArray = r.readInt();
+        if (idata.itsMaxFrameArray != idata.itsMaxVars + idata.itsMaxLocals
+                                       + idata.itsMaxStack)
+        {
+            throw new IllegalArgumentException("Bad frame size");
+        }
+
+        idata.argNames = r.readStrings();
+        count = r.readLength(1);
+        if (count >= 0) {
+            boolean[] argIsConst = new boolean[count];
+            for (int i = 0; i != count; i++) {
+                argIsConst[i] = r.readBoolean();
+            }
+            idata.argIsConst = argIsConst;
+        }
+        idata.argCount = r.readInt();
+        idata.itsMaxCalleeArgs = r.readInt();
+
+        idata.encodedSourceStart = r.readInt();
+        idata.encodedSourceEnd = r.readInt();
+        idata.useDynamicScope = r.readBoolean();
+        idata.topLevel = r.readBoolean();
+
+        count = r.readLength(1);
+        if (count >= 0) {
+            Object[] literalIds = new Object[count];
+            for (int i = 0; i != count; i++) {
+                int kind = r.readInt();
+                if (kind == LITERAL_SKIP_INDEXES) {
+                    literalIds[i] = r.readInts();
+                } else if (kind == LITERAL_PROPERTY_IDS) {
+                    int idCount = r.readLength(1);
+                    Object[] ids = new Object[idCount < 0 ? 0 : idCount];
+                    for (int j = 0; j < idCount; j++) {
+                        int idKind = r.readInt();
+                        if (idKind == ID_STRING) {
+                            ids[j] = r.readString();
+                        } else if (idKind == ID_INTEGER) {
+                            ids[j] = Integer.valueOf(r.readInt());
+                        } else {
+                            throw new IllegalArgumentException("Bad id");
+                        }
+                    }
+                    literalIds[i] = ids;
+                } else {
+                    throw new IllegalArgumentException("Bad literal");
+                }
+            }
+            idata.literalIds = literalIds;
+        }
+
+        count = r.readInt();
+        if (count != 0) {
+            if (count < 0 || count > idata.itsICode.length)
+                throw new IllegalArgumentException("Bad cache count");
+            TranslatedNameCache[] caches = new TranslatedNameCache[count];
+            for (int i = 0; i != count; i++) {
+                caches[i] = new TranslatedNameCache();
+            }
+            idata.itsTranslatedNameCaches = caches;
+        }
+
+        count = r.readInt();
+        if (count < 0 || (long)count * 2 > r.remaining())
+            throw new IllegalArgumentException("Bad jump count");
+        if (count > 0) {
+            UintMap longJumps = new UintMap();
+            for (int i = 0; i != count; i++) {
+                int site = r.readInt();
+                longJumps.put(site, r.readInt());
+            }
+            idata.longJumps = longJumps;
+        }
+
+        idata.firstLinePC = r.readInt();
+    }
+
+    /**
+     * Collects the output in memory so that it reaches the file in one
+     * write.
+     */
+    private static final class Writer extends ByteArrayOutputStream
+    {
+        Writer()
+        {
+            super(1024);
+        }
+
+        void writeRawInt(int value)
+        {
+            write(value >>> 24);
+            write(value >>> 16);
+            write(value >>> 8);
+            write(value);
+        }
+
+        void writeRawLong(long value)
+        {
+            writeRawInt((int)(value >>> 32));
+            writeRawInt((int)value);
+        }
+
+        void writeUnsigned(int value)
+        {
+            while ((value & ~0x7F) != 0) {
+                write((value & 0x7F) | 0x80);
+                value >>>= 7;
+            }
+            write(value);
+        }
+
+        void writeInt(int value)
+        {
+            // zigzag encoding keeps small negative numbers short
+            writeUnsigned((value << 1) ^ (value >> 31));
+        }
+
+        void writeBoolean(boolean value)
+        {
+            write(value ? 1 : 0);
+        }
+
+        /**
+         * Lengths are written plus one so that 0 can stand for null.
+         */
+        void writeLength(Object array)
+        {
+            writeUnsigned(array == null ? 0 : Array.getLength(array) + 1);
+        }
+
+        void writeString(String s)
+        {
+            if (s == null) {
+                writeUnsigned(0);
+                return;
+            }
+            int length = s.length();
+            writeUnsigned(length + 1);
+            for (int i = 0; i != length; i++) {
+                // Chars rather than code points, since lone surrogates
+                // must survive unchanged
+                writeUnsigned(s.charAt(i));
+            }
+        }
+
+        void writeStrings(String[] strings)
+        {
+            writeLength(strings);
+            if (strings != null) {
+                for (String s: strings) {
+                    writeString(s);
+                }
+            }
+        }
+
+        void writeByteArray(byte[] bytes)
+        {
+            writeLength(bytes);
+            if (bytes != null) {
+                write(bytes, 0, bytes.length);
+            }
+        }
+
+        void writeInts(int[] ints)
+        {
+            writeLength(ints);
+            if (ints != null) {
+                for (int i: ints) {
+                    writeInt(i);
+                }
+            }
+        }
+    }
+
+    private static final class Reader
+    {
+        private final ByteBuffer buffer;
+
+        Reader(ByteBuffer buffer)
+        {
+            this.buffer = buffer;
+        }
+
+        int readRawInt()
+        {
+            return buffer.getInt();
+        }
+
+        int remaining()
+        {
+            return buffer.remaining();
+        }
+
+        long readRawLong()
+        {
+            return buffer.getLong();
+        }
+
+        int readUnsigned()
+        {
+            int value = 0;
+            for (int shift = 0; shift < 35; shift += 7) {
+                int b = buffer.get();
+                value |= (b & 0x7F) << shift;
+                if (b >= 0)
+                    return value;
+            }
+            throw new IllegalArgumentException("Bad number");
+        }
+
+        int readInt()
+        {
+            int value = readUnsigned();
+            return (value >>> 1) ^ -(value & 1);
+        }
+
+        boolean readBoolean()
+        {
+            return buffer.get() != 0;
+        }
+
+        /**
+         * Returns -1 for a null array. Every element takes at least
+         * <code>minElementSize</code> bytes, which bounds the length of
+         * arrays read from corrupt data.
+         */
+        int readLength(int minElementSize)
+        {
+            int length = readUnsigned() - 1;
+            if (length < -1
+                || (long)length * minElementSize > buffer.remaining())
+            {
+                throw new IllegalArgumentException("Bad length");
+            }
+            return length;
+        }
+
+        String readString()
+        {
+            int length = readLength(1);
+            if (length < 0)
+                return null;
+            char[] chars = new char[length];
+            for (int i = 0; i != length; i++) {
+                int b = buffer.get();
+                chars[i] = (char)(b >= 0 ? b : ((b & 0x7F) | (readUnsigned() << 7)));
+            }
+            return new String(chars);
+        }
+
+        String[] readStrings()
+        {
+            int length = readLength(1);
+            if (length < 0)
+                return null;
+            String[] strings = new String[length];
+            for (int i = 0; i != length; i++) {
+                strings[i] = readString();
+            }
+            return strings;
+        }
+
+        byte[] readByteArray()
+        {
+            int length = readLength(1);
+            if (length < 0)
+                return null;
+            byte[] bytes = new byte[length];
+            buffer.get(bytes);
+            return bytes;
+        }
+
+        int[] readInts()
+        {
+            int length = readLength(1);
+            if (length < 0)
+                return null;
+            int[] ints = new int[length];
+            for (int i = 0; i != length; i++) {
+                ints[i] = readInt();
+            }
+            return ints;
+        }
+    }
+}
@@ -0,0 +1,254 @@
+/* -*- Mode: java; tab-width: 8; indent-tabs-mode: nil; c-basic-offset: 4 -*-
+ *
+ * ***** BEGIN LICENSE BLOCK *****
+ * Version: MPL 1.1/GPL 2.0
+ *
+ * The contents of this file are subject to the Mozilla Public License Version
+ * 1.1 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ * http://www.mozilla.org/MPL/
+ *
+ * Software distributed under the License is distributed on an "AS IS" basis,
+ * WITHOUT WARRANTY OF ANY KIND, either express or implied. See the License
+ * for the specific language governing rights and limitations under the
+ * License.
+ *
+ * The Original Code is Rhino code, released
+ * May 6, 1999.
+ *
+ * The Initial Developer of the Original Code is
+ * Netscape Communications Corporation.
+ * Portions created by the Initial Developer are Copyright (C) 1997-1999
+ * the Initial Developer. All Rights Reserved.
+ *
+ * Contributor(s):
+ *
+ * Alternatively, the contents of this file may be used under the terms of
+ * the GNU General Public License Version 2 or later (the "GPL"), in which
+ * case the provisions of the GPL are applicable instead of those above. If
+ * you wish to allow use of your version of this file only under the terms of
+ * the GPL and not to allow others to use your version of this file under the
+ * MPL, indicate your decision by deleting the provisions above and replacing
+ * them with the notice and other provisions required by the GPL. If you do
+ * not delete the provisions above, a recipient may use your version of this
+ * file under either the MPL or the GPL.
+ *
+ * ***** END LICENSE BLOCK ***** */
+
+
+package org.mozilla.javascript;
+
+import static org.mozilla.javascript.ScriptableObject.CONST;
+import static org.mozilla.javascript.ScriptableObject.PERMANENT;
+import static org.mozilla.javascript.ScriptableObject.SLOT_MODIFY_CONST;
+import static org.mozilla.javascript.ScriptableObject.SLOT_MODIFY_GETTER_SETTER;
+
+import java.util.concurrent.atomic.AtomicReferenceFieldUpdater;
+
+import org.mozilla.javascript.ScriptableObject.GetterSlot;
+import org.mozilla.javascript.ScriptableObject.Slot;
+
+/**
+ * Copy-on-write slot table for objects that are read far more often than
+ * they change, such as a global scope shared by many threads.
+ * <p>
+ * The slots live in an immutable snapshot that is replaced with a
+ * compare-and-set on every addition or removal, so neither lookups nor
+ * changes ever take a lock, and lookups never see a table in the middle
+ * of a change. The price is that each change copies the table, which
+ * makes building a large object one property at a time quadratic.
+ */
+final class LockFreeSlotMap implements SlotMap
+{
+    private static final AtomicReferenceFieldUpdater<LockFreeSlotMap, Table>
+        tableUpdater = AtomicReferenceFieldUpdater.newUpdater(
+                LockFreeSlotMap.class, Table.class, "table");
+
+    private static final class Table
+    {
+        // Open addressing with linear probing, at most half full
+        final Slot[] buckets;
+        // The slots in the order they were added
+        final Slot[] ordered;
+
+        Table(Slot[] buckets, Slot[] ordered)
+        {
+            this.buckets = buckets;
+            this.ordered = ordered;
+        }
+
+        /**
+         * Returns a copy of the table without the slot removed and with
+         * the slot added at the end, either of which may be null.
+         */
+        Table replace(Slot removed, Slot added)
+        {
+            int length = ordered.length;
+            Slot[] newOrdered;
+            if (removed == null) {
+                newOrdered = new Slot[length + 1];
+                System.arraycopy(ordered, 0, newOrdered, 0, length);
+            } else {
+                int i = 0;
+                while (ordered[i] != removed)
+                    i++;
+                newOrdered = new Slot[added == null ? length - 1 : length];
+                System.arraycopy(ordered, 0, newOrdered, 0, i);
+                System.arraycopy(ordered, i + 1, newOrdered, i,
+                                 length - i - 1);
+            }
+            if (added != null)
+                newOrdered[newOrdered.length - 1] = added;
+
+            Slot[] newBuckets;
+            if (2 * newOrdered.length > buckets.length) {
+                newBuckets = new Slot[buckets.length * 2];
+                for (Slot slot: newOrdered)
+                    insert(newBuckets, slot);
+            } else {
+                newBuckets = buckets.clone();
+                if (removed != null)
+                    delete(newBuckets, removed);
+                if (added != null)
+                    insert(newBuckets, added);
+            }
+            return new Table(newBuckets, newOrdered);
+        }
+    }
+
+    private static final Table EMPTY = new Table(new Slot[4], new Slot[0]);
+
+    private volatile Table table = EMPTY;
+
+    private static int spread(int indexOrHash)
+    {
+        return indexOrHash ^ (indexOrHash >>> 16);
+    }
+
+    private static void insert(Slot[] buckets, Slot slot)
+    {
+        int mask = buckets.length - 1;
+        int i = spread(slot.indexOrHash) & mask;
+        while (buckets[i] != null)
+            i = (i + 1) & mask;
+        buckets[i] = slot;
+    }
+
+    private static void delete(Slot[] buckets, Slot slot)
+    {
+        int mask = buckets.length - 1;
+        int i = spread(slot.indexOrHash) & mask;
+        while (buckets[i] != slot)
+            i = (i + 1) & mask;
+        // Move back later slots of the run that could not be placed at
+        // or before the freed bucket, so that probes do not stop early
+        for (int j = (i + 1) & mask; buckets[j] != null; j = (j + 1) & mask) {
+            int home = spread(buckets[j].indexOrHash) & mask;
+            if (((j - home) & mask) >= ((j - i) & mask)) {
+                buckets[i] = buckets[j];
+                i = j;
+            }
+        }
+        buckets[i] = null;
+    }
+
+    private static Slot find(Slot[] buckets, String name, int indexOrHash)
+    {
+        int mask = buckets.length - 1;
+        int i = spread(indexOrHash) & mask;
+        for (;;) {
+            Slot slot = buckets[i];
+            if (slot == null)
+                return null;
+            if (slot.indexOrHash == indexOrHash) {
+                String sname = slot.name;
+                if (name == null) {
+                    if (sname == null)
+                        return slot;
+                } else if (sname == name) {
+                    return slot;
+                } else if (name.equals(sname)) {
+                    // This will avoid calling String.equals when
+                    // slot is accessed with same string object
+                    // next time.
+                    slot.name = name;
+                    return slot;
+                }
+            }
+            i = (i + 1) & mask;
+        }
+    }
+
+    public int size()
+    {
+        return table.ordered.length;
+    }
+
+    public Slot query(String name, int index)
+    {
+        int indexOrHash = (name != null ? name.hashCode() : index);
+        return find(table.buckets, name, indexOrHash);
+    }
+
+    public Slot get(String name, int index, int accessType)
+    {
+        int indexOrHash = (name != null ? name.hashCode() : index);
+        for (;;) {
+            Table t = table;
+            Slot slot = find(t.buckets, name, indexOrHash);
+            Slot newSlot;
+            if (slot == null) {
+                newSlot = (accessType == SLOT_MODIFY_GETTER_SETTER
+                           ? new GetterSlot(name, indexOrHash, 0)
+                           : new Slot(name, indexOrHash, 0));
+                if (accessType == SLOT_MODIFY_CONST)
+                    newSlot.setAttributes(CONST);
+            } else if (accessType == SLOT_MODIFY_GETTER_SETTER &&
+                       !(slot instanceof GetterSlot))
+            {
+                newSlot = new GetterSlot(name, indexOrHash,
+                                         slot.getAttributes());
+                newSlot.value = slot.value;
+            } else {
+                return slot;
+            }
+            if (tableUpdater.compareAndSet(this, t, t.replace(slot, newSlot))) {
+                if (slot != null) {
+                    // Threads that found the old slot just before the
+                    // swap may still read it, so only mark it
+                    slot.wasDeleted = true;
+                }
+                return newSlot;
+            }
+        }
+    }
+
+    public Slot remove(String name, int index)
+    {
+        int indexOrHash = (name != null ? name.hashCode() : index);
+        for (;;) {
+            Table t = table;
+            Slot slot = find(t.buckets, name, indexOrHash);
+            if (slot == null || (slot.getAttributes() & PERMANENT) != 0)
+                return null;
+            if (tableUpdater.compareAndSet(this, t, t.replace(slot, null))) {
+                slot.wasDeleted = true;
+                return slot;
+            }
+        }
+    }
+
+    public void add(Slot slot)
+    {
+        for (;;) {
+            Table t = table;
+            if (tableUpdater.compareAndSet(this, t, t.replace(null, slot)))
+                return;
+        }
+    }
+
+    public Slot[] toArray()
+    {
+        return table.ordered;
+    }
+}
@@ -87,8 +87,17 @@ public class NativeArray extends IdScriptableObject
             int intLength = (int) lengthArg;
             if (intLength < DEFAULT_INITIAL_CAPACITY)
                 intLength = DEFAULT_INITIAL_CAPACITY;
-            dense = new Object[intLength];
-            Arrays.fill(dense, Scriptable.NOT_FOUND);
+            if (lengthArg == 0) {
+                intDense = new int[intLength];
+                elementKind = INT_ELEMENTS;
+            } else {
+                // Holes can only be kept in dense
+                dense = new Object[intLength];
+                Arrays.fill(dense, Scriptable.NOT_FOUND);
+                elementKind = OBJECT_ELEMENTS;
+            }
+        } else {
+            elementKind = OBJECT_ELEMENTS;
         }
         length = lengthArg;
     }
@@ -96,8 +105,25 @@ public class NativeArray extends IdScriptableObject
     public NativeArray(Object[] array)
     {
         denseOnly = true;
-        dense = array;
         length = array.length;
+        int kind = INT_ELEMENTS;
+        for (int i = 0; i != array.length && kind != OBJECT_ELEMENTS; ++i) {
+            kind = Math.max(kind, elementKindOf(array[i]));
+        }
+        elementKind = kind;
+        if (kind == INT_ELEMENTS) {
+            intDense = new int[array.length];
+            for (int i = 0; i != array.length; ++i) {
+                intDense[i] = (int) ((Number) array[i]).doubleValue();
+            }
+        } else if (kind == DOUBLE_ELEMENTS) {
+            doubleDense = new double[array.length];
+            for (int i = 0; i != array.length; ++i) {
+                doubleDense[i] = ((Number) array[i]).doubleValue();
+            }
+        } else {
+            dense = array;
+        }
     }
 
     @Override
@@ -328,20 +354,35 @@ public class NativeArray extends IdScriptableObject
     @Override
     public Object get(int index, Scriptable start)
     {
+        if (elementKind != OBJECT_ELEMENTS) {
+            if (0 <= index && index < length)
+                return ScriptRuntime.wrapNumber(numberAt(index));
+            return super.get(index, start);
+        }
         if (!denseOnly && isGetterOrSetter(null, index, false))
             return super.get(index, start);
         if (dense != null && 0 <= index && index < dense.length)
             return dense[index];
-        return super.get(index, start);
+        Object value = super.get(index, start);
+        if (value == NOT_FOUND && sparse != null && 0 <= index)
+            value = sparse.get(index);
+        return value;
     }
 
     @Override
     public boolean has(int index, Scriptable start)
     {
+        if (elementKind != OBJECT_ELEMENTS) {
+            if (0 <= index && index < length)
+                return true;
+            return super.has(index, start);
+        }
         if (!denseOnly && isGetterOrSetter(null, index, false))
             return super.has(index, start);
         if (dense != null && 0 <= index && index < dense.length)
             return dense[index] != NOT_FOUND;
+        if (sparse != null && 0 <= index && sparse.has(index))
+            return true;
         return super.has(index, start);
     }
 
@@ -371,25 +412,255 @@ public class NativeArray extends IdScriptableObject
             // If the object is sealed, super will throw exception
             long index = toArrayIndex(id);
             if (index >= length) {
+                // Widen while length still matches the dense storage
+                setNotDense();
                 length = index + 1;
-                denseOnly = false;
             }
         }
     }
 
     private boolean ensureCapacity(int capacity)
     {
-        if (capacity > dense.length) {
+        int oldCapacity = denseCapacity();
+        if (capacity > oldCapacity) {
             if (capacity > MAX_PRE_GROW_SIZE) {
-                denseOnly = false;
+                setNotDense();
                 return false;
             }
-            capacity = Math.max(capacity, (int)(dense.length * GROW_FACTOR));
+            capacity = Math.max(capacity, (int)(oldCapacity * GROW_FACTOR));
+            if (elementKind == INT_ELEMENTS) {
+                int[] newDense = new int[capacity];
+                System.arraycopy(intDense, 0, newDense, 0, oldCapacity);
+                intDense = newDense;
+            } else if (elementKind == DOUBLE_ELEMENTS) {
+                double[] newDense = new double[capacity];
+                System.arraycopy(doubleDense, 0, newDense, 0, oldCapacity);
+                doubleDense = newDense;
+            } else {
+                Object[] newDense = new Object[capacity];
+                System.arraycopy(dense, 0, newDense, 0, oldCapacity);
+                Arrays.fill(newDense, oldCapacity, newDense.length,
+                            Scriptable.NOT_FOUND);
+                dense = newDense;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Returns the number of elements the dense storage can hold.
+     */
+    private int denseCapacity()
+    {
+        switch (elementKind) {
+          case INT_ELEMENTS:
+            return intDense.length;
+          case DOUBLE_ELEMENTS:
+            return doubleDense.length;
+        }
+        return dense == null ? 0 : dense.length;
+    }
+
+    /**
+     * Clears denseOnly, which only <code>dense</code> supports.
+     */
+    private void setNotDense()
+    {
+        widenElements(OBJECT_ELEMENTS);
+        denseOnly = false;
+    }
+
+    /**
+     * Returns the most specific kind of dense storage that can hold value.
+     */
+    private static int elementKindOf(Object value)
+    {
+        if (value instanceof Integer) {
+            return INT_ELEMENTS;
+        } else if (value instanceof Double) {
+            double d = ((Double) value).doubleValue();
+            int i = (int) d;
+            // -0 has to keep its sign, so it is not an int element
+            if (i == d && (i != 0 || 1 / d > 0)) {
+                return INT_ELEMENTS;
+            }
+            return DOUBLE_ELEMENTS;
+        }
+        return OBJECT_ELEMENTS;
+    }
+
+    /**
+     * Moves the elements to a kind of dense storage that can hold every
+     * value of the given kind. Only <code>dense</code> can hold holes, so
+     * the number kinds are only used while all elements below length are
+     * present.
+     */
+    private void widenElements(int kind)
+    {
+        if (kind <= elementKind) {
+            return;
+        }
+        int capacity = denseCapacity();
+        int n = (int) Math.min(length, capacity);
+        if (kind == DOUBLE_ELEMENTS) {
+            double[] newDense = new double[capacity];
+            for (int i = 0; i != n; ++i) {
+                newDense[i] = intDense[i];
+            }
+            doubleDense = newDense;
+        } else {
             Object[] newDense = new Object[capacity];
-            System.arraycopy(dense, 0, newDense, 0, dense.length);
-            Arrays.fill(newDense, dense.length, newDense.length,
-                        Scriptable.NOT_FOUND);
+            for (int i = 0; i != n; ++i) {
+                newDense[i] = ScriptRuntime.wrapNumber(numberAt(i));
+            }
+            Arrays.fill(newDense, n, capacity, Scriptable.NOT_FOUND);
             dense = newDense;
+            doubleDense = null;
+        }
+        intDense = null;
+        elementKind = kind;
+    }
+
+    /**
+     * Widens the dense storage so it can hold values[from] to values[to-1].
+     */
+    private void widenElements(Object[] values, int from, int to)
+    {
+        for (int i = from; i < to && elementKind != OBJECT_ELEMENTS; ++i) {
+            widenElements(elementKindOf(values[i]));
+        }
+    }
+
+    private double numberAt(int index)
+    {
+        return elementKind == INT_ELEMENTS ? intDense[index]
+                                           : doubleDense[index];
+    }
+
+    /**
+     * Stores value below the capacity of the dense storage, widening the
+     * storage if it cannot hold value. Callers must not leave holes in
+     * the number kinds and must update length themselves.
+     */
+    private void setDenseElement(int index, Object value)
+    {
+        int kind = elementKindOf(value);
+        if (kind > elementKind) {
+            widenElements(kind);
+        }
+        if (elementKind == OBJECT_ELEMENTS) {
+            dense[index] = value;
+        } else {
+            storeNumber(index, ((Number) value).doubleValue());
+        }
+    }
+
+    private void storeNumber(int index, double value)
+    {
+        if (elementKind == INT_ELEMENTS) {
+            int i = (int) value;
+            if (i == value && (i != 0 || 1 / value > 0)) {
+                intDense[index] = i;
+                return;
+            }
+            widenElements(DOUBLE_ELEMENTS);
+        }
+        doubleDense[index] = value;
+    }
+
+    /**
+     * Copies count elements to another array's dense storage, which must
+     * be at least as wide as the source's.
+     */
+    private static void copyDense(NativeArray src, int srcPos,
+                                  NativeArray dest, int destPos, int count)
+    {
+        if (src.elementKind == dest.elementKind) {
+            Object from, to;
+            switch (src.elementKind) {
+              case INT_ELEMENTS:
+                from = src.intDense;
+                to = dest.intDense;
+                break;
+              case DOUBLE_ELEMENTS:
+                from = src.doubleDense;
+                to = dest.doubleDense;
+                break;
+              default:
+                from = src.dense;
+                to = dest.dense;
+                break;
+            }
+            System.arraycopy(from, srcPos, to, destPos, count);
+        } else if (dest.elementKind == DOUBLE_ELEMENTS) {
+            for (int i = 0; i != count; ++i) {
+                dest.doubleDense[destPos + i] = src.intDense[srcPos + i];
+            }
+        } else {
+            for (int i = 0; i != count; ++i) {
+                dest.dense[destPos + i] =
+                    ScriptRuntime.wrapNumber(src.numberAt(srcPos + i));
+            }
+        }
+    }
+
+    /**
+     * Returns the elements from begin to end boxed in a new array.
+     */
+    private Object[] copyElements(int begin, int end)
+    {
+        Object[] copy = new Object[end - begin];
+        if (elementKind == OBJECT_ELEMENTS) {
+            System.arraycopy(dense, begin, copy, 0, end - begin);
+        } else {
+            for (int i = begin; i != end; ++i) {
+                copy[i - begin] = ScriptRuntime.wrapNumber(numberAt(i));
+            }
+        }
+        return copy;
+    }
+
+    /**
+     * Returns true if the element at index is an unboxed number, which
+     * {@link #getNumber(int)} then reads without allocating.
+     */
+    final boolean hasNumber(int index)
+    {
+        return elementKind != OBJECT_ELEMENTS && 0 <= index && index < length;
+    }
+
+    final double getNumber(int index)
+    {
+        return numberAt(index);
+    }
+
+    /**
+     * Stores a number without boxing it if the element exists or is
+     * appended at the end, as {@link ScriptableObject#putProperty(
+     * Scriptable, int, Object)} would. Returns false if the number has
+     * to be stored through put instead.
+     */
+    final boolean putNumber(int index, double value)
+    {
+        if (elementKind == OBJECT_ELEMENTS || index < 0 || index > length ||
+            isSealed())
+        {
+            return false;
+        }
+        if (index == length) {
+            // A prototype could define the new element, which the store
+            // would then have to go through
+            Scriptable proto = getPrototype();
+            if (proto != null && ScriptableObject.hasProperty(proto, index)) {
+                return false;
+            }
+            if (!ensureCapacity(index + 1)) {
+                return false;
+            }
+            storeNumber(index, value);
+            length = (long) index + 1;
+        } else {
+            storeNumber(index, value);
         }
         return true;
     }
@@ -397,24 +668,42 @@ public class NativeArray extends IdScriptableObject
     @Override
     public void put(int index, Scriptable start, Object value)
     {
-        if (start == this && !isSealed() && dense != null && 0 <= index &&
+        if (start == this && !isSealed() && (dense != null ||
+            elementKind != OBJECT_ELEMENTS) && 0 <= index &&
             (denseOnly || !isGetterOrSetter(null, index, true)))
         {
-            if (index < dense.length) {
-                dense[index] = value;
+            if (index > length) {
+                // Leaves a hole
+                widenElements(OBJECT_ELEMENTS);
+            }
+            int capacity = denseCapacity();
+            if (index < capacity) {
+                setDenseElement(index, value);
                 if (this.length <= index)
                     this.length = (long)index + 1;
                 return;
-            } else if (denseOnly && index < dense.length * GROW_FACTOR &&
+            } else if (denseOnly && index < capacity * GROW_FACTOR &&
                        ensureCapacity(index+1))
             {
-                dense[index] = value;
+                setDenseElement(index, value);
                 this.length = (long)index + 1;
                 return;
             } else {
-                denseOnly = false;
+                setNotDense();
             }
         }
+        if (start == this && !denseOnly && 0 <= index && !isSealed() &&
+            !super.has(index, this))
+        {
+            // Elements without attributes, getters or setters are kept in
+            // sparse rather than in slots
+            if (sparse == null)
+                sparse = new SparseElements();
+            sparse.put(index, value);
+            if (this.length <= index)
+                this.length = (long)index + 1;
+            return;
+        }
         super.put(index, start, value);
         if (start == this) {
             // only set the array length if given an array index (ECMA 15.4.0)
@@ -428,38 +717,97 @@ public class NativeArray extends IdScriptableObject
     @Override
     public void delete(int index)
     {
+        if (elementKind != OBJECT_ELEMENTS && 0 <= index && index < length &&
+            !isSealed())
+        {
+            // Leaves a hole
+            widenElements(OBJECT_ELEMENTS);
+        }
         if (dense != null && 0 <= index && index < dense.length &&
             !isSealed() && (denseOnly || !isGetterOrSetter(null, index, true)))
         {
             dense[index] = NOT_FOUND;
         } else {
             super.delete(index);
+            if (sparse != null && 0 <= index && !isSealed())
+                sparse.remove(index);
         }
     }
 
+    @Override
+    public int getAttributes(int index)
+    {
+        if (isSparseElement(index))
+            return EMPTY;
+        return super.getAttributes(index);
+    }
+
+    @Override
+    public void setAttributes(int index, int attributes)
+    {
+        if (isSparseElement(index) && !isSealed()) {
+            // Only slots have attributes, so the element moves to one
+            Object value = sparse.get(index);
+            sparse.remove(index);
+            super.put(index, this, value);
+        }
+        super.setAttributes(index, attributes);
+    }
+
+    /**
+     * Returns true if the element at index is kept in sparse rather than
+     * in a slot.
+     */
+    private boolean isSparseElement(int index)
+    {
+        return sparse != null && 0 <= index && sparse.has(index) &&
+               !super.has(index, this);
+    }
+
     @Override
     public Object[] getIds()
     {
         Object[] superIds = super.getIds();
-        if (dense == null) { return superIds; }
-        int N = dense.length;
+        if (elementKind != OBJECT_ELEMENTS) {
+            int N = (int) length;
+            Object[] ids = new Object[N + superIds.length];
+            for (int i = 0; i != N; ++i) {
+                ids[i] = ScriptRuntime.wrapInt(i);
+            }
+            System.arraycopy(superIds, 0, ids, N, superIds.length);
+            return ids;
+        }
+        int N = dense == null ? 0 : dense.length;
         long currentLength = length;
         if (N > currentLength) {
             N = (int)currentLength;
         }
-        if (N == 0) { return superIds; }
+        int[] sparseIds = null;
+        int sparseCount = 0;
+        if (sparse != null) {
+            sparseIds = sparse.indexes(0, currentLength);
+            sparseCount = sparseIds.length;
+        }
+        if (N == 0 && sparseCount == 0) { return superIds; }
         int superLength = superIds.length;
-        Object[] ids = new Object[N + superLength];
+        Object[] ids = new Object[N + sparseCount + superLength];
 
         int presentCount = 0;
         for (int i = 0; i != N; ++i) {
             // Replace existing elements by their indexes
             if (dense[i] != NOT_FOUND) {
-                ids[presentCount] = new Integer(i);
+                ids[presentCount] = ScriptRuntime.wrapInt(i);
                 ++presentCount;
             }
         }
-        if (presentCount != N) {
+        for (int i = 0; i != sparseCount; ++i) {
+            // Elements redefined with attributes are listed by their slots
+            if (!super.has(sparseIds[i], this)) {
+                ids[presentCount] = ScriptRuntime.wrapInt(sparseIds[i]);
+                ++presentCount;
+            }
+        }
+        if (presentCount != N + sparseCount) {
             // dense contains deleted elems, need to shrink the result
             Object[] tmp = new Object[presentCount + superLength];
             System.arraycopy(ids, 0, tmp, 0, presentCount);
@@ -528,6 +876,8 @@ public class NativeArray extends IdScriptableObject
     void setDenseOnly(boolean denseOnly) {
         if (denseOnly && !this.denseOnly)
             throw new IllegalArgumentException();
+        if (!denseOnly)
+            widenElements(OBJECT_ELEMENTS);
         this.denseOnly = denseOnly;
     }
 
@@ -547,20 +897,28 @@ public class NativeArray extends IdScriptableObject
         if (denseOnly) {
             if (longVal < length) {
                 // downcast okay because denseOnly
-                Arrays.fill(dense, (int) longVal, dense.length, NOT_FOUND);
+                if (elementKind == OBJECT_ELEMENTS)
+                    Arrays.fill(dense, (int) longVal, dense.length, NOT_FOUND);
                 length = longVal;
                 return;
-            } else if (longVal < MAX_PRE_GROW_SIZE &&
-                       longVal < (length * GROW_FACTOR) &&
-                       ensureCapacity((int)longVal))
+            }
+            if (longVal > length) {
+                // Leaves holes
+                widenElements(OBJECT_ELEMENTS);
+            }
+            if (longVal < MAX_PRE_GROW_SIZE &&
+                longVal < (length * GROW_FACTOR) &&
+                ensureCapacity((int)longVal))
             {
                 length = longVal;
                 return;
             } else {
-                denseOnly = false;
+                setNotDense();
             }
         }
         if (longVal < length) {
+            if (sparse != null)
+                sparse.truncate(longVal);
             // remove all properties between longVal and length
             if (length - longVal > 0x1000) {
                 // assume that the representation is sparse
@@ -697,8 +1055,9 @@ public class NativeArray extends IdScriptableObject
                     if (toSource) {
                         result.append(ScriptRuntime.uneval(cx, scope, elem));
 
-                    } else if (elem instanceof String) {
-                        String s = (String)elem;
+                    } else if (elem instanceof String ||
+                               elem instanceof ConsString) {
+                        String s = elem.toString();
                         if (toSource) {
                             result.append('\"');
                             result.append(ScriptRuntime.escapeString(s));
@@ -756,7 +1115,26 @@ public class NativeArray extends IdScriptableObject
                            : ScriptRuntime.toString(args[0]);
         if (thisObj instanceof NativeArray) {
             NativeArray na = (NativeArray) thisObj;
-            if (na.denseOnly) {
+            if (na.elementKind == INT_ELEMENTS) {
+                StringBuilder sb = new StringBuilder();
+                for (int i = 0; i < length; i++) {
+                    if (i != 0) {
+                        sb.append(separator);
+                    }
+                    sb.append(na.intDense[i]);
+                }
+                return sb.toString();
+            } else if (na.elementKind == DOUBLE_ELEMENTS) {
+                StringBuilder sb = new StringBuilder();
+                for (int i = 0; i < length; i++) {
+                    if (i != 0) {
+                        sb.append(separator);
+                    }
+                    sb.append(ScriptRuntime.numberToString(
+                        na.doubleDense[i], 10));
+                }
+                return sb.toString();
+            } else if (na.denseOnly) {
                 StringBuilder sb = new StringBuilder();
                 for (int i = 0; i < length; i++) {
                     if (i != 0) {
@@ -810,7 +1188,23 @@ public class NativeArray extends IdScriptableObject
     {
         if (thisObj instanceof NativeArray) {
             NativeArray na = (NativeArray) thisObj;
-            if (na.denseOnly) {
+            if (na.elementKind == INT_ELEMENTS) {
+                int[] elements = na.intDense;
+                for (int i=0, j=((int)na.length)-1; i < j; i++,j--) {
+                    int temp = elements[i];
+                    elements[i] = elements[j];
+                    elements[j] = temp;
+                }
+                return thisObj;
+            } else if (na.elementKind == DOUBLE_ELEMENTS) {
+                double[] elements = na.doubleDense;
+                for (int i=0, j=((int)na.length)-1; i < j; i++,j--) {
+                    double temp = elements[i];
+                    elements[i] = elements[j];
+                    elements[j] = temp;
+                }
+                return thisObj;
+            } else if (na.denseOnly) {
                 for (int i=0, j=((int)na.length)-1; i < j; i++,j--) {
                     Object temp = na.dense[i];
                     na.dense[i] = na.dense[j];
@@ -856,7 +1250,27 @@ public class NativeArray extends IdScriptableObject
         }
         if (thisObj instanceof NativeArray) {
             NativeArray na = (NativeArray) thisObj;
-            if (na.denseOnly) {
+            if (na.elementKind != OBJECT_ELEMENTS) {
+                // Sort boxed copies, since compare sees them anyway, and
+                // store the numbers back unboxed
+                int ilength = (int) length;
+                Object[] working = na.copyElements(0, ilength);
+                heapsort(cx, scope, working, ilength, compare, cmpBuf);
+                if (na.elementKind != OBJECT_ELEMENTS &&
+                    na.length == ilength)
+                {
+                    for (int i = 0; i != ilength; ++i) {
+                        na.storeNumber(i,
+                            ((Number) working[i]).doubleValue());
+                    }
+                } else {
+                    // compare changed the array
+                    for (int i = 0; i != ilength; ++i) {
+                        setElem(cx, thisObj, i, working[i]);
+                    }
+                }
+                return thisObj;
+            } else if (na.denseOnly) {
                 int ilength = (int) length;
                 heapsort(cx, scope, na.dense, ilength, compare, cmpBuf);
                 return thisObj;
@@ -1050,8 +1464,9 @@ public class NativeArray extends IdScriptableObject
             if (na.denseOnly &&
                 na.ensureCapacity((int) na.length + args.length))
             {
+                na.widenElements(args, 0, args.length);
                 for (int i = 0; i < args.length; i++) {
-                    na.dense[(int)na.length++] = args[i];
+                    na.setDenseElement((int)na.length++, args[i]);
                 }
                 return ScriptRuntime.wrapNumber(na.length);
             }
@@ -1086,6 +1501,10 @@ public class NativeArray extends IdScriptableObject
             NativeArray na = (NativeArray) thisObj;
             if (na.denseOnly && na.length > 0) {
                 na.length--;
+                if (na.elementKind != OBJECT_ELEMENTS) {
+                    return ScriptRuntime.wrapNumber(
+                        na.numberAt((int)na.length));
+                }
                 result = na.dense[(int)na.length];
                 na.dense[(int)na.length] = NOT_FOUND;
                 return result;
@@ -1117,6 +1536,11 @@ public class NativeArray extends IdScriptableObject
             NativeArray na = (NativeArray) thisObj;
             if (na.denseOnly && na.length > 0) {
                 na.length--;
+                if (na.elementKind != OBJECT_ELEMENTS) {
+                    Object result = ScriptRuntime.wrapNumber(na.numberAt(0));
+                    copyDense(na, 1, na, 0, (int)na.length);
+                    return result;
+                }
                 Object result = na.dense[0];
                 System.arraycopy(na.dense, 1, na.dense, 0, (int)na.length);
                 na.dense[(int)na.length] = NOT_FOUND;
@@ -1159,10 +1583,10 @@ public class NativeArray extends IdScriptableObject
             if (na.denseOnly &&
                 na.ensureCapacity((int)na.length + args.length))
             {
-                System.arraycopy(na.dense, 0, na.dense, args.length,
-                                 (int) na.length);
+                na.widenElements(args, 0, args.length);
+                copyDense(na, 0, na, args.length, (int) na.length);
                 for (int i = 0; i < args.length; i++) {
-                    na.dense[i] = args[i];
+                    na.setDenseElement(i, args[i]);
                 }
                 na.length += args.length;
                 return ScriptRuntime.wrapNumber(na.length);
@@ -1251,9 +1675,7 @@ public class NativeArray extends IdScriptableObject
                 result = getElem(cx, thisObj, begin);
             } else {
             	if (denseMode) {
-                    int intLen = (int) (end - begin);
-                    Object[] copy = new Object[intLen];
-                    System.arraycopy(na.dense, (int) begin, copy, 0, intLen);
+                    Object[] copy = na.copyElements((int) begin, (int) end);
                     result = cx.newArray(scope, copy);
             	} else {
             		Scriptable resultArray = ScriptRuntime.newObject(cx, scope,
@@ -1279,12 +1701,13 @@ public class NativeArray extends IdScriptableObject
         if (denseMode && length + delta < Integer.MAX_VALUE &&
             na.ensureCapacity((int) (length + delta)))
         {
-            System.arraycopy(na.dense, (int) end, na.dense,
-                             (int) (begin + argc), (int) (length - end));
-            if (argc > 0) {
-                System.arraycopy(args, 2, na.dense, (int) begin, argc);
+            na.widenElements(args, 2, 2 + argc);
+            copyDense(na, (int) end, na, (int) (begin + argc),
+                      (int) (length - end));
+            for (int i = 0; i < argc; i++) {
+                na.setDenseElement((int) begin + i, args[2 + i]);
             }
-            if (delta < 0) {
+            if (delta < 0 && na.elementKind == OBJECT_ELEMENTS) {
                 Arrays.fill(na.dense, (int) (length + delta), (int) length,
                             NOT_FOUND);
             }
@@ -1332,6 +1755,7 @@ public class NativeArray extends IdScriptableObject
                 // First calculate length of resulting array
                 boolean canUseDense = true;
                 int length = (int) denseThis.length;
+                int kind = denseThis.elementKind;
                 for (int i = 0; i < args.length && canUseDense; i++) {
                     if (args[i] instanceof NativeArray) {
                         // only try to use dense approach for Array-like
@@ -1339,23 +1763,29 @@ public class NativeArray extends IdScriptableObject
                         final NativeArray arg = (NativeArray) args[i];
                         canUseDense = arg.denseOnly;
                         length += arg.length;
+                        kind = Math.max(kind, arg.elementKind);
                     } else {
                         length++;
+                        kind = Math.max(kind, elementKindOf(args[i]));
                     }
                 }
-                if (canUseDense && denseResult.ensureCapacity(length)) {
-                    System.arraycopy(denseThis.dense, 0, denseResult.dense,
-                                     0, (int) denseThis.length);
+                if (canUseDense && denseResult.length == 0) {
+                    denseResult.widenElements(kind);
+                }
+                if (canUseDense && denseResult.length == 0 &&
+                    denseResult.ensureCapacity(length))
+                {
+                    copyDense(denseThis, 0, denseResult, 0,
+                              (int) denseThis.length);
                     int cursor = (int) denseThis.length;
                     for (int i = 0; i < args.length && canUseDense; i++) {
                         if (args[i] instanceof NativeArray) {
                             NativeArray arg = (NativeArray) args[i];
-                            System.arraycopy(arg.dense, 0,
-                                    denseResult.dense, cursor,
-                                    (int)arg.length);
+                            copyDense(arg, 0, denseResult, cursor,
+                                      (int)arg.length);
                             cursor += (int)arg.length;
                         } else {
-                            denseResult.dense[cursor++] = args[i];
+                            denseResult.setDenseElement(cursor++, args[i]);
                         }
                     }
                     denseResult.length = length;
@@ -1370,13 +1800,21 @@ public class NativeArray extends IdScriptableObject
         /* Put the target in the result array; only add it as an array
          * if it looks like one.
          */
+        boolean skippedHoles = false;
         if (ScriptRuntime.instanceOf(thisObj, ctor, cx)) {
             length = getLengthProperty(cx, thisObj);
 
-            // Copy from the target object into the result
-            for (slot = 0; slot < length; slot++) {
-                Object temp = getElem(cx, thisObj, slot);
-                setElem(cx, result, slot, temp);
+            NativeArray sparseThis = sparseArray(thisObj);
+            if (sparseThis != null) {
+                copySparse(cx, sparseThis, 0, length, result, 0);
+                slot = length;
+                skippedHoles = true;
+            } else {
+                // Copy from the target object into the result
+                for (slot = 0; slot < length; slot++) {
+                    Object temp = getElem(cx, thisObj, slot);
+                    setElem(cx, result, slot, temp);
+                }
             }
         } else {
             setElem(cx, result, slot++, thisObj);
@@ -1391,6 +1829,13 @@ public class NativeArray extends IdScriptableObject
                 // ScriptRuntime.instanceOf => instanceof Scriptable
                 Scriptable arg = (Scriptable)args[i];
                 length = getLengthProperty(cx, arg);
+                NativeArray sparseArg = sparseArray(arg);
+                if (sparseArg != null) {
+                    copySparse(cx, sparseArg, 0, length, result, slot);
+                    slot += length;
+                    skippedHoles = true;
+                    continue;
+                }
                 for (long j = 0; j < length; j++, slot++) {
                     Object temp = getElem(cx, arg, j);
                     setElem(cx, result, slot, temp);
@@ -1399,6 +1844,10 @@ public class NativeArray extends IdScriptableObject
                 setElem(cx, result, slot++, args[i]);
             }
         }
+        if (skippedHoles) {
+            // Trailing holes were not copied
+            setLengthProperty(cx, result, slot);
+        }
         return result;
     }
 
@@ -1422,6 +1871,15 @@ public class NativeArray extends IdScriptableObject
             }
         }
 
+        NativeArray sparseThis = sparseArray(thisObj);
+        if (sparseThis != null) {
+            if (begin < end) {
+                copySparse(cx, sparseThis, begin, end, result, 0);
+                setLengthProperty(cx, result, end - begin);
+            }
+            return result;
+        }
+
         for (long slot = begin; slot < end; slot++) {
             Object temp = getElem(cx, thisObj, slot);
             setElem(cx, result, slot - begin, temp);
@@ -1430,6 +1888,105 @@ public class NativeArray extends IdScriptableObject
         return result;
     }
 
+    /**
+     * Returns obj if it is an array that is not dense and whose elements
+     * are all its own, so that its holes can be skipped rather than read
+     * one index at a time.
+     */
+    private static NativeArray sparseArray(Object obj)
+    {
+        if (!(obj instanceof NativeArray) || ((NativeArray) obj).denseOnly)
+            return null;
+        NativeArray array = (NativeArray) obj;
+        for (Scriptable p = array.getPrototype(); p != null;
+             p = p.getPrototype())
+        {
+            if (!(p instanceof ScriptableObject))
+                return null;
+            if (p instanceof NativeArray && ((NativeArray) p).length != 0)
+                return null;
+            Object[] ids = ((ScriptableObject) p).getAllIds();
+            for (int i = 0; i != ids.length; ++i) {
+                Object id = ids[i];
+                if (id instanceof Integer ||
+                    (id instanceof String && toArrayIndex((String) id) >= 0))
+                {
+                    return null;
+                }
+            }
+        }
+        return array;
+    }
+
+    /**
+     * Copies the elements of a sparse array from begin up to end to
+     * result from offset, visiting only the elements that are present.
+     */
+    private static void copySparse(Context cx, NativeArray array,
+                                   long begin, long end,
+                                   Scriptable result, long offset)
+    {
+        long[] indexes = array.elementIndexes(begin, end);
+        for (int i = 0; i != indexes.length; ++i) {
+            Object temp = getElem(cx, array, indexes[i]);
+            setElem(cx, result, indexes[i] - begin + offset, temp);
+        }
+    }
+
+    /**
+     * Returns the indexes of this array's own elements from begin up to
+     * end in ascending order.
+     */
+    private long[] elementIndexes(long begin, long end)
+    {
+        int denseEnd = dense == null ? 0 : (int) Math.min(dense.length, end);
+        int[] sparseIds = sparse == null ? new int[0]
+                                         : sparse.indexes(begin, end);
+        Object[] slotIds = super.getAllIds();
+        long[] indexes = new long[(int) Math.max(denseEnd - begin, 0) +
+                                  sparseIds.length + slotIds.length];
+        int count = 0;
+        for (int i = (int) Math.max(begin, 0); i < denseEnd; ++i) {
+            if (dense[i] != NOT_FOUND) {
+                indexes[count++] = i;
+            }
+        }
+        for (int i = 0; i != sparseIds.length; ++i) {
+            indexes[count++] = sparseIds[i];
+        }
+        boolean sorted = true;
+        for (int i = 0; i != slotIds.length; ++i) {
+            Object id = slotIds[i];
+            long index = -1;
+            if (id instanceof Integer) {
+                index = ((Integer) id).intValue();
+            } else if (id instanceof String) {
+                index = toArrayIndex((String) id);
+            }
+            if (begin <= index && index < end) {
+                indexes[count++] = index;
+                sorted = false;
+            }
+        }
+        if (!sorted) {
+            // Merge in the elements kept in slots, which may repeat
+            Arrays.sort(indexes, 0, count);
+            int unique = 0;
+            for (int i = 0; i != count; ++i) {
+                if (unique == 0 || indexes[unique - 1] != indexes[i]) {
+                    indexes[unique++] = indexes[i];
+                }
+            }
+            count = unique;
+        }
+        if (count != indexes.length) {
+            long[] tmp = new long[count];
+            System.arraycopy(indexes, 0, tmp, 0, count);
+            indexes = tmp;
+        }
+        return indexes;
+    }
+
     private static long toSliceIndex(double value, long length) {
         long result;
         if (value < 0.0) {
@@ -1508,7 +2065,26 @@ public class NativeArray extends IdScriptableObject
         }
         if (thisObj instanceof NativeArray) {
             NativeArray na = (NativeArray) thisObj;
-            if (na.denseOnly) {
+            if (na.elementKind != OBJECT_ELEMENTS) {
+                if (!(compareTo instanceof Number)) {
+                    return NEGATIVE_ONE;
+                }
+                double d = ((Number) compareTo).doubleValue();
+                if (isLast) {
+                  for (int i=(int)Math.min(start, na.length - 1); i >= 0; i--) {
+                      if (na.numberAt(i) == d) {
+                          return new Long(i);
+                      }
+                  }
+                } else {
+                  for (int i=(int)start; i < na.length; i++) {
+                      if (na.numberAt(i) == d) {
+                          return new Long(i);
+                      }
+                  }
+                }
+                return NEGATIVE_ONE;
+            } else if (na.denseOnly) {
                 if (isLast) {
                   for (int i=(int)start; i >= 0; i--) {
                       if (na.dense[i] != Scriptable.NOT_FOUND &&
@@ -1722,6 +2298,30 @@ public class NativeArray extends IdScriptableObject
      */
     private Object[] dense;
 
+    /**
+     * Unboxed storage used instead of <code>dense</code> while every element
+     * is present and an int or a double number. Which of the three holds the
+     * elements is given by <code>elementKind</code>.
+     */
+    private int[] intDense;
+    private double[] doubleDense;
+
+    /**
+     * Storage for the elements outside <code>dense</code> once the array is
+     * no longer dense only, or null before any is stored.
+     */
+    private SparseElements sparse;
+
+    /**
+     * The kinds of dense storage, from most to least specific.
+     */
+    private static final int
+        INT_ELEMENTS    = 0,
+        DOUBLE_ELEMENTS = 1,
+        OBJECT_ELEMENTS = 2;
+
+    private int elementKind;
+
     /**
      * True if all numeric properties are stored in <code>dense</code>.
      */
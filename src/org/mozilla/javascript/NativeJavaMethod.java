@@ -91,7 +91,8 @@ public class NativeJavaMethod extends BaseFunction
                 s = "null";
             } else if (value instanceof Boolean) {
                 s = "boolean";
-            } else if (value instanceof String) {
+            } else if (value instanceof String ||
+                       value instanceof ConsString) {
                 s = "string";
             } else if (value instanceof Number) {
                 s = "number";
@@ -470,7 +470,7 @@ WrapFactory#wrap(Context, Scriptable, Object, Class)}
         else if (value == Undefined.instance) {
             return JSTYPE_UNDEFINED;
         }
-        else if (value instanceof String) {
+        else if (value instanceof String || value instanceof ConsString) {
             return JSTYPE_STRING;
         }
         else if (value instanceof Number) {
@@ -524,6 +524,10 @@ WrapFactory#wrap(Context, Scriptable, Object, Class)}
      */
     static Object coerceTypeImpl(Class<?> type, Object value)
     {
+        if (value instanceof ConsString) {
+            // Java code is only handed flat strings
+            value = value.toString();
+        }
         if (value != null && value.getClass() == type) {
             return value;
         }
@@ -844,8 +848,8 @@ WrapFactory#wrap(Context, Scriptable, Object, Class)}
         if (value instanceof Number) {
             return ((Number)value).doubleValue();
         }
-        else if (value instanceof String) {
-            return ScriptRuntime.toNumber((String)value);
+        else if (value instanceof String || value instanceof ConsString) {
+            return ScriptRuntime.toNumber(value.toString());
         }
         else if (value instanceof Scriptable) {
             if (value instanceof Wrapper) {
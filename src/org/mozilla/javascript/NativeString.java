@@ -66,7 +66,7 @@ final class NativeString extends IdScriptableObject
         obj.exportAsJSClass(MAX_PROTOTYPE_ID, scope, sealed);
     }
 
-    private NativeString(String s) {
+    private NativeString(CharSequence s) {
         string = s;
     }
 
@@ -251,8 +251,8 @@ final class NativeString extends IdScriptableObject
               }
     
               case Id_constructor: {
-                String s = (args.length >= 1)
-                    ? ScriptRuntime.toString(args[0]) : "";
+                CharSequence s = (args.length >= 1)
+                    ? ScriptRuntime.toCharSequence(args[0]) : "";
                 if (thisObj == null) {
                     // new String(val) creates a new String object.
                     return new NativeString(s);
@@ -267,7 +267,7 @@ final class NativeString extends IdScriptableObject
                 return realThis(thisObj, f).string;
     
               case Id_toSource: {
-                String s = realThis(thisObj, f).string;
+                String s = realThis(thisObj, f).string.toString();
                 return "(new String(\""+ScriptRuntime.escapeString(s)+"\"))";
               }
     
@@ -312,7 +312,7 @@ final class NativeString extends IdScriptableObject
                 return js_substr(ScriptRuntime.toString(thisObj), args);
     
               case Id_concat:
-                return js_concat(ScriptRuntime.toString(thisObj), args);
+                return js_concat(ScriptRuntime.toCharSequence(thisObj), args);
     
               case Id_slice:
                 return js_slice(ScriptRuntime.toString(thisObj), args);
@@ -443,6 +443,14 @@ final class NativeString extends IdScriptableObject
 
     @Override
     public String toString() {
+        return string.toString();
+    }
+
+    /**
+     * Returns the string value without flattening it if it is a
+     * {@link ConsString}.
+     */
+    CharSequence toCharSequence() {
         return string;
     }
 
@@ -452,7 +460,7 @@ final class NativeString extends IdScriptableObject
     @Override
     public Object get(int index, Scriptable start) {
         if (0 <= index && index < string.length()) {
-            return string.substring(index, index + 1);
+            return String.valueOf(string.charAt(index));
         }
         return super.get(index, start);
     }
@@ -799,30 +807,15 @@ final class NativeString extends IdScriptableObject
     /*
      * Python-esque sequence operations.
      */
-    private static String js_concat(String target, Object[] args) {
-        int N = args.length;
-        if (N == 0) { return target; }
-        else if (N == 1) {
-            String arg = ScriptRuntime.toString(args[0]);
-            return target.concat(arg);
-        }
-
-        // Find total capacity for the final string to avoid unnecessary
-        // re-allocations in StringBuffer
-        int size = target.length();
-        String[] argsAsStrings = new String[N];
-        for (int i = 0; i != N; ++i) {
-            String s = ScriptRuntime.toString(args[i]);
-            argsAsStrings[i] = s;
-            size += s.length();
+    private static CharSequence js_concat(CharSequence target, Object[] args) {
+        // Long results are kept as ConsStrings, so appending with concat
+        // in a loop does not copy the string built so far every time
+        CharSequence result = target;
+        for (int i = 0; i != args.length; ++i) {
+            result = ScriptRuntime.concat(result,
+                ScriptRuntime.toCharSequence(args[i]));
         }
-
-        StringBuffer result = new StringBuffer(size);
-        result.append(target);
-        for (int i = 0; i != N; ++i) {
-            result.append(argsAsStrings[i]);
-        }
-        return result.toString();
+        return result;
     }
 
     private static String js_slice(String target, Object[] args) {
@@ -990,6 +983,6 @@ final class NativeString extends IdScriptableObject
         ConstructorId_localeCompare  = -Id_localeCompare,
         ConstructorId_toLocaleLowerCase = -Id_toLocaleLowerCase;
 
-    private String string;
+    private CharSequence string;
 }
 
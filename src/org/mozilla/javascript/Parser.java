@@ -292,9 +292,24 @@ public class Parser extends ParserErrorReportingBase
      */
     public ScriptOrFnNode parse(String sourceString,
                                 String sourceURI, int lineno)
+    {
+        return parse((CharSequence)sourceString, sourceURI, lineno);
+    }
+
+    /*
+     * Build a parse tree from the given characters. A CharBuffer with a
+     * backing array is parsed in place, without copying it.
+     *
+     * @return an Object representing the parsed
+     * program.  If the parse fails, null will be returned.  (The
+     * parse failure will result in a call to the ErrorReporter from
+     * CompilerEnvirons.)
+     */
+    public ScriptOrFnNode parse(CharSequence sourceChars,
+                                String sourceURI, int lineno)
     {
         this.sourceURI = sourceURI;
-        this.ts = new TokenStream(this, null, sourceString, lineno, 
+        this.ts = new TokenStream(this, null, sourceChars, lineno, 
                 compilerEnv.getLanguageMode(), compilerEnv.getCustomTokenizerConfig());
         try {
             return parse();
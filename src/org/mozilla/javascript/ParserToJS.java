@@ -50,6 +50,7 @@ import java.io.ByteArrayOutputStream;
 import java.io.InputStream;
 import java.io.InputStreamReader;
 import java.io.Reader;
+import java.io.StringWriter;
 import java.io.IOException;
 import java.util.ArrayList;
 import java.util.HashMap;
@@ -228,7 +229,7 @@ public class ParserToJS extends ParserErrorReportingBase
         JSNodePair() {}
         JSNodePair(JSNode node) { this.node = node; }
         JSNode node = null;
-        String str = "";
+        StringBuilder str = null;
     }
     private static class JSNode
     {
@@ -239,22 +240,78 @@ public class ParserToJS extends ParserErrorReportingBase
         JSNode(String str) 
         {
             JSNodePair pair = new JSNodePair();
-            pair.str = str;
+            pair.str = new StringBuilder(str);
             data.add(pair);
         }
         ArrayList<JSNodePair> data = new ArrayList<JSNodePair>();
+        // Position of the node in the Babylscript source (starting at 0),
+        // or -1 if it is not mapped
+        int sourceLine = -1;
+        int sourceColumn;
+        /**
+         * Writes the JavaScript for this node and its children to
+         * <code>out</code> in a single pass over the tree.
+         */
+        public void emit(Appendable out) throws IOException
+        {
+            markSource(out, null);
+            emitData(out);
+        }
+        /**
+         * Adds a source map entry for the code about to be written if the
+         * node has a source position and out is tracked by a source map.
+         */
+        void markSource(Appendable out, String name) throws IOException
+        {
+            if (sourceLine < 0) return;
+            SourceMapGenerator sourceMap = SourceMapGenerator.getGenerator(out);
+            if (sourceMap != null)
+                sourceMap.addMapping(sourceLine, sourceColumn, name);
+        }
+        void emitData(Appendable out) throws IOException
+        {
+            for (JSNodePair pair: data)
+            {
+                if (pair.node != null)
+                    pair.node.emit(out);
+                if (pair.str != null)
+                    out.append(pair.str);
+            }
+        }
+        /**
+         * Returns true if the node emits no code.
+         */
+        public boolean isEmpty()
+        {
+            for (JSNodePair pair: data)
+            {
+                if (pair.node != null && !pair.node.isEmpty())
+                    return false;
+                if (pair.str != null && pair.str.length() != 0)
+                    return false;
+            }
+            return true;
+        }
         public String toString() 
         { 
-            String str = ""; 
-            for (JSNodePair pair: data) 
-                str += (pair.node != null ? pair.node.toString() + pair.str : pair.str); 
-            return str;
+            StringBuilder str = new StringBuilder(); 
+            try {
+                emit(str);
+            } catch (IOException e) {
+                // StringBuilder does not throw
+                throw new IllegalStateException(e);
+            }
+            return str.toString();
         }
         int type;
         public int getType() { return type; }
         public JSNode add(String str)
         {
-            data.get(data.size() -1).str += str;
+            JSNodePair pair = data.get(data.size() -1);
+            if (pair.str == null)
+                pair.str = new StringBuilder(str);
+            else
+                pair.str.append(str);
             return this;
         }
         public JSNode add(JSNode node)
@@ -291,12 +348,13 @@ public class ParserToJS extends ParserErrorReportingBase
         {
             this.idx = idx;
         }
-        public String toString() 
+        public void emit(Appendable out) throws IOException
         {
             // TODO: Change the prefix so that there are no collisions
             // with variables already used in the code
-            return BABYL_TEMP_PREFIX + idx;
+            out.append(BABYL_TEMP_PREFIX).append(String.valueOf(idx));
         }
+        public boolean isEmpty() { return false; }
     }
     private static class JSName extends JSNode
     {
@@ -309,14 +367,24 @@ public class ParserToJS extends ParserErrorReportingBase
             this.lang = lang;
             this.name = str;
         }
-        public String toString() 
+        public void emit(Appendable out) throws IOException
         {
+            markSource(out, name);
             if (isGlobal)
-                return "babylroot[babyllookup(babylroot,'" + lang + "','" + name + "')]" + super.toString();
+            {
+                String standardName = standardGlobalName(lang, name);
+                if (standardName != null)
+                    out.append("babylroot.").append(standardName);
+                else
+                    out.append("babylroot[babyllookup(babylroot,'").append(lang)
+                        .append("','").append(name).append("')]");
+            }
             else
                 // Non-globals can't be translated
-                return name + super.toString();
+                out.append(name);
+            emitData(out);
         }
+        public boolean isEmpty() { return false; }
         public void fillInNameScope(ArrayList<JSScope> currentScope)
         {
             // go through the scope chain to see if it's a locally defined variable
@@ -354,10 +422,18 @@ public class ParserToJS extends ParserErrorReportingBase
             this.lang = lang;
             this.name = name;
         }
-        public String toString() 
+        public void emit(Appendable out) throws IOException
         {
-            return "(babyl.getTranslation(" + obj + "," + lang + "," + name + "))";
+            markSource(out, null);
+            out.append("(babyl.getTranslation(");
+            obj.emit(out);
+            out.append(",");
+            lang.emit(out);
+            out.append(",");
+            name.emit(out);
+            out.append("))");
         }
+        public boolean isEmpty() { return false; }
         public void fillInNameScope(ArrayList<JSScope> currentScope)
         {
             obj.fillInNameScope(currentScope);
@@ -403,21 +479,25 @@ public class ParserToJS extends ParserErrorReportingBase
                 throw new RuntimeException("Unknown variable type");
             }
         }
-        public String toString() 
+        public void emit(Appendable out) throws IOException
         {
+            markSource(out, null);
             // Only handle global variables for now
-            String str = "";
             if (declType != Token.VAR || !isGlobal)
-                str += declString;
+                out.append(declString);
             for (int n = 0; n < names.size(); n++)
             {
-                if (n != 0) str += ",";
-                str += names.get(n).toString();
+                if (n != 0) out.append(",");
+                names.get(n).emit(out);
                 if (assigns.get(n) != null)
-                    str += "=" + assigns.get(n).toString();
+                {
+                    out.append("=");
+                    assigns.get(n).emit(out);
+                }
             }
-            return str + super.toString();
+            emitData(out);
         }
+        public boolean isEmpty() { return false; }
         public void fillInNameScope(ArrayList<JSScope> currentScope)
         {
             for (JSName s: names)
@@ -478,17 +558,22 @@ public class ParserToJS extends ParserErrorReportingBase
             this.expr = expr;
             this.block = block;
         }
-        public String toString() 
+        public void emit(Appendable out) throws IOException
         {
-            String str = "";
-            str += "catch (" + name;
+            markSource(out, null);
+            out.append("catch (");
+            name.emit(out);
             if (expr != null)
-                str += " if " + expr;
-            str += ") {\n";
-            str += block;
-            str += "}\n";
-            return str + super.toString();
+            {
+                out.append(" if ");
+                expr.emit(out);
+            }
+            out.append(") {\n");
+            block.emit(out);
+            out.append("}\n");
+            emitData(out);
         }
+        public boolean isEmpty() { return false; }
         public void fillInNameScope(ArrayList<JSScope> currentScope)
         {
             currentScope.add(this);
@@ -611,13 +696,21 @@ public class ParserToJS extends ParserErrorReportingBase
         {
             reservedTemps.remove(temp.idx);
         }
-        public String toString()
+        void emitTemps(Appendable out) throws IOException
         {
-            String str = "";
             for (int n = 0; n < tempCount; n++)
-                str += "var " + BABYL_TEMP_PREFIX + n + ";\n";
-            str += super.toString();
-            return str;
+                out.append("var ").append(BABYL_TEMP_PREFIX)
+                    .append(String.valueOf(n)).append(";\n");
+        }
+        public void emit(Appendable out) throws IOException
+        {
+            markSource(out, null);
+            emitTemps(out);
+            emitData(out);
+        }
+        public boolean isEmpty()
+        {
+            return tempCount == 0 && super.isEmpty();
         }
     }
     private static class JSFunction extends JSScript
@@ -639,29 +732,33 @@ public class ParserToJS extends ParserErrorReportingBase
             this.syntheticType = syntheticType;
             return this;
         }
-        public String toString() 
+        public void emit(Appendable out) throws IOException
         {
-            String str = "";
+            markSource(out, null);
             if (syntheticType == FunctionNode.FUNCTION_STATEMENT || syntheticType == FunctionNode.FUNCTION_EXPRESSION_STATEMENT)
-                str += (isGlobal ? "" : "var ") + name + "=";
-            if (isShowFunctionKeyword) str += "function ";
-            str += "(";
+            {
+                out.append(isGlobal ? "" : "var ");
+                name.emit(out);
+                out.append("=");
+            }
+            if (isShowFunctionKeyword) out.append("function ");
+            out.append("(");
             boolean first = true;
             for (Symbol s: symbolList)
             {
                 if (s.declType == Token.LP)
                 {
-                    if (!first) str += ",";
+                    if (!first) out.append(",");
                     first = false;
-                    str += s.name;
+                    out.append(s.name);
                 }
             }
-            str += ") {\n";
-            for (int n = 0; n < tempCount; n++)
-                str += "var " + BABYL_TEMP_PREFIX + n + ";\n";
-            str += body.toString() + "}\n";
-            return str;
+            out.append(") {\n");
+            emitTemps(out);
+            body.emit(out);
+            out.append("}\n");
         }
+        public boolean isEmpty() { return false; }
         public void fillInNameScope(ArrayList<JSScope> currentScope)
         {
             // Figure out the name definition if it's a function statement 
@@ -742,6 +839,50 @@ public class ParserToJS extends ParserErrorReportingBase
         } catch(IOException e) {}
     }
     
+    /**
+     * Translated names of the standard global objects, by language. These
+     * are the translations that the header code adds to babylroot.
+     */
+    private static final Map<String, Map<String, String>> standardGlobalNames
+        = new HashMap<String, Map<String, String>>();
+    static {
+        for (String defaultName: TranslatedNameBindings.GlobalScopeNames)
+        {
+            for (Map.Entry<String, Map<String, String>> entry: TranslatedNameBindings.langResourceMap.entrySet())
+            {
+                String lang = entry.getKey();
+                String translated = entry.getValue().get(defaultName);
+                if (translated == null) continue;
+                Map<String, String> names = standardGlobalNames.get(lang);
+                if (names == null)
+                {
+                    names = new HashMap<String, String>();
+                    standardGlobalNames.put(lang, names);
+                }
+                names.put(translated, defaultName);
+            }
+        }
+    }
+
+    /**
+     * Returns the standard global that a global name in the given language
+     * refers to, or null if the name has to be looked up at run time.
+     * <p>
+     * This resolves at translation time what babyllookup() would find on
+     * babylroot using the standard library translations from the header.
+     * The standard translations are assumed not to be replaced at run time.
+     * Language aliases are left to babyllookup() since the header only
+     * stores translations under the canonical language name.
+     */
+    static String standardGlobalName(String lang, String name)
+    {
+        Map<String, String> names = standardGlobalNames.get(lang);
+        if (names == null) return null;
+        String[] equivalents = TranslatedNameBindings.EquivalentLanguageNames.get(lang);
+        if (equivalents != null && !equivalents[0].equals(lang)) return null;
+        return names.get(name);
+    }
+
     public static String createTranslationsFor(String obj, String [] names)
     {
         String str = "";
@@ -801,6 +942,9 @@ public class ParserToJS extends ParserErrorReportingBase
     private Decompiler decompiler;
     private String encodedSource;
 
+    private SourceMapGenerator sourceMap;
+    private int sourceMapBaseLineno;
+
 // The following are per function variables and should be saved/restored
 // during function parsing.
 // XXX Move to separated class?
@@ -1013,15 +1157,44 @@ public class ParserToJS extends ParserErrorReportingBase
     public String parse(String sourceString,
                                 String sourceURI, int lineno, boolean withHeaders)
     {
-        this.sourceURI = sourceURI;
-        this.ts = new TokenStream(this, null, sourceString, lineno, 
-                compilerEnv.getLanguageMode(), compilerEnv.getCustomTokenizerConfig());
+        StringWriter out = new StringWriter(sourceString.length() * 2);
         try {
-            return parse(withHeaders);
+            parse(sourceString, sourceURI, lineno, withHeaders, out);
         } catch (IOException ex) {
             // Should never happen
             throw new IllegalStateException();
         }
+        return out.toString();
+    }
+
+    /*
+     * Translates the given sourceString and writes the resulting JavaScript
+     * to out. Nothing is written if the parse fails.
+     */
+    public void parse(String sourceString,
+                      String sourceURI, int lineno, boolean withHeaders,
+                      Appendable out)
+        throws IOException
+    {
+        parse(sourceString, sourceURI, lineno, withHeaders, out, null);
+    }
+
+    /*
+     * Translates the given characters and writes the resulting JavaScript
+     * to out and a source map for it to sourceMap, if it is not null. A
+     * CharBuffer with a backing array is translated in place, without
+     * copying it.
+     */
+    public void parse(CharSequence sourceChars,
+                      String sourceURI, int lineno, boolean withHeaders,
+                      Appendable out, SourceMapGenerator sourceMap)
+        throws IOException
+    {
+        this.sourceURI = sourceURI;
+        this.sourceMap = sourceMap;
+        this.ts = new TokenStream(this, null, sourceChars, lineno, 
+                compilerEnv.getLanguageMode(), compilerEnv.getCustomTokenizerConfig());
+        parse(withHeaders, out);
     }
 
     /*
@@ -1035,14 +1208,42 @@ public class ParserToJS extends ParserErrorReportingBase
     public String parse(Reader sourceReader,
                                 String sourceURI, int lineno, boolean withHeaders)
         throws IOException
+    {
+        StringWriter out = new StringWriter();
+        parse(sourceReader, sourceURI, lineno, withHeaders, out);
+        return out.toString();
+    }
+
+    /*
+     * Translates the source read from sourceReader and writes the resulting
+     * JavaScript to out. Nothing is written if the parse fails.
+     */
+    public void parse(Reader sourceReader,
+                      String sourceURI, int lineno, boolean withHeaders,
+                      Appendable out)
+        throws IOException
+    {
+        parse(sourceReader, sourceURI, lineno, withHeaders, out, null);
+    }
+
+    /*
+     * Translates the source read from sourceReader and writes the resulting
+     * JavaScript to out and a source map for it to sourceMap, if it is not
+     * null.
+     */
+    public void parse(Reader sourceReader,
+                      String sourceURI, int lineno, boolean withHeaders,
+                      Appendable out, SourceMapGenerator sourceMap)
+        throws IOException
     {
         this.sourceURI = sourceURI;
+        this.sourceMap = sourceMap;
         this.ts = new TokenStream(this, sourceReader, null, lineno,
                 compilerEnv.getLanguageMode(), compilerEnv.getCustomTokenizerConfig());
-        return parse(withHeaders);
+        parse(withHeaders, out);
     }
 
-    private String parse(boolean withHeaders)
+    private void parse(boolean withHeaders, Appendable out)
         throws IOException
     {
         this.decompiler = createDecompiler(compilerEnv);
@@ -1057,6 +1258,7 @@ public class ParserToJS extends ParserErrorReportingBase
         this.syntaxErrorCount = 0;
 
         int baseLineno = ts.getLineno();  // line number where source starts
+        sourceMapBaseLineno = baseLineno;
 
         /* so we have something to add nodes to until
          * we've collected all the source */
@@ -1075,7 +1277,7 @@ public class ParserToJS extends ParserErrorReportingBase
                 if (tt == Token.FUNCTION) {
                     consumeToken();
                     try {
-                        n = jsFactory.createNode()
+                        n = atLastToken(jsFactory.createNode())
                                 .add(function(calledByCompileFunction
                                      ? FunctionNode.FUNCTION_EXPRESSION
                                      : FunctionNode.FUNCTION_STATEMENT))
@@ -1125,7 +1327,33 @@ public class ParserToJS extends ParserErrorReportingBase
         assert scope.isEmpty();
         currentScriptOrFn.fillInNameScope(scope);
         
-        return (withHeaders ? babylscriptJSHeader : "") + currentScriptOrFn.toString();
+        if (sourceMap != null) {
+            out = sourceMap.track(out);
+            sourceMap.start(sourceURI);
+        }
+        if (withHeaders)
+            out.append(babylscriptJSHeader);
+        currentScriptOrFn.emit(out);
+        if (sourceMap != null)
+            sourceMap.finish();
+    }
+
+    /**
+     * Gives node the source position of the last token read, for the
+     * source map.
+     */
+    private <T extends JSNode> T atLastToken(T node)
+    {
+        return atPosition(node, ts.getTokenLineno(), ts.getTokenColumn());
+    }
+
+    private <T extends JSNode> T atPosition(T node, int lineno, int column)
+    {
+        if (node != null) {
+            node.sourceLine = lineno - sourceMapBaseLineno;
+            node.sourceColumn = column;
+        }
+        return node;
     }
 
     /*
@@ -1152,7 +1380,7 @@ public class ParserToJS extends ParserErrorReportingBase
 
                   case Token.FUNCTION:
                     consumeToken();
-                    n = jsFactory.createNode()
+                    n = atLastToken(jsFactory.createNode())
                             .add(function(FunctionNode.FUNCTION_STATEMENT))
                             .add(";");
                     break;
@@ -1187,10 +1415,14 @@ public class ParserToJS extends ParserErrorReportingBase
         int functionSourceStart = decompiler.markFunctionStart(functionType);
         String name;
         String lang = null;
+        int nameLineno = -1;
+        int nameColumn = 0;
         JSNode memberExprNode = null;
         if (matchToken(Token.NAME)) {
             lang = ts.getLastLanguageString();
             name = ts.getString();
+            nameLineno = ts.getTokenLineno();
+            nameColumn = ts.getTokenColumn();
             decompiler.addName(name);
             if (!matchToken(Token.LP)) {
                 if (compilerEnv.isAllowMemberExprAsFunctionName()) {
@@ -1231,6 +1463,8 @@ public class ParserToJS extends ParserErrorReportingBase
         boolean nested = insideFunction();
 
         JSFunction fnNode = isGetterSetter ? jsFactory.createGetterSetterFunction(lang, name) : jsFactory.createFunction(lang, name);
+        if (nameLineno >= 0)
+            atPosition(fnNode.name, nameLineno, nameColumn);
         if (nested || nestingOfWith > 0) {
             // 1. Nested functions are not affected by the dynamic scope flag
             // as dynamic scope is already a parent of their scope.
@@ -1450,7 +1684,10 @@ public class ParserToJS extends ParserErrorReportingBase
             throws IOException
         {
             try {
-                JSNode pn = statementHelper(null);
+                peekToken();
+                int lineno = ts.getTokenLineno();
+                int column = ts.getTokenColumn();
+                JSNode pn = atPosition(statementHelper(null), lineno, column);
                 if (pn != null) {
 // TODO: Fix this up                    
 //                    if (compilerEnv.isStrictMode() && !pn.hasSideEffects())
@@ -1761,7 +1998,7 @@ public class ParserToJS extends ParserErrorReportingBase
                             .add("for (")
                             .add(init)
                             .add(";");
-                    if (cond.toString().length() != 0)
+                    if (!cond.isEmpty())
                         pn.addCondition(cond);
                     pn.add(";")
                             .add(incr)
@@ -2242,6 +2479,8 @@ public class ParserToJS extends ParserErrorReportingBase
             JSNode destructuring = null;
             String s = null;
             String lang = ScriptRuntime.TOFILL;
+            int lineno = -1;
+            int column = 0;
             int tt = peekToken();
             if (tt == Token.LB || tt == Token.LC) {
                 // Destructuring assignment, e.g., var [a,b] = ...
@@ -2251,6 +2490,8 @@ public class ParserToJS extends ParserErrorReportingBase
                 mustMatchToken(Token.NAME, "msg.bad.var");
                 s = ts.getString();
                 lang = ts.getLastLanguageString();
+                lineno = ts.getTokenLineno();
+                column = ts.getTokenColumn();
     
                 if (!first)
                     decompiler.addToken(Token.COMMA);
@@ -2279,6 +2520,8 @@ public class ParserToJS extends ParserErrorReportingBase
 //                }
 //            } else {
                 JSName name = jsFactory.createName(lang, s);
+                if (lineno >= 0)
+                    atPosition(name, lineno, column);
 //                JSNode name = nf.createName(lang, s);
                 if (init != null)
                     result.addVar(name, init);
@@ -3424,6 +3667,8 @@ public class ParserToJS extends ParserErrorReportingBase
           case Token.NAME: {
             String name = ts.getString();
             String lang = ts.getLastLanguageString();
+            int lineno = ts.getTokenLineno();
+            int column = ts.getTokenColumn();
             if ((ttFlagged & TI_CHECK_LABEL) != 0) {
                 if (peekToken() == Token.COLON) {
                     // Do not consume colon, it is used as unwind indicator
@@ -3438,7 +3683,8 @@ public class ParserToJS extends ParserErrorReportingBase
 //            if (compilerEnv.isXmlAvailable()) {
 //                pn = propertyName(null, name, 0);
 //            } else {
-                pn = jsFactory.createName(lang, name);
+                pn = atPosition(jsFactory.createName(lang, name),
+                                lineno, column);
 //            }
             return pn;
           }
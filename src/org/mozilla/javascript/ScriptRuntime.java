@@ -94,6 +94,7 @@ public class ScriptRuntime {
     @Deprecated public static Object enumId(Object enumObj, Context cx) { return enumId(ScriptRuntime.TOFILL, enumObj, cx); }
     @Deprecated public static Object getObjectElem(Object obj, Object elem, Context cx) { return getObjectElem(obj, ScriptRuntime.TOFILL, elem, cx);}
     @Deprecated public static Object getObjectElem(Object obj, Object elem, Context cx, final Scriptable scope) { return getObjectElem(obj, ScriptRuntime.TOFILL, elem, cx, scope); }
+    @Deprecated public static Object setObjectIndex(Object obj, double dblIndex, Object value, Context cx) { return setObjectIndex(obj, ScriptRuntime.TOFILL, dblIndex, value, cx); }
 
     
     /**
@@ -301,11 +302,34 @@ public class ScriptRuntime {
 
     public static Integer wrapInt(int i)
     {
-        return new Integer(i);
+        return Integer.valueOf(i);
+    }
+
+    // Boxed small integers, which is what loop counters, array indices
+    // and most array elements hold. Sharing them lets numbers that leave
+    // the interpreter's unboxed stack do so without allocating.
+    private static final int SMALL_INT_CACHE_MIN = -128;
+    private static final int SMALL_INT_CACHE_MAX = 1023;
+    private static final Double[] smallIntCache
+        = new Double[SMALL_INT_CACHE_MAX - SMALL_INT_CACHE_MIN + 1];
+    static {
+        for (int i = 0; i != smallIntCache.length; ++i) {
+            smallIntCache[i] = new Double(i + SMALL_INT_CACHE_MIN);
+        }
     }
 
     public static Number wrapNumber(double x)
     {
+        int i = (int)x;
+        if (i == x) {
+            // 1 / x tells 0 and -0 apart
+            if (SMALL_INT_CACHE_MIN <= i && i <= SMALL_INT_CACHE_MAX
+                && (i != 0 || 1 / x > 0))
+            {
+                return smallIntCache[i - SMALL_INT_CACHE_MIN];
+            }
+            return new Double(x);
+        }
         if (x != x) {
             return ScriptRuntime.NaNobj;
         }
@@ -326,6 +350,8 @@ public class ScriptRuntime {
                 return false;
             if (val instanceof String)
                 return ((String) val).length() != 0;
+            if (val instanceof ConsString)
+                return ((ConsString) val).length() != 0;
             if (val instanceof Number) {
                 double d = ((Number) val).doubleValue();
                 return (d == d && d != 0.0);
@@ -367,6 +393,8 @@ public class ScriptRuntime {
                 return NaN;
             if (val instanceof String)
                 return toNumber((String) val);
+            if (val instanceof ConsString)
+                return toNumber(val.toString());
             if (val instanceof Boolean)
                 return ((Boolean) val).booleanValue() ? 1 : +0.0;
             if (val instanceof Scriptable) {
@@ -759,6 +787,9 @@ public class ScriptRuntime {
             if (val instanceof String) {
                 return (String)val;
             }
+            if (val instanceof ConsString) {
+                return val.toString();
+            }
             if (val instanceof Number) {
                 // XXX should we just teach NativeNumber.stringValue()
                 // about Numbers?
@@ -784,8 +815,8 @@ public class ScriptRuntime {
             }
         }
 
-        if (val instanceof String) {
-            return (String)val;
+        if (val instanceof String || val instanceof ConsString) {
+            return val.toString();
         }
         return null;
     }
@@ -885,8 +916,8 @@ public class ScriptRuntime {
         if (value == Undefined.instance) {
             return "undefined";
         }
-        if (value instanceof String) {
-            String escaped = escapeString((String)value);
+        if (value instanceof String || value instanceof ConsString) {
+            String escaped = escapeString(value.toString());
             StringBuffer sb = new StringBuffer(escaped.length() + 2);
             sb.append('\"');
             sb.append(escaped);
@@ -1053,6 +1084,7 @@ public class ScriptRuntime {
             throw typeError0("msg.undef.to.object");
         }
         String className = val instanceof String ? "String" :
+                           val instanceof ConsString ? "String" :
                            val instanceof Number ? "Number" :
                            val instanceof Boolean ? "Boolean" :
                            null;
@@ -1409,7 +1441,7 @@ public class ScriptRuntime {
     {
         long indexTest = indexFromString(s);
         if (indexTest >= 0) {
-            return new Integer((int)indexTest);
+            return wrapInt((int)indexTest);
         }
         return s;
     }
@@ -1422,7 +1454,7 @@ public class ScriptRuntime {
     {
         int i = (int)d;
         if (i == d) {
-            return new Integer(i);
+            return wrapInt(i);
         }
         return toString(d);
     }
@@ -1553,6 +1585,36 @@ public class ScriptRuntime {
         return result;
     }
     
+    /**
+     * Version of getObjectProp for language-qualified property accesses
+     * in interpreted code that resolves the translated name through the
+     * inline cache of the access site.
+     */
+    static Object getObjectProp(Object obj, String lang, String property,
+                                Context cx, final Scriptable scope,
+                                TranslatedNameCache cache)
+    {
+        Scriptable sobj = toObjectOrNull(cx, obj, scope);
+        if (sobj == null) {
+            throw undefReadError(obj, property);
+        }
+        if (sobj instanceof XMLObject) {
+            return getObjectProp(sobj, lang, property, cx);
+        }
+
+        String name = cache.resolve(sobj, lang, property);
+        Object result = ScriptableObject.getProperty(sobj, null, name);
+        if (result == Scriptable.NOT_FOUND) {
+            if (cx.hasFeature(Context.FEATURE_STRICT_MODE)) {
+                Context.reportWarning(ScriptRuntime.getMessage1(
+                    "msg.ref.undefined.prop", property));
+            }
+            result = Undefined.instance;
+        }
+
+        return result;
+    }
+
     public static Object getObjectPropNoWarn(Object obj, String lang, String property,
                                              Context cx)
     {
@@ -1701,6 +1763,27 @@ public class ScriptRuntime {
             throw undefWriteError(obj, property, value);
         }
         return setObjectProp(sobj, lang, property, value, cx);
+    }
+
+    /**
+     * Version of setObjectProp for language-qualified property accesses
+     * in interpreted code that resolves the translated name through the
+     * inline cache of the access site.
+     */
+    static Object setObjectProp(Object obj, String lang, String property,
+                                Object value, Context cx,
+                                TranslatedNameCache cache)
+    {
+        Scriptable sobj = toObjectOrNull(cx, obj);
+        if (sobj == null) {
+            throw undefWriteError(obj, property, value);
+        }
+        if (sobj instanceof XMLObject) {
+            return setObjectProp(sobj, lang, property, value, cx);
+        }
+        ScriptableObject.putProperty(sobj, null,
+                                     cache.resolve(sobj, lang, property), value);
+        return value;
     }
 
     public static Object setObjectProp(Scriptable obj, String lang, String property,
@@ -1719,7 +1802,7 @@ public class ScriptRuntime {
      * A cheaper and less general version of the above for well-known argument
      * types.
      */
-    public static Object setObjectIndex(Object obj, double dblIndex,
+    public static Object setObjectIndex(Object obj, String lang, double dblIndex,
                                         Object value, Context cx)
     {
         Scriptable sobj = toObjectOrNull(cx, obj);
@@ -1732,7 +1815,7 @@ public class ScriptRuntime {
             return setObjectIndex(sobj, index, value, cx);
         } else {
             String s = toString(dblIndex);
-            return setObjectProp(sobj, ScriptRuntime.TOFILL, s, value, cx);
+            return setObjectProp(sobj, lang, s, value, cx);
         }
     }
 
@@ -2035,10 +2118,9 @@ public class ScriptRuntime {
                         firstXMLObject = xmlObject;
                     }
                 } else {
-                    if (ScriptableObject.hasProperty(withObj, lang, id)) {
-                        String trans = ScriptableObject.getTranslatedNameWithPrototype(withObj, lang, id);
-                        if (trans != null) return trans;
-                        return id;
+                    String trans = ScriptableObject.getTranslatedPropertyName(withObj, lang, id);
+                    if (trans != null) {
+                        return trans;
                     }
                 }
                 scope = parent;
@@ -2048,10 +2130,9 @@ public class ScriptRuntime {
                 }
             }
             for (;;) {
-                if (ScriptableObject.hasProperty(scope, lang, id)) {
-                    String trans = ScriptableObject.getTranslatedNameWithPrototype(scope, lang, id);
-                    if (trans != null) return trans;
-                    return id;
+                String trans = ScriptableObject.getTranslatedPropertyName(scope, lang, id);
+                if (trans != null) {
+                    return trans;
                 }
                 scope = parent;
                 parent = parent.getParentScope();
@@ -2064,10 +2145,9 @@ public class ScriptRuntime {
         if (cx.useDynamicScope) {
             scope = checkDynamicScope(cx.topCallScope, scope);
         }
-        if (ScriptableObject.hasProperty(scope, lang, id)) {
-            String trans = ScriptableObject.getTranslatedNameWithPrototype(scope, lang, id);
-            if (trans != null) return trans;
-            return id;
+        String trans = ScriptableObject.getTranslatedPropertyName(scope, lang, id);
+        if (trans != null) {
+            return trans;
         }
         // Nothing was found, but since XML objects always bind
         // return one if found
@@ -2257,7 +2337,7 @@ public class ScriptRuntime {
                 int intId = ((Number)id).intValue();
                 if (!x.obj.has(intId, x.obj))
                     continue;   // must have been deleted
-                x.currentId = x.enumNumbers ? (Object) (new Integer(intId))
+                x.currentId = x.enumNumbers ? (Object) wrapInt(intId)
                                             : String.valueOf(intId);
             }
             return Boolean.TRUE;
@@ -2454,9 +2534,32 @@ public class ScriptRuntime {
         Scriptable thisObj = toObjectOrNull(cx, obj, scope);
         return getPropFunctionAndThisHelper(obj, lang, property, cx, thisObj);
     }
-    
+
+    /**
+     * Version of getPropFunctionAndThis for language-qualified property
+     * accesses in interpreted code that resolves the translated name through
+     * the inline cache of the access site.
+     */
+    static Callable getPropFunctionAndThis(Object obj, String lang,
+                                           String property, Context cx,
+                                           final Scriptable scope,
+                                           TranslatedNameCache cache)
+    {
+        Scriptable thisObj = toObjectOrNull(cx, obj, scope);
+        return getPropFunctionAndThisHelper(obj, lang, property, cx, thisObj,
+                                            cache);
+    }
+
     private static Callable getPropFunctionAndThisHelper(Object obj,
           String lang, String property, Context cx, Scriptable thisObj)
+    {
+        return getPropFunctionAndThisHelper(obj, lang, property, cx, thisObj,
+                                            null);
+    }
+
+    private static Callable getPropFunctionAndThisHelper(Object obj,
+          String lang, String property, Context cx, Scriptable thisObj,
+          TranslatedNameCache cache)
     {
         if (thisObj == null) {
             throw undefCallError(obj, property);
@@ -2465,7 +2568,12 @@ public class ScriptRuntime {
         Object value;
         for (;;) {
             // Ignore XML lookup as required by ECMA 357, 11.2.2.1
-            value = ScriptableObject.getProperty(thisObj, lang, property);
+            if (cache != null && !(thisObj instanceof XMLObject)) {
+                value = ScriptableObject.getProperty(thisObj, null,
+                            cache.resolve(thisObj, lang, property));
+            } else {
+                value = ScriptableObject.getProperty(thisObj, lang, property);
+            }
             if (value != Scriptable.NOT_FOUND) {
                 break;
             }
@@ -2687,6 +2795,9 @@ public class ScriptRuntime {
         if (args.length < 1)
             return Undefined.instance;
         Object x = args[0];
+        if (x instanceof ConsString) {
+            x = x.toString();
+        }
         if (!(x instanceof String)) {
             if (cx.hasFeature(Context.FEATURE_STRICT_MODE) ||
                 cx.hasFeature(Context.FEATURE_STRICT_EVAL))
@@ -2747,7 +2858,7 @@ public class ScriptRuntime {
                 return "xml";
             return (value instanceof Callable) ? "function" : "object";
         }
-        if (value instanceof String)
+        if (value instanceof String || value instanceof ConsString)
             return "string";
         if (value instanceof Number)
             return "number";
@@ -2802,13 +2913,53 @@ public class ScriptRuntime {
             val1 = ((Scriptable) val1).getDefaultValue(null);
         if (val2 instanceof Scriptable)
             val2 = ((Scriptable) val2).getDefaultValue(null);
-        if (!(val1 instanceof String) && !(val2 instanceof String))
+        if (!(val1 instanceof String) && !(val2 instanceof String) &&
+            !(val1 instanceof ConsString) && !(val2 instanceof ConsString))
             if ((val1 instanceof Number) && (val2 instanceof Number))
                 return wrapNumber(((Number)val1).doubleValue() +
                                   ((Number)val2).doubleValue());
             else
                 return wrapNumber(toNumber(val1) + toNumber(val2));
-        return toString(val1).concat(toString(val2));
+        return concat(toCharSequence(val1), toCharSequence(val2));
+    }
+
+    /**
+     * Results of string concatenation shorter than this are copied into a
+     * new String rather than kept as a {@link ConsString}.
+     */
+    private static final int MIN_CONS_STRING_LENGTH = 64;
+
+    /**
+     * Concatenates two string values. Long results are returned as a
+     * {@link ConsString}, so that appending to a string in a loop only
+     * copies its characters once.
+     */
+    public static CharSequence concat(CharSequence left, CharSequence right)
+    {
+        int leftLength = left.length();
+        int rightLength = right.length();
+        if (rightLength == 0) {
+            return left;
+        } else if (leftLength == 0) {
+            return right;
+        } else if (leftLength + rightLength < MIN_CONS_STRING_LENGTH) {
+            return left.toString().concat(right.toString());
+        }
+        return new ConsString(left, right);
+    }
+
+    /**
+     * Converts a value to a string like {@link #toString(Object)} does,
+     * but without flattening a {@link ConsString}.
+     */
+    public static CharSequence toCharSequence(Object val)
+    {
+        if (val instanceof ConsString) {
+            return (ConsString) val;
+        } else if (val instanceof NativeString) {
+            return ((NativeString) val).toCharSequence();
+        }
+        return toString(val);
     }
 
     public static String add(String val1, Object val2) {
@@ -2870,18 +3021,18 @@ public class ScriptRuntime {
             throw undefReadError(obj, id);
         }
 
-        Scriptable target = start;
-        Object value;
-        String trans = ScriptableObject.getTranslatedNameWithPrototype(start, lang, id);
-        if (trans != null) id = trans;
-      search: {
-            do {
-                value = target.get(id, start);
-                if (value != Scriptable.NOT_FOUND) {
-                    break search;
-                }
-                target = target.getPrototype();
-            } while (target != null);
+        ScriptableObject.TranslatedProperty prop =
+            ScriptableObject.findTranslatedProperty(start, lang, id);
+        id = prop.name;
+        Scriptable target = prop.holder;
+        Object value = Scriptable.NOT_FOUND;
+        for (; target != null; target = target.getPrototype()) {
+            value = target.get(id, start);
+            if (value != Scriptable.NOT_FOUND) {
+                break;
+            }
+        }
+        if (target == null) {
             start.put(id, start, NaNobj);
             return NaNobj;
         }
@@ -3009,8 +3160,8 @@ public class ScriptRuntime {
             return false;
         } else if (x instanceof Number) {
             return eqNumber(((Number)x).doubleValue(), y);
-        } else if (x instanceof String) {
-            return eqString((String)x, y);
+        } else if (x instanceof String || x instanceof ConsString) {
+            return eqString(x.toString(), y);
         } else if (x instanceof Boolean) {
             boolean b = ((Boolean)x).booleanValue();
             if (y instanceof Boolean) {
@@ -3062,8 +3213,8 @@ public class ScriptRuntime {
                 return eqNumber(d, x);
             } else if (y instanceof Number) {
                 return eqNumber(((Number)y).doubleValue(), x);
-            } else if (y instanceof String) {
-                return eqString((String)y, x);
+            } else if (y instanceof String || y instanceof ConsString) {
+                return eqString(y.toString(), x);
             }
             // covers the case when y == Undefined.instance as well
             return false;
@@ -3075,7 +3226,7 @@ public class ScriptRuntime {
     
     private static boolean isPrimitive(Object obj) {
         return (obj instanceof Number) || (obj instanceof String) ||
-               (obj instanceof Boolean);
+               (obj instanceof ConsString) || (obj instanceof Boolean);
     }
 
     static boolean eqNumber(double x, Object y)
@@ -3085,7 +3236,7 @@ public class ScriptRuntime {
                 return false;
             } else if (y instanceof Number) {
                 return x == ((Number)y).doubleValue();
-            } else if (y instanceof String) {
+            } else if (y instanceof String || y instanceof ConsString) {
                 return x == toNumber(y);
             } else if (y instanceof Boolean) {
                 return x == (((Boolean)y).booleanValue() ? 1.0 : +0.0);
@@ -3110,8 +3261,8 @@ public class ScriptRuntime {
         for (;;) {
             if (y == null || y == Undefined.instance) {
                 return false;
-            } else if (y instanceof String) {
-                return x.equals(y);
+            } else if (y instanceof String || y instanceof ConsString) {
+                return x.equals(y.toString());
             } else if (y instanceof Number) {
                 return toNumber(x) == ((Number)y).doubleValue();
             } else if (y instanceof Boolean) {
@@ -3147,9 +3298,9 @@ public class ScriptRuntime {
             if (y instanceof Number) {
                 return ((Number)x).doubleValue() == ((Number)y).doubleValue();
             }
-        } else if (x instanceof String) {
-            if (y instanceof String) {
-                return x.equals(y);
+        } else if (x instanceof String || x instanceof ConsString) {
+            if (y instanceof String || y instanceof ConsString) {
+                return x.toString().equals(y.toString());
             }
         } else if (x instanceof Boolean) {
             if (y instanceof Boolean) {
@@ -3237,8 +3388,10 @@ public class ScriptRuntime {
                 val1 = ((Scriptable) val1).getDefaultValue(NumberClass);
             if (val2 instanceof Scriptable)
                 val2 = ((Scriptable) val2).getDefaultValue(NumberClass);
-            if (val1 instanceof String && val2 instanceof String) {
-                return ((String)val1).compareTo((String)val2) < 0;
+            if ((val1 instanceof String || val1 instanceof ConsString) &&
+                (val2 instanceof String || val2 instanceof ConsString))
+            {
+                return val1.toString().compareTo(val2.toString()) < 0;
             }
             d1 = toNumber(val1);
             d2 = toNumber(val2);
@@ -3257,8 +3410,10 @@ public class ScriptRuntime {
                 val1 = ((Scriptable) val1).getDefaultValue(NumberClass);
             if (val2 instanceof Scriptable)
                 val2 = ((Scriptable) val2).getDefaultValue(NumberClass);
-            if (val1 instanceof String && val2 instanceof String) {
-                return ((String)val1).compareTo((String)val2) <= 0;
+            if ((val1 instanceof String || val1 instanceof ConsString) &&
+                (val2 instanceof String || val2 instanceof ConsString))
+            {
+                return val1.toString().compareTo(val2.toString()) <= 0;
             }
             d1 = toNumber(val1);
             d2 = toNumber(val2);
@@ -50,10 +50,9 @@ import java.lang.reflect.*;
 import java.util.HashMap;
 import java.util.HashSet;
 import java.util.Map;
-import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicReferenceFieldUpdater;
 import java.io.*;
 
-import org.mozilla.javascript.babylscript.TranslatedNameBindings;
 import org.mozilla.javascript.debug.DebuggableObject;
 
 /**
@@ -139,27 +138,41 @@ public abstract class ScriptableObject implements Scriptable, Serializable,
         REMOVED.wasDeleted = true;
     }
 
-    private transient Slot[] slots;
-    // If count >= 0, it gives number of keys or if count < 0,
-    // it indicates sealed object where ~count gives number of keys
-    private int count;
+    // Named properties are kept in values, in the positions given by
+    // shape, until the object needs slots for them. From then on slotMap
+    // holds all properties and shape is null. Objects with no properties
+    // have neither. Both are volatile so that threads which see them also
+    // see the arrays and tables they describe initialized.
+    private transient volatile Shape shape;
+    private transient Object[] values;
+    private transient volatile SlotMap slotMap;
+    private boolean isSealed;
 
-    // gateways into the definition-order linked list of slots
-    private transient Slot firstAdded;
-    private transient Slot lastAdded;
+    // Most properties an object keeps in values; shapes of larger objects
+    // are rarely shared
+    private static final int MAX_SHAPED_PROPERTIES = 32;
 
     // cache; may be removed for smaller memory footprint
     private transient Slot lastAccess = REMOVED;
 
+    // Copied on write so that it can be read without locking
     private volatile Map<Object,Object> associatedValues;
 
-    private static final int SLOT_QUERY = 1;
-    private static final int SLOT_MODIFY = 2;
-    private static final int SLOT_REMOVE = 3;
-    private static final int SLOT_MODIFY_GETTER_SETTER = 4;
-    private static final int SLOT_MODIFY_CONST = 5;
+    // Map.class can only be given the field's type through a cast
+    @SuppressWarnings({"unchecked"})
+    private static final
+        AtomicReferenceFieldUpdater<ScriptableObject, Map<Object,Object>>
+        associatedValuesUpdater = AtomicReferenceFieldUpdater.newUpdater(
+                ScriptableObject.class,
+                (Class<Map<Object,Object>>)(Class<?>)Map.class,
+                "associatedValues");
+
+    static final int SLOT_QUERY = 1;
+    static final int SLOT_MODIFY = 2;
+    static final int SLOT_MODIFY_GETTER_SETTER = 4;
+    static final int SLOT_MODIFY_CONST = 5;
 
-    private static class Slot implements Serializable
+    static class Slot implements Serializable
     {
         private static final long serialVersionUID = -6090581677123995491L;
         String name; // This can change due to caching
@@ -208,7 +221,7 @@ public abstract class ScriptableObject implements Scriptable, Serializable,
 
     }
 
-    private static final class GetterSlot extends Slot
+    static final class GetterSlot extends Slot
     {
         static final long serialVersionUID = -4900574849788797588L;
 
@@ -253,12 +266,27 @@ public abstract class ScriptableObject implements Scriptable, Serializable,
 
     /**
      * Data structures for holding the mappings of translated
-     * names to default name and the inverse mapping.
+     * names to default name and the inverse mapping. Objects without
+     * translated names share the empty table. Frozen tables may be
+     * shared by many objects and are copied on the first modification.
+     */
+    private volatile TranslationTable translations = TranslationTable.EMPTY;
+
+    /**
+     * Bloom filter over the translated names of this object and its
+     * prototype chain, computed on demand for objects that have a
+     * translation table of their own.
+     */
+    private transient volatile TranslationFilter.Stamp chainFilter;
+
+    /**
+     * Set once an inline cache entry or a chain filter may depend on the
+     * translated names or the prototype of this object. Until then,
+     * changing them cannot make anything stale, so objects that are still
+     * being set up, like the ones of a new scope, do not invalidate the
+     * caches.
      */
-    ConcurrentHashMap<String, ConcurrentHashMap<String, String>> translations
-        = new ConcurrentHashMap<String, ConcurrentHashMap<String, String>>();
-    ConcurrentHashMap<String, ConcurrentHashMap<String, String>> reverseTranslations
-        = new ConcurrentHashMap<String, ConcurrentHashMap<String, String>>();
+    private transient volatile boolean translationsObserved;
 
     /**
      * Implementations of the methods for directly accessing
@@ -267,100 +295,145 @@ public abstract class ScriptableObject implements Scriptable, Serializable,
     public boolean hasTranslatedName(String lang, String name, Scriptable start)
     {
         if (lang == null) return false;
-        ConcurrentHashMap<String, String> trans = translations.get(lang);
-        if (trans == null) return false;
-        return trans.containsKey(name);
+        return translations.has(lang, name);
     }
     public String getTranslatedName(String lang, String name, Scriptable start)
     {
         if (lang == null) return null;
-        ConcurrentHashMap<String, String> trans = translations.get(lang);
-        if (trans == null) return null;
-        return trans.get(name);
+        return translations.get(lang, name);
     }
     public String getReverseTranslatedName(String lang, String name, Scriptable start)
     {
         if (lang == null) return null;
-        ConcurrentHashMap<String, String> trans = reverseTranslations.get(lang);
-        if (trans == null) return null;
-        return trans.get(name);
+        return translations.getReverse(lang, name);
     }
     public void deleteTranslatedName(String lang, String name)
     {
         if (lang == null) return;
-        
-        ConcurrentHashMap<String, String> trans = translations.get(lang);
-        if (trans == null) return;
-        String val = trans.get(name);
-        trans.remove(name);
-        
-        if (val != null)
-        {
-            trans = reverseTranslations.get(lang);
-            if (trans == null) return;
-            // TODO: not quite right if mappings are not 1:1
-            trans.remove(val);
-        }
+        if (!translations.has(lang, name)) return;
+        getWritableTranslations().delete(lang, name);
+        translationsChanged();
     }
     public void putTranslatedName(String lang, String name, Scriptable start, String value)
     {
         if (lang == null) return;
         if (start instanceof ScriptableObject)
         {
-            // Put mapping in one direction
-            ConcurrentHashMap<String, String> trans = ((ScriptableObject)start).translations.get(lang);
-            if (trans == null) 
-            {
-                ConcurrentHashMap<String, String> newLanguageMapping = new ConcurrentHashMap<String, String>();
-                if (TranslatedNameBindings.EquivalentLanguageNames.containsKey(lang))
-                {
-                    // Different strings refer to the same language, so we map these different strings
-                    // to the same mapping
-                    String [] equivs = TranslatedNameBindings.EquivalentLanguageNames.get(lang);
+            ScriptableObject so = (ScriptableObject)start;
+            so.getWritableTranslations().put(lang, name, value);
+            so.translationsChanged();
+        }
+    }
 
-                    // To prevent race conditions, we need to do the substitutions
-                    // in order (the order is described in TranslatedNameBindings.EquivalentLanguageNames
-                    for (String equivLang: equivs)
-                    {
-                        ConcurrentHashMap<String, String> old = ((ScriptableObject)start).translations.putIfAbsent(equivLang, newLanguageMapping);
-                        if (old != null)
-                            newLanguageMapping = old;
-                    }
-                }
-                else
-                    ((ScriptableObject)start).translations.putIfAbsent(lang, newLanguageMapping);
-                trans = ((ScriptableObject)start).translations.get(lang);
-            }
-            trans.put(name, value);
+    final TranslationTable getTranslationTable()
+    {
+        return translations;
+    }
+
+    /**
+     * Records that cached state is about to be derived from the translated
+     * names and the prototype of this object. Callers must do this before
+     * reading the epoch and the state, so that a concurrent change either
+     * is seen or invalidates what was derived.
+     */
+    final void observeTranslations()
+    {
+        if (!translationsObserved)
+            translationsObserved = true;
+    }
+
+    /**
+     * Invalidates cached translations if anything may depend on the
+     * translated names or the prototype of this object.
+     */
+    private void translationsChanged()
+    {
+        if (translationsObserved)
+            TranslatedNameCache.invalidateAll();
+    }
+
+    private TranslationFilter getChainFilter()
+    {
+        observeTranslations();
+        int epoch = TranslatedNameCache.currentEpoch();
+        TranslationFilter.Stamp stamp = chainFilter;
+        if (stamp != null && stamp.epoch == epoch)
+            return stamp.filter;
+        TranslationFilter filter = null;
+        if (TranslatedNameCache.isCacheableClass(getClass())) {
+            Scriptable proto = getPrototype();
+            TranslationFilter parent;
+            if (proto == null)
+                parent = TranslationFilter.NONE;
+            else if (proto instanceof ScriptableObject)
+                parent = ((ScriptableObject)proto).getChainFilter();
+            else
+                parent = null;
+            if (parent != null)
+                filter = TranslationFilter.combine(translations, parent);
+        }
+        chainFilter = new TranslationFilter.Stamp(epoch, filter);
+        return filter;
+    }
 
-            // Put in reverse mapping
-            trans = ((ScriptableObject)start).reverseTranslations.get(lang);
-            if (trans == null) 
-            {
-                ConcurrentHashMap<String, String> newLanguageMapping = new ConcurrentHashMap<String, String>();
-                if (TranslatedNameBindings.EquivalentLanguageNames.containsKey(lang))
-                {
-                    // Different strings refer to the same language, so we map these different strings
-                    // to the same mapping
-                    String [] equivs = TranslatedNameBindings.EquivalentLanguageNames.get(lang);
+    /**
+     * Returns true if it is certain that neither <code>obj</code> nor
+     * any object in its prototype chain has a translation of
+     * <code>name</code> in <code>lang</code>. Objects without translated
+     * names are cheap to check directly, so only objects with a
+     * translation table of their own consult a filter.
+     */
+    private static boolean lacksTranslation(Scriptable obj, String lang, String name)
+    {
+        if (!(obj instanceof ScriptableObject))
+            return false;
+        ScriptableObject so = (ScriptableObject)obj;
+        if (so.translations == TranslationTable.EMPTY)
+            return false;
+        TranslationFilter filter = so.getChainFilter();
+        return filter != null && !filter.mightContain(lang, name);
+    }
 
-                    // To prevent race conditions, we need to do the substitutions
-                    // in order (the order is described in TranslatedNameBindings.EquivalentLanguageNames
-                    for (String equivLang: equivs)
-                    {
-                        ConcurrentHashMap<String, String> old = ((ScriptableObject)start).reverseTranslations.putIfAbsent(equivLang, newLanguageMapping);
-                        if (old != null)
-                            newLanguageMapping = old;
-                    }
+    private TranslationTable getWritableTranslations()
+    {
+        TranslationTable table = translations;
+        if (table.isFrozen()) {
+            synchronized (this) {
+                table = translations;
+                if (table.isFrozen()) {
+                    table = table.thaw();
+                    translations = table;
                 }
-                else
-                    ((ScriptableObject)start).reverseTranslations.putIfAbsent(lang, newLanguageMapping);
-                trans = ((ScriptableObject)start).reverseTranslations.get(lang);
             }
-            trans.put(value, name);
         }
+        return table;
     }
 
+    /**
+     * Makes an object use a frozen translation table that may also be
+     * used by other objects. The table is copied if the translated names
+     * of the object are later modified.
+     *
+     * @param obj the object whose translated names are replaced
+     * @param table a frozen translation table
+     * @return false if the object already had translated names of its own,
+     *         in which case they are left unchanged
+     */
+    public static boolean shareTranslations(Scriptable obj, TranslationTable table)
+    {
+        if (!table.isFrozen())
+            throw new IllegalArgumentException();
+        if (!(obj instanceof ScriptableObject))
+            return false;
+        ScriptableObject so = (ScriptableObject)obj;
+        synchronized (so) {
+            if (!so.translations.isFrozen())
+                return false;
+            so.translations = table;
+        }
+        so.translationsChanged();
+        return true;
+    }
     
     /**
      * Returns true if the named property is defined.
@@ -371,6 +444,9 @@ public abstract class ScriptableObject implements Scriptable, Serializable,
      */
     public boolean has(String name, Scriptable start)
     {
+        Shape s = shape;
+        if (s != null)
+            return null != s.find(name);
         return null != getSlot(name, 0, SLOT_QUERY);
     }
 
@@ -464,7 +540,7 @@ public abstract class ScriptableObject implements Scriptable, Serializable,
     public void delete(String name)
     {
         checkNotSealed(name, 0);
-        accessSlot(name, 0, SLOT_REMOVE);
+        removeSlot(name, 0);
     }
 
     /**
@@ -478,7 +554,7 @@ public abstract class ScriptableObject implements Scriptable, Serializable,
     public void delete(int index)
     {
         checkNotSealed(null, index);
-        accessSlot(null, index, SLOT_REMOVE);
+        removeSlot(null, index);
     }
 
     /**
@@ -588,6 +664,12 @@ public abstract class ScriptableObject implements Scriptable, Serializable,
      */
     public int getAttributes(String name)
     {
+        Shape s = shape;
+        if (s != null) {
+            Shape property = s.find(name);
+            if (property != null)
+                return property.attributes;
+        }
         return findAttributeSlot(name, 0, SLOT_QUERY).getAttributes();
     }
 
@@ -633,6 +715,8 @@ public abstract class ScriptableObject implements Scriptable, Serializable,
     public void setAttributes(String name, int attributes)
     {
         checkNotSealed(name, 0);
+        if (setShapedAttributes(name, attributes))
+            return;
         findAttributeSlot(name, 0, SLOT_MODIFY).setAttributes(attributes);
     }
 
@@ -746,7 +830,12 @@ public abstract class ScriptableObject implements Scriptable, Serializable,
      */
     public void setPrototype(Scriptable m)
     {
+        Scriptable old = prototypeObject;
         prototypeObject = m;
+        if (old != m) {
+            // Translated names are inherited through the prototype chain
+            translationsChanged();
+        }
     }
 
     /**
@@ -1858,21 +1947,23 @@ public abstract class ScriptableObject implements Scriptable, Serializable,
      * @since 1.4R3
      */
     public synchronized void sealObject() {
-        if (count >= 0) {
+        if (!isSealed) {
             // Make sure all LazilyLoadedCtors are initialized before sealing.
-            Slot slot = firstAdded;
-            while (slot != null) {
-                if (slot.value instanceof LazilyLoadedCtor) {
-                    LazilyLoadedCtor initializer = (LazilyLoadedCtor) slot.value;
-                    try {
-                        initializer.init();
-                    } finally {
-                        slot.value = initializer.getValue();
+            // They are always kept in slots.
+            SlotMap map = slotMap;
+            if (map != null) {
+                for (Slot slot: map.toArray()) {
+                    if (slot.value instanceof LazilyLoadedCtor) {
+                        LazilyLoadedCtor initializer = (LazilyLoadedCtor) slot.value;
+                        try {
+                            initializer.init();
+                        } finally {
+                            slot.value = initializer.getValue();
+                        }
                     }
                 }
-                slot = slot.orderedNext;
             }
-            count = ~count;
+            isSealed = true;
         }
     }
 
@@ -1886,7 +1977,7 @@ public abstract class ScriptableObject implements Scriptable, Serializable,
      * @since 1.4R3
      */
     public final boolean isSealed() {
-        return count < 0;
+        return isSealed;
     }
 
     private void checkNotSealed(String name, int index)
@@ -1905,9 +1996,9 @@ public abstract class ScriptableObject implements Scriptable, Serializable,
             return;
         }
         ScriptableObject obj = (ScriptableObject)scriptable;
-        if (!obj.translations.containsKey(lang)) return;
-        obj.translations.get(lang).clear();
-        obj.reverseTranslations.get(lang).clear();
+        if (!obj.translations.hasLanguage(lang)) return;
+        obj.getWritableTranslations().clear(lang);
+        obj.translationsChanged();
     }
     private static Scriptable getTranslatedNameBase(Scriptable obj, String lang, String name)
     {
@@ -1927,6 +2018,8 @@ public abstract class ScriptableObject implements Scriptable, Serializable,
         Scriptable start = obj;
         String result;
         do {
+            if (lang != null && lacksTranslation(obj, lang, name))
+                return null;
             result = obj.getTranslatedName(lang, name, start);
             if (result != null)
                 break;
@@ -1977,10 +2070,9 @@ public abstract class ScriptableObject implements Scriptable, Serializable,
      */
     public static Object getProperty(Scriptable obj, String lang, String name)
     {
-       String trans = getTranslatedNameWithPrototype(obj, lang, name); 
-       if (trans != null)
-          name = trans;
-
+        if (lang != null)
+            return getProperty(obj, findTranslatedProperty(obj, lang, name));
+
         Scriptable start = obj;
         Object result;
         do {
@@ -1992,6 +2084,85 @@ public abstract class ScriptableObject implements Scriptable, Serializable,
         return result;
     }
 
+    /**
+     * A property found through a possibly translated name: the default
+     * name that the name resolves to and the object in the prototype chain
+     * that holds it, or null if no object does.
+     */
+    static final class TranslatedProperty
+    {
+        final String name;
+        final Scriptable holder;
+
+        TranslatedProperty(String name, Scriptable holder)
+        {
+            this.name = name;
+            this.holder = holder;
+        }
+    }
+
+    /**
+     * Resolves <code>name</code> in language <code>lang</code> and finds
+     * the object holding the resulting property in a single walk of the
+     * prototype chain.
+     * <p>
+     * Each object's translation table is checked first, and the first
+     * holder of the untranslated name is recorded with
+     * {@link Scriptable#has(String, Scriptable)}, so no getter runs before
+     * the translation is known. Once the chain filters show that nothing
+     * further up translates <code>name</code>, the walk only looks for the
+     * holder. The chain is walked again only in the rare case that a
+     * translation is found.
+     */
+    static TranslatedProperty findTranslatedProperty(Scriptable obj, String lang, String name)
+    {
+        Scriptable start = obj;
+        Scriptable holder = null;
+        if (lang != null) {
+            do {
+                if (lacksTranslation(obj, lang, name))
+                    break;
+                String trans = obj.getTranslatedName(lang, name, start);
+                if (trans != null)
+                    return new TranslatedProperty(trans, getBase(start, trans, start));
+                if (holder == null && obj.has(name, start))
+                    holder = obj;
+                obj = obj.getPrototype();
+            } while (obj != null);
+        }
+        if (holder == null && obj != null)
+            holder = getBase(obj, name, start);
+        return new TranslatedProperty(name, holder);
+    }
+
+    /**
+     * Gets the value of a property found by
+     * {@link #findTranslatedProperty(Scriptable, String, String)} for
+     * <code>start</code>, or <code>Scriptable.NOT_FOUND</code> if there is
+     * none.
+     */
+    static Object getProperty(Scriptable start, TranslatedProperty prop)
+    {
+        Object result = Scriptable.NOT_FOUND;
+        for (Scriptable obj = prop.holder; obj != null; obj = obj.getPrototype()) {
+            result = obj.get(prop.name, start);
+            if (result != Scriptable.NOT_FOUND)
+                break;
+        }
+        return result;
+    }
+
+    /**
+     * Returns the default name that <code>name</code> in language
+     * <code>lang</code> resolves to, or null if no object in the prototype
+     * chain has the resulting property.
+     */
+    static String getTranslatedPropertyName(Scriptable obj, String lang, String name)
+    {
+        TranslatedProperty prop = findTranslatedProperty(obj, lang, name);
+        return prop.holder != null ? prop.name : null;
+    }
+
     // Stuff required for backwards compatibility with the Rhino debugger
     @Deprecated public static Object getProperty(Scriptable obj, String name)
     {
@@ -2048,11 +2219,7 @@ public abstract class ScriptableObject implements Scriptable, Serializable,
      */
     public static boolean hasProperty(Scriptable obj, String lang, String name)
     {
-       String trans = getTranslatedNameWithPrototype(obj, lang, name); 
-       if (trans != null)
-          name = trans;
-
-        return null != getBase(obj, name);
+        return null != getTranslatedPropertyName(obj, lang, name);
     }
 
     /**
@@ -2112,14 +2279,11 @@ public abstract class ScriptableObject implements Scriptable, Serializable,
      */
     public static void putProperty(Scriptable obj, String lang, String name, Object value)
     {
-        String trans = getTranslatedNameWithPrototype(obj, lang, name); 
-        if (trans != null)
-           name = trans;
-       
-        Scriptable base = getBase(obj, name);
+        TranslatedProperty prop = findTranslatedProperty(obj, lang, name);
+        Scriptable base = prop.holder;
         if (base == null)
             base = obj;
-        base.put(name, obj, value);
+        base.put(prop.name, obj, value);
     }
 
     /**
@@ -2182,15 +2346,12 @@ public abstract class ScriptableObject implements Scriptable, Serializable,
      */
     public static boolean deleteProperty(Scriptable obj, String lang, String name)
     {
-        String trans = getTranslatedNameWithPrototype(obj, lang, name); 
-        if (trans != null)
-           name = trans;
-
-        Scriptable base = getBase(obj, name);
+        TranslatedProperty prop = findTranslatedProperty(obj, lang, name);
+        Scriptable base = prop.holder;
         if (base == null)
             return true;
-        base.delete(name);
-        return !base.has(name, obj);
+        base.delete(prop.name);
+        return !base.has(prop.name, obj);
     }
 
     /**
@@ -2314,6 +2475,16 @@ public abstract class ScriptableObject implements Scriptable, Serializable,
         return obj;
     }
 
+    private static Scriptable getBase(Scriptable obj, String name, Scriptable start)
+    {
+        do {
+            if (obj.has(name, start))
+                break;
+            obj = obj.getPrototype();
+        } while(obj != null);
+        return obj;
+    }
+
     private static Scriptable getBase(Scriptable obj, int index)
     {
         do {
@@ -2378,22 +2549,38 @@ public abstract class ScriptableObject implements Scriptable, Serializable,
      * given key or old value for any subsequent calls.
      * @see #getAssociatedValue(Object key)
      */
-    public synchronized final Object associateValue(Object key, Object value)
+    public final Object associateValue(Object key, Object value)
     {
         if (value == null) throw new IllegalArgumentException();
-        Map<Object,Object> h = associatedValues;
-        if (h == null) {
-            h = associatedValues;
+        for (;;) {
+            Map<Object,Object> h = associatedValues;
+            Map<Object,Object> newMap;
             if (h == null) {
-                h = new HashMap<Object,Object>();
-                associatedValues = h;
+                newMap = new HashMap<Object,Object>();
+            } else {
+                Object current = h.get(key);
+                if (current != null)
+                    return current;
+                newMap = new HashMap<Object,Object>(h);
             }
+            newMap.put(key, value);
+            if (associatedValuesUpdater.compareAndSet(this, h, newMap))
+                return value;
         }
-        return Kit.initHash(h, key, value);
     }
 
     private Object getImpl(String name, int index, Scriptable start)
     {
+        Shape s = shape;
+        if (s != null && name != null) {
+            Shape property = s.find(name);
+            if (property == null)
+                return Scriptable.NOT_FOUND;
+            Object[] v = values;
+            if (v != null)
+                return v[property.size - 1];
+            // The properties just moved to slots
+        }
         Slot slot = getSlot(name, index, SLOT_QUERY);
         if (slot == null) {
             return Scriptable.NOT_FOUND;
@@ -2449,6 +2636,34 @@ public abstract class ScriptableObject implements Scriptable, Serializable,
     private boolean putImpl(String name, int index, Scriptable start,
                             Object value, int constFlag)
     {
+        if (name != null && constFlag == EMPTY) {
+            Shape s = shape;
+            if (s != null || slotMap == null) {
+                Shape property = (s == null ? null : s.find(name));
+                if (this != start) {
+                    return property != null &&
+                           (property.attributes & READONLY) != 0;
+                }
+                checkNotSealed(name, index);
+                if (property == null) {
+                    if (addShapedProperty(name, value))
+                        return true;
+                } else {
+                    if ((property.attributes & READONLY) != 0)
+                        return true;
+                    // Growing values and moving them to slots copy the
+                    // array under this lock, so the write has to take it
+                    // too or the copy could lose it
+                    synchronized (this) {
+                        Object[] v = values;
+                        if (v != null) {
+                            v[property.size - 1] = value;
+                            return true;
+                        }
+                    }
+                }
+            }
+        }
         Slot slot;
         if (this != start) {
             slot = getSlot(name, index, SLOT_QUERY);
@@ -2574,279 +2789,175 @@ public abstract class ScriptableObject implements Scriptable, Serializable,
 
     private Slot accessSlot(String name, int index, int accessType)
     {
-        int indexOrHash = (name != null ? name.hashCode() : index);
-
-        if (accessType == SLOT_QUERY ||
-            accessType == SLOT_MODIFY ||
-            accessType == SLOT_MODIFY_CONST ||
-            accessType == SLOT_MODIFY_GETTER_SETTER)
-        {
-            // Check the hashtable without using synchronization
-
-            Slot[] slotsLocalRef = slots; // Get stable local reference
-            if (slotsLocalRef == null) {
-                if (accessType == SLOT_QUERY)
+        SlotMap map = slotMap;
+        if (map == null) {
+            if (accessType == SLOT_QUERY) {
+                Shape s = shape;
+                if (s == null || name == null || s.find(name) == null)
                     return null;
-            } else {
-                int tableSize = slotsLocalRef.length;
-                int slotIndex = getSlotIndex(tableSize, indexOrHash);
-                Slot slot = slotsLocalRef[slotIndex];
-                while (slot != null) {
-                    String sname = slot.name;
-                    if (sname != null) {
-                        if (sname == name)
-                            break;
-                        if (name != null && indexOrHash == slot.indexOrHash) {
-                            if (name.equals(sname)) {
-                                // This will avoid calling String.equals when
-                                // slot is accessed with same string object
-                                // next time.
-                                slot.name = name;
-                                break;
-                            }
-                        }
-                    } else if (name == null &&
-                               indexOrHash == slot.indexOrHash) {
-                        break;
-                    }
-                    slot = slot.next;
-                }
-                if (accessType == SLOT_QUERY) {
-                    return slot;
-                } else if (accessType == SLOT_MODIFY) {
-                    if (slot != null)
-                        return slot;
-                } else if (accessType == SLOT_MODIFY_GETTER_SETTER) {
-                    if (slot instanceof GetterSlot)
-                        return slot;
-                } else if (accessType == SLOT_MODIFY_CONST) {
-                    if (slot != null)
-                        return slot;
-                }
-            }
-
-            // A new slot has to be inserted or the old has to be replaced
-            // by GetterSlot. Time to synchronize.
-
-            synchronized (this) {
-                // Refresh local ref if another thread triggered grow
-                slotsLocalRef = slots;
-                int insertPos;
-                if (count == 0) {
-                    // Always throw away old slots if any on empty insert
-                    slotsLocalRef = new Slot[5];
-                    slots = slotsLocalRef;
-                    insertPos = getSlotIndex(slotsLocalRef.length, indexOrHash);
-                } else {
-                    int tableSize = slotsLocalRef.length;
-                    insertPos = getSlotIndex(tableSize, indexOrHash);
-                    Slot prev = slotsLocalRef[insertPos];
-                    Slot slot = prev;
-                    while (slot != null) {
-                        if (slot.indexOrHash == indexOrHash &&
-                            (slot.name == name ||
-                             (name != null && name.equals(slot.name))))
-                        {
-                            break;
-                        }
-                        prev = slot;
-                        slot = slot.next;
-                    }
-
-                    if (slot != null) {
-                        // Another thread just added a slot with same
-                        // name/index before this one entered synchronized
-                        // block. This is a race in application code and
-                        // probably indicates bug there. But for the hashtable
-                        // implementation it is harmless with the only
-                        // complication is the need to replace the added slot
-                        // if we need GetterSlot and the old one is not.
-                        if (accessType == SLOT_MODIFY_GETTER_SETTER &&
-                            !(slot instanceof GetterSlot))
-                        {
-                            GetterSlot newSlot = new GetterSlot(name,
-                                    indexOrHash, slot.getAttributes());
-                            newSlot.value = slot.value;
-                            newSlot.next = slot.next;
-                            // add new slot to linked list
-                            if (lastAdded != null)
-                                lastAdded.orderedNext = newSlot;
-                            if (firstAdded == null)
-                                firstAdded = newSlot;
-                            lastAdded = newSlot;
-                            // add new slot to hash table
-                            if (prev == slot) {
-                                slotsLocalRef[insertPos] = newSlot;
-                            } else {
-                                prev.next = newSlot;
-                            }
-                            // other housekeeping
-                            slot.wasDeleted = true;
-                            slot.value = null;
-                            slot.name = null;
-                            if (slot == lastAccess) {
-                                lastAccess = REMOVED;
-                            }
-                            slot = newSlot;
-                        } else if (accessType == SLOT_MODIFY_CONST) {
-                            return null;
-                        }
-                        return slot;
-                    }
-
-                    // Check if the table is not too full before inserting.
-                    if (4 * (count + 1) > 3 * slotsLocalRef.length) {
-                        slotsLocalRef = new Slot[slotsLocalRef.length * 2 + 1];
-                        copyTable(slots, slotsLocalRef, count);
-                        slots = slotsLocalRef;
-                        insertPos = getSlotIndex(slotsLocalRef.length,
-                                indexOrHash);
-                    }
-                }
-
-                Slot newSlot = (accessType == SLOT_MODIFY_GETTER_SETTER
-                                ? new GetterSlot(name, indexOrHash, 0)
-                                : new Slot(name, indexOrHash, 0));
-                if (accessType == SLOT_MODIFY_CONST)
-                    newSlot.setAttributes(CONST);
-                ++count;
-                // add new slot to linked list
-                if (lastAdded != null)
-                    lastAdded.orderedNext = newSlot;
-                if (firstAdded == null)
-                    firstAdded = newSlot;
-                lastAdded = newSlot;
-                // add new slot to hash table, return it
-                addKnownAbsentSlot(slotsLocalRef, newSlot, insertPos);
-                return newSlot;
             }
-
-        } else if (accessType == SLOT_REMOVE) {
-            synchronized (this) {
-                Slot[] slotsLocalRef = slots;
-                if (count != 0) {
-                    int tableSize = slots.length;
-                    int slotIndex = getSlotIndex(tableSize, indexOrHash);
-                    Slot prev = slotsLocalRef[slotIndex];
-                    Slot slot = prev;
-                    while (slot != null) {
-                        if (slot.indexOrHash == indexOrHash &&
-                            (slot.name == name ||
-                             (name != null && name.equals(slot.name))))
-                        {
-                            break;
-                        }
-                        prev = slot;
-                        slot = slot.next;
-                    }
-                    if (slot != null && (slot.getAttributes() & PERMANENT) == 0) {
-                        count--;
-                        // remove slot from hash table
-                        if (prev == slot) {
-                            slotsLocalRef[slotIndex] = slot.next;
-                        } else {
-                            prev.next = slot.next;
-                        }
-                        // Mark the slot as removed. It is still referenced
-                        // from the order-added linked list, but will be
-                        // cleaned up later
-                        slot.wasDeleted = true;
-                        slot.value = null;
-                        slot.name = null;
-                        if (slot == lastAccess) {
-                            lastAccess = REMOVED;
-                        }
-                    }
-                }
-            }
-            return null;
-
-        } else {
-            throw Kit.codeBug();
+            map = createSlotMap();
         }
+        if (accessType == SLOT_QUERY)
+            return map.query(name, index);
+        return map.get(name, index, accessType);
     }
 
-    private static int getSlotIndex(int tableSize, int indexOrHash)
+    private void removeSlot(String name, int index)
     {
-        return (indexOrHash & 0x7fffffff) % tableSize;
+        SlotMap map = slotMap;
+        if (map == null) {
+            Shape s = shape;
+            if (s == null || name == null)
+                return;
+            Shape property = s.find(name);
+            if (property == null || (property.attributes & PERMANENT) != 0)
+                return;
+            map = createSlotMap();
+        }
+        Slot slot = map.remove(name, index);
+        if (slot != null && slot == lastAccess) {
+            lastAccess = REMOVED;
+        }
     }
 
-    // Must be inside synchronized (this)
-    private static void copyTable(Slot[] slots, Slot[] newSlots, int count)
+    /**
+     * Adds a named property to the values of the object, or returns
+     * false if the object has to keep its properties in slots instead.
+     */
+    private synchronized boolean addShapedProperty(String name, Object value)
     {
-        if (count == 0) throw Kit.codeBug();
-
-        int tableSize = newSlots.length;
-        int i = slots.length;
-        for (;;) {
-            --i;
-            Slot slot = slots[i];
-            while (slot != null) {
-                int insertPos = getSlotIndex(tableSize, slot.indexOrHash);
-                Slot next = slot.next;
-                addKnownAbsentSlot(newSlots, slot, insertPos);
-                slot.next = null;
-                slot = next;
-                if (--count == 0)
-                    return;
-            }
+        Shape s = shape;
+        if (s == null) {
+            if (slotMap != null || useLockFreeSlotMap())
+                return false;
+            s = Shape.EMPTY;
+        } else if (s.find(name) != null) {
+            // Another thread has just added it
+            return false;
+        }
+        if (s.size == MAX_SHAPED_PROPERTIES)
+            return false;
+        Shape next = s.addProperty(name, EMPTY);
+        if (next == null)
+            return false;
+        Object[] v = values;
+        if (v == null || v.length == s.size) {
+            Object[] grown = new Object[s.size < 4 ? 4 : 2 * s.size];
+            if (v != null)
+                System.arraycopy(v, 0, grown, 0, s.size);
+            v = grown;
+            values = v;
         }
+        v[s.size] = value;
+        shape = next;
+        return true;
     }
 
     /**
-     * Add slot with keys that are known to absent from the table.
-     * This is an optimization to use when inserting into empty table,
-     * after table growth or during deserialization.
+     * Changes the attributes of a property kept in values, or returns
+     * false if the property has to move to a slot first. Only the
+     * attributes of the last property added can change in place, which
+     * covers defineProperty.
      */
-    private static void addKnownAbsentSlot(Slot[] slots, Slot slot,
-                                           int insertPos)
+    private synchronized boolean setShapedAttributes(String name,
+                                                     int attributes)
     {
-        if (slots[insertPos] == null) {
-            slots[insertPos] = slot;
-        } else {
-            Slot prev = slots[insertPos];
-            while (prev.next != null) {
-                prev = prev.next;
+        Shape s = shape;
+        if (s == null)
+            return false;
+        Shape property = s.find(name);
+        if (property == null)
+            return false;
+        checkValidAttributes(attributes);
+        if (property.attributes == attributes)
+            return true;
+        if (property != s)
+            return false;
+        Shape next = s.parent.addProperty(name, attributes);
+        if (next == null)
+            return false;
+        shape = next;
+        return true;
+    }
+
+    /**
+     * Returns the properties kept in values as new slots.
+     */
+    private static Slot[] toSlots(Shape s, Object[] v)
+    {
+        Slot[] slots = new Slot[s.size];
+        for (Shape p = s; p.size != 0; p = p.parent) {
+            Slot slot = new Slot(p.name, p.name.hashCode(), p.attributes);
+            slot.value = v[p.size - 1];
+            slots[p.size - 1] = slot;
+        }
+        return slots;
+    }
+
+    private synchronized SlotMap createSlotMap()
+    {
+        SlotMap map = slotMap;
+        if (map == null) {
+            map = newSlotMap();
+            Shape s = shape;
+            if (s != null) {
+                for (Slot slot: toSlots(s, values)) {
+                    map.add(slot);
+                }
             }
-            prev.next = slot;
+            slotMap = map;
+            shape = null;
+            values = null;
         }
+        return map;
+    }
+
+    private static boolean useLockFreeSlotMap()
+    {
+        Context cx = Context.getCurrentContext();
+        return cx != null && cx.hasFeature(Context.FEATURE_LOCK_FREE_PROPERTIES);
+    }
+
+    private static SlotMap newSlotMap()
+    {
+        if (useLockFreeSlotMap())
+            return new LockFreeSlotMap();
+        return new HashSlotMap();
     }
 
     Object[] getIds(boolean getAll) {
-        Slot[] s = slots;
         Object[] a = ScriptRuntime.emptyArgs;
-        if (s == null)
+        Shape shapeLocalRef = shape;
+        if (shapeLocalRef != null) {
+            int c = 0;
+            for (Shape p = shapeLocalRef; p.size != 0; p = p.parent) {
+                if (getAll || (p.attributes & DONTENUM) == 0)
+                    c++;
+            }
+            if (c == 0)
+                return a;
+            a = new Object[c];
+            for (Shape p = shapeLocalRef; p.size != 0; p = p.parent) {
+                if (getAll || (p.attributes & DONTENUM) == 0)
+                    a[--c] = p.name;
+            }
             return a;
-        int c = 0;
-        Slot slot = firstAdded; 
-        while (slot != null && slot.wasDeleted) {
-            // as long as we're traversing the order-added linked list,
-            // remove deleted slots
-            slot = slot.orderedNext;
         }
-        firstAdded = slot;
-        if (slot != null) {
-            for (;;) {
-                if (getAll || (slot.getAttributes() & DONTENUM) == 0) {
-                    if (c == 0)
-                        a = new Object[s.length];
-                    a[c++] = slot.name != null
-                                 ? (Object) slot.name
-                                 : Integer.valueOf(slot.indexOrHash);
-                }
-                Slot next = slot.orderedNext;
-                while (next != null && next.wasDeleted) {
-                    // remove deleted slots
-                    next = next.orderedNext;
-                }
-                slot.orderedNext = next;
-                if (next == null) {
-                    break;
-                }
-                slot = next;
+        SlotMap map = slotMap;
+        if (map == null)
+            return a;
+        Slot[] s = map.toArray();
+        int c = 0;
+        for (Slot slot: s) {
+            if (getAll || (slot.getAttributes() & DONTENUM) == 0) {
+                if (c == 0)
+                    a = new Object[s.length];
+                a[c++] = slot.name != null
+                             ? (Object) slot.name
+                             : Integer.valueOf(slot.indexOrHash);
             }
         }
-        lastAdded = slot;
         if (c == a.length)
             return a;
         Object[] result = new Object[c];
@@ -2858,31 +2969,15 @@ public abstract class ScriptableObject implements Scriptable, Serializable,
         throws IOException
     {
         out.defaultWriteObject();
-        int objectsCount = count;
-        if (objectsCount < 0) {
-            // "this" was sealed
-            objectsCount = ~objectsCount;
-        }
-        if (objectsCount == 0) {
+        SlotMap map = slotMap;
+        if (map == null && shape == null) {
             out.writeInt(0);
         } else {
-            out.writeInt(slots.length);
-            Slot slot = firstAdded; 
-            while (slot != null && slot.wasDeleted) {
-                // as long as we're traversing the order-added linked list,
-                // remove deleted slots
-                slot = slot.orderedNext;
-            }
-            firstAdded = slot;
-            while (slot != null) {
+            Slot[] s = (map != null ? map.toArray()
+                                    : toSlots(shape, values));
+            out.writeInt(s.length);
+            for (Slot slot: s) {
                 out.writeObject(slot);
-                Slot next = slot.orderedNext;
-                while (next != null && next.wasDeleted) {
-                    // remove deleted slots
-                    next = next.orderedNext;
-                }
-                slot.orderedNext = next;
-                slot = next;
             }
         }
     }
@@ -2893,26 +2988,13 @@ public abstract class ScriptableObject implements Scriptable, Serializable,
         in.defaultReadObject();
         lastAccess = REMOVED;
 
-        int tableSize = in.readInt();
-        if (tableSize != 0) {
-            slots = new Slot[tableSize];
-            int objectsCount = count;
-            if (objectsCount < 0) {
-                // "this" was sealed
-                objectsCount = ~objectsCount;
-            }
-            Slot prev = null;
+        int objectsCount = in.readInt();
+        if (objectsCount != 0) {
+            SlotMap map = newSlotMap();
             for (int i=0; i != objectsCount; ++i) {
-                lastAdded = (Slot)in.readObject();
-                if (i==0) {
-                    firstAdded = lastAdded;
-                } else {
-                    prev.orderedNext = lastAdded;
-                }
-                int slotIndex = getSlotIndex(tableSize, lastAdded.indexOrHash);
-                addKnownAbsentSlot(slots, lastAdded, slotIndex);
-                prev = lastAdded;
+                map.add((Slot)in.readObject());
             }
+            slotMap = map;
         }
     }
 
@@ -0,0 +1,223 @@
+/* -*- Mode: java; tab-width: 8; indent-tabs-mode: nil; c-basic-offset: 4 -*-
+ *
+ * ***** BEGIN LICENSE BLOCK *****
+ * Version: MPL 1.1/GPL 2.0
+ *
+ * The contents of this file are subject to the Mozilla Public License Version
+ * 1.1 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ * http://www.mozilla.org/MPL/
+ *
+ * Software distributed under the License is distributed on an "AS IS" basis,
+ * WITHOUT WARRANTY OF ANY KIND, either express or implied. See the License
+ * for the specific language governing rights and limitations under the
+ * License.
+ *
+ * The Original Code is Rhino code, released
+ * May 6, 1999.
+ *
+ * The Initial Developer of the Original Code is
+ * Netscape Communications Corporation.
+ * Portions created by the Initial Developer are Copyright (C) 1997-1999
+ * the Initial Developer. All Rights Reserved.
+ *
+ * Contributor(s):
+ *
+ * Alternatively, the contents of this file may be used under the terms of
+ * the GNU General Public License Version 2 or later (the "GPL"), in which
+ * case the provisions of the GPL are applicable instead of those above. If
+ * you wish to allow use of your version of this file only under the terms of
+ * the GPL and not to allow others to use your version of this file under the
+ * MPL, indicate your decision by deleting the provisions above and replacing
+ * them with the notice and other provisions required by the GPL. If you do
+ * not delete the provisions above, a recipient may use your version of this
+ * file under either the MPL or the GPL.
+ *
+ * ***** END LICENSE BLOCK ***** */
+
+
+package org.mozilla.javascript;
+
+import java.lang.ref.WeakReference;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Describes the named properties of a {@link ScriptableObject} that keeps
+ * their values in a plain array: their names, attributes and the order in
+ * which they were added.
+ * <p>
+ * Shapes form a tree rooted at {@link #EMPTY}, where each shape adds one
+ * property to its parent. Objects that add the same properties in the
+ * same order end up with the same shape, so the shape is shared and its
+ * identity can serve as the key of a cache of property positions.
+ * Children are held weakly so that branches no object uses any more can
+ * be collected.
+ */
+final class Shape
+{
+    static final Shape EMPTY = new Shape(null, null, 0);
+
+    // Most children a shape gets; objects that would add another one
+    // keep their properties in a slot map instead
+    private static final int MAX_TRANSITIONS = 64;
+
+    // Shapes with up to this many properties are searched by walking up
+    // the tree instead of building a table
+    private static final int LINEAR_SEARCH_LIMIT = 8;
+
+    final Shape parent;
+    // Name and attributes of the last property
+    final String name;
+    final int attributes;
+    // Number of properties, so the last property is at size - 1
+    final int size;
+
+    private volatile Map<Object,WeakReference<Shape>> transitions;
+    // Open addressing table of the shapes that added each property
+    private volatile Shape[] table;
+
+    private Shape(Shape parent, String name, int attributes)
+    {
+        this.parent = parent;
+        this.name = name;
+        this.attributes = attributes;
+        this.size = parent == null ? 0 : parent.size + 1;
+    }
+
+    /**
+     * Returns the shape that added the property with the given name, or
+     * null if there is no such property. Its size - 1 is the position of
+     * the property.
+     */
+    Shape find(String name)
+    {
+        int hash = name.hashCode();
+        if (size <= LINEAR_SEARCH_LIMIT) {
+            for (Shape s = this; s.size != 0; s = s.parent) {
+                String sname = s.name;
+                if (sname == name ||
+                    (sname.hashCode() == hash && sname.equals(name)))
+                {
+                    return s;
+                }
+            }
+            return null;
+        }
+        Shape[] t = table;
+        if (t == null) {
+            t = buildTable();
+        }
+        int mask = t.length - 1;
+        for (int i = hash & mask; ; i = (i + 1) & mask) {
+            Shape s = t[i];
+            if (s == null)
+                return null;
+            String sname = s.name;
+            if (sname == name ||
+                (sname.hashCode() == hash && sname.equals(name)))
+            {
+                return s;
+            }
+        }
+    }
+
+    private Shape[] buildTable()
+    {
+        int capacity = 2;
+        while (capacity < 2 * size)
+            capacity <<= 1;
+        Shape[] t = new Shape[capacity];
+        int mask = capacity - 1;
+        for (Shape s = this; s.size != 0; s = s.parent) {
+            int i = s.name.hashCode() & mask;
+            while (t[i] != null)
+                i = (i + 1) & mask;
+            t[i] = s;
+        }
+        table = t;
+        return t;
+    }
+
+    /**
+     * Returns the shape with one more property, or null if this shape
+     * already has too many children.
+     */
+    Shape addProperty(String name, int attributes)
+    {
+        Map<Object,WeakReference<Shape>> map = transitions;
+        if (map == null) {
+            synchronized (this) {
+                map = transitions;
+                if (map == null) {
+                    map = new ConcurrentHashMap<Object,WeakReference<Shape>>(
+                            4, 0.75f, 1);
+                    transitions = map;
+                }
+            }
+        }
+        Object key = (attributes == 0 ? name
+                                       : new TransitionKey(name, attributes));
+        WeakReference<Shape> ref = map.get(key);
+        Shape child = (ref == null ? null : ref.get());
+        if (child != null)
+            return child;
+        if (ref == null && map.size() >= MAX_TRANSITIONS) {
+            // Forget children that were collected before giving up
+            for (Map.Entry<Object,WeakReference<Shape>> e: map.entrySet()) {
+                if (e.getValue().get() == null)
+                    map.remove(e.getKey(), e.getValue());
+            }
+            if (map.size() >= MAX_TRANSITIONS)
+                return null;
+        }
+        child = new Shape(this, name, attributes);
+        WeakReference<Shape> newRef = new WeakReference<Shape>(child);
+        for (;;) {
+            if (ref == null) {
+                ref = map.putIfAbsent(key, newRef);
+                if (ref == null)
+                    return child;
+            } else {
+                if (map.replace(key, ref, newRef))
+                    return child;
+                ref = map.get(key);
+            }
+            Shape other = (ref == null ? null : ref.get());
+            if (other != null)
+                return other;
+        }
+    }
+
+    /**
+     * Key of a transition that adds a property with attributes. Plain
+     * properties are keyed by their name alone; since a name never equals
+     * a TransitionKey, the two kinds of keys cannot collide.
+     */
+    private static final class TransitionKey
+    {
+        final String name;
+        final int attributes;
+
+        TransitionKey(String name, int attributes)
+        {
+            this.name = name;
+            this.attributes = attributes;
+        }
+
+        @Override
+        public boolean equals(Object obj)
+        {
+            if (!(obj instanceof TransitionKey))
+                return false;
+            TransitionKey other = (TransitionKey)obj;
+            return attributes == other.attributes && name.equals(other.name);
+        }
+
+        @Override
+        public int hashCode()
+        {
+            return name.hashCode() * 31 + attributes;
+        }
+    }
+}
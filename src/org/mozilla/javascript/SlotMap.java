@@ -0,0 +1,97 @@
+/* -*- Mode: java; tab-width: 8; indent-tabs-mode: nil; c-basic-offset: 4 -*-
+ *
+ * ***** BEGIN LICENSE BLOCK *****
+ * Version: MPL 1.1/GPL 2.0
+ *
+ * The contents of this file are subject to the Mozilla Public License Version
+ * 1.1 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ * http://www.mozilla.org/MPL/
+ *
+ * Software distributed under the License is distributed on an "AS IS" basis,
+ * WITHOUT WARRANTY OF ANY KIND, either express or implied. See the License
+ * for the specific language governing rights and limitations under the
+ * License.
+ *
+ * The Original Code is Rhino code, released
+ * May 6, 1999.
+ *
+ * The Initial Developer of the Original Code is
+ * Netscape Communications Corporation.
+ * Portions created by the Initial Developer are Copyright (C) 1997-1999
+ * the Initial Developer. All Rights Reserved.
+ *
+ * Contributor(s):
+ *
+ * Alternatively, the contents of this file may be used under the terms of
+ * the GNU General Public License Version 2 or later (the "GPL"), in which
+ * case the provisions of the GPL are applicable instead of those above. If
+ * you wish to allow use of your version of this file only under the terms of
+ * the GPL and not to allow others to use your version of this file under the
+ * MPL, indicate your decision by deleting the provisions above and replacing
+ * them with the notice and other provisions required by the GPL. If you do
+ * not delete the provisions above, a recipient may use your version of this
+ * file under either the MPL or the GPL.
+ *
+ * ***** END LICENSE BLOCK ***** */
+
+
+package org.mozilla.javascript;
+
+import org.mozilla.javascript.ScriptableObject.Slot;
+
+/**
+ * Table of the property slots of a {@link ScriptableObject}.
+ * <p>
+ * Lookups with {@link #query} never take a lock, so an implementation
+ * must let them run concurrently with additions and removals from other
+ * threads. {@link Context#FEATURE_LOCK_FREE_PROPERTIES} selects which
+ * implementation new objects use.
+ */
+interface SlotMap
+{
+    /**
+     * Returns the number of slots in the table.
+     */
+    int size();
+
+    /**
+     * Returns the slot with the given name or index, or null if there
+     * is none.
+     *
+     * @param name property name or null if slot holds spare array index.
+     * @param index index or 0 if slot holds property name.
+     */
+    Slot query(String name, int index);
+
+    /**
+     * Returns the slot with the given name or index, adding it if there
+     * is none. For SLOT_MODIFY_GETTER_SETTER a plain slot is replaced
+     * by a GetterSlot with the same value and attributes, and for
+     * SLOT_MODIFY_CONST a new slot is added as CONST.
+     *
+     * @param accessType SLOT_MODIFY, SLOT_MODIFY_CONST or
+     *                   SLOT_MODIFY_GETTER_SETTER
+     */
+    Slot get(String name, int index, int accessType);
+
+    /**
+     * Removes the slot with the given name or index unless it is
+     * PERMANENT, and marks it as deleted.
+     *
+     * @return the removed slot or null if nothing was removed
+     */
+    Slot remove(String name, int index);
+
+    /**
+     * Adds a slot whose name or index is known to be absent from the
+     * table, as when deserializing.
+     */
+    void add(Slot slot);
+
+    /**
+     * Returns the slots in the order they were added. The caller must
+     * not modify the array.
+     */
+    Slot[] toArray();
+}
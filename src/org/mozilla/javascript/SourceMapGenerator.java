@@ -0,0 +1,332 @@
+/* -*- Mode: java; tab-width: 8; indent-tabs-mode: nil; c-basic-offset: 4 -*-
+ *
+ * ***** BEGIN LICENSE BLOCK *****
+ * Version: MPL 1.1/GPL 2.0
+ *
+ * The contents of this file are subject to the Mozilla Public License Version
+ * 1.1 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ * http://www.mozilla.org/MPL/
+ *
+ * Software distributed under the License is distributed on an "AS IS" basis,
+ * WITHOUT WARRANTY OF ANY KIND, either express or implied. See the License
+ * for the specific language governing rights and limitations under the
+ * License.
+ *
+ * The Original Code is Rhino code, released
+ * May 6, 1999.
+ *
+ * The Initial Developer of the Original Code is
+ * Netscape Communications Corporation.
+ * Portions created by the Initial Developer are Copyright (C) 1997-1999
+ * the Initial Developer. All Rights Reserved.
+ *
+ * Contributor(s):
+ *
+ * Alternatively, the contents of this file may be used under the terms of
+ * the GNU General Public License Version 2 or later (the "GPL"), in which
+ * case the provisions of the GPL are applicable instead of those above. If
+ * you wish to allow use of your version of this file only under the terms of
+ * the GPL and not to allow others to use your version of this file under the
+ * MPL, indicate your decision by deleting the provisions above and replacing
+ * them with the notice and other provisions required by the GPL. If you do
+ * not delete the provisions above, a recipient may use your version of this
+ * file under either the MPL or the GPL.
+ *
+ * ***** END LICENSE BLOCK ***** */
+
+package org.mozilla.javascript;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Writes a Source Map (version 3) for JavaScript translated from
+ * Babylscript, while the JavaScript itself is being written.
+ * <p>
+ * The translator writes its output through {@link #track(Appendable)},
+ * which keeps count of the generated line and column, and reports the
+ * source position of names and statements as it reaches them. Mappings
+ * are encoded and written to the map as soon as they are known, so the
+ * map is produced in the same pass as the code without buffering the
+ * mappings. The <code>names</code> list, which is only complete at the
+ * end, is written after the mappings.
+ */
+public class SourceMapGenerator
+{
+    private static final String BASE64 =
+        "ABCDEFGHIJKLMNOPQRSTUVWXYZabcdefghijklmnopqrstuvwxyz0123456789+/";
+
+    private final Appendable mapOut;
+    private final String file;
+    private final String source;
+
+    private final Map<String, Integer> nameIndexes = new HashMap<String, Integer>();
+    private final List<String> names = new ArrayList<String>();
+
+    // Position in the generated code
+    private int generatedLine;
+    private int generatedColumn;
+
+    // The mapping for the current generated position, not written yet
+    // since a later one for the same position may carry a name
+    private boolean hasPending;
+    private int pendingLine;
+    private int pendingColumn;
+    private int pendingSourceLine;
+    private int pendingSourceColumn;
+    private String pendingName;
+
+    // Last values written, mappings are relative to them
+    private int lastLine;
+    private int lastColumn;
+    private int lastSourceLine;
+    private int lastSourceColumn;
+    private int lastNameIndex;
+    private boolean firstInLine = true;
+
+    private boolean started;
+    private boolean finished;
+
+    /**
+     * Creates a generator that writes the map to <code>mapOut</code>. The
+     * source is named in the map by the source name given to the
+     * translator.
+     *
+     * @param mapOut where the source map is written
+     * @param file the name of the generated JavaScript file, as it should
+     *        appear in the map, or null
+     */
+    public SourceMapGenerator(Appendable mapOut, String file)
+    {
+        this(mapOut, file, null);
+    }
+
+    /**
+     * Creates a generator that writes the map to <code>mapOut</code>.
+     *
+     * @param mapOut where the source map is written
+     * @param file the name of the generated JavaScript file, as it should
+     *        appear in the map, or null
+     * @param source the URL of the Babylscript source, usually relative to
+     *        the map, or null to use the source name given to the translator
+     */
+    public SourceMapGenerator(Appendable mapOut, String file, String source)
+    {
+        if (mapOut == null) throw new IllegalArgumentException();
+        this.mapOut = mapOut;
+        this.file = file;
+        this.source = source;
+    }
+
+    /**
+     * Returns an Appendable that writes to <code>generated</code> and
+     * keeps track of the position reached in the generated code.
+     */
+    Appendable track(final Appendable generated)
+    {
+        return new GeneratedOutput(generated);
+    }
+
+    /**
+     * Starts the map for code translated from <code>sourceName</code>.
+     */
+    void start(String sourceName) throws IOException
+    {
+        if (started) throw new IllegalStateException();
+        started = true;
+        mapOut.append("{\"version\":3,");
+        if (file != null) {
+            mapOut.append("\"file\":");
+            appendQuoted(file);
+            mapOut.append(',');
+        }
+        mapOut.append("\"sources\":[");
+        if (source != null)
+            sourceName = source;
+        appendQuoted(sourceName != null ? sourceName : "");
+        mapOut.append("],\"mappings\":\"");
+    }
+
+    /**
+     * Maps the current generated position to the given source position.
+     * Source lines and columns start at 0.
+     */
+    void addMapping(int sourceLine, int sourceColumn, String name)
+        throws IOException
+    {
+        if (hasPending) {
+            if (pendingLine == generatedLine
+                && pendingColumn == generatedColumn)
+            {
+                // Keep the outermost mapping for a position, unless an
+                // inner one names the identifier found there
+                if (pendingName == null && name != null) {
+                    pendingSourceLine = sourceLine;
+                    pendingSourceColumn = sourceColumn;
+                    pendingName = name;
+                }
+                return;
+            }
+            writePending();
+        }
+        hasPending = true;
+        pendingLine = generatedLine;
+        pendingColumn = generatedColumn;
+        pendingSourceLine = sourceLine;
+        pendingSourceColumn = sourceColumn;
+        pendingName = name;
+    }
+
+    /**
+     * Writes the rest of the map.
+     */
+    void finish() throws IOException
+    {
+        if (!started || finished) throw new IllegalStateException();
+        finished = true;
+        if (hasPending) writePending();
+        mapOut.append("\",\"names\":[");
+        for (int i = 0; i < names.size(); i++) {
+            if (i != 0) mapOut.append(',');
+            appendQuoted(names.get(i));
+        }
+        mapOut.append("]}");
+    }
+
+    private void writePending() throws IOException
+    {
+        hasPending = false;
+        while (lastLine < pendingLine) {
+            mapOut.append(';');
+            lastLine++;
+            lastColumn = 0;
+            firstInLine = true;
+        }
+        if (!firstInLine) mapOut.append(',');
+        firstInLine = false;
+        appendVLQ(pendingColumn - lastColumn);
+        lastColumn = pendingColumn;
+        // There is only ever one source
+        appendVLQ(0);
+        appendVLQ(pendingSourceLine - lastSourceLine);
+        lastSourceLine = pendingSourceLine;
+        appendVLQ(pendingSourceColumn - lastSourceColumn);
+        lastSourceColumn = pendingSourceColumn;
+        if (pendingName != null) {
+            Integer index = nameIndexes.get(pendingName);
+            if (index == null) {
+                index = Integer.valueOf(names.size());
+                names.add(pendingName);
+                nameIndexes.put(pendingName, index);
+            }
+            appendVLQ(index.intValue() - lastNameIndex);
+            lastNameIndex = index.intValue();
+        }
+    }
+
+    private void appendVLQ(int value) throws IOException
+    {
+        // Sign in the lowest bit, then 5 bits per digit with bit 6 set
+        // on all digits but the last
+        int vlq = value < 0 ? ((-value) << 1) | 1 : value << 1;
+        do {
+            int digit = vlq & 0x1f;
+            vlq >>>= 5;
+            if (vlq != 0) digit |= 0x20;
+            mapOut.append(BASE64.charAt(digit));
+        } while (vlq != 0);
+    }
+
+    private void appendQuoted(String s) throws IOException
+    {
+        mapOut.append('"');
+        for (int i = 0; i < s.length(); i++) {
+            char c = s.charAt(i);
+            switch (c) {
+              case '"': mapOut.append("\\\""); break;
+              case '\\': mapOut.append("\\\\"); break;
+              case '\n': mapOut.append("\\n"); break;
+              case '\r': mapOut.append("\\r"); break;
+              case '\t': mapOut.append("\\t"); break;
+              default:
+                if (c < 0x20) {
+                    String hex = Integer.toHexString(c);
+                    mapOut.append("\\u");
+                    for (int n = hex.length(); n < 4; n++)
+                        mapOut.append('0');
+                    mapOut.append(hex);
+                } else {
+                    mapOut.append(c);
+                }
+            }
+        }
+        mapOut.append('"');
+    }
+
+    /**
+     * Counts lines and columns of the generated code. Columns are
+     * counted in UTF-16 code units, like browsers do.
+     */
+    private final class GeneratedOutput implements Appendable
+    {
+        private final Appendable out;
+
+        GeneratedOutput(Appendable out)
+        {
+            this.out = out;
+        }
+
+        SourceMapGenerator owner()
+        {
+            return SourceMapGenerator.this;
+        }
+
+        public Appendable append(CharSequence csq) throws IOException
+        {
+            if (csq == null) csq = "null";
+            return append(csq, 0, csq.length());
+        }
+
+        public Appendable append(CharSequence csq, int start, int end)
+            throws IOException
+        {
+            if (csq == null) csq = "null";
+            for (int i = start; i < end; i++)
+                count(csq.charAt(i));
+            out.append(csq, start, end);
+            return this;
+        }
+
+        public Appendable append(char c) throws IOException
+        {
+            count(c);
+            out.append(c);
+            return this;
+        }
+
+        private void count(char c)
+        {
+            if (c == '\n') {
+                generatedLine++;
+                generatedColumn = 0;
+            } else {
+                generatedColumn++;
+            }
+        }
+    }
+
+    /**
+     * Returns the generator whose {@link #track} returned <code>out</code>,
+     * or null if it was not returned by a generator.
+     */
+    static SourceMapGenerator getGenerator(Appendable out)
+    {
+        if (out instanceof GeneratedOutput)
+            return ((GeneratedOutput)out).owner();
+        return null;
+    }
+}
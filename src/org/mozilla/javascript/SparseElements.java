@@ -0,0 +1,225 @@
+/* -*- Mode: java; tab-width: 8; indent-tabs-mode: nil; c-basic-offset: 4 -*-
+ *
+ * ***** BEGIN LICENSE BLOCK *****
+ * Version: MPL 1.1/GPL 2.0
+ *
+ * The contents of this file are subject to the Mozilla Public License Version
+ * 1.1 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ * http://www.mozilla.org/MPL/
+ *
+ * Software distributed under the License is distributed on an "AS IS" basis,
+ * WITHOUT WARRANTY OF ANY KIND, either express or implied. See the License
+ * for the specific language governing rights and limitations under the
+ * License.
+ *
+ * The Original Code is Rhino code, released
+ * May 6, 1999.
+ *
+ * The Initial Developer of the Original Code is
+ * Netscape Communications Corporation.
+ * Portions created by the Initial Developer are Copyright (C) 1997-1999
+ * the Initial Developer. All Rights Reserved.
+ *
+ * Contributor(s):
+ *
+ * Alternatively, the contents of this file may be used under the terms of
+ * the GNU General Public License Version 2 or later (the "GPL"), in which
+ * case the provisions of the GPL are applicable instead of those above. If
+ * you wish to allow use of your version of this file only under the terms of
+ * the GPL and not to allow others to use your version of this file under the
+ * MPL, indicate your decision by deleting the provisions above and replacing
+ * them with the notice and other provisions required by the GPL. If you do
+ * not delete the provisions above, a recipient may use your version of this
+ * file under either the MPL or the GPL.
+ *
+ * ***** END LICENSE BLOCK ***** */
+
+
+package org.mozilla.javascript;
+
+import java.io.Serializable;
+import java.util.Arrays;
+
+/**
+ * Element storage for arrays too sparse to keep in a dense array: an open
+ * addressing hash map from non-negative indexes to values. Only elements
+ * without attributes, getters or setters are kept here; the others stay in
+ * the slots of the array.
+ */
+final class SparseElements implements Serializable
+{
+    static final long serialVersionUID = 4213560537393347811L;
+
+    private static final int NO_KEY = -1;
+    private static final int INITIAL_CAPACITY = 8;
+
+    // The capacity is a power of 2 and at least twice size
+    private int[] keys;
+    private Object[] values;
+    private int size;
+
+    SparseElements()
+    {
+        init(INITIAL_CAPACITY);
+    }
+
+    private void init(int capacity)
+    {
+        keys = new int[capacity];
+        Arrays.fill(keys, NO_KEY);
+        values = new Object[capacity];
+        size = 0;
+    }
+
+    private static int hash(int index, int mask)
+    {
+        // Spreads runs of nearby indexes over the table
+        int h = index * 0x9E3779B9;
+        return (h ^ (h >>> 16)) & mask;
+    }
+
+    int size()
+    {
+        return size;
+    }
+
+    /**
+     * Returns the element at index, or {@link Scriptable#NOT_FOUND}.
+     */
+    Object get(int index)
+    {
+        int mask = keys.length - 1;
+        for (int i = hash(index, mask); ; i = (i + 1) & mask) {
+            int key = keys[i];
+            if (key == index) {
+                return values[i];
+            } else if (key == NO_KEY) {
+                return Scriptable.NOT_FOUND;
+            }
+        }
+    }
+
+    boolean has(int index)
+    {
+        return get(index) != Scriptable.NOT_FOUND;
+    }
+
+    void put(int index, Object value)
+    {
+        int mask = keys.length - 1;
+        int i = hash(index, mask);
+        for (; keys[i] != NO_KEY; i = (i + 1) & mask) {
+            if (keys[i] == index) {
+                values[i] = value;
+                return;
+            }
+        }
+        if ((size + 1) * 2 > keys.length) {
+            rehash(keys.length * 2);
+            insert(index, value);
+        } else {
+            keys[i] = index;
+            values[i] = value;
+        }
+        ++size;
+    }
+
+    private void insert(int index, Object value)
+    {
+        int mask = keys.length - 1;
+        int i = hash(index, mask);
+        while (keys[i] != NO_KEY) {
+            i = (i + 1) & mask;
+        }
+        keys[i] = index;
+        values[i] = value;
+    }
+
+    private void rehash(int capacity)
+    {
+        int[] oldKeys = keys;
+        Object[] oldValues = values;
+        int oldSize = size;
+        init(capacity);
+        for (int i = 0; i != oldKeys.length; ++i) {
+            if (oldKeys[i] != NO_KEY) {
+                insert(oldKeys[i], oldValues[i]);
+            }
+        }
+        size = oldSize;
+    }
+
+    void remove(int index)
+    {
+        int mask = keys.length - 1;
+        int i = hash(index, mask);
+        for (; keys[i] != index; i = (i + 1) & mask) {
+            if (keys[i] == NO_KEY) {
+                return;
+            }
+        }
+        // Shift later entries of the probe sequence back into the gap so
+        // that lookups never need tombstones
+        for (int j = (i + 1) & mask; keys[j] != NO_KEY; j = (j + 1) & mask) {
+            int home = hash(keys[j], mask);
+            if (((j - home) & mask) >= ((j - i) & mask)) {
+                keys[i] = keys[j];
+                values[i] = values[j];
+                i = j;
+            }
+        }
+        keys[i] = NO_KEY;
+        values[i] = null;
+        --size;
+    }
+
+    /**
+     * Removes the elements at length and above.
+     */
+    void truncate(long length)
+    {
+        int[] oldKeys = keys;
+        Object[] oldValues = values;
+        int kept = 0;
+        for (int i = 0; i != oldKeys.length; ++i) {
+            if (oldKeys[i] != NO_KEY && oldKeys[i] < length) {
+                ++kept;
+            }
+        }
+        int capacity = INITIAL_CAPACITY;
+        while (capacity < kept * 2) {
+            capacity *= 2;
+        }
+        init(capacity);
+        for (int i = 0; i != oldKeys.length; ++i) {
+            if (oldKeys[i] != NO_KEY && oldKeys[i] < length) {
+                insert(oldKeys[i], oldValues[i]);
+            }
+        }
+        size = kept;
+    }
+
+    /**
+     * Returns the indexes of the elements from begin up to end in
+     * ascending order.
+     */
+    int[] indexes(long begin, long end)
+    {
+        int[] result = new int[size];
+        int count = 0;
+        for (int i = 0; i != keys.length; ++i) {
+            int key = keys[i];
+            if (key != NO_KEY && begin <= key && key < end) {
+                result[count++] = key;
+            }
+        }
+        Arrays.sort(result, 0, count);
+        if (count != result.length) {
+            int[] tmp = new int[count];
+            System.arraycopy(result, 0, tmp, 0, count);
+            result = tmp;
+        }
+        return result;
+    }
+}
@@ -0,0 +1,179 @@
+/* -*- Mode: java; tab-width: 8; indent-tabs-mode: nil; c-basic-offset: 4 -*-
+ *
+ * ***** BEGIN LICENSE BLOCK *****
+ * Version: MPL 1.1/GPL 2.0
+ *
+ * The contents of this file are subject to the Mozilla Public License Version
+ * 1.1 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ * http://www.mozilla.org/MPL/
+ *
+ * Software distributed under the License is distributed on an "AS IS" basis,
+ * WITHOUT WARRANTY OF ANY KIND, either express or implied. See the License
+ * for the specific language governing rights and limitations under the
+ * License.
+ *
+ * The Original Code is Rhino code, released
+ * May 6, 1999.
+ *
+ * The Initial Developer of the Original Code is
+ * Netscape Communications Corporation.
+ * Portions created by the Initial Developer are Copyright (C) 1997-1999
+ * the Initial Developer. All Rights Reserved.
+ *
+ * Contributor(s):
+ *
+ * Alternatively, the contents of this file may be used under the terms of
+ * the GNU General Public License Version 2 or later (the "GPL"), in which
+ * case the provisions of the GPL are applicable instead of those above. If
+ * you wish to allow use of your version of this file only under the terms of
+ * the GPL and not to allow others to use your version of this file under the
+ * MPL, indicate your decision by deleting the provisions above and replacing
+ * them with the notice and other provisions required by the GPL. If you do
+ * not delete the provisions above, a recipient may use your version of this
+ * file under either the MPL or the GPL.
+ *
+ * ***** END LICENSE BLOCK ***** */
+
+package org.mozilla.javascript;
+
+/**
+ * Table of strings used to give identifiers and string literals a single
+ * String instance each. One table is shared by the tokenizer, the tree
+ * builder and the interpreter for everything compiled with the same
+ * {@link CompilerEnvirons}, so a name used in many functions is held once
+ * and the string tables of all the functions share it.
+ * <p>
+ * Strings can be looked up directly from a range of a character array, so
+ * a token that has been seen before does not need a new String just to
+ * find the existing one.
+ * <p>
+ * A global table also passes each new string through
+ * {@link String#intern()}. The JVM keeps one copy of each such string for
+ * the whole process and drops it once no longer used, so scripts loaded
+ * separately share their names, and names in scripts become identical to
+ * the same names used as constants in Java code, which lets property
+ * lookups succeed on the identity check.
+ */
+final class StringInterner
+{
+    private final boolean global;
+    private String[] table;
+    private int[] hashes;
+    private int count;
+
+    StringInterner()
+    {
+        this(false);
+    }
+
+    StringInterner(boolean global)
+    {
+        this(global, 64);
+    }
+
+    StringInterner(boolean global, int initialCapacity)
+    {
+        this.global = global;
+        int capacity = 16;
+        while (capacity < initialCapacity * 2)
+            capacity <<= 1;
+        table = new String[capacity];
+        hashes = new int[capacity];
+    }
+
+    boolean isGlobal()
+    {
+        return global;
+    }
+
+    int size()
+    {
+        return count;
+    }
+
+    /**
+     * Returns the string with the characters
+     * <code>chars[offset .. offset + length - 1]</code>, creating it only
+     * if it is not in the table yet.
+     */
+    String intern(char[] chars, int offset, int length)
+    {
+        int hash = 0;
+        for (int i = 0; i < length; i++)
+            hash = 31 * hash + chars[offset + i];
+
+        int mask = table.length - 1;
+        for (int index = hash & mask;; index = (index + 1) & mask) {
+            String str = table[index];
+            if (str == null) {
+                str = new String(chars, offset, length);
+                if (global)
+                    str = str.intern();
+                insert(index, hash, str);
+                return str;
+            }
+            if (hashes[index] == hash && matches(str, chars, offset, length))
+                return str;
+        }
+    }
+
+    /**
+     * Returns the string in the table equal to <code>str</code>, adding
+     * <code>str</code> itself if there is none.
+     */
+    String intern(String str)
+    {
+        int hash = str.hashCode();
+        int mask = table.length - 1;
+        for (int index = hash & mask;; index = (index + 1) & mask) {
+            String existing = table[index];
+            if (existing == null) {
+                if (global)
+                    str = str.intern();
+                insert(index, hash, str);
+                return str;
+            }
+            if (hashes[index] == hash && existing.equals(str))
+                return existing;
+        }
+    }
+
+    private static boolean matches(String str, char[] chars, int offset,
+                                   int length)
+    {
+        if (str.length() != length)
+            return false;
+        for (int i = 0; i < length; i++) {
+            if (str.charAt(i) != chars[offset + i])
+                return false;
+        }
+        return true;
+    }
+
+    private void insert(int index, int hash, String str)
+    {
+        table[index] = str;
+        hashes[index] = hash;
+        if (++count * 2 > table.length)
+            grow();
+    }
+
+    private void grow()
+    {
+        String[] oldTable = table;
+        int[] oldHashes = hashes;
+        table = new String[oldTable.length * 2];
+        hashes = new int[oldTable.length * 2];
+        int mask = table.length - 1;
+        for (int i = 0; i < oldTable.length; i++) {
+            if (oldTable[i] == null)
+                continue;
+            int index = oldHashes[i] & mask;
+            while (table[index] != null)
+                index = (index + 1) & mask;
+            table[index] = oldTable[i];
+            hashes[index] = oldHashes[i];
+        }
+    }
+}
@@ -46,6 +46,7 @@ package org.mozilla.javascript;
 
 import java.io.IOException;
 import java.io.Reader;
+import java.nio.CharBuffer;
 import java.util.HashMap;
 
 import org.mozilla.javascript.Kit;
@@ -67,21 +68,39 @@ public class TokenCharStream
     final static int
         EOF_CHAR = -1;
 
-    public TokenCharStream(Reader sourceReader, String sourceString,
+    /**
+     * Creates a stream reading from either <code>sourceReader</code> or
+     * <code>sourceChars</code>, one of which must be null.
+     * <p>
+     * A CharBuffer backed by an accessible array, such as the result of
+     * decoding a memory-mapped file, is read in place without copying.
+     * Other character sequences are converted to a String first.
+     */
+    public TokenCharStream(Reader sourceReader, CharSequence sourceChars,
              int lineno)
     {
        this.lineno = lineno;
        if (sourceReader != null) {
-           if (sourceString != null) Kit.codeBug();
+           if (sourceChars != null) Kit.codeBug();
            this.sourceReader = sourceReader;
            this.sourceBuffer = new char[512];
            this.sourceEnd = 0;
+           this.sourceCursor = 0;
+       } else if (sourceChars instanceof CharBuffer
+                  && ((CharBuffer)sourceChars).hasArray()) {
+           // Use the array as a buffer that has already been filled
+           // with the whole source
+           CharBuffer chars = (CharBuffer)sourceChars;
+           this.sourceBuffer = chars.array();
+           this.sourceCursor = chars.arrayOffset() + chars.position();
+           this.sourceEnd = chars.arrayOffset() + chars.limit();
+           this.lineStart = sourceCursor;
        } else {
-           if (sourceString == null) Kit.codeBug();
-           this.sourceString = sourceString;
+           if (sourceChars == null) Kit.codeBug();
+           this.sourceString = sourceChars.toString();
            this.sourceEnd = sourceString.length();
+           this.sourceCursor = 0;
        }
-       this.sourceCursor = 0;
     }
 
     // stuff other than whitespace since start of line
@@ -95,6 +114,10 @@ public class TokenCharStream
 
     private int lineStart = 0;
     int lineno;
+
+    // Line and column of the first character of the last token
+    int tokenLineno;
+    int tokenColumn;
     private int lineEndChar = -1;
     
     private boolean isNormalizeChars = true;
@@ -264,6 +287,16 @@ public class TokenCharStream
         return n;
     }
 
+    /**
+     * Records the position of the character just read as the start of a
+     * token.
+     */
+    final void markTokenStart()
+    {
+        tokenLineno = lineno;
+        tokenColumn = getOffset() - 1;
+    }
+
     // Output is not normalized
     public final String getLine()
     {
@@ -314,6 +347,10 @@ public class TokenCharStream
     private boolean fillSourceBuffer() throws IOException
     {
         if (sourceString != null) Kit.codeBug();
+        if (sourceReader == null) {
+            // The buffer holds the whole source and belongs to the caller
+            return false;
+        }
         if (sourceEnd == sourceBuffer.length) {
             if (lineStart != 0) {
                 System.arraycopy(sourceBuffer, lineStart, sourceBuffer, 0,
@@ -45,6 +45,7 @@
 package org.mozilla.javascript;
 
 import java.io.*;
+import java.util.EnumMap;
 
 import org.mozilla.javascript.babylscript.ArabicTokenizer;
 import org.mozilla.javascript.babylscript.BabylGenericTokenizer;
@@ -77,12 +78,12 @@ import org.mozilla.javascript.babylscript.TurkishTokenizer;
 
 public class TokenStream
 {
-    TokenStream(ParserErrorReportingBase parser, Reader sourceReader, String sourceString,
+    TokenStream(ParserErrorReportingBase parser, Reader sourceReader, CharSequence sourceChars,
                 int lineno, LanguageMode startLanguageMode, CustomTokenizerConfig customLanguageConfig)
     {
         this.parser = parser;
-        this.in = new TokenCharStream(sourceReader, sourceString, lineno);
-        this.englishTokenizer = BabylGenericTokenizer.createEnglishTokenizer(parser, in, this);
+        this.allStrings = parser.compilerEnv.getStringInterner();
+        this.in = new TokenCharStream(sourceReader, sourceChars, lineno);
         this.customLanguageConfig = customLanguageConfig; 
         xmlTokenizer = new XMLTokenizer(parser, in, this);
         if (startLanguageMode == null) startLanguageMode = LanguageMode.en;
@@ -128,6 +129,10 @@ public class TokenStream
 
     final int getOffset() { return in.getOffset(); }
 
+    final int getTokenLineno() { return in.tokenLineno; }
+
+    final int getTokenColumn() { return in.tokenColumn; }
+
     final String getLine() { return in.getLine(); }
 
 
@@ -379,72 +384,64 @@ public class TokenStream
     public void setLanguage(LanguageMode language)
     {
         languageMode = language;
+        // Tokenizers keep no state between tokens, so one per language is
+        // enough however often the source switches languages
+        BabylTokenizer tokenizer = tokenizers.get(language);
+        if (tokenizer == null) {
+            tokenizer = createTokenizer(language);
+            tokenizers.put(language, tokenizer);
+        }
+        currentTokenizer = tokenizer;
+    }
+
+    private BabylTokenizer createTokenizer(LanguageMode language)
+    {
         switch(language)
         {
         case ar:
-            currentTokenizer = new ArabicTokenizer(parser, in, this);
-            break;
+            return new ArabicTokenizer(parser, in, this);
         case bn:
-            currentTokenizer = BabylGenericTokenizer.createBengaliTokenizer(parser, in, this);
-            break;
+            return BabylGenericTokenizer.createBengaliTokenizer(parser, in, this);
         case de:
-            currentTokenizer = new GermanTokenizer(parser, in, this);
-            break;
+            return new GermanTokenizer(parser, in, this);
         case en:
-            currentTokenizer = this.englishTokenizer;
-            break;
+            return BabylGenericTokenizer.createEnglishTokenizer(parser, in, this);
         case eo:
-            currentTokenizer = new EsperantoTokenizer(parser, in, this);
-            break;
+            return new EsperantoTokenizer(parser, in, this);
         case es:
-            currentTokenizer = new SpanishTokenizer(parser, in, this);
-            break;
+            return new SpanishTokenizer(parser, in, this);
         case fr:
-            currentTokenizer = new FrenchTokenizer(parser, in, this);
-            break;
+            return new FrenchTokenizer(parser, in, this);
         case hi:
-            currentTokenizer = BabylGenericTokenizer.createHindiTokenizer(parser, in, this);
-            break;
+            return BabylGenericTokenizer.createHindiTokenizer(parser, in, this);
         case id:
-            currentTokenizer = BabylGenericTokenizer.createMalayIndonesianTokenizer(parser, in, this);
-            break;
+            return BabylGenericTokenizer.createMalayIndonesianTokenizer(parser, in, this);
         case it:
-            currentTokenizer = BabylGenericTokenizer.createItalianTokenizer(parser, in, this);
-            break;
+            return BabylGenericTokenizer.createItalianTokenizer(parser, in, this);
         case ja:
-            currentTokenizer = new JapaneseTokenizer(parser, in, this);
-            break;
+            return new JapaneseTokenizer(parser, in, this);
         case ko:
-            currentTokenizer = new KoreanTokenizer(parser, in, this);
-            break;
+            return new KoreanTokenizer(parser, in, this);
         case nl:
-            currentTokenizer = BabylGenericTokenizer.createDutchTokenizer(parser, in, this);
-            break;
+            return BabylGenericTokenizer.createDutchTokenizer(parser, in, this);
         case pl:
-            currentTokenizer = BabylGenericTokenizer.createPolishTokenizer(parser, in, this);
-            break;
+            return BabylGenericTokenizer.createPolishTokenizer(parser, in, this);
         case pt:
-            currentTokenizer = new PortugueseTokenizer(parser, in, this);
-            break;
+            return new PortugueseTokenizer(parser, in, this);
         case ro:
-            currentTokenizer = new RomanianTokenizer(parser, in, this);
-            break;
+            return new RomanianTokenizer(parser, in, this);
         case ru:
-            currentTokenizer = new RussianTokenizer(parser, in, this);
-            break;
+            return new RussianTokenizer(parser, in, this);
         case sw:
-            currentTokenizer = BabylGenericTokenizer.createSwahiliTokenizer(parser, in, this);
-            break;
+            return BabylGenericTokenizer.createSwahiliTokenizer(parser, in, this);
         case tr:
-            currentTokenizer = new TurkishTokenizer(parser, in, this);
-            break;
+            return new TurkishTokenizer(parser, in, this);
         case zh:
-            currentTokenizer = new ChineseTokenizer(parser, in, this);
-            break;
+            return new ChineseTokenizer(parser, in, this);
         case test:
-            this.currentTokenizer = new CustomTokenizer(parser, in, this, customLanguageConfig);
-            break;
+            return new CustomTokenizer(parser, in, this, customLanguageConfig);
         }
+        return null;
     }
 
     public String getLastLanguageString()
@@ -463,13 +460,14 @@ public class TokenStream
 
     private char[] stringBuffer = new char[128];
     private int stringBufferTop;
-    ObjToIntMap allStrings = new ObjToIntMap(50);
+    StringInterner allStrings;
 
     private TokenCharStream in;
 
     private LanguageMode languageMode = LanguageMode.en;
     private BabylTokenizer currentTokenizer;
-    private BabylTokenizer englishTokenizer;
+    private final EnumMap<LanguageMode, BabylTokenizer> tokenizers =
+        new EnumMap<LanguageMode, BabylTokenizer>(LanguageMode.class);
     private CustomTokenizerConfig customLanguageConfig;
     private XMLTokenizer xmlTokenizer;
     
@@ -0,0 +1,174 @@
+/* -*- Mode: java; tab-width: 8; indent-tabs-mode: nil; c-basic-offset: 4 -*-
+ *
+ * ***** BEGIN LICENSE BLOCK *****
+ * Version: MPL 1.1/GPL 2.0
+ *
+ * The contents of this file are subject to the Mozilla Public License Version
+ * 1.1 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ * http://www.mozilla.org/MPL/
+ *
+ * Software distributed under the License is distributed on an "AS IS" basis,
+ * WITHOUT WARRANTY OF ANY KIND, either express or implied. See the License
+ * for the specific language governing rights and limitations under the
+ * License.
+ *
+ * The Original Code is Rhino code, released
+ * May 6, 1999.
+ *
+ * The Initial Developer of the Original Code is
+ * Netscape Communications Corporation.
+ * Portions created by the Initial Developer are Copyright (C) 1997-1999
+ * the Initial Developer. All Rights Reserved.
+ *
+ * Contributor(s):
+ *
+ * Alternatively, the contents of this file may be used under the terms of
+ * the GNU General Public License Version 2 or later (the "GPL"), in which
+ * case the provisions of the GPL are applicable instead of those above. If
+ * you wish to allow use of your version of this file only under the terms of
+ * the GPL and not to allow others to use your version of this file under the
+ * MPL, indicate your decision by deleting the provisions above and replacing
+ * them with the notice and other provisions required by the GPL. If you do
+ * not delete the provisions above, a recipient may use your version of this
+ * file under either the MPL or the GPL.
+ *
+ * ***** END LICENSE BLOCK ***** */
+
+package org.mozilla.javascript;
+
+import java.io.Serializable;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Inline cache for one language-qualified property access site in
+ * interpreted code. It remembers which default name a (language, name)
+ * pair resolved to for receivers with a given class, translation table
+ * and prototype, so that repeated accesses from the same site do not walk
+ * the prototype chain looking for translations.
+ * <p>
+ * All caches are invalidated together whenever a translated name or the
+ * prototype of an object that some cache entry or chain filter depends on
+ * is changed, since either can change what a name resolves to. Objects
+ * that nothing has looked at yet, like the ones a new scope is built
+ * from, can be set up without invalidating anything.
+ */
+final class TranslatedNameCache implements Serializable
+{
+    static final long serialVersionUID = -2736311538129467742L;
+
+    private static final AtomicInteger epoch = new AtomicInteger();
+
+    private static final ConcurrentHashMap<Class<?>, Boolean> cacheableClasses
+        = new ConcurrentHashMap<Class<?>, Boolean>();
+
+    private static final class Entry
+    {
+        final int epoch;
+        final Class<?> receiverClass;
+        final TranslationTable receiverTranslations;
+        final Scriptable receiverPrototype;
+        final String resolvedName;
+
+        Entry(int epoch, ScriptableObject receiver, String resolvedName)
+        {
+            this.epoch = epoch;
+            this.receiverClass = receiver.getClass();
+            this.receiverTranslations = receiver.getTranslationTable();
+            this.receiverPrototype = receiver.getPrototype();
+            this.resolvedName = resolvedName;
+        }
+    }
+
+    private transient volatile Entry entry;
+
+    /**
+     * Invalidates all caches. Called after a change to the translated names
+     * or the prototype of an object that cached state may depend on.
+     */
+    static void invalidateAll()
+    {
+        epoch.incrementAndGet();
+    }
+
+    /**
+     * Returns the current invalidation epoch. Anything derived from
+     * translated names or prototypes in an earlier epoch may be stale.
+     */
+    static int currentEpoch()
+    {
+        return epoch.get();
+    }
+
+    /**
+     * Returns the default name that <code>name</code> in language
+     * <code>lang</code> resolves to when accessed on <code>obj</code>.
+     * The result can be looked up without a language.
+     */
+    String resolve(Scriptable obj, String lang, String name)
+    {
+        if (obj instanceof ScriptableObject) {
+            ScriptableObject so = (ScriptableObject)obj;
+            Entry e = entry;
+            int currentEpoch = epoch.get();
+            if (e != null
+                && e.epoch == currentEpoch
+                && e.receiverClass == so.getClass()
+                && e.receiverTranslations == so.getTranslationTable()
+                && e.receiverPrototype == so.getPrototype())
+            {
+                return e.resolvedName != null ? e.resolvedName : name;
+            }
+            if (isCacheableChain(so)) {
+                // The chain is now observed, so any change from here on
+                // moves the epoch past the one the entry is stamped with
+                currentEpoch = epoch.get();
+                String trans = ScriptableObject.getTranslatedNameWithPrototype(obj, lang, name);
+                entry = new Entry(currentEpoch, so, trans);
+                return trans != null ? trans : name;
+            }
+        }
+        String trans = ScriptableObject.getTranslatedNameWithPrototype(obj, lang, name);
+        return trans != null ? trans : name;
+    }
+
+    /**
+     * The cache relies on ScriptableObject's own bookkeeping of translated
+     * names and prototypes, so every object in the chain must use it. The
+     * objects are marked as observed on the way.
+     */
+    private static boolean isCacheableChain(Scriptable obj)
+    {
+        do {
+            if (!(obj instanceof ScriptableObject) || !isCacheableClass(obj.getClass()))
+                return false;
+            ((ScriptableObject)obj).observeTranslations();
+            obj = obj.getPrototype();
+        } while (obj != null);
+        return true;
+    }
+
+    static boolean isCacheableClass(Class<?> cl)
+    {
+        Boolean cacheable = cacheableClasses.get(cl);
+        if (cacheable == null) {
+            boolean result;
+            try {
+                Class<?> translationOwner = cl.getMethod("getTranslatedName",
+                    String.class, String.class, Scriptable.class).getDeclaringClass();
+                Class<?> prototypeOwner = cl.getMethod("getPrototype").getDeclaringClass();
+                result = translationOwner == ScriptableObject.class
+                         && (prototypeOwner == ScriptableObject.class
+                             || prototypeOwner == IdFunctionObject.class);
+            } catch (NoSuchMethodException ex) {
+                result = false;
+            } catch (SecurityException ex) {
+                result = false;
+            }
+            cacheable = Boolean.valueOf(result);
+            cacheableClasses.put(cl, cacheable);
+        }
+        return cacheable.booleanValue();
+    }
+}
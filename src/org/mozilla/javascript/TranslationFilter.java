@@ -0,0 +1,168 @@
+/* -*- Mode: java; tab-width: 8; indent-tabs-mode: nil; c-basic-offset: 4 -*-
+ *
+ * ***** BEGIN LICENSE BLOCK *****
+ * Version: MPL 1.1/GPL 2.0
+ *
+ * The contents of this file are subject to the Mozilla Public License Version
+ * 1.1 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ * http://www.mozilla.org/MPL/
+ *
+ * Software distributed under the License is distributed on an "AS IS" basis,
+ * WITHOUT WARRANTY OF ANY KIND, either express or implied. See the License
+ * for the specific language governing rights and limitations under the
+ * License.
+ *
+ * The Original Code is Rhino code, released
+ * May 6, 1999.
+ *
+ * The Initial Developer of the Original Code is
+ * Netscape Communications Corporation.
+ * Portions created by the Initial Developer are Copyright (C) 1997-1999
+ * the Initial Developer. All Rights Reserved.
+ *
+ * Contributor(s):
+ *
+ * Alternatively, the contents of this file may be used under the terms of
+ * the GNU General Public License Version 2 or later (the "GPL"), in which
+ * case the provisions of the GPL are applicable instead of those above. If
+ * you wish to allow use of your version of this file only under the terms of
+ * the GPL and not to allow others to use your version of this file under the
+ * MPL, indicate your decision by deleting the provisions above and replacing
+ * them with the notice and other provisions required by the GPL. If you do
+ * not delete the provisions above, a recipient may use your version of this
+ * file under either the MPL or the GPL.
+ *
+ * ***** END LICENSE BLOCK ***** */
+
+package org.mozilla.javascript;
+
+/**
+ * Bloom filter over the translated names defined anywhere in a prototype
+ * chain. Most language-qualified accesses name a property that has no
+ * translation at all, and a negative answer from the filter lets the
+ * lookup skip walking the chain for translations.
+ * <p>
+ * A filter covers the translation table of one object plus the filter of
+ * its prototype. Frozen tables remember the last filter built on top of
+ * them, so standard prototype chains, which share their frozen tables
+ * across scopes, also share their filters.
+ */
+final class TranslationFilter
+{
+    private static final int BITS_PER_ENTRY = 16;
+    private static final int MIN_BITS = 64;
+    private static final int MAX_BITS = 1 << 17;
+
+    /**
+     * Filter for the end of a prototype chain. It contains nothing.
+     */
+    static final TranslationFilter NONE = new TranslationFilter(null, null);
+
+    /**
+     * A filter together with the invalidation epoch of
+     * {@link TranslatedNameCache} it was computed in. A null filter means
+     * the chain cannot be filtered.
+     */
+    static final class Stamp
+    {
+        final int epoch;
+        final TranslationFilter filter;
+
+        Stamp(int epoch, TranslationFilter filter)
+        {
+            this.epoch = epoch;
+            this.filter = filter;
+        }
+    }
+
+    private final TranslationTable table;
+    private final TranslationFilter parent;
+    private final long[] bits;
+    private final int mask;
+
+    private TranslationFilter(TranslationTable table, TranslationFilter parent)
+    {
+        this.table = table;
+        this.parent = parent;
+        int entries = 0;
+        for (TranslationFilter f = this; f.table != null; f = f.parent) {
+            entries += f.table.size();
+        }
+        int size = MIN_BITS;
+        while (size < entries * BITS_PER_ENTRY && size < MAX_BITS) {
+            size <<= 1;
+        }
+        bits = new long[size >>> 6];
+        mask = size - 1;
+        for (TranslationFilter f = this; f.table != null; f = f.parent) {
+            f.table.addNamesTo(this);
+        }
+    }
+
+    /**
+     * Returns the filter for an object with the given translation table
+     * whose prototype chain is covered by <code>parent</code>.
+     */
+    static TranslationFilter combine(TranslationTable table,
+                                     TranslationFilter parent)
+    {
+        if (table.size() == 0)
+            return parent;
+        if (!table.isFrozen())
+            return new TranslationFilter(table, parent);
+        TranslationFilter last = table.getLastFilter();
+        if (last != null && last.parent == parent)
+            return last;
+        TranslationFilter result = new TranslationFilter(table, parent);
+        table.setLastFilter(result);
+        return result;
+    }
+
+    void add(String lang, String name)
+    {
+        int h = hash(lang, name);
+        setBit(h);
+        setBit(rehash(h));
+    }
+
+    /**
+     * Returns false if no object covered by this filter has a translation
+     * of <code>name</code> in <code>lang</code>.
+     */
+    boolean mightContain(String lang, String name)
+    {
+        if (table == null)
+            return false;
+        int h = hash(lang, name);
+        return getBit(h) && getBit(rehash(h));
+    }
+
+    private void setBit(int h)
+    {
+        int i = h & mask;
+        bits[i >>> 6] |= 1L << i;
+    }
+
+    private boolean getBit(int h)
+    {
+        int i = h & mask;
+        return (bits[i >>> 6] & (1L << i)) != 0;
+    }
+
+    private static int hash(String lang, String name)
+    {
+        int h = name.hashCode() * 31 + lang.hashCode();
+        h ^= h >>> 16;
+        h *= 0x85ebca6b;
+        h ^= h >>> 13;
+        return h;
+    }
+
+    private static int rehash(int h)
+    {
+        h *= 0xc2b2ae35;
+        h ^= h >>> 16;
+        return h;
+    }
+}
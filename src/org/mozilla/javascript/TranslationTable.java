@@ -0,0 +1,286 @@
+/* -*- Mode: java; tab-width: 8; indent-tabs-mode: nil; c-basic-offset: 4 -*-
+ *
+ * ***** BEGIN LICENSE BLOCK *****
+ * Version: MPL 1.1/GPL 2.0
+ *
+ * The contents of this file are subject to the Mozilla Public License Version
+ * 1.1 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ * http://www.mozilla.org/MPL/
+ *
+ * Software distributed under the License is distributed on an "AS IS" basis,
+ * WITHOUT WARRANTY OF ANY KIND, either express or implied. See the License
+ * for the specific language governing rights and limitations under the
+ * License.
+ *
+ * The Original Code is Rhino code, released
+ * May 6, 1999.
+ *
+ * The Initial Developer of the Original Code is
+ * Netscape Communications Corporation.
+ * Portions created by the Initial Developer are Copyright (C) 1997-1999
+ * the Initial Developer. All Rights Reserved.
+ *
+ * Contributor(s):
+ *
+ * Alternatively, the contents of this file may be used under the terms of
+ * the GNU General Public License Version 2 or later (the "GPL"), in which
+ * case the provisions of the GPL are applicable instead of those above. If
+ * you wish to allow use of your version of this file only under the terms of
+ * the GPL and not to allow others to use your version of this file under the
+ * MPL, indicate your decision by deleting the provisions above and replacing
+ * them with the notice and other provisions required by the GPL. If you do
+ * not delete the provisions above, a recipient may use your version of this
+ * file under either the MPL or the GPL.
+ *
+ * ***** END LICENSE BLOCK ***** */
+
+package org.mozilla.javascript;
+
+import java.io.Serializable;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+import org.mozilla.javascript.babylscript.TranslatedNameBindings;
+
+/**
+ * Holds the translated names of a ScriptableObject. The mapping from
+ * translated names to default names and the inverse mapping are kept
+ * together so that an object only ever needs one extra allocation
+ * for its translations.
+ * <p>
+ * A table is either mutable or frozen. Frozen tables never change, so
+ * they can be shared by any number of objects, possibly across scopes.
+ * A ScriptableObject that holds a frozen table copies it the first time
+ * its translations are modified. Almost no objects ever receive a
+ * translated name, so objects start out pointing at the shared
+ * {@link #EMPTY} table.
+ */
+public final class TranslationTable implements Serializable
+{
+    static final long serialVersionUID = 7219425330398427643L;
+
+    /**
+     * Shared frozen table used by all objects without translated names.
+     */
+    static final TranslationTable EMPTY = new TranslationTable(
+        new HashMap<String, Map<String, String>>(),
+        new HashMap<String, Map<String, String>>(), true);
+
+    private final Map<String, Map<String, String>> translations;
+    private final Map<String, Map<String, String>> reverseTranslations;
+    private final boolean frozen;
+
+    /**
+     * Last Bloom filter built on top of this table, if it is frozen.
+     */
+    private transient volatile TranslationFilter lastFilter;
+
+    /**
+     * Creates an empty, mutable table.
+     */
+    public TranslationTable()
+    {
+        this(new ConcurrentHashMap<String, Map<String, String>>(),
+             new ConcurrentHashMap<String, Map<String, String>>(), false);
+    }
+
+    private TranslationTable(Map<String, Map<String, String>> translations,
+                             Map<String, Map<String, String>> reverseTranslations,
+                             boolean frozen)
+    {
+        this.translations = translations;
+        this.reverseTranslations = reverseTranslations;
+        this.frozen = frozen;
+    }
+
+    public boolean isFrozen()
+    {
+        return frozen;
+    }
+
+    /**
+     * Returns a frozen copy of this table that can be shared by many
+     * objects.
+     */
+    public TranslationTable freeze()
+    {
+        if (frozen) return this;
+        return new TranslationTable(copy(translations, true),
+                                    copy(reverseTranslations, true), true);
+    }
+
+    /**
+     * Returns a mutable copy of this table.
+     */
+    TranslationTable thaw()
+    {
+        return new TranslationTable(copy(translations, false),
+                                    copy(reverseTranslations, false), false);
+    }
+
+    boolean has(String lang, String name)
+    {
+        Map<String, String> trans = translations.get(lang);
+        if (trans == null) return false;
+        return trans.containsKey(name);
+    }
+
+    boolean hasLanguage(String lang)
+    {
+        Map<String, String> trans = translations.get(lang);
+        return trans != null && !trans.isEmpty();
+    }
+
+    String get(String lang, String name)
+    {
+        Map<String, String> trans = translations.get(lang);
+        if (trans == null) return null;
+        return trans.get(name);
+    }
+
+    String getReverse(String lang, String name)
+    {
+        Map<String, String> trans = reverseTranslations.get(lang);
+        if (trans == null) return null;
+        return trans.get(name);
+    }
+
+    /**
+     * Returns the number of translated names, counting each language name
+     * separately.
+     */
+    int size()
+    {
+        int size = 0;
+        for (Map<String, String> trans: translations.values())
+            size += trans.size();
+        return size;
+    }
+
+    void addNamesTo(TranslationFilter filter)
+    {
+        for (Map.Entry<String, Map<String, String>> entry: translations.entrySet())
+        {
+            String lang = entry.getKey();
+            for (String name: entry.getValue().keySet())
+                filter.add(lang, name);
+        }
+    }
+
+    TranslationFilter getLastFilter()
+    {
+        return lastFilter;
+    }
+
+    void setLastFilter(TranslationFilter filter)
+    {
+        lastFilter = filter;
+    }
+
+    void delete(String lang, String name)
+    {
+        checkNotFrozen();
+        Map<String, String> trans = translations.get(lang);
+        if (trans == null) return;
+        String val = trans.remove(name);
+
+        if (val != null)
+        {
+            trans = reverseTranslations.get(lang);
+            if (trans == null) return;
+            // TODO: not quite right if mappings are not 1:1
+            trans.remove(val);
+        }
+    }
+
+    public void put(String lang, String name, String value)
+    {
+        checkNotFrozen();
+        languageMapping(translations, lang).put(name, value);
+        languageMapping(reverseTranslations, lang).put(value, name);
+    }
+
+    void clear(String lang)
+    {
+        checkNotFrozen();
+        Map<String, String> trans = translations.get(lang);
+        if (trans == null) return;
+        trans.clear();
+        trans = reverseTranslations.get(lang);
+        if (trans != null)
+            trans.clear();
+    }
+
+    private void checkNotFrozen()
+    {
+        if (frozen) throw new IllegalStateException();
+    }
+
+    private static Map<String, String> languageMapping(
+        Map<String, Map<String, String>> mappings, String lang)
+    {
+        Map<String, String> trans = mappings.get(lang);
+        if (trans != null)
+            return trans;
+
+        ConcurrentMap<String, Map<String, String>> map
+            = (ConcurrentMap<String, Map<String, String>>)mappings;
+        Map<String, String> newLanguageMapping = new ConcurrentHashMap<String, String>();
+        String [] equivs = TranslatedNameBindings.EquivalentLanguageNames.get(lang);
+        if (equivs != null)
+        {
+            // Different strings refer to the same language, so we map these different strings
+            // to the same mapping
+
+            // To prevent race conditions, we need to do the substitutions
+            // in order (the order is described in TranslatedNameBindings.EquivalentLanguageNames
+            for (String equivLang: equivs)
+            {
+                Map<String, String> old = map.putIfAbsent(equivLang, newLanguageMapping);
+                if (old != null)
+                    newLanguageMapping = old;
+            }
+        }
+        else
+            map.putIfAbsent(lang, newLanguageMapping);
+        return map.get(lang);
+    }
+
+    /**
+     * Copies the per-language mappings, keeping equivalent language names
+     * pointing at one shared mapping.
+     */
+    private static Map<String, Map<String, String>> copy(
+        Map<String, Map<String, String>> mappings, boolean frozen)
+    {
+        Map<String, Map<String, String>> result = frozen
+            ? new HashMap<String, Map<String, String>>()
+            : new ConcurrentHashMap<String, Map<String, String>>();
+        Map<Map<String, String>, Map<String, String>> copies
+            = new IdentityHashMap<Map<String, String>, Map<String, String>>();
+        for (Map.Entry<String, Map<String, String>> entry: mappings.entrySet())
+        {
+            Map<String, String> trans = entry.getValue();
+            Map<String, String> copied = copies.get(trans);
+            if (copied == null)
+            {
+                copied = frozen ? new HashMap<String, String>(trans)
+                                : new ConcurrentHashMap<String, String>(trans);
+                copies.put(trans, copied);
+            }
+            result.put(entry.getKey(), copied);
+        }
+        return result;
+    }
+
+    private Object readResolve()
+    {
+        if (translations.isEmpty() && reverseTranslations.isEmpty())
+            return frozen ? EMPTY : this;
+        return this;
+    }
+}
@@ -91,7 +91,7 @@ public class WrapFactory
         }
         if (!isJavaPrimitiveWrap()) {
             if (obj instanceof String || obj instanceof Number
-                || obj instanceof Boolean)
+                || obj instanceof Boolean || obj instanceof ConsString)
             {
                 return obj;
             } else if (obj instanceof Character) {
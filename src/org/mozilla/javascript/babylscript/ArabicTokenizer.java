@@ -59,7 +59,7 @@ public class ArabicTokenizer extends BabylGenericTokenizer
                 in, 
                 ts, 
                 new BabylTokenizer.DecimalNumberReader('.', ',', '\u0660', '\u066B'),
-                TranslatedNameBindings.getKeywordMap("ar"));
+                "ar");
     }
 
     protected int matchSymbol(int c) throws IOException
@@ -44,81 +44,160 @@
 
 package org.mozilla.javascript.babylscript;
 
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
 import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 
 import org.mozilla.javascript.BabylTokenizer;
 import org.mozilla.javascript.ParserErrorReportingBase;
+import org.mozilla.javascript.Token;
 import org.mozilla.javascript.TokenCharStream;
 import org.mozilla.javascript.TokenStream;
+import org.mozilla.javascript.babylscript.gen.KeywordAutomata;
 
 public class BabylGenericTokenizer extends BabylTokenizer
 {
+    private static final ConcurrentHashMap<String, Map<String, Integer>> sharedKeywordTables =
+        new ConcurrentHashMap<String, Map<String, Integer>>();
+    private static final ConcurrentHashMap<String, KeywordAutomaton> sharedKeywordAutomata =
+        new ConcurrentHashMap<String, KeywordAutomaton>();
+
+    private KeywordAutomaton keywordAutomaton;
+
     BabylGenericTokenizer(ParserErrorReportingBase p, TokenCharStream in, TokenStream ts, DecimalNumberReader numberReader, Map<String, String> keywords)
     {
         super(p, in, ts, numberReader);
-        
-        keywordLookup.put(keywords.get("function"), Id_function);
-        keywordLookup.put(keywords.get("if"), Id_if);
-        keywordLookup.put(keywords.get("else"), Id_else);
-        keywordLookup.put(keywords.get("for"), Id_for);
-        keywordLookup.put(keywords.get("while"), Id_while);
-        keywordLookup.put(keywords.get("return"), Id_return);  
-        keywordLookup.put(keywords.get("do"), Id_do);
-        keywordLookup.put(keywords.get("true"), Id_true);
-        keywordLookup.put(keywords.get("false"), Id_false);
-        keywordLookup.put(keywords.get("var"), Id_var);
-        keywordLookup.put(keywords.get("break"), Id_break);
-        keywordLookup.put(keywords.get("try"), Id_try);
-        keywordLookup.put(keywords.get("switch"), Id_switch);
-        keywordLookup.put(keywords.get("case"), Id_case);
-        keywordLookup.put(keywords.get("null"), Id_null);
+        keywordLookup = buildKeywordTable(keywords);
+    }
+
+    /**
+     * Creates a tokenizer for one of the built-in languages. The keyword
+     * table for the language is built once and shared by all tokenizers.
+     */
+    BabylGenericTokenizer(ParserErrorReportingBase p, TokenCharStream in, TokenStream ts, DecimalNumberReader numberReader, String language)
+    {
+        super(p, in, ts, numberReader);
+        keywordLookup = sharedKeywordTable(language);
+        keywordAutomaton = sharedKeywordAutomaton(language);
+    }
+
+    protected int bufferToKeyword()
+    {
+        if (keywordAutomaton == null)
+            return super.bufferToKeyword();
+        int result = keywordAutomaton.match(getStringBuffer(), getStringBufferTop());
+        return result < 0 ? Token.EOF : result;
+    }
+
+    static Map<String, Integer> sharedKeywordTable(String language)
+    {
+        Map<String, Integer> table = sharedKeywordTables.get(language);
+        if (table == null)
+        {
+            table = buildKeywordTable(TranslatedNameBindings.getKeywordMap(language));
+            Map<String, Integer> old = sharedKeywordTables.putIfAbsent(language, table);
+            if (old != null)
+                table = old;
+        }
+        return table;
+    }
+
+    /**
+     * Returns the automaton generated for the keywords of a built-in
+     * language, or null if none was generated.
+     */
+    static KeywordAutomaton sharedKeywordAutomaton(String language)
+    {
+        KeywordAutomaton automaton = sharedKeywordAutomata.get(language);
+        if (automaton == null)
+        {
+            int index = Arrays.asList(KeywordAutomata.LANGUAGES).indexOf(language);
+            if (index < 0)
+            {
+                if (language.equals("en"))
+                    return null;
+                return sharedKeywordAutomaton("en");
+            }
+            Map<String, Integer> english = sharedKeywordTable("en");
+            int[] ids = new int[KeywordAutomata.KEYWORDS.length];
+            for (int n = 0; n < ids.length; n++)
+                ids[n] = english.get(KeywordAutomata.KEYWORDS[n]).intValue() & 0xff;
+            automaton = new KeywordAutomaton(KeywordAutomata.AUTOMATA[index], ids);
+            KeywordAutomaton old = sharedKeywordAutomata.putIfAbsent(language, automaton);
+            if (old != null)
+                automaton = old;
+        }
+        return automaton;
+    }
+
+    static Map<String, Integer> buildKeywordTable(Map<String, String> keywords)
+    {
+        Map<String, Integer> table = new HashMap<String, Integer>();
+        table.put(keywords.get("function"), Id_function);
+        table.put(keywords.get("if"), Id_if);
+        table.put(keywords.get("else"), Id_else);
+        table.put(keywords.get("for"), Id_for);
+        table.put(keywords.get("while"), Id_while);
+        table.put(keywords.get("return"), Id_return);
+        table.put(keywords.get("do"), Id_do);
+        table.put(keywords.get("true"), Id_true);
+        table.put(keywords.get("false"), Id_false);
+        table.put(keywords.get("var"), Id_var);
+        table.put(keywords.get("break"), Id_break);
+        table.put(keywords.get("try"), Id_try);
+        table.put(keywords.get("switch"), Id_switch);
+        table.put(keywords.get("case"), Id_case);
+        table.put(keywords.get("null"), Id_null);
 
-        keywordLookup.put(keywords.get("in"), Id_in);
-        keywordLookup.put(keywords.get("int"), Id_int);
-        keywordLookup.put(keywords.get("let"), Id_let);
-        keywordLookup.put(keywords.get("new"), Id_new);
-        keywordLookup.put(keywords.get("byte"), Id_byte);
-        keywordLookup.put(keywords.get("char"), Id_char);
-        keywordLookup.put(keywords.get("enum"), Id_enum);
-        keywordLookup.put(keywords.get("goto"), Id_goto);
-        keywordLookup.put(keywords.get("long"), Id_long);
-        keywordLookup.put(keywords.get("this"), Id_this);
-        keywordLookup.put(keywords.get("void"), Id_void);
-        keywordLookup.put(keywords.get("with"), Id_with);
-        keywordLookup.put(keywords.get("class"), Id_class);
-        keywordLookup.put(keywords.get("yield"), Id_yield);
-        keywordLookup.put(keywords.get("const"), Id_const);
-        keywordLookup.put(keywords.get("final"), Id_final);
-        keywordLookup.put(keywords.get("float"), Id_float);
-        keywordLookup.put(keywords.get("short"), Id_short);
-        keywordLookup.put(keywords.get("super"), Id_super);
-        keywordLookup.put(keywords.get("throw"), Id_throw);
-        keywordLookup.put(keywords.get("catch"), Id_catch);
-        keywordLookup.put(keywords.get("native"), Id_native);
-        keywordLookup.put(keywords.get("delete"), Id_delete);
-        keywordLookup.put(keywords.get("throws"), Id_throws);
-        keywordLookup.put(keywords.get("import"), Id_import);
-        keywordLookup.put(keywords.get("double"), Id_double);
-        keywordLookup.put(keywords.get("static"), Id_static);
-        keywordLookup.put(keywords.get("public"), Id_public);
-        keywordLookup.put(keywords.get("export"), Id_export);
-        keywordLookup.put(keywords.get("typeof"), Id_typeof);
-        keywordLookup.put(keywords.get("package"), Id_package);
-        keywordLookup.put(keywords.get("default"), Id_default);
-        keywordLookup.put(keywords.get("finally"), Id_finally);
-        keywordLookup.put(keywords.get("boolean"), Id_boolean);
-        keywordLookup.put(keywords.get("private"), Id_private);
-        keywordLookup.put(keywords.get("extends"), Id_extends);
-        keywordLookup.put(keywords.get("abstract"), Id_abstract);
-        keywordLookup.put(keywords.get("continue"), Id_continue);
-        keywordLookup.put(keywords.get("debugger"), Id_debugger);
-        keywordLookup.put(keywords.get("volatile"), Id_volatile);
-        keywordLookup.put(keywords.get("interface"), Id_interface);
-        keywordLookup.put(keywords.get("protected"), Id_protected);
-        keywordLookup.put(keywords.get("transient"), Id_transient);
-        keywordLookup.put(keywords.get("implements"), Id_implements);
-        keywordLookup.put(keywords.get("instanceof"), Id_instanceof);
-        keywordLookup.put(keywords.get("synchronized"), Id_synchronized);    
+        table.put(keywords.get("in"), Id_in);
+        table.put(keywords.get("int"), Id_int);
+        table.put(keywords.get("let"), Id_let);
+        table.put(keywords.get("new"), Id_new);
+        table.put(keywords.get("byte"), Id_byte);
+        table.put(keywords.get("char"), Id_char);
+        table.put(keywords.get("enum"), Id_enum);
+        table.put(keywords.get("goto"), Id_goto);
+        table.put(keywords.get("long"), Id_long);
+        table.put(keywords.get("this"), Id_this);
+        table.put(keywords.get("void"), Id_void);
+        table.put(keywords.get("with"), Id_with);
+        table.put(keywords.get("class"), Id_class);
+        table.put(keywords.get("yield"), Id_yield);
+        table.put(keywords.get("const"), Id_const);
+        table.put(keywords.get("final"), Id_final);
+        table.put(keywords.get("float"), Id_float);
+        table.put(keywords.get("short"), Id_short);
+        table.put(keywords.get("super"), Id_super);
+        table.put(keywords.get("throw"), Id_throw);
+        table.put(keywords.get("catch"), Id_catch);
+        table.put(keywords.get("native"), Id_native);
+        table.put(keywords.get("delete"), Id_delete);
+        table.put(keywords.get("throws"), Id_throws);
+        table.put(keywords.get("import"), Id_import);
+        table.put(keywords.get("double"), Id_double);
+        table.put(keywords.get("static"), Id_static);
+        table.put(keywords.get("public"), Id_public);
+        table.put(keywords.get("export"), Id_export);
+        table.put(keywords.get("typeof"), Id_typeof);
+        table.put(keywords.get("package"), Id_package);
+        table.put(keywords.get("default"), Id_default);
+        table.put(keywords.get("finally"), Id_finally);
+        table.put(keywords.get("boolean"), Id_boolean);
+        table.put(keywords.get("private"), Id_private);
+        table.put(keywords.get("extends"), Id_extends);
+        table.put(keywords.get("abstract"), Id_abstract);
+        table.put(keywords.get("continue"), Id_continue);
+        table.put(keywords.get("debugger"), Id_debugger);
+        table.put(keywords.get("volatile"), Id_volatile);
+        table.put(keywords.get("interface"), Id_interface);
+        table.put(keywords.get("protected"), Id_protected);
+        table.put(keywords.get("transient"), Id_transient);
+        table.put(keywords.get("implements"), Id_implements);
+        table.put(keywords.get("instanceof"), Id_instanceof);
+        table.put(keywords.get("synchronized"), Id_synchronized);
+        return Collections.unmodifiableMap(table);
     }
     
     public static BabylTokenizer createEnglishTokenizer(ParserErrorReportingBase p, TokenCharStream in, TokenStream ts)
@@ -127,7 +206,7 @@ public class BabylGenericTokenizer extends BabylTokenizer
                 in, 
                 ts, 
                 new BabylTokenizer.DecimalNumberReader(),
-                TranslatedNameBindings.getKeywordMap("en"));
+                "en");
     }
     public static BabylTokenizer createBengaliTokenizer(ParserErrorReportingBase p, TokenCharStream in, TokenStream ts)
     {
@@ -135,7 +214,7 @@ public class BabylGenericTokenizer extends BabylTokenizer
                 in, 
                 ts, 
                 new BabylTokenizer.DecimalNumberReader('.', '\u09E6', '.'),
-                TranslatedNameBindings.getKeywordMap("bn"));
+                "bn");
     }
     public static BabylTokenizer createHindiTokenizer(ParserErrorReportingBase p, TokenCharStream in, TokenStream ts)
     {
@@ -143,7 +222,7 @@ public class BabylGenericTokenizer extends BabylTokenizer
                 in, 
                 ts, 
                 new BabylTokenizer.DecimalNumberReader('.', '\u0966', '.'),
-                TranslatedNameBindings.getKeywordMap("hi"));
+                "hi");
     }
     public static BabylTokenizer createItalianTokenizer(ParserErrorReportingBase p, TokenCharStream in, TokenStream ts)
     {
@@ -151,7 +230,7 @@ public class BabylGenericTokenizer extends BabylTokenizer
                     in, 
                     ts, 
                     new BabylTokenizer.DecimalNumberReader(','),
-                    TranslatedNameBindings.getKeywordMap("it")) {
+                    "it") {
                 protected boolean isStringDelimiter(int ch)
                 {
                     return (ch == '\'' || ch == '\"' || ch == '\u00AB' || ch == '\u2018' || ch == '\u2019' || ch == '\u201c' || ch == '\u201d');
@@ -164,7 +243,7 @@ public class BabylGenericTokenizer extends BabylTokenizer
                     in, 
                     ts, 
                     new BabylTokenizer.DecimalNumberReader(','),
-                    TranslatedNameBindings.getKeywordMap("nl")) {
+                    "nl") {
                 protected boolean isStringDelimiter(int ch)
                 {
                     return (ch == '\'' || ch == '\"'
@@ -179,7 +258,7 @@ public class BabylGenericTokenizer extends BabylTokenizer
                     in, 
                     ts, 
                     new BabylTokenizer.DecimalNumberReader(','),
-                    TranslatedNameBindings.getKeywordMap("pl")) {
+                    "pl") {
                 protected boolean isStringDelimiter(int ch)
                 {
                     return (ch == '\'' || ch == '\"'
@@ -196,7 +275,7 @@ public class BabylGenericTokenizer extends BabylTokenizer
                     in, 
                     ts, 
                     new BabylTokenizer.DecimalNumberReader('.'),
-                    TranslatedNameBindings.getKeywordMap("sw"));
+                    "sw");
     }
     public static BabylTokenizer createMalayIndonesianTokenizer(ParserErrorReportingBase p, TokenCharStream in, TokenStream ts)
     {
@@ -204,7 +283,7 @@ public class BabylGenericTokenizer extends BabylTokenizer
                     in, 
                     ts, 
                     new BabylTokenizer.DecimalNumberReader(',', '0', '.'),
-                    TranslatedNameBindings.getKeywordMap("id"));
+                    "id");
     }
 
 }
@@ -59,7 +59,7 @@ public class ChineseTokenizer extends BabylGenericTokenizer
                 in, 
                 ts, 
                 new BabylTokenizer.DecimalNumberReader(),
-                TranslatedNameBindings.getKeywordMap("zh"));
+                "zh");
     }
 
     protected int matchSymbol(int c) throws IOException
@@ -48,7 +48,7 @@ public class EsperantoTokenizer extends BabylGenericTokenizer
                 in, 
                 ts, 
                 new BabylTokenizer.DecimalNumberReader(','),
-                TranslatedNameBindings.getKeywordMap("eo"));
+                "eo");
     }
 
     protected boolean isStringDelimiter(int ch)
@@ -57,7 +57,7 @@ public class FrenchTokenizer extends BabylGenericTokenizer
                 in, 
                 ts, 
                 new BabylTokenizer.DecimalNumberReader(','),
-                TranslatedNameBindings.getKeywordMap("fr"));
+                "fr");
     }
 
     protected boolean isStringDelimiter(int ch)
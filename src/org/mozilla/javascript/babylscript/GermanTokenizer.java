@@ -57,7 +57,7 @@ public class GermanTokenizer extends BabylGenericTokenizer
                 in, 
                 ts, 
                 new BabylTokenizer.DecimalNumberReader(','),
-                TranslatedNameBindings.getKeywordMap("de"));
+                "de");
     }
 
     protected boolean isStringDelimiter(int ch)
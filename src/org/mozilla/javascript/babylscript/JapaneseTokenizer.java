@@ -59,7 +59,7 @@ public class JapaneseTokenizer extends BabylGenericTokenizer
                 in, 
                 ts, 
                 new BabylTokenizer.DecimalNumberReader(),
-                TranslatedNameBindings.getKeywordMap("ja"));
+                "ja");
 }
 
     protected int matchSymbol(int c) throws IOException
@@ -0,0 +1,117 @@
+/* -*- Mode: java; tab-width: 8; indent-tabs-mode: nil; c-basic-offset: 4 -*-
+ *
+ * ***** BEGIN LICENSE BLOCK *****
+ * Version: MPL 1.1/GPL 2.0
+ *
+ * The contents of this file are subject to the Mozilla Public License Version
+ * 1.1 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ * http://www.mozilla.org/MPL/
+ *
+ * Software distributed under the License is distributed on an "AS IS" basis,
+ * WITHOUT WARRANTY OF ANY KIND, either express or implied. See the License
+ * for the specific language governing rights and limitations under the
+ * License.
+ *
+ * The Original Code is Rhino code, released
+ * May 6, 1999.
+ *
+ * The Initial Developer of the Original Code is
+ * Netscape Communications Corporation.
+ * Portions created by the Initial Developer are Copyright (C) 1997-1999
+ * the Initial Developer. All Rights Reserved.
+ *
+ * Contributor(s):
+ *
+ * Alternatively, the contents of this file may be used under the terms of
+ * the GNU General Public License Version 2 or later (the "GPL"), in which
+ * case the provisions of the GPL are applicable instead of those above. If
+ * you wish to allow use of your version of this file only under the terms of
+ * the GPL and not to allow others to use your version of this file under the
+ * MPL, indicate your decision by deleting the provisions above and replacing
+ * them with the notice and other provisions required by the GPL. If you do
+ * not delete the provisions above, a recipient may use your version of this
+ * file under either the MPL or the GPL.
+ *
+ * ***** END LICENSE BLOCK ***** */
+
+package org.mozilla.javascript.babylscript;
+
+/**
+ * Recognises the keywords of one language straight from a character
+ * buffer, without first making a string of the identifier. The automaton
+ * is a trie generated at build time by the babylgen target into
+ * {@link org.mozilla.javascript.babylscript.gen.KeywordAutomata}.
+ */
+public final class KeywordAutomaton
+{
+    private final int[] firstEdge;
+    private final char[] edgeChars;
+    private final int[] edgeTargets;
+    private final int[] accepts;
+
+    /**
+     * Decodes a generated automaton.
+     *
+     * @param encoded the encoded trie
+     * @param values the value returned for each keyword, indexed like
+     *        {@link org.mozilla.javascript.babylscript.gen.KeywordAutomata#KEYWORDS}
+     */
+    public KeywordAutomaton(String encoded, int[] values)
+    {
+        int stateCount = 0, edgeCount = 0;
+        for (int i = 0; i < encoded.length(); stateCount++) {
+            int edges = encoded.charAt(i + 1);
+            edgeCount += edges;
+            i += 2 + 2 * edges;
+        }
+        firstEdge = new int[stateCount + 1];
+        edgeChars = new char[edgeCount];
+        edgeTargets = new int[edgeCount];
+        accepts = new int[stateCount];
+
+        int i = 0, edge = 0;
+        for (int state = 0; state < stateCount; state++) {
+            int accept = encoded.charAt(i++) - 1;
+            accepts[state] = accept < 0 ? -1 : values[accept];
+            int edges = encoded.charAt(i++);
+            firstEdge[state] = edge;
+            for (int n = 0; n < edges; n++, edge++) {
+                edgeChars[edge] = encoded.charAt(i++);
+                edgeTargets[edge] = encoded.charAt(i++);
+            }
+        }
+        firstEdge[stateCount] = edge;
+    }
+
+    /**
+     * Returns the value of the keyword spelled by the first
+     * <code>length</code> characters of <code>buffer</code>, or -1 if
+     * they do not spell a keyword.
+     */
+    public int match(char[] buffer, int length)
+    {
+        int state = 0;
+        for (int i = 0; i < length; i++) {
+            char c = buffer[i];
+            // Edges are sorted by character
+            int low = firstEdge[state];
+            int high = firstEdge[state + 1] - 1;
+            for (;;) {
+                if (low > high)
+                    return -1;
+                int mid = (low + high) >>> 1;
+                char midChar = edgeChars[mid];
+                if (midChar < c) {
+                    low = mid + 1;
+                } else if (midChar > c) {
+                    high = mid - 1;
+                } else {
+                    state = edgeTargets[mid];
+                    break;
+                }
+            }
+        }
+        return accepts[state];
+    }
+}
@@ -59,7 +59,7 @@ public class KoreanTokenizer extends BabylGenericTokenizer
                 in, 
                 ts, 
                 new BabylTokenizer.DecimalNumberReader(),
-                TranslatedNameBindings.getKeywordMap("ko"));
+                "ko");
     }
 
     protected int matchSymbol(int c) throws IOException
@@ -57,7 +57,7 @@ public class PortugueseTokenizer extends BabylGenericTokenizer
                 in, 
                 ts, 
                 new BabylTokenizer.DecimalNumberReader(','),
-                TranslatedNameBindings.getKeywordMap("pt"));
+                "pt");
     }
 
     protected boolean isStringDelimiter(int ch)
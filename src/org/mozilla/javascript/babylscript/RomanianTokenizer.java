@@ -57,7 +57,7 @@ public class RomanianTokenizer extends BabylGenericTokenizer
                 in, 
                 ts, 
                 new BabylTokenizer.DecimalNumberReader(','),
-                TranslatedNameBindings.getKeywordMap("ro"));
+                "ro");
     }
 
     protected boolean isStringDelimiter(int ch)
@@ -57,7 +57,7 @@ public class RussianTokenizer extends BabylGenericTokenizer
                 in, 
                 ts, 
                 new BabylTokenizer.DecimalNumberReader(','),
-                TranslatedNameBindings.getKeywordMap("ru"));
+                "ru");
     }
 
     protected boolean isStringDelimiter(int ch)
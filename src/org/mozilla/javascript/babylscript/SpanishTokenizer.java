@@ -58,7 +58,7 @@ public class SpanishTokenizer extends BabylGenericTokenizer
                 ts, 
                 // Different regions use either , or . as the decimal separator
                 new BabylTokenizer.DecimalNumberReader(',', '0', '.'),
-                TranslatedNameBindings.getKeywordMap("es"));
+                "es");
     }
 
     protected boolean isStringDelimiter(int ch)
@@ -15,6 +15,7 @@ import org.mozilla.javascript.Function;
 import org.mozilla.javascript.Scriptable;
 import org.mozilla.javascript.ScriptableObject;
 import org.mozilla.javascript.TokenStream;
+import org.mozilla.javascript.TranslationTable;
 import org.mozilla.javascript.TokenStream.LanguageMode;
 import org.mozilla.javascript.babylscript.gen.Keywords;
 import org.mozilla.javascript.babylscript.gen.Objects;
@@ -126,12 +127,111 @@ public class TranslatedNameBindings
         }
     }
 
+    /**
+     * The translated names of one part of the standard library and the
+     * object in a scope that holds them.
+     */
+    private static final class StandardTranslations
+    {
+        static final int GLOBAL_SCOPE = 0;
+        static final int GLOBAL_PROPERTY = 1;
+        static final int CLASS_PROTOTYPE = 2;
+
+        final int target;
+        final String className;
+        final String[] names;
+
+        StandardTranslations(int target, String className, String[] names)
+        {
+            this.target = target;
+            this.className = className;
+            this.names = names;
+        }
+
+        Scriptable getTarget(Scriptable scope)
+        {
+            switch (target)
+            {
+            case GLOBAL_PROPERTY:
+                return (Scriptable)scope.get(className, scope);
+            case CLASS_PROTOTYPE:
+                return ScriptableObject.getClassPrototype(scope, className);
+            default:
+                return scope;
+            }
+        }
+    }
+
+    private static StandardTranslations[] standardTranslations()
+    {
+        return new StandardTranslations[] {
+            new StandardTranslations(StandardTranslations.GLOBAL_SCOPE, null, GlobalScopeNames),
+            new StandardTranslations(StandardTranslations.CLASS_PROTOTYPE, "Function", BaseFunctionPrototypeNames),
+            new StandardTranslations(StandardTranslations.CLASS_PROTOTYPE, "Object", ObjectPrototypeNames),
+            new StandardTranslations(StandardTranslations.CLASS_PROTOTYPE, "Error", ErrorPrototypeNames),
+            new StandardTranslations(StandardTranslations.GLOBAL_PROPERTY, "Array", ArrayConstructorNames),
+            new StandardTranslations(StandardTranslations.CLASS_PROTOTYPE, "Array", ArrayPrototypeNames),
+            new StandardTranslations(StandardTranslations.GLOBAL_PROPERTY, "String", StringConstructorNames),
+            new StandardTranslations(StandardTranslations.CLASS_PROTOTYPE, "String", StringPrototypeNames),
+            new StandardTranslations(StandardTranslations.CLASS_PROTOTYPE, "Boolean", BooleanPrototypeNames),
+            new StandardTranslations(StandardTranslations.GLOBAL_PROPERTY, "Number", NumberConstructorNames),
+            new StandardTranslations(StandardTranslations.CLASS_PROTOTYPE, "Number", NumberPrototypeNames),
+            new StandardTranslations(StandardTranslations.GLOBAL_PROPERTY, "Date", DateConstructorNames),
+            new StandardTranslations(StandardTranslations.CLASS_PROTOTYPE, "Date", DatePrototypeNames),
+            new StandardTranslations(StandardTranslations.GLOBAL_PROPERTY, "Math", MathNames),
+            new StandardTranslations(StandardTranslations.CLASS_PROTOTYPE, "Call", CallPrototypeNames),
+            new StandardTranslations(StandardTranslations.CLASS_PROTOTYPE, "Script", ScriptPrototypeNames),
+            new StandardTranslations(StandardTranslations.CLASS_PROTOTYPE, "Iterator", IteratorPrototypeNames),
+            new StandardTranslations(StandardTranslations.CLASS_PROTOTYPE, "RegExp", RegExpPrototypeNames),
+//            new StandardTranslations(StandardTranslations.CLASS_PROTOTYPE, "Object", RegExpMatchesPrototypeNames),
+        };
+    }
+
+    /**
+     * Frozen translation tables for the standard library, built once and
+     * shared by every scope. The entries line up with the ones returned
+     * by standardTranslations().
+     */
+    private static TranslationTable[] standardTables;
+
     public static void initStandardTranslations(Scriptable scope)
     {
-        for (Map.Entry<String, Map<String, String>> entry: langResourceMap.entrySet())
+        TranslationTable[] tables = getStandardTranslationTables();
+        StandardTranslations[] standard = standardTranslations();
+        for (int n = 0; n < standard.length; n++)
+        {
+            Scriptable obj = standard[n].getTarget(scope);
+            if (ScriptableObject.shareTranslations(obj, tables[n]))
+                continue;
+            // The object already has translated names of its own, so
+            // the standard ones have to be merged in individually
+            for (Map.Entry<String, Map<String, String>> entry: langResourceMap.entrySet())
+            {
+                ScriptableObject.clearTranslations(obj, entry.getKey());
+                fillTranslationsFromResourceBundle(obj, entry.getKey(), entry.getValue(), standard[n].names);
+            }
+        }
+    }
+
+    private static synchronized TranslationTable[] getStandardTranslationTables()
+    {
+        if (standardTables == null)
         {
-            configureAllTranslations(scope, entry.getKey(), entry.getValue());
+            StandardTranslations[] standard = standardTranslations();
+            TranslationTable[] tables = new TranslationTable[standard.length];
+            for (int n = 0; n < standard.length; n++)
+            {
+                TranslationTable table = new TranslationTable();
+                for (Map.Entry<String, Map<String, String>> entry: langResourceMap.entrySet())
+                {
+                    for (String key: standard[n].names)
+                        table.put(entry.getKey(), entry.getValue().get(key), key);
+                }
+                tables[n] = table.freeze();
+            }
+            standardTables = tables;
         }
+        return standardTables;
     }
 
     public static void initCustomTranslation(Scriptable scope, Map<String, String> translations)
@@ -143,59 +243,12 @@ public class TranslatedNameBindings
     
     public static void configureAllTranslations(Scriptable scope, String lang, Map<String, String> res)
     {
-        ScriptableObject.clearTranslations(scope, lang);
-        configureGlobalScopeTranslations(scope, lang, res);
-        Scriptable obj = ScriptableObject.getFunctionPrototype(scope);
-        configureBaseFunctionPrototypeTranslations(obj, lang, res);
-        obj = ScriptableObject.getObjectPrototype(scope);
-        ScriptableObject.clearTranslations(obj, lang);
-        configureObjectPrototypeTranslations(obj, lang, res);
-        obj = ScriptableObject.getClassPrototype(scope, "Error");
-        ScriptableObject.clearTranslations(obj, lang);
-        configureErrorPrototypeTranslations(obj, lang, res);
-        obj = (Scriptable)scope.get("Array", scope);
-        ScriptableObject.clearTranslations(obj, lang);
-        configureArrayConstructorTranslations((Function)obj, lang, res);
-        obj = ScriptableObject.getClassPrototype(scope, "Array");
-        ScriptableObject.clearTranslations(obj, lang);
-        configureArrayPrototypeTranslations(obj, lang, res);
-        obj = (Scriptable)scope.get("String", scope);
-        ScriptableObject.clearTranslations(obj, lang);
-        configureStringConstructorTranslations((Function)obj, lang, res);
-        obj = ScriptableObject.getClassPrototype(scope, "String");
-        ScriptableObject.clearTranslations(obj, lang);
-        configureStringPrototypeTranslations(obj, lang, res);
-        obj = ScriptableObject.getClassPrototype(scope, "Boolean");
-        ScriptableObject.clearTranslations(obj, lang);
-        configureBooleanPrototypeTranslations(obj, lang, res);
-        obj = (Scriptable)scope.get("Number", scope);
-        ScriptableObject.clearTranslations(obj, lang);
-        configureNumberConstructurTranslations((Function)obj, lang, res);
-        obj = ScriptableObject.getClassPrototype(scope, "Number");
-        ScriptableObject.clearTranslations(obj, lang);
-        configureNumberPrototypeTranslations(obj, lang, res);
-        obj = (Scriptable)scope.get("Date", scope);
-        ScriptableObject.clearTranslations(obj, lang);
-        configureDateConstructorTranslations((Function)obj, lang, res);
-        obj = ScriptableObject.getClassPrototype(scope, "Date");
-        ScriptableObject.clearTranslations(obj, lang);
-        configureDatePrototypeTranslations(obj, lang, res);
-        obj = (Scriptable)scope.get("Math", scope);
-        ScriptableObject.clearTranslations(obj, lang);
-        configureMathTranslations(obj, lang, res);
-        obj = ScriptableObject.getClassPrototype(scope, "Call");
-        ScriptableObject.clearTranslations(obj, lang);
-        configureCallPrototypeTranslations(obj, lang, res);
-        obj = ScriptableObject.getClassPrototype(scope, "Script");
-        ScriptableObject.clearTranslations(obj, lang);
-        configureScriptPrototypeTranslations(obj, lang, res);
-        obj = ScriptableObject.getClassPrototype(scope, "Iterator");
-        ScriptableObject.clearTranslations(obj, lang);
-        configureIteratorPrototypeTranslations(obj, lang, res);
-        obj = ScriptableObject.getClassPrototype(scope, "RegExp");
-        ScriptableObject.clearTranslations(obj, lang);
-        configureRegExpPrototypeTranslations(obj, lang, res);
-//        configureRegExpMatchesPrototypeTranslations(ScriptableObject.getClassPrototype(scope, "Object"), lang, res);
+        for (StandardTranslations standard: standardTranslations())
+        {
+            Scriptable obj = standard.getTarget(scope);
+            ScriptableObject.clearTranslations(obj, lang);
+            fillTranslationsFromResourceBundle(obj, lang, res, standard.names);
+        }
     }
     
     // TODO: the activation object also has translations
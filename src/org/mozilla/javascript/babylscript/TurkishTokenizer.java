@@ -57,6 +57,6 @@ public class TurkishTokenizer extends BabylGenericTokenizer
                 in, 
                 ts, 
                 new BabylTokenizer.DecimalNumberReader(','),
-                TranslatedNameBindings.getKeywordMap("tr"));
+                "tr");
     }
 }
@@ -0,0 +1,150 @@
+package org.mozilla.javascript.babylscript.gen;
+public class KeywordAutomata {
+public final static String [] KEYWORDS = {
+"function",
+"if",
+"else",
+"for",
+"while",
+"return",
+"do",
+"true",
+"false",
+"var",
+"break",
+"try",
+"switch",
+"case",
+"null",
+"in",
+"int",
+"let",
+"new",
+"byte",
+"char",
+"enum",
+"goto",
+"long",
+"this",
+"void",
+"with",
+"class",
+"yield",
+"const",
+"final",
+"float",
+"short",
+"super",
+"throw",
+"catch",
+"native",
+"delete",
+"throws",
+"import",
+"double",
+"static",
+"public",
+"export",
+"typeof",
+"package",
+"default",
+"finally",
+"boolean",
+"private",
+"extends",
+"abstract",
+"continue",
+"debugger",
+"volatile",
+"interface",
+"protected",
+"transient",
+"implements",
+"instanceof",
+"synchronized",
+};
+public final static String ar =
+    "\000\027\u0623\001\u0625\002\u0627\003\u0628\004\u062a\005\u062b\006\u062c\007\u062d\010\u062e\011\u062f\012\u0631\013\u0635\014\u0637\015\u0639\016\u0641\017\u0642\020\u0643\021\u0644\022\u0645\023\u0646\024\u0647\025\u0648\026\u064a\027\000\001\u0635\030\000\002\u0630\031\u0645\032\000\007\u062c\033\u062e\034\u0630\035\u0631\036\u0633\037\u0639 \u0642!\000\002\u0627\042\u064a#\000\004\u0628$\u0635%\u0637&\u0644'\000\001\u0627(\000\001\u062f)\000\002\u0627*\u0631+\000\002\u0627,\u0637-\000\002\u0627.\u0639/\000\002\u06320\u06421\000\002\u06462\u06483\000\001\u06484\000\001\u06275\000\002\u06276\u064a7\000\003\u06278\u06289\u0635:\000\001\u0633;\000\002\u0627<\u0643=\000\011\u062a>\u062b?\u062c@\u062dA\u0632B\u0635C\u0636D\u0639E\u0646F\000\002\u0641G\u0648H\000\001\u0630I\000\001\u0633J\000\002\u0644K\u0645L\000\001\u0644M\000\001\u0627N\000\001\u0633O\000\001\u0639P\000\002\u0631Q\u064aR\000\001\u0647S\000\002\u062cT\u0645U\000\001\u062aV\000\001\u0644W\000\001\u0637X\000\001\u064aY\000\001\u0646Z\000\001\u062f[\000\001\u062f\134\000\001\u0628]\000\001\u0642^\000\001\u0628_\000\001\u064a`\000\002\u0644a\u0648b\000\001\u0641c\000\001\u0635d\000\001\u0640e\000\001\u0644f\022\000\000\001\u0645g\000\001\u0645h\000\001\u0641i\000\001\u0627j\000\001\u064ak\000\002\u0628l\u0645m\000\001\u0631n\020\000\000\001\u0626o\000\001\u0636p\000\001\u064aq\000\001\u0631r\000\001\u064as\000\001\u0640t\000\002\u063au\u0642v\000\001\u064aw\000\001\u0631x\000\001\u0645y\000\001\u0627z\000\001\u062d{\000\001\u0627|\033\000\000\001\u0637}\000\001\u0630~\000\001\u0639\177\000\001\u0627\200\000\001\u064a\201\000\001\u0642\202\000\001\u062a\203\000\001\u0649\204\002\000\000\001\u062d\205\000\001\u0644\206\003\000\000\001\u0631\207\000\001\u0628\210\000\001\u0639\211\000\001\u064a\212\000\002\u0645\213\u064a\214\000\001\u0649\215\000\001\u0639\216\000\001\u062a\217\000\001\u0645\220\000\001\u064a\221\000\001\u064a\222\000\001\u064a\223\000\001\u0627\224\000\001\u062a\225\000\001\u062f\226\000\001\u0629\227\000\001\u0644\230\025\0002\000\000\001\u0640\231\000\001\u0629\232\000\001\u0629\233\021\000\034\000\000\001\u0628\234\000\001\u0644\235\000\001\u0631\236+\000\000\001\u063a\237\000\001\u0645\240$\000\000\001\u0631\241 \000\000\001\u0639\242\000\001\u0640\243\000\001\u064a\244\000\001\u0644\245\000\001\u0644\246\000\001\u062f\247\000\001\u064a\250\000\001\u0645\251\000\001\u062d\252\000\001\u0639\253\000\001\u0642\254\007\000-\000\031\000\000\001\u0637\255\000\001\u064a\256\000\001\u062f\257%\000&\000\035\000\037\001\u0627\260\000\001_\261\006\000#\000\000\001\u0631\262\000\001\u0631\263\042\000\013\000\024\000\000\001\u0627\264\000\001\u0644\265\000\001\u0631\266\000\001\u0642\267\000\001\u0626\270*\000\023\000\016\000\014\000\000\001\u0623\271\001\000.\000\010\000\030\000:\000\000\001\u0629\272\000\001\u0629\273!\000\000\001\u064a\274\000\001\u0644\275\000\001\u0631\276\000\001\u0628\277<\0004\0009\000\000\001\u0646\3006\000\000\001\u0641\301\000\001\u064a\3028\000'\0003\0000\000\000\001\u0625\3035\000\000\001\u0627\304\005\000\015\000,\000;\000\000\001\u0649\305\011\000\017\000\026\000\000\001\u062f\306\004\000\012\0007\000=\000)\0001\000\000\001\u0644\307\000\001\u062f\310/\000\032\000\000\001\u0649\311(\000\027\000";
+public final static String de =
+    "\000\024a\001b\002d\003e\004f\005g\006i\007k\010l\011m\012n\013p\014r\015s\016t\017v\020w\021z\022\366\023\374\024\000\004b\025e\026r\027u\030\000\002o\031y\032\000\001i\033\000\002r\034x\035\000\005a\036i\037o u!\374\042\000\003a#e$l%\000\002m&n'\000\003l(o)u*\000\003a+i,\366-\000\001i.\000\004a/e0i1u2\000\002a3r4\000\001\3745\000\006c6e7o8p9t:y;\000\002e<r=\000\003a>e?o@\000\003aAeBiC\000\001uD\000\001fE\000\001bF\000\002bGsH\000\001iI\000\001tJ\000\002fKsL\000\001oM\000\001tN\000\001eO\000\001wP\000\001pQ\000\002lRnS\000\001nT\000\001rU\000\001nV\000\001rW\000\001nX\000\001sY\000\001eZ\000\001p[\020\001s\134\000\001a]\000\001n^\000\001r_\000\001n`\000\001ea\000\001sb\000\001tc\000\001td\000\001ue\000\001cf\000\001lg\000\001ch\000\001ii\000\001cj\000\001hk\000\001il\000\002lmnn\000\001ro\000\001ap\000\001nq\000\001sr\000\001as\000\001rt\000\001ru\000\001lv\000\001hw\000\001nx\000\001ry\000\001lz\000\001f{\000\001e|\000\001r}\000\001t~\000\001c\177\000\001v\200\000\001z\201\000\001f\202\000\001l\203\000\001e\204\000\001s\205\000\001e\206\000\001o\207\000\002l\210s\211\000\001g\212\000\001a\213\000\001t\214\000\001k\215\004\000\000\001z\216\000\001c\217\000\001i\220\000\002l\221o\222\000\001t\223\000\001s\224\000\001s\225\000\001z\226\000\001g\227\000\001f\230\000\001c\231\033\000\000\001i\232\023\000\000\001h\233\000\001l\234\000\001k\235\000\001v\236\000\001k\237\000\002a\240n\241\000\001n\242\000\001a\243\000\001s\244\000\001i\245\000\002n\246t\247\000\001c\250\000\001t\251\000\001n\252\012\000\000\001s\253\000\001a\254\000\001r\255\000\001n\256\000\001f\257\000\001e\260\000\001e\261\000\001r\262\000\001e\263\000\001r\264\000\001h\265\000\001o\266\000\001\344\267\000\001\374\270\000\001e\271\024\000\031\000\000\001i\272\000\001r\273\016\000\000\001c\274\000\001e\275\000\001l\276\000\001f\277\000\001t\300\000\001z\301\000\001h\302\000\001t\303\000\001e\304\000\001r\305\000\001a\306\000\001s\307\000\001t\310\000\001z\311\000\002l\312z\313\000\001e\314\000\001h\315\000\001v\316\000\001t\317\017\000\000\001e\320\000\001a\321\000\001s\322\000\001l\323\000\001i\324\022\000\000\001n\325\000\001t\326\000\001n\327\000\001d\330\000\001i\331\000\001h\332\000\001e\333\000\001s\334\000\001u\335\000\001t\336\010\000\002\000#\001t\337\000\001t\340\000\001n\341\042\000\000\001c\342\000\001a\343\000\001e\344\000\001n\345\000\001h\346\000\001h\347\000\001s\350\000\001t\351\000\001t\352\000\001h\353\000\001n\354\037\000\000\001a\355\000\001i\356\000\001a\357\000\001\374\360\000\001k\361\000\001m\362\000\001t\363\000\001n\364\000\001e\365\000\001a\366\000\001a\367\000\001e\370\000\001a\371\000\001r\372\000\001e\373%\000\000\001s\374\000\001t\375\000\001t\376\000\001p\377\000\001t\u0100\000\001t\u0101\000\001g\u0102\003\000\000\001g\u0103\000\001a\u0104\000\001s\u0105\000\001r\u0106\000\001r\u0107\000\001i\u0108\000\001c\u0109\000\001i\u010a'\000\000\001z\u010b\000\001t\u010c\000\001h\u010d\000\001k\u010e\000\001n\u010f-\000\000\001l\u0110\000\001r\u0111\000\001c\u0112\000\001e\u0113\000\001i\u0114\011\000$\000\000\001h\u0115\000\001o\u0116\000\001h\u0117\000\001t\u0118\000\001o\u0119\000\001e\u011a\000\001i\u011b\000\001z\u011c\034\000\000\001n\u011d\000\001h\u011e\000\001i\u011f\000\001h\u0120\000\001n\u0121\000\001n\u0122\032\000.\0002\000\000\001r\u0123\000\001e\u0124\000\001t\u0125\000\001e\u0126\000\001e\u0127\000\001r\u0128\000\001c\u0129\000\001o\u012a6\000\000\001e\u012b\000\001h\u012c\000\001l\u012d\000\001t\u012e\000\001l\u012f\000\001e\u0130\000\001t\u0131\025\000\000\001u\u0132\000\001e\u0133\000\001h\u0134\000\001r\u0135\000\001e\u0136\000\001r\u0137\000\001n\u0138\000\001l\u0139\000\001z\u013a\000\001m\u013b\000\001n\u013c\000\001e\u013d\000\001v\u013e\000\001t\u013f\000\001l\u0140\000\001t\u0141\000\001l\u0142\035\000&\000\000\001u\u0143\000\001n\u0144\000\001s\u0145\005\000\000\001n\u0146\000\001d\u0147\000\001h\u0148\000\001n\u0149\000\001n\u014a\000\001e\u014b7\0000\000\000\001i\u014c\000\001n\u014d4\000\000\001n\u014e\000\001n\u014f1\000\000\001t\u0150\000\001r\u0151\000\001e\u0152\001\000\021\000\000\001t\u0153\000\001m\u0154\000\001t\u0155\000\001r\u0156\000\001o\u0157\000\001e\u0158!\000\000\001k\u0159\030\000\000\001n\u015a\015\000\000\001t\u015b\027\000/\000*\000\000\001i\u015c\000\001t\u015d\014\000\000\001c\u015e\013\000\000\001g\u015f\007\0003\000\000\001e\u0160\000\001n\u01619\000\000\001a\u0162\000\001i\u0163\000\001e\u0164\000\001n\u0165\036\000\000\001o\u0166\000\001g\u0167\000\001e\u0168\000\001s\u0169:\000\000\001h\u016a\026\000\000\001n\u016b5\000\000\001z\u016c\000\001e\u016d\000\001n\u016e<\000\000\001m\u016f\006\000\000\001l\u0170\000\001i\u0171+\000,\000\000\001a\u0172\000\001r\u0173(\000\000\001m\u0174\000\001l\u0175\000\001e\u0176\000\001h\u0177\000\001t\u0178\000\001a\u0179\000\001e\u017a\000\001r\u017b\000\001l\u017c;\000\000\001z\u017d8\000\000\001t\u017e \000\000\001a\u017f=\000\000\001h\u0180\000\001l\u0181)\000";
+public final static String en =
+    "\000\021a\001b\002c\003d\004e\005f\006g\007i\010l\011n\012p\013r\014s\015t\016v\017w\020y\021\000\001b\022\000\003o\023r\024y\025\000\004a\026h\027l\030o\031\000\002e\032o\033\000\003l\034n\035x\036\000\005a\037i l!o\042u#\000\001o$\000\003f%m&n'\000\002e(o)\000\003a*e+u,\000\003a-r.u/\000\001e0\000\005h1t2u3w4y5\000\003h6r7y8\000\002a9o:\000\002h;i<\000\001i=\000\001s>\000\001o?\000\001e@\000\001tA\000\002sBtC\000\001aD\000\001aE\000\001nF\000\003bGfHlI\007\001uJ\000\001sK\000\001uL\000\002pMtN\000\001lO\000\001nP\000\001oQ\000\001rR\000\001nS\000\001tT\002\000\000\001pU\020\002sVtW\000\001tX\000\001nY\000\001tZ\000\001w[\000\001l\134\000\001c]\000\002i^o_\000\001b`\000\001ta\000\001ob\000\001ac\000\001pd\000\001ie\000\001nf\000\002igrh\000\003aiujyk\000\001pl\000\001rm\000\002inlo\000\001ip\000\001tq\000\001er\000\001ts\000\001lt\000\001au\000\001ev\000\001ew\000\001cx\000\001ry\000\001sz\000\002s{t|\000\001u}\000\001a~\000\001e\177\000\001b\200\000\001e\201\000\001m\202\000\001o\203\000\001e\204\000\001s\205\000\001a\206\000\001a\207\004\000\000\001c\210\000\001o\211\000\002l\212o\213\000\001t\214\021\001e\215\022\000\000\001g\216\000\001i\217\023\000\000\001l\220\000\001k\221\000\001v\222\000\001t\223\000\001l\224\000\001u\225\000\001r\226\000\001t\227\000\001e\230\000\001t\231\000\001c\232\000\001s\233\000\001o\234\000\001n\235\000\001e\236\014\000\000\001e\237\012\000\000\001d\240\000\001a\241\000\001l\242\000\001h\243\000\001l\244\000\001r\245\000\001e\246\000\001k\247\024\000\016\000\000\001h\250\025\000\000\001s\251\000\001t\252\000\001i\253\000\001g\254\000\001u\255\000\001t\256\000\001l\257\003\000\026\000\000\001r\260\000\001n\261\000\001e\262\000\001l\263\000\001t\264\000\001t\265\027\000\000\001e\266\000\001r\267\000\001a\270\000\001r\271\030\000\000\001v\272\017\000\000\001a\273\000\001a\274\000\001e\275\000\001i\276\000\001r\277\000\001t\300\000\001i\301\000\001r\302\000\001c\303\000\001h\304\031\000\000\001w\305\000\001s\306\010\000\000\001o\307\032\000\000\001t\310\000\001e\311\033\000\000\001d\312\000\001a\313\000\001a\314\013\000$\000\034\000\036\000\000\001n\315\000\001g\316\000\001l\317\000\001e\320\000\001e\321\000\001t\322\000\001d\323\011\000\037\001l\324 \000\000\001i\325\000\001m\326\000\001t\327\000\001n\330\000\001f\331\000\001e\332\000\001g\333\000\001t\334\000\001c\335\000\001c\336\000\001n\337!\000\000\001c\340\042\000\000\001h\341\000\001r\342#\001s\343\000\001i\344\000\001f\345\000\001i\346\005\000\035\000\000\001c\347\000\001n\350\000\001u\351\000\001e\352\000\001t\353&\000)\000,\000\000\001s\354\000\001y\355\000\001o\356\000\001e\357(\000\000\001c\360\000\001a\361%\000\000\001e\362\000\001e\363\000\001t\364+\000\006\000*\000\015\000\000\001o\365'\000\000\001e\366-\000\000\001l\367\000\001t\3701\000\000\001e\371\000\001r\372/\0003\0000\000\000\001n\373\000\001n\374\000\001e\375\000\001c\376.\0002\000\000\001e\377\000\001n\u0100\000\001n\u0101\000\001e\u01024\0005\0006\000\001\000\000\001t\u0103\000\001o\u0104\000\001e\u0105\000\001d\u0106\000\001i\u0107\000\001t\u01087\000\000\001s\u0109\000\001f\u010a8\0009\000\000\001z\u010b:\000;\000<\000\000\001e\u010c\000\001d\u010d=\000";
+public final static String eo =
+    "\000\021a\001d\002e\003f\004i\005k\006l\007m\010n\011o\012p\013r\014s\015t\016v\017\u0109\020\u015d\021\000\003l\022n\023s\024\000\001u\025\000\004k\026l\027n\030r\031\000\005a\032i\033l\034o\035u\036\000\002m\037n \000\002l!u\042\000\003a#i$o%\000\001e&\000\001u'\000\001k(\000\002a)o*\000\001e+\000\004a,e-i.u/\000\001i0\000\002a1e2\000\002e3i4\000\002a5o6\000\002i7\u015d8\000\001i9\000\001i:\000\003m;o<v=\000\001s>\000\002f?p@\020\003pAuB\u015dC\000\001aD\000\002lErF\000\001nG\000\001aH\000\001rI\000\001nJ\000\001pK\000\002dLtM\000\001aN\000\002nOrP\000\001\u016dQ\000\001vR\000\001nS\000\001mT\000\002lUrV\000\001uW\000\002kXsY\000\001rZ\000\001\u015d[\000\001m\134\002\002k]n^\000\001g_\000\001p`\000\001pa\000\002kbrc\000\001rd\000\001fe\000\001if\000\001lg\000\001vh\000\001ei\000\001aj\000\001gk\000\001gl\005\000\000\001bm\000\001an\000\001to\000\001lp\000\001oq\000\001or\000\001ms\000\001at\000\001ru\000\001sv\000\001ew\000\002axfy\000\001nz\000\001s{\000\001k|\000\001l}\000\001u~\000\001e\177\000\001s\200\033\000\000\001t\201\000\001b\202\000\001e\203\000\001g\204\031\001k\205\000\001o\206\000\001e\207\000\001m\210\000\001u\211\000\001e\212\004\000\000\001a\213\000\001t\214\000\001v\215\000\001\u015d\216\000\001n\217\000\001r\220\000\002k\221n\222\000\001a\223\000\001i\224\000\001a\225\000\001\u015d\226\000\001n\227\000\001t\230\000\001o\231\003\000\000\001l\232\000\001u\233\000\001n\234\000\001l\235\000\001l\236\000\001e\237\000\001a\240\000\001r\241\000\001r\242\000\001e\243\000\001l\244\000\001s\245\000\001a\246\007\000\037\000\000\001l\247\000\001k\250\000\001i\251\000\001c\252\000\001e\253\000\001k\254\000\001r\255\000\002a\256i\257\000\001\u015d\260\000\001a\261\000\001r\262\000\001\u015d\263\000\001l\264\000\001 \265\000\001c\266\000\001a\267.\000\000\001m\270\000\001l\271\000\001e\272\000\001\u015d\273\000\001a\274\000\001t\275\000\001a\276\000\001o\277\000\001o\300\032\000\000\002a\301e\302\010\000\000\001a\303\000\001g\304\000\001e\305\000\001n\306\000\001t\307\023\000\000\001u\310\000\001a\311\000\001e\312\000\001r\313\000\001n\314\000\001t\315\000\001t\316\000\001r\317\000\001t\320\000\001e\321\011\000\000\001a\322\000\001\u015d\323\000\001g\324\000\001i\325\000\001m\326\000\001t\327\000\001f\330\034\000\000\001d\331\000\001o\332\000\001z\333\000\001e\334\000\001o\335\000\001a\336\017\000\000\001a\337\024\000\000\001a\340\000\001t\341\000\001m\342\000\001a\343\000\001n\344\000\001i\345\042\000\000\001n\346\000\001m\347\000\001b\350\000\001m\351\000\001l\352\000\001a\353\000\001j\354\000\001a\355\000\001e\356\022\000)\000\000\001n\357\000\002k\360\u015d\361\000\001k\362\000\001u\363\000\001u\364\000\001a\365\000\001e\366\000\001r\367\000\001n\370\000\001a\371\000\001n\372\000\001a\373\000\001e\374\000\001a\375\000\001a\376\000\002a\377u\u0100\000\001v\u0101\000\001a\u0102\035\000\000\001v\u0103\000\001s\u01044\000:\000\000\001e\u0105\000\001p\u0106\000\001l\u0107\000\001\u011d\u0108\000\001p\u0109\000\001g\u010a\000\001k\u010b\000\001l\u010c\000\001a\u010d\000\001t\u010e\000\001l\u010f\000\001e\u0110 \000\027\000\000\001t\u0111\000\001l\u0112\000\001a\u0113\000\001\u015d\u0114,\000(\000\000\001c\u0115\015\000\000\001\u0109\u0116\000\001k\u0117\000\001l\u0118\000\001u\u0119\001\000\000\001n\u011a\021\000\000\001c\u011b\000\001l\u011c3\000\000\001o\u011d%\000\000\001o\u011e\000\001a\u011f\006\000\000\001a\u0120\000\001t\u0121\000\001a\u0122\000\001a\u0123\000\001r\u0124\000\001o\u0125\000\001a\u01267\000\000\001e\u0127\000\001i\u0128\016\000\000\001a\u0129\000\001a\u012a\000\001l\u012b\000\001a\u012c\000\001i\u012d\000\001i\u012e\000\001\u015d\u012f\000\001t\u0130&\000\000\001t\u0131\000\001a\u0132\000\001i\u0133\000\001n\u0134\000\001n\u0135\000\001l\u0136\000\001d\u0137\000\001e\u0138\036\000\025\000\000\001u\u0139\000\001n\u013a\012\000\000\001j\u013b\000\001r\u013c\000\001 \u013d\000\001s\u013e\000\001t\u013f\000\001l\u0140\000\001a\u0141\000\001l\u0142\000\001a\u0143\000\001e\u0144\000\001u\u01458\000\000\001r\u0146\000\001a\u0147\000\001a\u0148\000\001i\u0149\000\001a\u014a5\000\000\001a\u014b\000\001g\u014c\000\001e\u014d\000\001e\u014e1\000\000\001a\u014f\000\001e\u0150\000\001t\u0151\026\000\000\001o\u0152\000\001l\u0153'\001b\u0154;\000\000\001e\u0155!\000\030\000\000\001r\u0156=\000\000\001s\u0157\000\001r\u0158/\000\000\001b\u0159\000\001l\u015a\013\000\000\001e\u015b6\000\000\001t\u015c\000\001l\u015d\000\001b\u015e\000\001e\u015f-\000\000\001u\u0160\000\001l\u0161\000\001i\u0162$\000\000\001e\u0163\000\001e\u0164\000\001l\u0165\000\001b\u0166\000\001a\u0167\000\001a\u0168\000\001r\u01690\000\014\000\000\001a\u016a\000\001l\u016b\000\001s\u016c\000\001 \u016d\000\001e\u016e9\000\000\001a\u016f<\000*\000\000\001b\u01702\000\000\001l\u0171\000\001a\u0172+\000";
+public final static String es =
+    "\000\020a\001b\002c\003d\004e\005f\006h\007i\010l\011m\012n\013p\014r\015s\016t\017v\020\000\001b\021\000\002u\022y\023\000\004a\024e\025l\026o\027\000\003a\030e\031o\032\000\004l\033n\034s\035x\036\000\004a\037i l!u\042\000\001a#\000\003m$n%r&\000\001a'\000\001i(\000\002a)u*\000\003a+r,\372-\000\001e.\000\004a/e0i1u2\000\002i3r4\000\003a5e6o7\000\001s8\000\001l9\000\001t:\000\003p;r<s=\000\001d>\000\001a?\000\002n@rA\000\001dB\000\002fCpD\000\001bE\000\001iF\020\002tGuH\000\001tI\000\002pJtK\000\001lL\000\001nM\000\001oN\000\001nO\000\001cP\000\001pQ\000\002sRtS\000\001aT\000\002nUrV\000\001eW\000\001tX\000\002eYlZ\000\002q[r\134\000\002i]o^\000\001b_\000\001t`\000\001la\000\001gb\002\001nc\000\001pd\000\001pe\000\001af\000\002cgrh\000\001ri\000\001lj\000\001tk\000\001il\000\001em\000\001tn\025\000\000\001oo\000\001ep\000\001sq\033\002srts\000\001tt\000\001ou\000\001ev\000\001uw\000\001lx\000\001my\021\000\000\001mz\000\002e{\341|\000\001o}\000\001i~\000\001s\177\000\001a\200\000\001t\201\000\001c\202\000\001e\203\000\002l\204o\205\000\001t\206\000\001e\207\027\000\000\001z\210\000\001g\211\000\001n\212\000\001i\213\000\001v\214\000\001o\215\000\001u\216\000\001a\217\000\001v\220\000\001t\221\000\001l\222\000\001o\223\000\001i\224\000\001\372\225\000\002c\226o\227\000\001e\230\000\001o\231\000\002n\232t\233\000\001\355\234\012\000\000\001d\235\000\001a\236\000\001r\237\000\001a\240\024\000\000\001u\241\016\000\000\001r\242\000\001e\243\000\001t\244\000\001i\245\000\001o\246\022\000\000\001c\247\000\001r\250\000\001e\251\000\001i\252\026\000\031\000\000\001t\253\000\001r\254\000\001e\255\000\001o\256\000\001l\257\000\001a\260\000\001i\261\000\001r\262\000\001e\263\000\001r\264\000\001a\265\000\001r\266\000\001a\267\000\001o\270\000\001t\271\000\001v\272\000\001o\273\017\000\000\001e\274\004\000\000\001a\275\000\001e\276\000\001i\277\000\001r\300\000\001r\301\000\001n\302\000\001r\303\003\000\000\001r\304\000\001d\305\000\001s\306\000\001a\307\000\001o\310\000\001a\311\000\001t\312\000\001a\313\000\001n\314\000\001r\315\035\000\034\000\036\000\000\001n\316!\000\000\001t\317\000\001a\320)\000\000\001n\321\000\001i\322\000\001t\323\000\001n\324\011\000\037\001m\325\000\001n\326\000\001\363\327\007\000\000\001m\330\000\001t\331\000\001n\332\000\001f\333'\001r\334\030\000\000\001r\335\000\001o\336\023\000\000\001t\337\000\001d\340\000\001g\341\000\001c\342\000\001n\343\013\000\015\000\000\001o\344\042\000\000\001e\345\000\001i\346\000\001r\347\032\000\000\001d\350\000\001i\351\000\001c\352\000\001o\353\000\001a\354\000\001u\355\000\001o\356\000\001d\357\000\001a\360\000\001c\361\000\001a\362\000\001d\363\000\001e\364\000\001t\365\000\001n\366\000\001e\367\000\001a\370\000\001c\371\000\001a\372#\000\000\001a\373%\000\000\001e\374\000\001o\375\000\001i\376\000\001o\377\000\001a\u0100\000\001n\u0101-\000\000\001t\u0102\014\000\000\001e\u0103\000\001l\u0104\000\001t\u01051\000\000\001r\u0106\000\001a\u0107/\000\000\001o\u0108\000\001r\u0109\000\001o\u010a\000\001r\u010b\000\001e\u010c\000\001n\u010d\000\001e\u010e\001\000\000\001n\u010f\000\001r\u0110\000\001i\u0111\000\001z\u0112\000\001s\u0113.\0002\000\000\001d\u0114+\000\000\001r\u0115\000\001i\u0116\000\001o\u0117\000\001r\u01187\000\000\001o\u0119$\000\000\001r\u011a\000\001r\u011b&\000*\000,\0003\000\000\001t\u011c \000\000\001t\u011d(\000\000\001a\u011e8\000\005\000\000\001o\u011f\006\000\000\001z\u0120\000\001r\u0121\000\001o\u01224\0005\0006\000\000\001e\u0123\000\001a\u0124\000\001d\u01259\000\000\001a\u0126\000\001i\u0127\010\0000\000;\000\000\001e\u0128\000\001d\u0129\000\001o\u012a<\000\000\001o\u012b:\000=\000";
+public final static String fr =
+    "\000\020a\001b\002c\003d\004e\005f\006i\007l\010n\011o\012p\013r\014s\015t\016v\017\351\020\000\003b\021l\022v\023\000\001o\024\000\004a\025e\026l\027o\030\000\003a\031o\032\351\033\000\004f\034n\035s\036x\037\000\004a i!l\042o#\000\002m$n%\000\002a&o'\000\003a(o)u*\000\001c+\000\004a,o-r.u/\000\001e0\000\006e1i2o3t4u5y6\000\003a7r8y9\000\004a:i;o<r=\000\002n>t?\000\001s@\000\001lA\000\001eB\000\001oC\000\003pDrEsF\000\001cG\000\001aH\000\002nIuJ\000\001nK\000\001uL\000\002bMfN\000\001fO\000\001tP\000\001sQ\000\001pR\000\002iSuT\000\001nU\000\001oV\000\002nWuX\000\001pY\000\002sZt[\000\001n\134\000\001n]\000\001t^\000\001u_\000\001l`\000\001ta\000\001qb\000\001uc\000\002idoe\000\001bf\000\001tg\000\001lh\002\001ni\000\001ij\000\001ak\000\001pl\000\001nm\000\001nn\000\001ao\000\001pp\000\001rq\000\001dr\000\001ls\000\001at\000\001uu\000\001ev\000\001tw\000\001ex\000\001cy\000\001lz\000\001t{\025\000\016\001s|\000\001i}\000\001s~\000\002s\177t\200\000\001r\201\000\001s\202\000\001b\203\000\001o\204\000\001a\205\000\001a\206\000\001i\207\000\001a\210\000\001o\211\000\001r\212\000\001x\213\000\001a\214\000\001t\215\000\001c\216\000\001r\217\000\002l\220o\221\000\001t\222\000\001e\223\000\001c\224\000\001g\225\000\001i\226\000\001v\227\017\000\000\001e\230\000\001u\231\000\001r\232\000\001v\233\000\001t\234\000\001l\235\000\001o\236\000\001o\237\000\001o\240\000\001t\241\000\001t\242\000\001e\243\000\001c\244\000\001t\245\000\001n\246\000\001e\247\012\000\000\001e\250\000\001a\251\000\001i\252\000\001m\253\000\001n\254\000\001r\255\000\001r\256\033\000\000\001\351\257\000\001u\260\000\001e\261\031\000\000\001s\262\000\001t\263\000\001i\264\000\001t\265\020\000\000\001l\266\000\001g\267\000\001u\270\000\001c\271\000\001e\272\000\001y\273\000\001r\274\000\001e\275\011\000\000\001l\276\000\001t\277\000\001t\300\000\001n\301\000\001\351\302\000\001r\303\000\001a\304\000\001r\305\000\001e\306\030\000\000\001f\307\000\001e\310\000\001t\311\000\001e\312\004\000\000\001\351\313\000\001\351\314\000\001i\315\000\001u\316\000\001n\317\000\001n\320\022\000\000\001i\321\000\001r\322\000\001h\323\000\001q\324\000\001s\325\000\001d\326\032\000\000\001t\327\010\000\026\000\000\001d\330\000\001a\331\000\001\340\332\000\001e\333\000\001r\334\000\001r\335\000\001e\336\036\000\000\001n\337!\000\000\001e\340\000\001u\341\000\001t\342\000\001e\343\000\001r\344\000\001e\345\000\001t\346\007\000\037\001e\347\000\001a\350\000\001i\351\000\001i\352\000\001m\353\000\001t\354\000\001n\355\000\001f\356'\001r\357%\000\000\001a\360\024\000\000\001t\3612\000\000\001g\362\000\001c\363\000\001r\364\015\000\003\000\000\001q\365\042\000\000\001r\366\000\001u\367\000\001i\370\000\001e\371\000\001i\3723\000\000\001i\373\027\000\000\001n\374\000\001e\375\013\000\034\000\000\001u\376)\000\000\001e\377/\000\000\001r\u0100\021\000\000\001r\u0101\000\001e\u0102\000\001m\u0103\000\001n\u0104\000\001o\u0105\000\001r\u0106\000\001e\u0107\000\001e\u0108\000\001c\u0109\000\001a\u010a#\000\000\001u\u010b\000\001a\u010c\000\001\351\u010d+\000\000\001n\u010e\000\001u\u010f\000\001o\u0110\000\001e\u0111\000\001e\u0112-\000\000\001l\u0113\000\001t\u01141\000\000\001r\u0115\000\001e\u0116\000\001u\u0117&\000\014\000\000\001r\u0118\000\001e\u0119\000\001t\u011a\000\001n\u011b\035\000\000\001n\u011c\000\001r\u011d\000\001e\u011e\000\001c\u011f\023\000\000\001g\u01209\000\000\001e\u0121\000\001e\u0122\000\001n\u0123\005\000\000\001n\u0124\000\001e\u01254\000$\000\000\001r\u0126\000\001r\u0127,\000\000\001n\u0128 \000\001\000\000\001t\u0129(\000\000\001d\u012a\000\001e\u012b\000\001e\u012c\000\001r\u012d*\000\000\001i\u012e\000\001t\u012f7\0005\0006\000\000\001t\u0130\000\001e\u0131\000\001e\u01328\000.\000\006\000\000\001s\u0133:\0000\000;\000<\000\000\001\351\u0134=\000";
+public final static String hi =
+    "\000\025\u0905\001\u0906\002\u0909\003\u0915\004\u0916\005\u0917\006\u091a\007\u091c\010\u0921\011\u0922\012\u0926\013\u0928\014\u092a\015\u092b\016\u092c\017\u092e\020\u092f\021\u0930\022\u0932\023\u0935\024\u0938\025\000\006\u0902\026\u0915\027\u0917\030\u091a\031\u0928\032\u0935\033\000\002\u091c\034\u092f\035\000\001\u092a\036\000\004\u0930\037\u093e \u0947!\u094d\042\000\001\u093c#\000\001\u093c$\000\002\u092f%\u0930&\000\002\u092c'\u093e(\000\001\u0940)\000\001\u093e*\000\004\u093e+\u0940,\u0942-\u0947.\000\002\u092f/\u093f0\000\003\u09151\u09302\u09423\000\002\u09324\u09475\000\002\u093e6\u09427\000\004\u093e8\u093f9\u0942:\u0947;\000\001\u0939<\000\001\u093f=\000\003\u0918>\u093e?\u094c@\000\002\u0930A\u093fB\000\006\u0902C\u092eD\u0939E\u093eF\u0942G\u094dH\000\001\u0924I\000\001\u094dJ\000\001\u0930K\000\001\u0930L\000\001\u094dM\000\002\u0924N\u0930O\000\001\u093cP\000\001\u093eQ\000\001\u091cR\007\000\000\001_S\000\001_T\000\001\u0937U\000\001\u093eV\000\001\u0932W\000\001\u0928X\012\000\000\001_Y\000\002\u0913Z\u0930[\000\001\u092c\134\000\001\u0902]\000\001\u0936^\000\001\u0930_\000\001\u0928`\000\001\u0936a\000\001\u093eb\000\002\u091cc\u0930d\000\001\u0921e\000\001\u093ff\000\001\u0930g\000\001\u0928h\000\001\u0902i\000\001\u0907j\000\001\u0932k\000\001\u0928l\000\001\u091fm\000\001\u0932n\000\001\u0902o\031\000\000\001\u0915p\000\001\u0941q\000\001\u0917r\000\001\u091fs\000\001\u094dt\000\002\u0915u\u0938v\000\002\u0915w\u0930x\000\001\u0915y\000\001\u0940z\000\002\u0925{\u0930|\000\001\u092a}\000\001\u0925~\000\002_\177\u093f\200\000\001\u0937\201\002\000\036\000\000\001\u092f\202\000\001\u093e\203\000\001\u094b\204\000\001\u092e\205\000\001\u0924\206\035\000\000\001\u092a\207\000\001\u0932\210\000\001\u0923\211\000\001\u0932\212\000\001\u0924\213\015\000\000\001\u0924\214\027\000\000\001\u0940\215\000\001\u0917\216\000\001\u091a\217\000\001\u092e\220\000\001\u094d\221\000\001\u093e\222\000\001\u0940\223\023\000\000\001\u0940\224\000\002\u093e\225\u094d\226\000\001\u093c\227\000\002\u0917\230\u0935\231\000\001\u094d\232\001\000\000\001\u0915\233\000\001\u091f\234\000\001\u0940\235\000\001\u094b\236\000\001\u093e\237\000\001\u092d\240\020\000\000\001\u094d\241!\000\000\001\u0942\242\000\001\u093e\243\000\001\u0917\244\000\001\u0932\245\000\001\u094d\246\000\001\u0941\247\000\001\u0915\250\000\001\u093e\251\010\000\033\000\000\001\u094d\252\000\001\u0930\253\000\001\u093f\254\000\001\u092e\255\000\001\u092e\256\000\001\u0930\257\000\001\u0925\260\000\001\u0930\261\000\001\u0927\262\000\001\u093e\263(\000\000\001\u094d\264\000\001\u093f\265\000\001\u093f\266\000\001\u0940\267\011\000\000\001\u0915\2705\000\000\001\u0930\271\000\001\u093e\272\000\001\u093f\273\000\001\u0918\274)\000%\0002\000\000\001\u0915\275\000\001\u092f\276$\000\000\001\u0923\277\000\001\u0930\300\000\001\u0923\301#\001\u0924\302\024\000\000\001\u092f\303\022\000&\000\000\001\u0942\304\000\001\u0924\305\000\001_\306\006\000\034\000\000\001\u094d\307\000\001\u0924\310\000\001\u0932\311\000\001\u094d\312\000\001\u0932\313\000\001\u0935\314\042\000\000\001\u0930\315\000\001\u0947\316\037\000\025\000\000\001\u093e\317<\000\013\000\000\001\u0913\320\000\001\u0930\321\000\001\u090f\322\000\001\u0915\323\032\000\005\0006\0008\000\000\001\u0915\324\030\000\000\001\u093e\325\000\001\u093e\326\000\001\u0928\327\000\001\u094d\330\000\001\u093e\331\000\001\u093e\3321\000\000\001\u0924\333\017\000\000\001\u0915\334\000\001\u092a\335\000\001\u0943\336.\000\000\001\u0937\337\000\001\u093f\340\000\001\u091c\341*\000\000\001\u0902\342\003\000\014\000\000\001\u0915\343\004\000:\000 \000\000\001\u0930\344\000\001\u0924\345\000\001\u093e\346\000\001\u0924\347\000\001\u0902\350\000\001_\351/\000\000\001\u0930\352\016\000\000\001\u0924\353\000\001\u093f\354\000\001\u0915\355\000\001\u0928\3560\000\000\001\u093e\3574\000,\000\026\000\000\001\u0928\360\000\001\u0915\361\000\001\u0939\362\000\001\u0924\363\000\001_\364\000\001\u0924\365=\000\000\001\u093f\366\000\001\u0930\367\000\001\u0936\370\021\000\000\001\u0948\371\000\001\u093e\372\000\001\u0915\3739\000\000\001\u0915\374-\000\000\001\u0940\375'\000\000\001_\376\000\001\u0930\377+\000\000\001\u0932\u0100\000\001\u0939\u0101\000\001\u0924\u01027\000\000\001\u0948\u0103\000\001\u093e\u0104;\000\000\001_\u0105\000\001\u0939\u0106\000\001\u0948\u01073\000";
+public final static String ja =
+    "\0007\u304c\001\u3053\002\u3055\003\u3059\004\u305a\005\u305d\006\u3068\007\u306a\010\u3082\011\u3084\012\u30a4\013\u30b1\014\u30b9\015\u30c7\016\u30cc\017\u30d0\020\u30d1\021\u30d6\022\u4e00\023\u4e2d\024\u4fdd\025\u500d\026\u507d\027\u516c\030\u51fa\031\u5217\032\u524a\033\u53d7\034\u540c\035\u5730\036\u5909\037\u5b9a \u5b9f!\u5c5e\042\u623b#\u6295$\u62bd%\u62e1&\u63ee'\u6574(\u6587)\u65b0*\u6d6e+\u7121,\u771f-\u77ed.\u7d9a/\u884c0\u8a661\u8d852\u8f383\u95774\u95a25\u97596\u975e7\020\000\000\001\u308c8\000\001\u305b9\000\001\u308b:\000\001\u3063;\000\001\u308c<\033\000\000\002\u304c=\u3089>\000\001\u3057?\000\001\u3063@\000\001\u30f3A\000\001\u30fcB\000\001\u30a4C\000\002\u30d0D\u30d5E\000\001\u30ebF\000\001\u30a4G\000\001\u30c3H\000\001\u30fcI\000\001\u6642J\000\001\u65adK\000\001\u8b77L\000\001\u6d6eM\011\000\000\001\u5171N\000\001\u305bO\000\001\u6570P\000\001\u9664Q\000\001\u3051R\000\001\u671fS\000\001\u5143T\000\001\u6570U\000\001\u6570V\000\002\u4f8bW\u88c5X\034\001\u6027Y\000\001\u3059Z\000\001\u3052[\000\001\u8c61\134\000\001\u5f35]\000\001\u767a^\000\001\u6570_\000\001\u5b57`\023\000\000\001\u6570a\000\001\u52b9b\010\000\000\001\u6570c\000\001\u3051d\000\001\u3051e\014\000\042\000\000\002\u5165f\u51fag\000\001\u6570h\000\001\u6570i\000\001\u7684j\000\001\u516ck\031\000\022\000\007\000\000\001\u3068l\000\001\u4ee5m\000\001\u3089n\004\000\002\000\000\001\u3068o\000\001\u30bfp\000\001\u30b9q\000\001\u30c3r\000\001\u30c3s\000\001\u30a9t\017\000\000\001\u30c8u\000\001\u30b1v\000\001\u30ebw\000\001\u7684x\013\000\000\001\u3055y\000\001\u6570z+\000\035\000\026\000&\000$\000=\000%\000\012\000\036\000<\000;\000-\000\006\000#\001\u3089{4\0003\000\000\001\u6027|\021\000\025\000 \000\032\000!\0005\000\027\000(\000,\000\030\000\001\000*\000\000\001\u958b}\037\000\000\001\u5916~\005\0000\000\000\001\u30fc\177\016\000\000\001\u30c1\200\000\001\u30ac\201\000\001\u30eb\202\024\000\000\001\u30fc\2031\000\000\001\u306a\204\000\001\u308c\205)\000\000\001\u308c\2067\0002\000\003\000\000\001\u30d5\207\015\0006\000\000\001\u30c8\210\000\001\u30b8\211:\0009\000\000\001\u308b\212\000\001\u30a7\213/\000.\000'\000\000\001\u30a4\214\000\001\u30b9\2158\000";
+public final static String pt =
+    "\000\017a\001b\002c\003d\004e\005f\006i\007l\010n\011p\012q\013r\014s\015t\016v\017\000\004b\020m\021p\022t\023\000\002o\024y\025\000\005a\026e\027l\030o\031u\032\000\003a\033e\034u\035\000\005l\036m\037n s!x\042\000\004a#i$l%u&\000\003m'n(r)\000\001o*\000\003a+o,u-\000\004a.o/r0\3721\000\001u2\000\001e3\000\004e4i5u6w7\000\003e8i9r:\000\003a;e<o=\000\001s>\000\001p?\000\001a@\000\001iA\000\001oB\000\001tC\000\002rDsE\000\001dF\000\001aG\000\002mHnI\000\001rJ\000\001dK\000\001bL\000\001pM\000\001iN\020\000\000\002qOuP\000\001tQ\000\001pR\000\002lSzT\000\001nU\000\001uV\000\001nW\000\001pX\000\002sYtZ\000\001p[\000\001n\134\000\001t]\000\001v^\000\001l_\000\001c`\000\001ra\000\002iboc\000\001bd\000\001ee\000\001tf\002\001ng\000\001nh\000\001pi\000\001ij\000\001nk\000\001pl\000\001am\000\002rnzo\000\001rp\000\001lq\000\001tr\000\001ls\000\001nt\000\001ru\000\001lv\000\001ew\000\001ax\000\001oy\000\001ez\000\001s{\033\000\000\002s|t}\000\001t~\000\001o\177\000\001u\200\000\001l\201\000\001m\202\000\001u\203\000\001m\204\000\002e\205\341\206\000\001o\207\000\001s\210\000\001e\211\000\001a\212\000\001t\213\000\001\347\214\000\002l\215o\216\000\001t\217\021\001e\220\000\001a\221\000\001g\222\000\001i\223\000\001o\224\000\001o\225\000\001o\226\004\001o\227\000\001v\230\000\001t\231\000\001l\232\000\001b\233\000\001o\234\000\001\343\235\000\001c\236\000\001e\237\000\001t\240\000\001t\241\000\001o\242\000\001n\243\012\000\000\001i\244\000\001d\245\000\001\341\246\000\001r\247\000\001i\250\000\001h\251\000\001a\252\000\001e\253\024\000\000\001c\254\016\000\000\001r\255\000\001s\256\000\001t\257\000\001i\260\000\001o\261\022\000\000\001g\262\000\001o\263\000\001i\264\000\001a\265\000\001e\266\031\000\000\001t\267\000\001r\270\000\001o\271\000\001r\272\000\001l\273 \000\000\001\343\274\000\001e\275\000\001r\276\000\001\342\277\000\001r\300\000\001r\301\000\001o\302\000\001v\303\023\000\017\000\000\001t\304\000\001m\305\000\001a\306\000\001e\307\000\001i\310\000\001r\311\000\001r\312\000\001o\313\000\001r\314\000\001r\315\000\001c\316\000\001a\317\000\001d\320\000\001s\321\000\001o\322\000\001a\323\000\001t\324\000\001a\325\000\001a\326\000\001a\327'\001r\330\000\001a\331\000\001t\332\035\000\000\001e\333\000\001a\334\000\001n\335!\000\000\001g\336)\000\000\001n\337\000\001n\340\000\001r\341\000\001i\342\000\001t\343\011\000\007\000\037\001m\344\000\001o\345\000\001m\346\000\001t\347\000\001n\350\000\001f\351\000\001a\352\030\000\000\001o\353\000\001e\354\000\001i\355\000\001d\356\000\001g\357\000\001c\360\000\001a\361\000\001n\362\003\000\000\001o\363\042\000\000\001h\364\000\001t\365\000\001e\366\000\001i\367\032\000\000\001d\370\000\001i\371\000\001t\372\000\001r\373\000\001r\374#\000\000\001n\375\025\000\034\000\000\001n\376\000\001u\377\000\001e\u0100\000\001a\u0101\000\001t\u0102\000\001a\u0103\000\001c\u0104\000\001a\u0105\000\001e\u0106\001\000\000\001e\u0107\000\001a\u0108\000\001c\u0109\000\001a\u010a\027\000%\000.\000\000\001s\u010b\000\001o\u010c\000\001i\u010d\000\001o\u010e\013\000\000\001o\u010f\000\001n\u0110\015\000\000\001i\u0111-\000\000\001t\u0112\000\001e\u0113\000\001l\u0114\000\001o\u01153\000$\000\000\001o\u0116\000\001t\u0117\000\001a\u0118\000\001r\u0119\000\001r\u011a\000\001o\u011b\000\001\347\u011c\000\001o\u011d\000\001r\u011e\000\001n\u011f\000\001n\u0120\000\001r\u0121\000\001i\u0122\000\001c\u0123\000\001s\u01242\000\000\001d\u0125+\000\006\000\000\001i\u0126\000\001v\u0127\000\001\363\u0128\000\001i\u01297\0004\0001\000\000\001e\u012a\000\001r\u012b6\000&\000\005\000\000\001\343\u012c*\000,\000\000\001t\u012d\000\001t\u012e(\000\000\001a\u012f\000\001e\u0130\000\001\343\u0131\000\001o\u0132\000\001z\u0133\000\001a\u0134\000\001r\u0135\000\001r\u0136\036\0005\000\000\001o\u0137\000\001e\u0138\000\001a\u0139\000\001d\u013a8\000\000\001o\u013b9\000\000\001a\u013c\014\000\000\001i\u013d\000\001o\u013e\026\0000\000;\000\000\001e\u013f/\000\000\001d\u0140\000\001o\u0141\010\000<\000\000\001o\u0142:\000=\000";
+public final static String ro =
+    "\000\022a\001b\002c\003d\004e\005f\006i\007l\010m\011n\012o\013p\014r\015s\016t\017v\020\356\021\u0219\022\000\005b\023c\024d\025l\026r\027\000\001u\030\000\006a\031e\032l\033o\034u\035\342\036\000\003a\037e u!\000\001x\042\000\003a#i$u%\000\003e&m'n(\000\001u)\000\002e*u+\000\003a,o-u.\000\001c/\000\004a0e1r2u3\000\001e4\000\004c5i6t7u8\000\002i9r:\000\003a;i<o=\000\001n>\000\001t?\000\001s@\000\001eA\000\001eB\000\001tC\000\001uD\000\001lE\000\002rFzG\000\001dH\000\001aI\000\001nJ\033\000\000\001tK\000\001cL\000\001pM\000\001bN\000\003eOpPtQ\000\001lR\000\002eSnT\000\001nU\000\001\u0219V\000\001pW\000\002sXtY\000\001nZ\000\001r[\000\001l\134\000\001t]\000\001u^\000\001l_\000\001t`\000\001ca\000\001nb\000\002icod\000\001be\000\001af\000\001ug\000\001nh\000\001ai\000\001pj\000\001pk\000\001al\000\001rm\000\001dn\000\001lo\020\003cpfqtr\000\001es\000\001tt\000\001su\000\001vv\000\001fw\000\001nx\000\001ey\000\001az\016\000\000\001e{\000\001s|\000\002s}t~\000\001t\177\000\001\u0103\200\000\001a\201\000\001l\202\000\001c\203\000\001o\204\000\001i\205\000\001s\206\022\000\000\001a\207\000\001c\210\000\001i\211\000\002l\212o\213\000\001t\214\021\001e\215\000\001g\216\000\001g\217\000\001\u021b\220\000\001i\221\023\000\017\000\000\001e\222\000\001h\223\000\001t\224\000\002n\225v\226\000\001t\227\000\001l\230\000\001l\231\000\001r\232\000\001c\233\000\001t\234\000\001e\235-\000\000\001n\236\012\000\032\000\000\001a\237\000\001e\240\000\002i\241u\242\000\001o\243\000\001r\244\000\001r\245\000\001t\246\000\001\u0103\247\000\001e\250\000\001c\251\000\001a\252\000\001c\253\000\001a\254\000\001\u0103\255\000\001t\256\000\001i\257\000\001i\260\002\000\000\001n\261\000\001u\262\000\001u\263\000\001r\264\000\001n\265\011\000\000\001l\266\000\001\u021b\267\000\001r\270\000\002e\271i\272\000\001r\273\000\001a\274\000\001r\275\030\000\000\001i\276\000\001i\277\000\001v\300\000\001t\301\000\001e\302\000\001r\303\000\001d\304\000\001a\305\000\001e\306\000\001i\307 \000\000\001t\310\000\001r\311\000\001i\312\000\001r\313\000\001z\314\000\001t\315\000\001a\316\000\001i\317\000\001n\320\000\001a\321\000\001g\322\000\001a\323\000\001a\324\000\001r\325\000\001l\326\000\001\u0103\327\000\001n\330\000\001t\331\000\001z\332\034\000\036\000\000\001n\333\000\001m\334\000\001a\335)\000\000\001t\336\000\001t\337\000\001d\340\037\000\000\001i\341\000\001e\342\000\001m\343\000\001c\344\000\001t\345\000\001n\346\000\001f\347\000\001l\350\000\001m\351%\000\024\000\000\001t\352\000\001u\353\000\001e\354\000\001t\355\000\001j\356\000\001c\357!\000\000\001o\360\000\001c\361\042\000\000\001i\362\000\001i\363\000\001r\364\000\001n\365\000\001c\366\000\001r\367\000\001e\370\000\001c\371\031\000\000\001a\372\003\000'\0001\000\000\001e\373\000\001\u0103\374\000\001u\375\000\001p\376\000\001t\377\000\001\u0103\u0100\000\001\u0103\u0101\000\001e\u0102\000\001e\u0103\013\000\000\001e\u0104\000\001i\u0105\000\001\u0103\u0106\000\001\u021b\u0107\000\001a\u0108\000\001a\u0109\000\001e\u010a.\000\004\000$\0002\000\000\001a\u010b+\000\000\001n\u010c*\000\000\001t\u010d\000\001l\u010e\000\001c\u010f\000\001a\u0110\000\001\u021b\u0111\000\001c\u0112&\000\000\001t\u0113\000\001t\u0114\000\001r\u0115\035\000\000\001\u0103\u0116\005\000\000\001o\u0117\007\000,\0003\000\001\000\000\001n\u0118\000\001t\u0119(\000\000\001\u0103\u011a\000\001\u021b\u011b\027\000\026\000\000\001t\u011c\000\001i\u011d\000\001o\u011e7\000\000\001\u0103\u011f\000\001l\u0120\000\001i\u0121\000\001e\u01224\000\010\000\025\0005\000\000\001r\u0123\000\001t\u0124/\000<\000\000\001\u0103\u01259\000\000\001z\u0126\000\001r\u0127\014\0000\000\000\001e\u0128\006\0006\000\000\001e\u01298\000\000\001a\u012a\000\001i\u012b\000\001d\u012c\000\001a\u012d\000\001t\u012e\000\001u\u012f\000\001e\u0130\000\001z\u0131=\000:\000\015\000\000\001\u0103\u0132;\000";
+public final static String ru =
+    "\000\023\u0430\001\u0431\002\u0432\003\u0434\004\u0435\005\u0437\006\u0438\007\u043a\010\u043b\011\u043d\012\u043e\013\u043f\014\u0440\015\u0441\016\u0442\017\u0443\020\u0444\021\u0446\022\u044d\023\000\001\u0431\024\000\001\u0430\025\020\004\u043a\026\u043e\027\u0441\030\u044b\031\000\002\u0432\032\u043b\033\000\001\u0441\034\000\001\u0430\035\000\004\u0437\036\u043c\037\u043d \u0441!\000\002\u043b\042\u043e#\000\001\u043e$\000\002\u043e%\u0443&\000\003\u0431'\u043a(\u0442)\000\006\u0430*\u0435+\u043b,\u043e-\u0440.\u0443/\000\002\u04300\u04351\033\004\u04382\u043b3\u04424\u04435\000\001\u04386\000\002\u04347\u04418\000\001\u04439\000\001\u0435:\000\003\u043a;\u043b<\u0442=\000\001\u0441>\000\001\u0439?\000\001\u043e@\000\001\u0437A\000\001\u0442B\000\001\u043fC\000\001\u043eD\000\002\u0438E\u044fF\000\001\u043bG\000\002\u0445H\u0448I\000\001\u043cJ\000\001\u043fK\000\002\u0430L\u0442M\000\001\u0442N\000\001\u0430O\000\002\u043dP\u0440Q\000\002\u0433R\u0436S\000\001\u0432T\000\001\u043bU\000\001\u0449V\000\001\u043eW\000\001\u043bX\000\001\u043aY\000\001\u0440Z\000\001\u0430[\000\003\u043a\134\u0441]\u0443^\000\003\u0435_\u0438`\u043ea\000\001\u0441b\000\001\u0441c\000\001\u0430d\000\002\u043ce\u043df\000\001\u0443g\000\001\u0430h\000\001\u043fi\000\001\u043fj\000\001\u0430k\000\001\u0442l\000\001\u043dm\000\001\u043bn\000\001\u0441o\000\001\u0435p\000\001\u043eq\000\001\u0442r\000\001\u0442s\000\001\u043dt\000\001\u0432u\000\001\u0440v\007\000\000\001\u0439w\000\001\u043dx\004\000\000\001\u0438y\000\001\u0432z\000\001\u0438{\000\001\u0435|\000\001\u043e}\000\001\u0447~\000\001\u0435\177\000\001\u0438\200\000\001\u0441\201\000\001\u0441\202\000\001\u043e\203\000\001\u0438\204\000\001\u044c\205\023\000\000\001\u044c\206+\000\000\001\u043d\207\000\001\u0430\210\000\001\u0435\211\012\001\u0435\212\000\001\u0432\213\000\001\u0430\214\000\001\u044b\215\000\001\u043c\216\000\001\u0440\217\000\001\u0432\220\000\002\u0432\221\u0434\222\000\001\u0442\223\000\001\u0448\224\000\001\u043b\225\000\001\u0432\226\000\001\u0445\227\000\001\u0447\230\000\001\u0442\231\000\001\u0435\232-\000\000\001\u043b\233\000\001\u0443\234\000\001\u043a\235\021\000\000\001\u043f\236\000\001\u043c\237\000\001\u0442\240\000\001\u0440\241\024\000\000\001\u0446\242\000\001\u0440\243\000\001\u043e\244\000\001\u043d\245\030\000\002\000\000\001\u0430\246\000\001\u0449\247\000\001\u043d\250\000\001\u0440\251\000\001\u0435\252\000\001\u0440\253\000\001\u043d\254\000\001\u0441\255\000\001\u0442\256\000\001\u0442\257\000\001\u0447\260\011\000\017\000\000\001\u0447\261\000\001\u0434\262\000\001\u0442\263\000\005\u0434\264\u0439\265\u043a\266\u0445\267\u0447\270 \000\005\000\000\001\u043b\271\000\001\u043e\272\000\001\u0432\273\000\001\u0430\274\000\001\u0435\275\000\001\u043e\276\000\002\u043e\277\u044c\300\000\001\u0438\301\000\001\u0438\302\000\001\u043e\303\000\001\u0440\304\000\001\u0430\305*\000\000\001\u0440\306\000\001\u0438\307\000\001\u043f\310\000\001\u0446\311\000\001\u043e\312\000\001\u0435\313\031\000\000\001\u0430\314\000\001\u0435\315\000\001\u0430\316\000\001\u0435\317\000\001\u043e\320\000\001\u0442\3219\000\000\001\u044f\322\000\001\u0442\323\003\000\000\001\u0444\324\000\001\u0430\325\034\000\036\000\000\001\u043a\3261\000\037\000\000\001\u0447\327.\000\000\001\u0430\330\000\001\u0442\331\000\001\u043b\332\000\001\u043e\333\026\000\000\001\u0430\334\000\001\u043b\335\000\001\u0430\336\000\001\u0442\337\000\001\u0440\340\000\001\u043b\341\032\000\022\000\000\001\u0440\342\000\001\u0437\343\000\001\u043b\344\000\001\u043e\345\000\001\u0439\346\042\000\000\001\u0442\347\000\001\u0438\350\000\001\u0438\351\000\001\u0440\352\000\001\u043d\353\000\001\u043a\3540\000\000\001\u0442\355\000\001\u043d\356\000\001\u0435\357\000\001\u0438\360\000\001\u0435\361(\000\000\001\u0435\362\010\000\000\001\u043e\363\000\001\u0438\364\000\001\u0442\365\000\001\u0438\366\015\000\000\001\u0434\367\000\001\u0435\370\000\001\u0447\371\000\001\u0442\3722\000\000\001\u0438\373\000\001\u0436\374\000\001\u044f\375\000\001\u0443\376\025\000\000\001\u043d\377\016\000\000\001\u044c\u0100\000\001\u0442\u0101\000\001\u044f\u0102\000\001\u0442\u0103\000\001\u0442\u0104\000\001\u0442\u0105\006\000%\000)\000\000\001\u0442\u0106\000\001\u043c\u0107\000\001\u0439\u0108\000\001\u0435\u0109\000\001\u043a\u010a\000\001\u044c\u010b\027\000\000\001\u043d\u010c\000\001\u0442\u010d\000\001\u0430\u010e\000\001\u044c\u010f\000\001\u0442\u0110\000\001\u0438\u0111\000\001\u0435\u0112\000\001\u0435\u0113\000\001\u0438\u0114&\000\000\001\u044c\u0115\001\000,\000<\000\000\001\u043d\u0116\000\001\u044c\u0117\000\001\u043e\u0118\000\001\u0441\u0119!\0006\000#\000\000\001\u044b\u011a'\000\000\001\u043d\u011b\013\000\000\001\u044c\u011c\000\001\u0442\u011d\000\001\u0442\u011e\000\001\u0442\u011f\000\001\u0437\u0120\035\000\000\001\u044b\u0121$\0007\0008\000\000\001\u0439\u0122\000\001\u0438\u0123\014\000\000\001\u044c\u01243\000;\000\000\001\u0438\u0125\000\001\u0439\u0126:\000\000\001\u044e\u01275\000\000\001\u0440\u01284\000/\000\000\001\u043e\u0129\000\001\u0432\u012a\000\001\u0430\u012b\000\001\u043d\u012c=\000";
+public final static String zh =
+    "\0007\u4e0d\001\u4ea4\002\u4ee5\003\u4f1a\004\u4f7f\005\u5047\006\u505a\007\u516c\010\u51fd\011\u5220\012\u5305\013\u534f\014\u53cc\015\u53d6\016\u53d7\017\u53d8\020\u540c\021\u5426\022\u5728\023\u5982\024\u5b57\025\u5b9e\026\u5bfc\027\u5c1d\030\u5e03\031\u5e38\032\u5f53\033\u6269\034\u629b\035\u62bd\036\u6325\037\u6355 \u63a5!\u6574\042\u65b0#\u65e0$\u6700%\u672c&\u6761'\u679a(\u6d6e)\u771f*\u77ac+\u77ed,\u79c1-\u7a7a.\u7c7b/\u7ee70\u8c031\u8d852\u8df33\u8fd44\u957f5\u97596\u9ed87\000\001\u53ef8\000\001\u63629\033\000\000\001\u629b:\022\000\011\000\007\000\000\001\u5171;\000\001\u6570<\000\001\u9664=.\000\000\001\u7a0b>\000\001\u7cbe?\004\000\000\001\u4fdd@\000\001\u91cfA\000\001\u6b65B\000\001\u5219C\020\000\000\001\u679cD\000\002\u7b26E\u8282F\000\002\u4f8bG\u73b0H\000\002\u5165I\u51faJ\000\001\u8bd5K\000\001\u5c14L\000\001\u91cfM\005\000\000\001\u5c55N\000\001\u51faO\000\001\u8c61P\000\001\u53d1Q\000\001\u83b7R\000\001\u53e3S\000\001\u6570T\000\001\u5efaU\000\001\u8fd4V\000\001\u540eW\000\002\u4f8bX\u5730Y\000\001\u4ef6Z\000\001\u4e3e[\000\001\u70b9\134\010\000\000\001\u65f6]\000\001\u6574^\000\001\u6709_\017\000\034\001\u578b`\000\001\u7eeda\000\001\u8bd5b\042\000\000\002\u51fac\u8f6cd\000\001\u56dee\000\001\u6574f\000\001\u6001g\000\001\u8ba4h\000\001\u53d8i\000\001\u673aj\000\001\u51fak+\000\001\000&\000\035\000\000\001\u5ea6l\000\001\u62a4m\012\000=\000\003\000\002\000\025\000\024\000\000\001\u4e3an;\000(\000,\000\014\0001\000\036\0003\000#\0004\000\000\001\u53d8o$\0008\000\021\000\023\000\000\001\u56dep0\000\031\000%\000\016\000\026\000\000\001\u6570q\000\001\u53d8r\000\001\u6570s2\000\000\001\u4e3at5\0006\000\013\000\000\001\u5230u\006\000\000\001\u6570v*\000/\000\000\001\u91cfw\015\000'\000\000\001\u6570x9\000<\000\000\001\u91cfy\032\000 \000\000\001\u91cfz!\000-\000\027\000\030\000\037\000)\0007\000:\000";
+public final static String bn =
+    "\000\026\u0985\001\u0986\002\u0989\003\u098f\004\u0995\005\u0997\006\u099a\007\u099b\010\u099c\011\u09a6\012\u09a7\013\u09a8\014\u09aa\015\u09ab\016\u09ac\017\u09ad\020\u09ae\021\u09af\022\u09b0\023\u09b6\024\u09b8\025\u09b9\026\000\004\u0995\027\u0997\030\u09ac\031\u09b8\032\000\001\u0997\033\000\003\u09a4\034\u09a6\035\u09aa\036\000\002\u0987\037\u099f \000\001\u09b0!\000\001\u09be\042\000\002\u09b2#\u09c7$\000\001\u09cb%\000\001\u09a8&\000\003\u09b6'\u09c0(\u09cd)\000\001\u09b0*\000\005\u09a4+\u09af,\u09be-\u09bf.\u09cd/\000\003\u09b00\u09c21\u09cd2\000\001\u09be3\000\003\u09b04\u09be5\u09c16\000\001\u09be7\000\002\u09a78\u09c19\000\003\u09a6:\u09be;\u09c7<\000\002\u0995=\u09aa>\000\002\u09c2?\u09c7@\000\007\u0982A\u09a4B\u09aeC\u09b0D\u09b9E\u09c1F\u09cdG\000\001\u09b2H\000\001\u09cdI\000\001\u09cdJ\000\001\u09b8K\000\002\u09a4L\u09cdM\000\001\u09aeN\000\001\u09cdO\000\001\u09cdP\000\001\u09b0Q\000\001_R\000\001\u09bfS\000\001\u09cbT\000\001\u0981U\000\001\u0995V\000\001\u09b7W\000\001\u0981X\000\001\u09cdY\000\001\u09aeZ\000\001\u09b0[\000\001\u09ac\134\000\001\u09be]\000\001\u09c1^\000\001\u09bc_\000\001\u09b2`\000\004\u0995a\u099cb\u09a4c\u09b0d\000\001\u09afe\000\002\u09bef\u09bfg\000\001\u09b0h\000\001\u09b0i\000\001\u0982j\000\001\u09cdk\000\001\u0987l\000\001\u09b2m\000\001\u0999n\000\001\u09cdo\000\001\u099bp\000\001\u09cdq\000\001\u0993r\000\001\u09b9s\000\001\u09cdt\000\001\u09cdu\000\001\u09a8v\000\001\u09b7w\000\001\u09b6x\000\001\u09cdy\000\001\u09bez\000\001\u0981{\033\000\000\001\u09b8|\000\002\u099f}\u09a5~\000\001\u09c7\177\000\001\u09b7\200\000\001\u09b0\201\000\001\u09cd\202\000\001\u09cd\203\000\001\u09a5\204(\000\000\001\u09aa\205\000\001\u09ac\206\000\001\u09bf\207\000\001\u09a7\210\031\000\007\000\000\001\u099f\211\012\000\000\001\u09cd\212\000\001\u09a1\213\000\001\u09af\214\000\001\u09bf\215\000\001\u09cd\216\000\001\u09bf\217$\000\000\001\u09a8\220\000\001\u09a4\221\017\000\000\001\u09cd\222\000\001\u09b8\223\000\001\u09cd\224\000\001\u09cd\225\000\001\u09c1\226\000\001\u09ae\227\000\003\u0997\230\u09ac\231\u09b6\232\000\001\u09cd\233\000\003\u0995\234\u09b8\235\u09c7\236\000\001\u09b6\237\000\001\u0997\240\000\001\u099f\241\000\001\u09c0\242\000\001\u09cd\243\000\001\u09af\244\000\001\u09cb\245\000\001\u09af\246\000\001_\247\000\001\u09c7\250\000\001\u09b7\251\000\001\u09a4\252\000\001\u09cd\253\037\000\000\001\u09c7\254\000\001\u09af\255\000\001\u09ac\256\000\001\u099c\257\000\001\u0982\260\000\001\u09cd\261\000\001\u09be\262\022\000\000\001\u09b0\263\000\001\u09b8\264\000\001\u09a5\265\000\001\u09af\266\000\001\u09be\267\000\001\u09be\270\000\001\u09be\271\042\000\000\001\u09b0\272\000\001\u09b0\273\000\001\u099f\274\000\001\u09bc\275\000\001\u09c7\276\000\001\u0995\277\000\001\u0998\300)\000\023\000\003\000\000\001\u09b7\301\000\001\u09cd\302\000\001\u09af\303\000\001\u09ac\304\000\001\u09a8\305\000\001\u09b0\306\000\001\u09a3\307\000\001\u09b0\310\000\001\u09c7\311\000\002\u09a3\312\u09ac\313\000\001\u09be\314\000\001\u09be\315\000\001\u0995\316\000\001\u09a8\317\034\000\024\000\000\001\u09af\320\000\001\u0997\321\000\001\u09c7\322&\000\000\001\u09aa\323\000\001\u09a4\324\000\001\u09a4\325\000\001\u09bf\326\000\001\u09be\327\000\001\u09af\330\000\001\u09be\331\010\000\000\001\u09b0\332\000\001\u09be\333\000\001\u0997\334\000\001\u09af\335\000\001\u09a8\336\025\000\000\001\u09b0\337\000\001\u09be\340\011\000\000\001\u09af\341\000\001\u09a6\342\000\001\u09af\343\000\001\u09a8\344\000\001\u09bf\345\000\001\u09be\346\000\001\u09be\347\004\000 \000\030\000\000\001\u09c7\350\000\001\u09ac\351\036\000\000\001\u09b8\352!\000\000\001\u09cd\353\000\001\u09a8\354\000\001\u09cd\355\000\001\u09b7\356\000\001\u09b8\357\000\001\u09a8\360\000\001\u09b6\361\000\001\u09b0\362\000\001\u09cd\363\001\000\000\001\u09bc\364\000\001\u09a8\365\020\000\000\001\u09bf\366\000\001\u09be\367\000\001\u09c1\370\000\001\u09a4\371\000\001\u09a8\372\000\001\u09b8\373\000\001\u09a7\374\000\001\u09cd\375\000\001\u09ae\376\000\001\u09a4\377\000\001\u09be\u0100\000\001\u09c0\u01015\000\016\000\000\001\u09bc\u0102\035\000\000\001\u09bc\u0103\000\001\u09c7\u0104.\000\014\000\000\001\u09b0\u0105\000\001\u09aa\u01062\000\000\001\u09cd\u0107\000\001\u09b6\u0108\000\001\u09be\u0109\000\001\u09a4\u010a\000\001\u09c7\u010b\000\001\u0982\u010c\000\001\u09bf\u010d\000\001\u09cd\u010e\000\001\u09bf\u010f\000\001\u09b7\u01101\000\013\000\002\000\000\001\u09a4\u0111\005\0009\000\000\001\u09bf\u0112\000\001\u09cd\u0113\000\001\u0995\u0114\000\001\u09a4\u0115;\000=\000\000\001\u099f\u0116\000\001\u09af\u0117\000\001\u09c0\u0118\000\001\u09c0\u0119\000\001\u09b0\u011a'\000#\000\000\001\u09a4\u011b\000\001\u09c7\u011c\026\000\000\001\u09bf\u011d0\000\000\001\u0996\u011e\000\001\u09b0\u011f\000\001\u09af\u0120\000\001\u09a4\u0121\000\001\u09be\u0122\000\001\u09c7\u0123,\000\000\001\u09a5\u01246\000\000\001\u09a8\u0125\000\001\u09bf\u0126\000\001\u09bc\u0127:\0007\000-\000\000\001\u09c1\u0128<\000\000\001\u09a4\u0129\000\001\u09cd\u012a\000\001\u09cd\u012b+\0003\000\000\001\u09aa\u012c\027\000\000\001\u09be\u012d\006\000\000\001\u0995\u012e%\000\000\001\u0995\u012f\000\001_\u0130\000\001\u09af\u0131\000\001\u09a7\u0132\000\001\u099f\u0133\000\001\u09a8\u0134*\0004\000\000\001\u0995\u0135\000\001\u09be\u0136\000\001\u09be\u0137\000\001\u09c7\u0138\032\000\000\001\u09b0\u0139\021\000\000\001\u09b0\u013a\000\001\u09b0\u013b\000\001\u09cb\u013c\000\001\u09bf\u013d8\000\015\000\000\001\u09a4\u013e/\000";
+public final static String ko =
+    "\0000\uac00\001\uac70\002\uacbd\003\uacc4\004\uace0\005\uacf5\006\uad6c\007\uae30\010\ub0b4\011\ub110\012\ub17c\013\ub300\014\ub3d9\015\ub514\016\ub9cc\017\ubb34\020\ubb38\021\ubc14\022\ubc18\023\ubcc0\024\ubcf4\025\uc0ad\026\uc0c1\027\uc0c8\030\uc288\031\uc2a4\032\uc2dc\033\uc2e4\034\uc544\035\uc591\036\uc5f4\037\uc758 \uc774!\uc77c\042\uc790#\uc791$\uc815%\ucc38&\ucd5c'\ucd94(\ucea3)\ud070*\ud074+\ud328,\ud558-\ud568.\ud655/\ud7180\000\001\uc6b41\000\001\uc9d32\000\001\uc6b03\000\001\uc18d4\000\001\uc7205\000\001\ub3d96\000\001\ud6047\000\001\ubcf88\000\001\ubd809\017\000\000\001\ub9ac:\000\001\uba74;\000\002\uae30<\uc548=\000\001\ubc84>\000\001\uc57d?\032\000\000\001\uc790@\000\001\uc774A\000\004\ubcf5B\uc785C\ucd9cD\ud658E\000\001\uc218F\000\001\ud638G\000\001\uc81cH\000\001\uc218I\000\001\ub85cJ\000\001\ud37cK\000\002\ub85cL\uc704M\000\001\ud589N\000\002\uc218O\ud589P\000\001\ub2c8Q\000\001\ubcf4R\000\001\uac70S\000\001 T\000\001\ud589U\000\001\uc2dcV\000\001\uc2e0W\000\001\uc740X\000\005\uc218Y\uc758Z\uc801[\uc9c0\134\ud655]\010\000\000\001\uc885^\000\001\uc0c1_\000\001\uce58`\000\001\uc815a\000\001\ub798b\000\001\ud0a4c\000\001\uc704d\000\001\uc218e\000\001\uc7a5f\000\001\ubc1cg\000\001\ub370h\011\000\016\0005\000%\000+\000\000\001\ud558i\000\001\uac12j2\0001\0008\000\000\001\ud654k\005\000\000\001\uac70l\002\000\025\000\000\001\ud2b8m\004\000(\000,\000\006\000\012\0009\000&\000\036\000\023\000\042\000\000\001\uc6b0n\000\001\uce58o\014\000 \000\007\000\000\001\uba74p\035\000\026\000\000\002\uc778q\ud615r\027\000\000\001\uc801s\031\000\000\001\uc815t\021\000\022\000*\000\013\000\000\001\uc2e4u0\0004\000$\000\000\001\uc218v\000\001\uc2a4w\000\001\uc9c0x\033\000\001\0003\000\000\001\uc131y\020\000\000\001\ub2e4z/\000\000\001\ub41c{6\000\024\000'\000\015\000\003\000\000\001\uc2a4|-\000\000\001\uc778}\000\001\uc218~\000\001\uc218\177\030\000\034\000.\0007\000;\000=\000\000\001\ud134\200:\000!\000)\000\000\001\uc2a4\201<\000";
+public final static String tr =
+    "\000\024a\001b\002d\003e\004f\005g\006h\007i\010k\011l\012m\013p\014s\015t\016u\017v\020y\021\347\022\366\023\374\024\000\004r\025t\026y\027\347\030\000\003a\031o\032u\033\000\004e\034o\035u\036\366\037\000\002\u011f \u015f!\000\001\u0131\042\000\002e#i$\000\001a%\000\006h&k'l(t)\347*\u015f+\000\003a,o-\u0131.\000\001i/\000\001e0\000\001a1\000\005a2e3i4o5\u01316\000\004a7e8i9\374:\000\002y;z<\000\001a=\000\003a>e?o@\000\002iAoB\000\001zC\000\001sD\000\001aE\000\001aF\000\001\u0131G\000\001\u0131H\000\001yI\000\001oJ\031\000\000\003nKvL\u011fM\000\001\u011fN\000\001rO\000\001nP\000\001eQ\000\001iR\000\001rS\000\002lT\347U\000\001tV\000\001rW\000\001rX\000\001eY\000\001eZ\000\001h[\000\001i\134\000\001l]\000\001y^\000\001r_\000\002r`sa\000\001sb\000\001tc\000\001kd\000\001be\000\001\347f\000\001lg\000\002nhyi\000\001nj\000\001mk\000\001sl\000\001pm\000\001rn\000\001go\000\001up\000\001rq\000\003krnspt\000\001nu\000\001kv\000\001fw\000\001kx\000\001ey\000\001tz\000\001b{\022\000\000\001k|\000\001k}\000\001t~\000\001l\177\000\001e\200\000\001a\201\000\001i\202\000\002a\203r\204\000\002a\205u\206\000\001g\207\000\001r\210\000\001t\211\000\001l\212\000\001i\213\000\001i\214\027\000\000\001f\215\000\001a\216\000\001n\217\033\000\000\001a\220\000\001n\221\000\001e\222\000\001a\223\000\001u\224\013\000\000\001a\225\000\001t\226\000\001o\227\000\001e\230\000\001i\231\000\001i\232&\000\037\001u\233\000\001u\234\000\001\u0131\235\021\000\000\001l\236\000\001i\237\000\001e\240\000\001u\241\000\001n\242\000\001s\243\000\001a\244\000\001l\245\007\000\000\001i\246\017\000\000\001t\247\000\001a\250\000\001l\251\042\000\000\001i\252\000\001l\253+\000\024\0001\000\014\000\000\001m\254\000\002l\255\u015f\256\000\001l\257\000\001u\260\000\001\u011f\261\000\001m\262\000\001\374\263\002\000\000\001l\264\000\001a\265\000\001\u015f\266\000\001c\267\025\000\000\001\347\270\005\000\000\001l\271\000\001d\272\000\001v\273\000\001n\274\000\001m\275!\000\000\001e\276\000\001t\277\000\001t\300\000\001t\301\000\001m\302\000\002n\303\347\304\000\001t\305\000\001f\306\000\001i\307-\000\000\001v\310\000\001l\311\030\000\000\001a\312\000\001l\313\000\001\u0131\314\023\000)\000\000\001m\3152\000\000\001r\316\000\001a\3175\000\000\001s\320\000\001k\321%\000\010\000\000\001a\322\016\000\004\000\000\001e\323\000\001t\324\000\001t\325\000\001i\326,\000(\000\000\001e\327\001\000 \000\000\001a\330\026\000\032\000.\000\036\000\015\000\000\001d\331\006\0004\000\034\000\000\001m\332\000\001i\333\000\001a\334\000\001y\335\000\001a\336\000\001\u015f\337\000\001a\340\000\001i\341\000\001y\342\000\001e\343\000\001e\344\000\001n\345\000\001n\346#\001\u0131\347\000\001i\350:\000\020\000\000\001l\351\000\001a\352\035\000<\000\000\001r\353\000\001\u0131\354$\000\011\000\000\001\347\355\000\001m\356\000\001\u0131\357\003\000\000\001n\360*\000\000\001m\361\000\001r\362\000\001r\363\000\001\u0131\3640\000;\000\000\001l\365\000\001l\3668\000\000\001c\367\012\000\000\001i\370'\000\000\001i\3719\000\000\001a\372\000\001\u0131\373\000\001\u0131\374\000\001\u015f\375\000\001r\376\000\001n\3777\0006\000=\0003\000/\000";
+public final static String id =
+    "\000\022a\001b\002c\003d\004e\005f\006h\007i\010j\011k\012l\013m\014p\015r\016s\017t\020u\021v\022\000\004b\023n\024p\025s\026\000\004a\027e\030i\031o\032\000\001o\033\000\001o\034\000\002k\035n\036\000\002i\037u \000\001a!\000\002m\042n#\000\001i$\000\003a%e&o'\000\002a(e)\000\002e*i+\000\004a,e-r.u/\000\001e0\000\005a1e2t3u4w5\000\003a6e7i8\000\001n9\000\002a:o;\000\001s<\000\002t=u>\000\001u?\000\001a@\000\002rAwB\000\002nCrD\000\002lEtF\000\001oG\000\001bH\000\001bI\000\001sJ\000\001uK\000\001nL\000\001nM\000\003mNpOsP\000\001pQ\000\001sR\000\001kS\000\002rTsU\000\001lV\000\002nWsX\000\003iYkZn[\000\002m\134p]\000\002l^n_\000\001s`\000\003dakbnc\000\001nd\000\001ie\000\002bftg\000\001th\000\001li\000\002ljmk\000\001al\000\002dmpn\000\001io\000\001np\000\001rq\000\001pr\000\001ts\000\001rt\000\001lu\000\001tv\000\001aw\031\000\000\001nx\000\001ly\000\001uz\000\001a{\000\001a|\000\001s}\000\001b~\000\001a\177\000\001l\200\000\001a\201\000\001e\202\000\001p\203\000\001m\204\000\001a\205\000\001g\206\000\001p\207\000\001u\210\000\001i\211\000\002l\212o\213\000\001t\214\000\001a\215\025\000\000\001u\216\000\001a\217\000\001s\220\000\001o\221\000\001n\222\000\001u\223\000\001j\224\000\001p\225\000\001a\226\000\001u\227\000\001u\230\000\001a\231\000\001a\232.\000\000\001j\233\000\002d\234g\235\000\001v\236\000\001l\237\000\001u\240\000\001u\241\000\001a\242\000\001a\243\000\001e\244\000\001t\245\000\001a\246\000\001e\247\000\001t\250\000\001g\251\000\002l\252s\253\000\001e\254\000\001u\255\012\000\000\001a\256\000\001r\257\000\001r\260\000\001g\261\000\001i\262\023\000\000\001a\263\000\001r\264\000\001a\265\000\001u\266\024\0001\000\014\000\000\001l\267\000\001o\270\026\000\000\001l\271\000\001s\272\000\001a\273\000\001s\274\000\001l\275\000\001e\276\000\001r\277\000\001a\300\002\000\000\001s\301\000\001s\302\000\001t\303\000\001n\304\000\001n\305\000\001k\306\000\001u\307\000\001a\310\000\001s\311\000\001a\312\000\001j\313\000\001l\314\020\000\000\001a\315\000\001e\316\000\001a\317\000\001a\320\000\001i\321\000\001s\322\000\001r\323\000\001h\324\000\001g\325\000\001n\326\000\001i\327\000\001h\330\000\001r\331\000\001c\332\000\001k\333\000\001i\334\000\001i\335\000\001d\336\000\001k\337\000\001t\340\000\001a\341\000\001m\342 \000/\000\000\001n\343\010\000\000\001m\344\000\001l\345)\000\000\001r\346\037\000\000\001i\347\032\000&\000\035\000\000\001m\350(\000\000\001n\351\016\000\034\000\000\001a\352\000\001g\353\000\001y\354\000\001a\355\000\001t\356\000\001r\357\000\001k\360\000\001s\361\000\001u\362\000\001k\363\000\001n\364\000\001k\365\000\001w\366\000\001t\367\000\001k\370\013\000\006\000\011\000\000\001i\371\000\001t\372\000\001s\373\000\001n\374\042\000\000\001h\375\000\001a\376\000\001n\377\000\001n\u0100\000\001a\u0101\004\000\000\001i\u0102\000\001k\u0103\000\001u\u0104\000\001a\u0105\000\001a\u0106\021\000,\000\001\000\000\001e\u0107\000\001s\u0108\000\001n\u0109\017\000\000\001a\u010a\000\001n\u010b5\000\000\001a\u010c\000\001a\u010d3\000\027\000\000\001a\u010e\000\001g\u010f!\000\000\001a\u01102\000+\000\005\000\000\001a\u0111*\000\000\001y\u0112\015\000\000\001p\u0113\000\001d\u0114\000\001k\u0115\000\001r\u0116\000\001l\u01174\000\000\001k\u0118\000\001s\u0119\033\000\000\001n\u011a\000\001i\u011b\000\001t\u011c\003\000\007\000\000\001n\u011d\000\001n\u011e\000\001n\u011f\030\000\000\001k\u0120\000\001r\u0121\000\001a\u0122$\000\000\001u\u0123\000\001r\u0124\000\001i\u01257\000\000\001a\u0126\000\001l\u0127\000\001t\u0128\000\001d\u0129\000\001a\u012a'\000#\000\022\000\000\001u\u012b\000\001a\u012c0\000\000\001n\u012d\000\001o\u012e-\0008\000\000\001i\u012f\000\001a\u0130\000\001a\u0131\036\000\000\001t\u0132:\000\000\001g\u0133\000\001n\u0134%\000\000\001s\u0135\000\001r\u0136\000\001u\u01379\000\000\001i\u0138\000\001i\u0139\000\001i\u013a6\000\000\001s\u013b;\000<\000\000\001a\u013c\000\001s\u013d\000\001i\u013e=\000";
+public final static String it =
+    "\000\022a\001b\002c\003d\004e\005f\006g\007i\010l\011m\012n\013o\014p\015q\016r\017s\020t\021v\022\000\001s\023\000\003o\024r\025y\026\000\003a\027l\030o\031\000\002e\032o\033\000\002n\034s\035\000\003a\036i\037u \000\001e!\000\003m\042n#s$\000\002a%u&\000\001e'\000\002a(u)\000\001p*\000\004a+e,r-u.\000\001u/\000\002e0i1\000\005e2i3m4t5u6\000\003e7i8r9\000\005a:e;i<o=u>\000\002s?t@\000\001oA\000\001eB\000\001tC\000\003nDrEsF\000\001aG\000\002nHsI\000\001fJ\000\001pK\000\001uL\000\003eMpNtO\000\001lP\000\001nQ\000\001nR\000\001tS\000\001pT\020\002fUtV\000\001tW\000\001nX\000\001nY\000\001nZ\000\001t[\000\002l\134o]\000\001p^\000\001c_\000\001r`\000\002iaob\000\001bc\000\001ed\000\001ne\000\001tf\002\000\000\001ng\000\001ih\000\001ai\000\001pj\000\001nk\000\001pl\000\001am\000\002inro\000\001rp\000\001rq\000\001lr\000\001os\000\001et\000\001ru\000\001lv\000\001vw\000\001ex\000\001cy\025\000\000\001oz\000\001s{\033\001t|\000\001t}\000\001a~\000\001p\177\000\001m\200\000\001g\201\000\001o\202\000\001e\203\000\001s\204\000\001a\205\000\001z\206\000\001t\207\000\002l\210o\211\000\001i\212\021\001e\213\000\001a\214\000\001c\215\000\001g\216\000\001t\217\000\001i\220\000\001l\221\000\001v\222\000\001u\223\000\001c\224\004\000\000\001v\225\000\001t\226\000\001b\227\000\001s\230\000\001d\231\000\001o\232\000\001c\233\000\001s\234\000\001t\235\000\001e\236\000\001t\237\000\001o\240\000\001n\241\000\001a\242\012\000\000\001o\243\000\001g\244\000\001a\245\000\001t\246\000\001g\247\000\001a\250\000\001e\251\000\001e\252\024\000\000\001e\253\016\000\000\001s\254\000\002i\255r\256\036\000\000\001u\257\000\001i\260\026\000\000\001u\261\000\001r\262\000\001n\263\000\001o\264\000\001l\265\000\001i\266\000\001a\267\000\001e\270\000\001r\271\000\001n\272\000\001r\273\000\001n\274\000\001i\275\000\001o\276\000\001r\277\000\001v\300\000\001o\301\000\001o\302\000\001r\303\000\001h\304\000\001a\305\000\001e\306\000\001l\307\000\001t\310\000\001e\311\000\001r\312\000\001r\313\000\001t\314\000\001i\315\000\001r\316\000\001a\317\000\001d\320\000\001s\321\027\000\010\000\000\001m\322\000\001t\323\000\001o\324\000\001n\325\000\001t\326\000\001a\327!\000\000\001l\330\000\001e\331\000\001n\332\000\001o\333\000\001l\334\000\001o\335\000\001i\336\000\001t\337\000\001d\340\011\000\000\001e\341\000\001o\342\000\001r\343\000\001m\344\000\001t\345\000\001e\346\000\003c\347f\350r\351\000\001z\352\000\001a\353\030\000\000\001e\354\000\001o\355\017\000\023\000\000\001e\356\000\001e\357\000\001t\360\000\001t\361\000\001i\362\000\001o\363\000\001r\364\000\001n\365\000\001o\366\000\001a\367\000\001c\370\042\000\000\001r\371\000\001i\372\000\001i\373\000\001o\374\000\001i\375\032\000\000\001a\376\000\001t\377\000\001n\u0100\000\001l\u0101\034\000\000\001u\u0102\000\001l\u0103\000\001t\u0104)\000\000\001r\u0105\000\001a\u0106\000\001e\u0107\037\000\000\001n\u0108\000\001e\u0109\000\001e\u010a\000\001a\u010b0\000\000\001e\u010c\000\001a\u010d\000\001o\u010e\000\001a\u010f\000\001r\u0110\005\000%\000\003\000\000\001t\u0111\000\001o\u0112\000\001t\u0113\000\001c\u0114\031\000\000\001e\u0115\000\001a\u0116\000\001n\u0117\000\001r\u0118\000\001o\u0119\000\001e\u011a-\000\000\001t\u011b\000\001b\u011c\000\001l\u011d\000\001r\u011e\000\001o\u011f\000\001o\u0120\000\001a\u0121\000\001a\u0122\000\001l\u0123/\000\000\001e\u0124\000\001r\u0125\000\001r\u0126\000\001e\u0127'\000\000\001n\u0128\000\001r\u0129\000\001t\u012a\000\001c\u012b\000\001m\u012c\000\001d\u012d\000\001e\u012e\000\001t\u012f2\000\000\001o\u0130\000\001o\u0131\035\000\000\001r\u0132\000\001i\u0133\000\001e\u0134*\000\014\000\000\001o\u0135 \000\000\001e\u0136\000\001e\u01374\0001\000\000\001r\u0138\000\001r\u0139\000\001o\u013a\007\000\000\001e\u013b\000\001e\u013c\001\000\000\001t\u013d\000\001e\u013e\000\001t\u013f\000\001c\u0140\000\001p\u0141\000\001i\u0142#\000\000\001o\u01439\000+\000\000\001e\u0144\000\001z\u0145\015\000\000\001r\u01467\000\022\000\000\001e\u0147\000\001e\u0148\000\001e\u0149,\0003\000\000\001a\u014a(\000\000\001a\u014b\000\001i\u014c\000\001e\u014d<\000.\000\006\000\000\001z\u014e\000\001i\u014f&\0005\000\000\001r\u0150\000\001r\u0151\000\001r\u0152\000\001a\u0153\000\001r\u0154\000\001a\u0155\000\001o\u0156\000\001r\u0157\000\001e\u0158\000\001e\u01598\000\000\001e\u015a\000\001t\u015b:\000\000\001o\u015c;\000$\000\013\000\000\001o\u015d\000\001r\u015e=\000\000\001i\u015f6\000";
+public final static String sw =
+    "\000\024a\001b\002c\003d\004e\005f\006h\007i\010j\011k\012l\013m\014n\015p\016r\017s\020t\021u\022v\023w\024\000\003c\025i\026s\027\000\003a\030i\031u\032\000\001h\033\000\002a\034h\035\000\001n\036\000\002l\037u \000\003e!i\042u#\000\006b$k%l&n'p(s)\000\002a*u+\000\003a,i-w.\000\001a/\000\003f0p1w2\000\002d3e4\000\001a5\000\002e6u7\000\001i8\000\003e9o:u;\000\001m<\000\001u=\000\001a>\000\001h?\000\001n@\000\001iA\000\003dBiCtD\000\001nE\000\001lF\000\001uG\000\002bHkI\000\001aJ\000\001dK\000\001oL\000\002pMtN\000\001sO\000\001iP\000\003eQrRtS\000\001aT\000\001iU\000\002iVoW\000\002gXtY\000\001oZ\000\001o[\000\002m\134r]\000\001u^\000\003r_w`za\000\002fbtc\000\002adee\000\001sf\000\001ag\000\001yh\000\001ii\000\002ajek\000\001nl\000\001mm\000\001jn\000\001so\000\001kp\000\001nq\000\001ar\000\002lspt\000\001mu\000\001nv\000\001kw\000\001ix\000\001ay\000\001lz\000\001i{\000\002n|t}\000\001i~\000\001a\177\000\001e\200\000\001k\201\000\001o\202\000\001a\203\000\001n\204\000\001e\205\000\001t\206\000\001i\207\000\001a\210\000\001a\211\031\000\000\001n\212\000\001u\213\000\001u\214\000\001d\215\000\001w\216\000\001n\217\000\001p\220\000\001i\221\000\001e\222\000\001t\223\000\002b\224d\225\000\002b\226i\227\000\001i\230\042\000\000\001a\231\000\001a\232\000\001i\233\000\001u\234\000\001a\235\004\000\000\001l\236\000\001i\237\000\001n\240\000\001a\241\000\001s\242\000\001n\243\000\001f\244\000\001d\245\000\001o\246\000\001e\247\000\001h\250\000\001w\251\000\001d\252,\000\000\001i\253\000\001u\254\000\001a\255\000\001j\256\000\001a\257\000\001a\260\000\001y\261\000\001i\262\000\001l\263\000\001a\264\000\001i\265\000\001l\266\000\001f\267\000\001a\270\000\001u\271)\000$\000\000\001i\272\000\001l\273\000\001i\274!\000&\000\000\001b\275\000\001d\276\000\001s\277\000\001m\300\000\001i\301\000\001a\302\000\001d\303\000\001a\304\000\001z\305\000\001j\306\000\001e\307\000\001a\310\000\001u\311\000\001o\312\000\001i\313\000\001b\314\000\001k\315\000\001i\316\001\000\000\001r\317\000\001f\320\000\001i\321\000\001v\322\000\001o\323\023\000\000\001h\324\000\001i\325\000\001u\326\000\001a\327\000\001j\330\000\001a\331\000\001a\332\000\001e\333\000\001a\334*\000\032\000+\000\000\001a\335\000\001t\336\035\000\000\001a\337%\000\000\001i\340\000\001u\341\024\000\000\001i\342\000\001s\343\000\001n\344\000\001l\345\000\001a\346\000\001e\347 \000\000\001u\350\000\001e\351\000\001h\352\000\001i\353\012\000\002\000\000\001w\354\000\001t\355\000\001a\356\000\001a\357\000\001a\360\000\001d\361\000\001m\362\016\000\034\000\000\001u\363\000\001t\364\000\001d\365\000\001u\366\000\001u\367\010\000\000\001y\370\000\001W\371\000\001o\372\000\001Y\373\030\000\027\000\000\001a\374\006\000#\000\000\001l\375\007\000\013\000\000\001i\376-\000\015\000\000\001s\377\017\000\000\001i\u0100\000\001i\u0101\000\001i\u01024\000\000\001a\u0103\026\000\000\001l\u0104\000\001a\u0105\000\001a\u0106\000\001a\u0107\000\001a\u0108(\000\021\000\000\001y\u0109\000\001i\u010a\000\001u\u010b\014\000\000\001a\u010c\000\001a\u010d\000\001s\u010e\000\001t\u010f\000\001o\u0110\000\001a\u0111\037\001n\u0112\000\001a\u0113\000\001n\u0114\000\001i\u0115\005\000\000\001o\u01162\0001\000\000\001a\u01175\000\000\001e\u0118'\000;\000\000\001y\u0119\000\001n\u011a\000\001o\u011b\036\000:\000\025\000/\000\000\001h\u011c\000\001a\u011d\003\000<\000\000\001i\u011e\020\000\000\001a\u011f\011\0008\000\022\000\000\001z\u0120\000\001o\u0121\000\001i\u01227\000\000\001i\u0123\000\001k\u01240\000\033\000\000\001a\u01259\000\000\001s\u0126.\000\000\001a\u01273\000\000\001h\u0128\000\001s\u0129\000\001w\u012a\000\001o\u012b\000\001a\u012c\000\001r\u012d=\000\000\001o\u012e6\000";
+public final static String nl =
+    "\000\025a\001b\002c\003d\004e\005f\006g\007h\010i\011k\012l\013m\014n\015o\016p\017r\020s\021t\022v\023w\024z\025\000\003b\026l\027n\030\000\003e\031o\032y\033\000\001o\034\000\004e\035o\036r\037u \000\002n!x\042\000\001u#\000\003a$e%o&\000\001e'\000\002m(n)\000\002l*o+\000\002a,e-\000\002a.e/\000\001u0\000\003n1p2v3\000\002a4r5\000\001a6\000\002c7t8\000\002e9y:\000\004a;e<l=o>\000\001a?\000\002e@oA\000\001sB\000\001sC\000\001dD\000\001sE\000\002oFvG\000\001tH\000\001nI\000\002bJfK\000\001eL\000\001iM\000\001bN\000\001uO\000\001pP\000\001nQ\000\001nR\000\003eShTsU\000\001oV\000\001rW\000\001pX\020\003dYsZt[\000\001a\134\000\001r]\000\002a^n_\000\001e`\000\001aa\000\001tb\000\001lc\000\002ddwe\000\001ef\000\001eg\000\001kh\000\002iioj\000\001ak\000\001hl\000\001am\000\003knnorp\000\001pq\000\002nrrs\000\001rt\000\001uu\000\001ov\000\001aw\000\001lx\000\001ly\000\001tz\002\000\000\001e{\000\001c|\000\001l}\000\001e~\000\001e\177\000\001s\200\000\001u\201\000\001i\202\007\000\000\001j\203\000\001b\204\000\001m\205\000\001o\206\000\001c\207\000\001a\210\000\001f\211\000\001e\212\000\001y\213\000\001i\214\000\001h\215\000\002l\216o\217\000\001i\220\000\001t\221\000\001e\222\000\001s\223\000\001t\224\000\001t\225\000\001g\226\000\001g\227\000\001k\230\033\000\017\000\000\001e\231\000\001a\232\000\001n\233\000\001r\234\000\001k\235\000\001v\236\000\001b\237\000\001k\240\000\001a\241\000\001t\242\000\001e\243\000\001s\244\000\001u\245\000\001e\246\000\001g\247\012\000\000\002g\250w\251\000\001c\252\000\001r\253\000\001r\254\000\001f\255\000\001a\256\000\001r\257\000\001r\260\000\001h\261\000\001e\262\000\001n\263\024\000\000\001t\264\000\001g\265\000\001n\266\000\001v\267\000\001e\270\026\000\000\001r\271\000\001t\272\000\001a\273\035\000\000\001e\274\000\001n\275#\001t\276\000\001a\277\000\001e\300\000\001r\301\000\001e\302\000\001a\303\000\001r\304\000\001s\305!\000\022\000\030\000\000\001t\306\023\000\000\001r\307\000\001a\310\000\001b\311\000\002g\312i\313\000\001e\314\000\001\351\315\000\001e\316\000\001v\317\000\001k\320\000\001i\321\000\001n\322\000\001l\323\000\001g\324\000\001v\325$\000\000\001r\326\000\001i\327\000\001h\330\004\000\010\000\031\000\000\001n\331\000\001a\332\000\001s\333\000\001e\334\000\001a\335\042\000\036\000\000\001g\336\000\001i\337\000\001e\340\000\001l\341\000\001t\342\000\001i\343\000\001r\344\000\001l\345\000\001c\346'\000\000\001a\347\000\001m\350\000\001t\351\000\001n\352\000\001n\353\000\001n\354\000\001e\355\000\001e\356\000\001b\357\000\001r\360\000\001a\361\000\001a\362\000\001g\363\000\001t\3642\000\000\001e\365\000\001l\366\000\001e\367\000\001s\370\025\000\000\001o\371\006\000\000\001a\372\000\001o\373\000\001j\374\000\001t\375\000\001g\376\000\001c\377\003\000\000\001r\u0100\000\001a\u0101\000\001e\u0102\000\001t\u0103\000\001n\u0104)\000\000\001e\u0105\000\001e\u0106\027\000\021\000\000\001h\u0107\000\001l\u0108\000\001e\u0109\000\001e\u010a\016\000\000\001t\u010b%\000\034\000\032\000\000\001r\u010c\011\000\000\001a\u010d\000\001n\u010e\000\001e\u010f.\000\000\001r\u0110\000\001a\u0111\000\001l\u0112\000\001c\u0113\000\001t\u0114\000\001n\u0115\000\001o\u0116\000\001d\u0117\000\001i\u0118\005\000\000\001t\u0119\000\001m\u011a\000\001n\u011b\000\001r\u011c\000\001i\u011d\000\001d\u011e\000\001e\u011f\001\000\000\001r\u01205\000\000\001n\u0121\000\001e\u0122\000\001i\u0123\000\001e\u0124\000\001r\u0125\000\001g\u0126/\000\014\000\000\001k\u0127\015\000\000\001h\u0128\000\001t\u0129-\000\000\001t\u012a\000\001e\u012b\000\001g\u012c\000\001e\u012d\000\001d\u012e\000\001s\u012f6\000\000\001e\u0130\000\001e\u0131\000\001r\u0132\000\001o\u0133\000\001t\u0134\000\001r\u0135\000\001e\u0136\000\001e\u0137+\000:\0008\000*\000\000\001e\u01383\000\000\001r\u01397\0004\0009\0001\000\000\001f\u013a \000,\000\000\001n\u013b\000\001e\u013c(\000\000\001v\u013d\000\001k\u013e0\000&\000\037\000\000\001i\u013f\000\001e\u0140\000\001a\u0141\013\000\000\001s\u0142\000\001r\u0143\000\001n\u0144\000\001e\u0145\000\001t\u0146<\000\000\001e\u0147;\000\000\001r\u0148\000\001d\u0149=\000";
+public final static String pl =
+    "\000\024a\001b\002c\003d\004e\005f\006i\007j\010k\011l\012n\013o\014p\015r\016s\017t\020u\021w\022y\023z\024\000\001b\025\000\001a\026\000\002a\027h\030\000\005a\031e\032l\033o\034\u0142\035\000\001k\036\000\002a\037u \000\003d!m\042n#\000\001e$\000\002l%r&\000\001o'\000\004a(i)o*u+\000\002p,s-\000\005a.o/r0u1\3632\000\002o3z4\000\003p5t6y7\000\002e8y9\000\002l:s;\020\001y<\000\001i=\033\005a>m?n@wA\u0142B\000\001sC\000\002jDzE\000\001lF\000\001rG\000\001lH\000\001bI\000\001aJ\000\001mK\000\001uL\000\001sM\000\001\u0142N\000\001nO\000\001zP\000\001pQ\000\002aRtS\000\002sT\u015bU\000\001aV\000\001oW\000\001gX\000\001tY\000\002cZe[\000\001w\134\000\001l]\000\001c^\000\001t_\000\001k`\000\002dawb\000\003acydze\000\001bf\000\001kg\000\001zh\000\001ui\000\001rj\000\001ak\000\001nl\000\001nm\000\001pn\000\001oo\000\001up\000\001lq\000\001er\000\001ws\000\002itpu\000\001av\000\001rw\000\001ax\000\001ty\000\001tz\000\001a{\021\000\000\001o|\000\001e}\000\001u~\004\000\000\001y\177\000\001g\200\000\001p\201\000\001s\202\000\001k\203\027\000\000\002l\204o\205\000\001c\206\000\001e\207\000\001t\210\000\001l\211\000\001s\212\000\001t\213\000\001i\214\000\001y\215\032\000\000\002c\216t\217\000\001y\220\000\001l\221\000\001j\222\000\001a\223\000\001i\224\000\001w\225\000\001t\226\000\001w\227\000\001w\230\000\001e\231\000\001l\232\000\001i\233\000\001s\234\000\002c\235\u0107\236\000\001\363\237\000\002t\240\u0142\241\000\001c\242\031\000\000\001d\243\000\001t\244\000\001\u0144\245\000\001i\246\000\001l\247\000\001s\250\000\001e\251\000\001r\252\000\001k\253\000\001\363\254\000\001p\255\000\001r\256\024\000\042\000\000\001n\257\000\001j\260\000\001g\261\000\001\u015b\262\030\000\000\001o\263\000\001z\264\000\001c\265\000\001e\266\000\001r\267\000\001z\270\000\001r\271\000\001i\272\000\001i\273\000\001a\274\000\001k\275\000\001c\276\000\001w\277\000\001h\300\000\001r\301\023\000\017\000\000\002a\302e\303\000\001t\304\000\001e\305)\000\000\001\363\306\000\001d\307\000\001a\310\000\001r\311+\000\005\000\000\001z\312\000\001a\313#\000\000\001b\314*\000\000\001a\315\000\001h\316\000\001l\317\000\001n\320&\000\000\001c\321\000\001d\322\000\001z\323\000\001n\324\000\001z\325\025\000\000\001c\326$\000\000\001a\327\000\001i\3305\000\000\001g\331\000\001l\332\000\001r\333\011\000\000\001j\334\000\001m\335\000\001t\336\000\001e\337\000\001f\340\000\001n\341\002\000\034\000\000\001a\342\000\001z\343\000\001n\344\022\000\000\001w\345\016\000\015\000\000\001e\346\000\001t\347\000\001r\350\000\001a\351\000\001t\352\000\001w\353\000\001e\354'\000\000\001u\355\036\000\000\001r\356\000\001a\357\000\001y\360\000\001z\361\035\000\000\001e\362\000\001n\363\000\001e\364\006\000\000\001k\365\000\001o\366\000\001e\367\000\001n\370\000\001t\371\000\001a\372\000\001e\373\000\001u\374\000\001j\375\000\001e\376\000\001s\377!\000\000\001n\u0100\000\001a\u0101\000\001a\u0102\000\001c\u0103.\000\000\001z\u0104\010\000\000\001n\u0105\000\001i\u0106\000\001r\u0107\000\001j\u0108=\000-\000:\000\026\0000\000\000\001a\u0109\000\001c\u010a\000\001c\u010b\000\001n\u010c\000\001r\u010d\000\001i\u010e,\000\001\000\000\001n\u010f\000\001j\u0110\003\000\000\001j\u0111\000\001t\u0112\000\001y\u0113%\000\000\001\u0142\u0114\000\001z\u0115\007\000\000\001e\u0116\000\001j\u0117\000\001z\u0118\014\000\012\000 \000\000\001y\u0119\000\001y\u011a6\000\000\001e\u011b\000\001t\u011c(\000\000\001s\u011d\000\001a\u011e1\000\000\001y\u011f\000\001n\u01202\000\013\000\000\001a\u0121\000\001j\u01229\000/\000\000\001u\u01238\000\000\001n\u01247\000\000\001y\u01253\000\000\001n\u0126\000\001j\u0127\000\001c\u0128\037\000\000\001a\u0129\000\001e\u012a\000\001j\u012b4\000;\000\000\001\u0105\u012c<\000";
+public final static String [] LANGUAGES = {
+"ar",
+"de",
+"en",
+"eo",
+"es",
+"fr",
+"hi",
+"ja",
+"pt",
+"ro",
+"ru",
+"zh",
+"bn",
+"ko",
+"tr",
+"id",
+"it",
+"sw",
+"nl",
+"pl",
+};
+public final static String [] AUTOMATA = {
+ar,
+de,
+en,
+eo,
+es,
+fr,
+hi,
+ja,
+pt,
+ro,
+ru,
+zh,
+bn,
+ko,
+tr,
+id,
+it,
+sw,
+nl,
+pl,
+};
+}
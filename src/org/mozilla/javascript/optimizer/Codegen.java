@@ -2245,12 +2245,14 @@ class BodyCodegen
                 {
                     cfw.addALoad(contextLocal);
                     cfw.addALoad(variableObjectLocal);
+                    addLanguagePush(node.getLanguageTag());
                     cfw.addPush(node.getString());
                     addScriptRuntimeInvoke(
                         "name",
                         "(Lorg/mozilla/javascript/Context;"
                         +"Lorg/mozilla/javascript/Scriptable;"
                         +"Ljava/lang/String;"
+                        +"Ljava/lang/String;"
                         +")Ljava/lang/Object;");
                 }
                 break;
@@ -2366,14 +2368,17 @@ class BodyCodegen
               case Token.ENUM_NEXT:
               case Token.ENUM_ID: {
                 int local = getLocalBlockRegister(node);
-                cfw.addALoad(local);
                 if (type == Token.ENUM_NEXT) {
+                    cfw.addALoad(local);
                     addScriptRuntimeInvoke(
                         "enumNext", "(Ljava/lang/Object;)Ljava/lang/Boolean;");
                 } else {
+                    addLanguagePush(node.getLanguageTag());
+                    cfw.addALoad(local);
                     cfw.addALoad(contextLocal);
                     addScriptRuntimeInvoke("enumId",
-                                           "(Ljava/lang/Object;"
+                                           "(Ljava/lang/String;"
+                                           +"Ljava/lang/Object;"
                                            +"Lorg/mozilla/javascript/Context;"
                                            +")Ljava/lang/Object;");
                 }
@@ -2601,20 +2606,24 @@ class BodyCodegen
                 generateExpression(child.getNext(), node);  // id
                 cfw.addALoad(contextLocal);
                 if (node.getIntProp(Node.ISNUMBER_PROP, -1) != -1) {
-                    addScriptRuntimeInvoke(
-                        "getObjectIndex",
+                    addLanguagePush(node.getLanguageTag());
+                    addOptRuntimeInvoke(
+                        "getIndex",
                         "(Ljava/lang/Object;D"
                         +"Lorg/mozilla/javascript/Context;"
+                        +"Ljava/lang/String;"
                         +")Ljava/lang/Object;");
                 }
                 else {
                     cfw.addALoad(variableObjectLocal);
-                	addScriptRuntimeInvoke(
-                        "getObjectElem",
+                    addLanguagePush(node.getLanguageTag());
+                    addOptRuntimeInvoke(
+                        "getElem",
                         "(Ljava/lang/Object;"
                         +"Ljava/lang/Object;"
                         +"Lorg/mozilla/javascript/Context;"
                         +"Lorg/mozilla/javascript/Scriptable;"
+                        +"Ljava/lang/String;"
                         +")Ljava/lang/Object;");
                 }
                 break;
@@ -2698,13 +2707,49 @@ class BodyCodegen
                 child = child.getNext();
                 generateExpression(child, node);
                 cfw.addALoad(contextLocal);
-                addScriptRuntimeInvoke("delete",
+                addLanguagePush(node.getLanguageTag());
+                addOptRuntimeInvoke("delete",
                                        "(Ljava/lang/Object;"
                                        +"Ljava/lang/Object;"
                                        +"Lorg/mozilla/javascript/Context;"
+                                       +"Ljava/lang/String;"
                                        +")Ljava/lang/Object;");
                 break;
 
+              case Token.REF_TRANSNAME:
+              case Token.DEL_TRANSNAME:
+                generateExpression(child, node); // object
+                child = child.getNext();
+                generateExpression(child, node); // language
+                child = child.getNext();
+                generateExpression(child, node); // name
+                cfw.addALoad(contextLocal);
+                addScriptRuntimeInvoke(
+                    type == Token.REF_TRANSNAME ? "getTranslatedName"
+                                                : "deleteTranslatedName",
+                    "(Ljava/lang/Object;"
+                    +"Ljava/lang/Object;"
+                    +"Ljava/lang/Object;"
+                    +"Lorg/mozilla/javascript/Context;"
+                    +")Ljava/lang/Object;");
+                break;
+
+              case Token.SET_TRANSNAME:
+                while (child != null) {
+                    generateExpression(child, node);
+                    child = child.getNext();
+                }
+                cfw.addALoad(contextLocal);
+                addScriptRuntimeInvoke(
+                    "setTranslatedName",
+                    "(Ljava/lang/Object;"
+                    +"Ljava/lang/Object;"
+                    +"Ljava/lang/Object;"
+                    +"Ljava/lang/Object;"
+                    +"Lorg/mozilla/javascript/Context;"
+                    +")Ljava/lang/Object;");
+                break;
+
               case Token.BINDNAME:
                 {
                     while (child != null) {
@@ -2714,12 +2759,14 @@ class BodyCodegen
                     // Generate code for "ScriptRuntime.bind(varObj, "s")"
                     cfw.addALoad(contextLocal);
                     cfw.addALoad(variableObjectLocal);
+                    addLanguagePush(node.getLanguageTag());
                     cfw.addPush(node.getString());
                     addScriptRuntimeInvoke(
                         "bind",
                         "(Lorg/mozilla/javascript/Context;"
                         +"Lorg/mozilla/javascript/Scriptable;"
                         +"Ljava/lang/String;"
+                        +"Ljava/lang/String;"
                         +")Lorg/mozilla/javascript/Scriptable;");
                 }
                 break;
@@ -3274,9 +3321,11 @@ class BodyCodegen
             if (childType == Token.NAME) {
                 // name() call
                 String name = child.getString();
+                addLanguagePush(child.getLanguageTag());
                 cfw.addPush(name);
                 methodName = "callName0";
                 signature = "(Ljava/lang/String;"
+                            +"Ljava/lang/String;"
                             +"Lorg/mozilla/javascript/Context;"
                             +"Lorg/mozilla/javascript/Scriptable;"
                             +")Ljava/lang/Object;";
@@ -3286,9 +3335,11 @@ class BodyCodegen
                 generateExpression(propTarget, node);
                 Node id = propTarget.getNext();
                 String property = id.getString();
+                addLanguagePush(child.getLanguageTag());
                 cfw.addPush(property);
                 methodName = "callProp0";
                 signature = "(Ljava/lang/Object;"
+                            +"Ljava/lang/String;"
                             +"Ljava/lang/String;"
                             +"Lorg/mozilla/javascript/Context;"
                             +"Lorg/mozilla/javascript/Scriptable;"
@@ -3312,9 +3363,11 @@ class BodyCodegen
             // there are no checks for it
             String name = child.getString();
             generateCallArgArray(node, firstArgChild, false);
+            addLanguagePush(child.getLanguageTag());
             cfw.addPush(name);
             methodName = "callName";
             signature = "([Ljava/lang/Object;"
+                        +"Ljava/lang/String;"
                         +"Ljava/lang/String;"
                         +"Lorg/mozilla/javascript/Context;"
                         +"Lorg/mozilla/javascript/Scriptable;"
@@ -3602,6 +3655,7 @@ Else pass the JS object in the aReg and 0.0 in the dReg.
             Node id = target.getNext();
             if (type == Token.GETPROP) {
                 String property = id.getString();
+                addLanguagePush(node.getLanguageTag());
                 cfw.addPush(property);
                 cfw.addALoad(contextLocal);
                 cfw.addALoad(variableObjectLocal);
@@ -3609,6 +3663,7 @@ Else pass the JS object in the aReg and 0.0 in the dReg.
                     "getPropFunctionAndThis",
                     "(Ljava/lang/Object;"
                     +"Ljava/lang/String;"
+                    +"Ljava/lang/String;"
                     +"Lorg/mozilla/javascript/Context;"
                     +"Lorg/mozilla/javascript/Scriptable;"
                     +")Lorg/mozilla/javascript/Callable;");
@@ -3618,11 +3673,13 @@ Else pass the JS object in the aReg and 0.0 in the dReg.
                     throw Codegen.badTree();
                 generateExpression(id, node);  // id
                 cfw.addALoad(contextLocal);
-                addScriptRuntimeInvoke(
+                addLanguagePush(node.getLanguageTag());
+                addOptRuntimeInvoke(
                     "getElemFunctionAndThis",
                     "(Ljava/lang/Object;"
                     +"Ljava/lang/Object;"
                     +"Lorg/mozilla/javascript/Context;"
+                    +"Ljava/lang/String;"
                     +")Lorg/mozilla/javascript/Callable;");
             }
             break;
@@ -3630,12 +3687,14 @@ Else pass the JS object in the aReg and 0.0 in the dReg.
 
           case Token.NAME: {
             String name = node.getString();
+            addLanguagePush(node.getLanguageTag());
             cfw.addPush(name);
             cfw.addALoad(contextLocal);
             cfw.addALoad(variableObjectLocal);
             addScriptRuntimeInvoke(
                 "getNameFunctionAndThis",
                 "(Ljava/lang/String;"
+                +"Ljava/lang/String;"
                 +"Lorg/mozilla/javascript/Context;"
                 +"Lorg/mozilla/javascript/Scriptable;"
                 +")Lorg/mozilla/javascript/Callable;");
@@ -3928,10 +3987,12 @@ Else pass the JS object in the aReg and 0.0 in the dReg.
             }
         }
         cfw.addALoad(variableObjectLocal);
+        addLanguagePush(null);
         cfw.addPush(node.getString());
         addScriptRuntimeInvoke("typeofName",
                                "(Lorg/mozilla/javascript/Scriptable;"
                                +"Ljava/lang/String;"
+                               +"Ljava/lang/String;"
                                +")Ljava/lang/String;");
     }
 
@@ -4024,12 +4085,14 @@ Else pass the JS object in the aReg and 0.0 in the dReg.
             break;
           case Token.NAME:
             cfw.addALoad(variableObjectLocal);
+            addLanguagePush(child.getLanguageTag());
             cfw.addPush(child.getString());          // push name
             cfw.addALoad(contextLocal);
             cfw.addPush(incrDecrMask);
             addScriptRuntimeInvoke("nameIncrDecr",
                 "(Lorg/mozilla/javascript/Scriptable;"
                 +"Ljava/lang/String;"
+                +"Ljava/lang/String;"
                 +"Lorg/mozilla/javascript/Context;"
                 +"I)Ljava/lang/Object;");
             break;
@@ -4038,12 +4101,14 @@ Else pass the JS object in the aReg and 0.0 in the dReg.
           case Token.GETPROP: {
             Node getPropChild = child.getFirstChild();
             generateExpression(getPropChild, node);
+            addLanguagePush(child.getLanguageTag());
             generateExpression(getPropChild.getNext(), node);
             cfw.addALoad(contextLocal);
             cfw.addPush(incrDecrMask);
             addScriptRuntimeInvoke("propIncrDecr",
                                    "(Ljava/lang/Object;"
                                    +"Ljava/lang/String;"
+                                   +"Ljava/lang/String;"
                                    +"Lorg/mozilla/javascript/Context;"
                                    +"I)Ljava/lang/Object;");
             break;
@@ -4054,19 +4119,22 @@ Else pass the JS object in the aReg and 0.0 in the dReg.
             generateExpression(elemChild.getNext(), node);
             cfw.addALoad(contextLocal);
             cfw.addPush(incrDecrMask);
+            addLanguagePush(child.getLanguageTag());
             if (elemChild.getNext().getIntProp(Node.ISNUMBER_PROP, -1) != -1) {
               addOptRuntimeInvoke("elemIncrDecr",
                   "(Ljava/lang/Object;"
                   +"D"
                   +"Lorg/mozilla/javascript/Context;"
                   +"I"
+                  +"Ljava/lang/String;"
                   +")Ljava/lang/Object;");
             } else {
-              addScriptRuntimeInvoke("elemIncrDecr",
+              addOptRuntimeInvoke("elemIncrDecr",
                   "(Ljava/lang/Object;"
                   +"Ljava/lang/Object;"
                   +"Lorg/mozilla/javascript/Context;"
                   +"I"
+                  +"Ljava/lang/String;"
                   +")Ljava/lang/Object;");
             }
             break;
@@ -4234,12 +4302,23 @@ Else pass the JS object in the aReg and 0.0 in the dReg.
             generateExpression(child, node);
             generateExpression(rChild, node);
             cfw.addALoad(contextLocal);
-            addScriptRuntimeInvoke(
-                (type == Token.INSTANCEOF) ? "instanceOf" : "in",
-                "(Ljava/lang/Object;"
-                +"Ljava/lang/Object;"
-                +"Lorg/mozilla/javascript/Context;"
-                +")Z");
+            if (type == Token.INSTANCEOF) {
+                addScriptRuntimeInvoke(
+                    "instanceOf",
+                    "(Ljava/lang/Object;"
+                    +"Ljava/lang/Object;"
+                    +"Lorg/mozilla/javascript/Context;"
+                    +")Z");
+            } else {
+                addLanguagePush(node.getLanguageTag());
+                addOptRuntimeInvoke(
+                    "in",
+                    "(Ljava/lang/Object;"
+                    +"Ljava/lang/Object;"
+                    +"Lorg/mozilla/javascript/Context;"
+                    +"Ljava/lang/String;"
+                    +")Z");
+            }
             cfw.add(ByteCode.IFNE, trueGOTO);
             cfw.add(ByteCode.GOTO, falseGOTO);
             return;
@@ -4431,13 +4510,43 @@ Else pass the JS object in the aReg and 0.0 in the dReg.
 
     private void visitSetName(Node node, Node child)
     {
-        String name = node.getFirstChild().getString();
+        Node nameChild = node.getFirstChild();
+        String name = nameChild.getString();
+        String lang = nameChild.getLanguageTag();
+        boolean bindId = lang != null && nameChild.getType() == Token.BINDNAME;
+        if (bindId) {
+            // Like the interpreter, resolve the translated name before
+            // evaluating the value, which may change translations
+            cfw.addALoad(contextLocal);
+            cfw.addALoad(variableObjectLocal);
+            addLanguagePush(lang);
+            cfw.addPush(name);
+            addScriptRuntimeInvoke(
+                "bindId",
+                "(Lorg/mozilla/javascript/Context;"
+                +"Lorg/mozilla/javascript/Scriptable;"
+                +"Ljava/lang/String;"
+                +"Ljava/lang/String;"
+                +")Ljava/lang/String;");
+        }
         while (child != null) {
             generateExpression(child, node);
             child = child.getNext();
         }
         cfw.addALoad(contextLocal);
         cfw.addALoad(variableObjectLocal);
+        if (bindId) {
+            addOptRuntimeInvoke(
+                "setBoundName",
+                "(Ljava/lang/Object;"
+                +"Lorg/mozilla/javascript/Scriptable;"
+                +"Ljava/lang/Object;"
+                +"Lorg/mozilla/javascript/Context;"
+                +"Lorg/mozilla/javascript/Scriptable;"
+                +")Ljava/lang/Object;");
+            return;
+        }
+        addLanguagePush(null);
         cfw.addPush(name);
         addScriptRuntimeInvoke(
             "setName",
@@ -4446,6 +4555,7 @@ Else pass the JS object in the aReg and 0.0 in the dReg.
             +"Lorg/mozilla/javascript/Context;"
             +"Lorg/mozilla/javascript/Scriptable;"
             +"Ljava/lang/String;"
+            +"Ljava/lang/String;"
             +")Ljava/lang/Object;");
     }
 
@@ -4596,6 +4706,7 @@ Else pass the JS object in the aReg and 0.0 in the dReg.
     private void visitGetProp(Node node, Node child)
     {
         generateExpression(child, node); // object
+        addLanguagePush(node.getLanguageTag());
         Node nameChild = child.getNext();
         generateExpression(nameChild, node);  // the name
         if (node.getType() == Token.GETPROPNOWARN) {
@@ -4604,6 +4715,7 @@ Else pass the JS object in the aReg and 0.0 in the dReg.
                 "getObjectPropNoWarn",
                 "(Ljava/lang/Object;"
                 +"Ljava/lang/String;"
+                +"Ljava/lang/String;"
                 +"Lorg/mozilla/javascript/Context;"
                 +")Ljava/lang/Object;");
             return;
@@ -4619,6 +4731,7 @@ Else pass the JS object in the aReg and 0.0 in the dReg.
                 "getObjectProp",
                 "(Lorg/mozilla/javascript/Scriptable;"
                 +"Ljava/lang/String;"
+                +"Ljava/lang/String;"
                 +"Lorg/mozilla/javascript/Context;"
                 +")Ljava/lang/Object;");
         } else {
@@ -4628,6 +4741,7 @@ Else pass the JS object in the aReg and 0.0 in the dReg.
                 "getObjectProp",
                 "(Ljava/lang/Object;"
                 +"Ljava/lang/String;"
+                +"Ljava/lang/String;"
                 +"Lorg/mozilla/javascript/Context;"
                 +"Lorg/mozilla/javascript/Scriptable;"
                 +")Ljava/lang/Object;");
@@ -4642,12 +4756,18 @@ Else pass the JS object in the aReg and 0.0 in the dReg.
         if (type == Token.SETPROP_OP) {
             cfw.add(ByteCode.DUP);
         }
+        addLanguagePush(node.getLanguageTag());
+        if (type == Token.SETPROP_OP) {
+            // stack: ... object object lang -> ... object lang object lang
+            cfw.add(ByteCode.DUP_X1);
+        }
         Node nameChild = child;
         generateExpression(child, node);
         child = child.getNext();
         if (type == Token.SETPROP_OP) {
-            // stack: ... object object name -> ... object name object name
-            cfw.add(ByteCode.DUP_X1);
+            // stack: ... object lang object lang name
+            //        -> ... object lang name object lang name
+            cfw.add(ByteCode.DUP_X2);
             //for 'this.foo += ...' we call thisGet which can skip some
             //casting overhead.
             if (objectChild.getType() == Token.THIS
@@ -4658,15 +4778,19 @@ Else pass the JS object in the aReg and 0.0 in the dReg.
                     "getObjectProp",
                     "(Lorg/mozilla/javascript/Scriptable;"
                     +"Ljava/lang/String;"
+                    +"Ljava/lang/String;"
                     +"Lorg/mozilla/javascript/Context;"
                     +")Ljava/lang/Object;");
             } else {
                 cfw.addALoad(contextLocal);
+                cfw.addALoad(variableObjectLocal);
                 addScriptRuntimeInvoke(
                     "getObjectProp",
                     "(Ljava/lang/Object;"
                     +"Ljava/lang/String;"
+                    +"Ljava/lang/String;"
                     +"Lorg/mozilla/javascript/Context;"
+                    +"Lorg/mozilla/javascript/Scriptable;"
                     +")Ljava/lang/Object;");
             }
         }
@@ -4676,6 +4800,7 @@ Else pass the JS object in the aReg and 0.0 in the dReg.
             "setObjectProp",
             "(Ljava/lang/Object;"
             +"Ljava/lang/String;"
+            +"Ljava/lang/String;"
             +"Ljava/lang/Object;"
             +"Lorg/mozilla/javascript/Context;"
             +")Ljava/lang/Object;");
@@ -4683,6 +4808,7 @@ Else pass the JS object in the aReg and 0.0 in the dReg.
 
     private void visitSetElem(int type, Node node, Node child)
     {
+        String lang = node.getLanguageTag();
         generateExpression(child, node);
         child = child.getNext();
         if (type == Token.SETELEM_OP) {
@@ -4697,41 +4823,50 @@ Else pass the JS object in the aReg and 0.0 in the dReg.
                 //        -> ... object number object number
                 cfw.add(ByteCode.DUP2_X1);
                 cfw.addALoad(contextLocal);
+                addLanguagePush(lang);
                 addOptRuntimeInvoke(
-                    "getObjectIndex",
+                    "getIndex",
                     "(Ljava/lang/Object;D"
                     +"Lorg/mozilla/javascript/Context;"
+                    +"Ljava/lang/String;"
                     +")Ljava/lang/Object;");
             } else {
                 // stack: ... object object indexObject
                 //        -> ... object indexObject object indexObject
                 cfw.add(ByteCode.DUP_X1);
                 cfw.addALoad(contextLocal);
-                addScriptRuntimeInvoke(
-                    "getObjectElem",
+                cfw.addALoad(variableObjectLocal);
+                addLanguagePush(lang);
+                addOptRuntimeInvoke(
+                    "getElem",
                     "(Ljava/lang/Object;"
                     +"Ljava/lang/Object;"
                     +"Lorg/mozilla/javascript/Context;"
+                    +"Lorg/mozilla/javascript/Scriptable;"
+                    +"Ljava/lang/String;"
                     +")Ljava/lang/Object;");
             }
         }
         generateExpression(child, node);
         cfw.addALoad(contextLocal);
+        addLanguagePush(lang);
         if (indexIsNumber) {
-            addScriptRuntimeInvoke(
-                "setObjectIndex",
+            addOptRuntimeInvoke(
+                "setIndex",
                 "(Ljava/lang/Object;"
                 +"D"
                 +"Ljava/lang/Object;"
                 +"Lorg/mozilla/javascript/Context;"
+                +"Ljava/lang/String;"
                 +")Ljava/lang/Object;");
         } else {
-            addScriptRuntimeInvoke(
-                "setObjectElem",
+            addOptRuntimeInvoke(
+                "setElem",
                 "(Ljava/lang/Object;"
                 +"Ljava/lang/Object;"
                 +"Ljava/lang/Object;"
                 +"Lorg/mozilla/javascript/Context;"
+                +"Ljava/lang/String;"
                 +")Ljava/lang/Object;");
         }
     }
@@ -4853,6 +4988,20 @@ Else pass the JS object in the aReg and 0.0 in the dReg.
                       methodSignature);
     }
 
+    /**
+     * Pushes the language of a language-qualified access, or null for an
+     * access that is not qualified. This is what the interpreter keeps in
+     * its language register.
+     */
+    private void addLanguagePush(String lang)
+    {
+        if (lang == null) {
+            cfw.add(ByteCode.ACONST_NULL);
+        } else {
+            cfw.addPush(lang);
+        }
+    }
+
     private void addOptRuntimeInvoke(String methodName,
                                      String methodSignature)
     {
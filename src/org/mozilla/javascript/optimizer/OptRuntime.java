@@ -86,13 +86,18 @@ public final class OptRuntime extends ScriptRuntime
         return fun.call(cx, scope, thisObj, args);
     }
 
+    @Deprecated public static Object callName(Object[] args, String name, Context cx, Scriptable scope) { return callName(args, ScriptRuntime.TOFILL, name, cx, scope); }
+    @Deprecated public static Object callName0(String name, Context cx, Scriptable scope) { return callName0(ScriptRuntime.TOFILL, name, cx, scope); }
+    @Deprecated public static Object callProp0(Object value, String property, Context cx, Scriptable scope) { return callProp0(value, ScriptRuntime.TOFILL, property, cx, scope); }
+    @Deprecated public static Object elemIncrDecr(Object obj, double index, Context cx, int incrDecrMask) { return elemIncrDecr(obj, index, cx, incrDecrMask, ScriptRuntime.TOFILL); }
+
     /**
      * Implement name(args) call shrinking optimizer code.
      */
-    public static Object callName(Object[] args, String name,
+    public static Object callName(Object[] args, String lang, String name,
                                   Context cx, Scriptable scope)
     {
-        Callable f = getNameFunctionAndThis(ScriptRuntime.TOFILL, name, cx, scope);
+        Callable f = getNameFunctionAndThis(lang, name, cx, scope);
         Scriptable thisObj = lastStoredScriptable(cx);
         return f.call(cx, scope, thisObj, args);
     }
@@ -100,10 +105,10 @@ public final class OptRuntime extends ScriptRuntime
     /**
      * Implement name() call shrinking optimizer code.
      */
-    public static Object callName0(String name,
+    public static Object callName0(String lang, String name,
                                    Context cx, Scriptable scope)
     {
-        Callable f = getNameFunctionAndThis(ScriptRuntime.TOFILL, name, cx, scope);
+        Callable f = getNameFunctionAndThis(lang, name, cx, scope);
         Scriptable thisObj = lastStoredScriptable(cx);
         return f.call(cx, scope, thisObj, ScriptRuntime.emptyArgs);
     }
@@ -111,36 +116,107 @@ public final class OptRuntime extends ScriptRuntime
     /**
      * Implement x.property() call shrinking optimizer code.
      */
-    public static Object callProp0(Object value, String property,
+    public static Object callProp0(Object value, String lang, String property,
                                    Context cx, Scriptable scope)
     {
-        Callable f = getPropFunctionAndThis(value, ScriptRuntime.TOFILL, property, cx, scope);
+        Callable f = getPropFunctionAndThis(value, lang, property, cx, scope);
         Scriptable thisObj = lastStoredScriptable(cx);
         return f.call(cx, scope, thisObj, ScriptRuntime.emptyArgs);
     }
 
+    /**
+     * Implement assignments to language-qualified names. <code>id</code>
+     * is the default name that the translated name was bound to by
+     * {@link ScriptRuntime#bindId(Context, Scriptable, String, String)}
+     * before the value was evaluated. It is declared as Object since
+     * generators restore saved stack values without their type.
+     */
+    public static Object setBoundName(Object id, Scriptable bound,
+                                      Object value, Context cx,
+                                      Scriptable scope)
+    {
+        return setName(bound, value, cx, scope, ScriptRuntime.TOFILL,
+                       (String)id);
+    }
+
     public static Object add(Object val1, double val2)
     {
         if (val1 instanceof Scriptable)
             val1 = ((Scriptable) val1).getDefaultValue(null);
-        if (!(val1 instanceof String))
+        if (!(val1 instanceof String) && !(val1 instanceof ConsString))
             return wrapDouble(toNumber(val1) + val2);
-        return ((String)val1).concat(toString(val2));
+        return concat((CharSequence)val1, toString(val2));
     }
 
     public static Object add(double val1, Object val2)
     {
         if (val2 instanceof Scriptable)
             val2 = ((Scriptable) val2).getDefaultValue(null);
-        if (!(val2 instanceof String))
+        if (!(val2 instanceof String) && !(val2 instanceof ConsString))
             return wrapDouble(toNumber(val2) + val1);
-        return toString(val1).concat((String)val2);
+        return concat(toString(val1), (CharSequence)val2);
+    }
+
+    /*
+     * The element accessors below take the language last, after all of
+     * the operands. Compiled code pushes it right before the call, so the
+     * operand stack while the index and value are evaluated has the same
+     * layout as for unqualified accesses. Generators save and restore that
+     * stack untyped, so a String under an operand containing yield would
+     * not pass verification.
+     */
+
+    public static Object getElem(Object obj, Object elem, Context cx,
+                                 Scriptable scope, String lang)
+    {
+        return getObjectElem(obj, lang, elem, cx, scope);
+    }
+
+    public static Object getIndex(Object obj, double index, Context cx,
+                                  String lang)
+    {
+        return getObjectIndex(obj, lang, index, cx);
+    }
+
+    public static Object setElem(Object obj, Object elem, Object value,
+                                 Context cx, String lang)
+    {
+        return setObjectElem(obj, lang, elem, value, cx);
+    }
+
+    public static Object setIndex(Object obj, double index, Object value,
+                                  Context cx, String lang)
+    {
+        return setObjectIndex(obj, lang, index, value, cx);
+    }
+
+    public static Object delete(Object obj, Object id, Context cx,
+                                String lang)
+    {
+        return ScriptRuntime.delete(obj, lang, id, cx);
+    }
+
+    public static boolean in(Object a, Object b, Context cx, String lang)
+    {
+        return ScriptRuntime.in(lang, a, b, cx);
+    }
+
+    public static Callable getElemFunctionAndThis(Object obj, Object elem,
+                                                  Context cx, String lang)
+    {
+        return ScriptRuntime.getElemFunctionAndThis(obj, lang, elem, cx);
+    }
+
+    public static Object elemIncrDecr(Object obj, Object index, Context cx,
+                                      int incrDecrMask, String lang)
+    {
+        return ScriptRuntime.elemIncrDecr(obj, lang, index, cx, incrDecrMask);
     }
 
-    public static Object elemIncrDecr(Object obj, double index,
-                                      Context cx, int incrDecrMask)
+    public static Object elemIncrDecr(Object obj, double index, Context cx,
+                                      int incrDecrMask, String lang)
     {
-        return ScriptRuntime.elemIncrDecr(obj, ScriptRuntime.TOFILL, new Double(index), cx,
+        return ScriptRuntime.elemIncrDecr(obj, lang, new Double(index), cx,
                                           incrDecrMask);
     }
 